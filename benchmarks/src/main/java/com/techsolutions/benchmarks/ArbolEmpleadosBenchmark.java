@@ -0,0 +1,88 @@
+package com.techsolutions.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techsolutions.model.ArbolEmpleados;
+import com.techsolutions.model.Empleado;
+
+/**
+ * Inserción y búsqueda en ArbolEmpleados.
+ *
+ * El árbol se ordena por departamento y los empleados del mismo departamento
+ * van siempre a la derecha, así que su altura crece con n y tanto insertar
+ * como buscar por ID son O(n) y recursivos. Por eso los tamaños por defecto
+ * llegan solo a 10k: con más se desborda la pila. Se pueden probar tamaños
+ * mayores con -p tamano=100000 y -jvmArgsAppend -Xss512m.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Xss64m"})
+@State(Scope.Benchmark)
+public class ArbolEmpleadosBenchmark {
+
+    @Param({"1000", "10000"})
+    public int tamano;
+
+    private List<Empleado> datos;
+    private ArbolEmpleados arbol;
+    private String[] idsBuscados;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        datos = DatosBenchmark.empleados(tamano, DatosBenchmark.SEMILLA);
+        arbol = construir(datos);
+        idsBuscados = DatosBenchmark.idsAleatorios("EMP", tamano, 1024, DatosBenchmark.SEMILLA + 1);
+    }
+
+    /**
+     * Construye un árbol completo de n empleados (n inserciones)
+     */
+    @Benchmark
+    public ArbolEmpleados insertarTodos() {
+        // Copias nuevas: insertar modifica los enlaces izquierda/derecha del empleado
+        List<Empleado> copias = new ArrayList<>(datos.size());
+        for (Empleado e : datos) {
+            copias.add(new Empleado(e.getId(), e.getNombre(), e.getDepartamento()));
+        }
+        return construir(copias);
+    }
+
+    @Benchmark
+    public Empleado buscarPorId() {
+        String id = idsBuscados[siguiente++ & (idsBuscados.length - 1)];
+        return arbol.buscarPorId(id);
+    }
+
+    @Benchmark
+    public List<Empleado> buscarPorDepartamento() {
+        List<Empleado> resultado = new ArrayList<>();
+        arbol.buscarPorDepartamento("Ventas", resultado);
+        return resultado;
+    }
+
+    private static ArbolEmpleados construir(List<Empleado> empleados) {
+        ArbolEmpleados arbol = new ArbolEmpleados();
+        for (Empleado empleado : empleados) {
+            arbol.insertar(empleado);
+        }
+        return arbol;
+    }
+}
@@ -0,0 +1,87 @@
+package com.techsolutions.benchmarks;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.util.ColaPrioridadIndexada;
+
+/**
+ * Rotación continua de tareas en colas de prioridad de tamaño n: cada
+ * operación saca la tarea más prioritaria y la vuelve a meter con otra
+ * prioridad, como cuando se replanifica una tarea.
+ *
+ * Se miden PriorityQueue&lt;TareaPrioridad&gt; y ColaPrioridadIndexada (la que
+ * usa la aplicación), que además permite reordenar una tarea por su ID.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ColaPrioridadBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    private List<TareaPrioridad> tareas;
+    private PriorityQueue<TareaPrioridad> priorityQueue;
+    private ColaPrioridadIndexada colaIndexada;
+    private String[] idsReordenados;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        tareas = DatosBenchmark.tareasConPrioridad(tamano, DatosBenchmark.SEMILLA);
+        priorityQueue = new PriorityQueue<>(tareas);
+        colaIndexada = new ColaPrioridadIndexada();
+        for (TareaPrioridad tarea : tareas) {
+            colaIndexada.add(tarea);
+        }
+        idsReordenados = DatosBenchmark.idsAleatorios("T", tamano, 1024, DatosBenchmark.SEMILLA + 4);
+    }
+
+    @Benchmark
+    public TareaPrioridad priorityQueueRotar() {
+        TareaPrioridad tarea = priorityQueue.poll();
+        tarea.setPrioridad(1 + (tarea.getPrioridad() & 3));
+        priorityQueue.offer(tarea);
+        return tarea;
+    }
+
+    @Benchmark
+    public TareaPrioridad colaIndexadaRotar() {
+        TareaPrioridad tarea = colaIndexada.poll();
+        tarea.setPrioridad(1 + (tarea.getPrioridad() & 3));
+        colaIndexada.add(tarea);
+        return tarea;
+    }
+
+    /**
+     * Cambio de prioridad de una tarea cualquiera, localizada por ID y
+     * reacomodada en su sitio (updatePriority)
+     */
+    @Benchmark
+    public TareaPrioridad colaIndexadaReordenarPorId() {
+        TareaPrioridad tarea = colaIndexada.get(idsReordenados[siguiente++ & (idsReordenados.length - 1)]);
+        if (tarea != null) {
+            colaIndexada.updatePriority(tarea.getId(), 1 + (tarea.getPrioridad() & 3));
+        }
+        return tarea;
+    }
+}
@@ -0,0 +1,374 @@
+package com.techsolutions.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * Colección MongoDB en memoria para medir MongoDBManager sin servidor.
+ *
+ * Implementa, mediante un proxy dinámico, solo lo que usa el gestor:
+ * insertOne, find (con filtro, proyección y limit), first, iteración,
+ * updateOne con $set, deleteOne y countDocuments. Los filtros admitidos son
+ * igualdades campo = valor; cualquier otra operación lanza
+ * UnsupportedOperationException para que un benchmark no mida en silencio
+ * algo que la colección no hace.
+ *
+ * Se comporta como una colección con índice único sobre "id": buscar,
+ * actualizar o eliminar por id es O(1) y cualquier otro filtro recorre
+ * todos los documentos. Cada documento devuelto es una copia, como los que
+ * decodifica el driver, así que las lecturas asignan memoria igual que en
+ * producción (sin la red ni el BSON).
+ */
+final class ColeccionEnMemoria implements InvocationHandler {
+
+    private static final String CAMPO_ID = "id";
+
+    /** Documentos por id, en orden de inserción */
+    private final Map<Object, Document> documentos = new LinkedHashMap<>();
+
+    /** Clave para documentos sin campo id */
+    private long siguienteClaveSinId;
+
+    private ColeccionEnMemoria() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static MongoCollection<Document> crear() {
+        return (MongoCollection<Document>) Proxy.newProxyInstance(ColeccionEnMemoria.class.getClassLoader(),
+                new Class<?>[]{MongoCollection.class}, new ColeccionEnMemoria());
+    }
+
+    // ===============================
+    // OPERACIONES DE LA COLECCIÓN
+    // ===============================
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        int argumentos = args == null ? 0 : args.length;
+        switch (method.getName()) {
+            case "insertOne":
+                insertar((Document) args[0]);
+                return InsertOneResult.unacknowledged();
+            case "find":
+                return new Consulta(argumentos == 0 ? null : filtro(args[0])).proxy;
+            case "countDocuments":
+                return argumentos == 0 ? (long) documentos.size() : contar(filtro(args[0]));
+            case "updateOne":
+                return actualizar(filtro(args[0]), args[1]);
+            case "deleteOne":
+                return eliminar(filtro(args[0]));
+            case "drop":
+                documentos.clear();
+                return null;
+            case "toString":
+                return "ColeccionEnMemoria[" + documentos.size() + " documentos]";
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                throw noSoportada(method);
+        }
+    }
+
+    private void insertar(Document documento) {
+        Object id = documento.get(CAMPO_ID);
+        Object clave = id != null ? id : "#sin-id-" + siguienteClaveSinId++;
+        if (id != null && documentos.containsKey(clave)) {
+            throw new IllegalStateException("Ya existe un documento con id " + id);
+        }
+        documentos.put(clave, new Document(documento));
+    }
+
+    private long contar(Map<String, Object> filtro) {
+        long total = 0;
+        Iterator<Document> it = coincidencias(filtro);
+        while (it.hasNext()) {
+            it.next();
+            total++;
+        }
+        return total;
+    }
+
+    private UpdateResult actualizar(Map<String, Object> filtro, Object actualizacion) {
+        Iterator<Document> it = coincidencias(filtro);
+        if (!it.hasNext()) return UpdateResult.acknowledged(0, 0L, null);
+
+        Document documento = it.next();
+        BsonDocument operaciones = aDocumentoBson(actualizacion);
+        BsonValue asignaciones = operaciones.get("$set");
+        if (asignaciones == null || !asignaciones.isDocument() || operaciones.size() != 1) {
+            throw new UnsupportedOperationException("ColeccionEnMemoria solo admite actualizaciones con $set");
+        }
+        long modificados = 0;
+        for (Map.Entry<String, BsonValue> campo : asignaciones.asDocument().entrySet()) {
+            if (CAMPO_ID.equals(campo.getKey())) {
+                throw new UnsupportedOperationException("ColeccionEnMemoria no admite cambiar el id");
+            }
+            Object nuevo = valorJava(campo.getValue());
+            Object anterior = documento.put(campo.getKey(), nuevo);
+            if (anterior == null ? nuevo != null : !anterior.equals(nuevo)) modificados = 1;
+        }
+        return UpdateResult.acknowledged(1, modificados, null);
+    }
+
+    private DeleteResult eliminar(Map<String, Object> filtro) {
+        Iterator<Document> it = coincidencias(filtro);
+        if (!it.hasNext()) return DeleteResult.acknowledged(0);
+        Document documento = it.next();
+        Object id = documento.get(CAMPO_ID);
+        if (id != null) {
+            documentos.remove(id);
+        } else {
+            documentos.values().remove(documento);
+        }
+        return DeleteResult.acknowledged(1);
+    }
+
+    // ===============================
+    // FILTROS
+    // ===============================
+
+    /**
+     * Recorre los documentos que cumplen el filtro (null = todos). Los
+     * documentos devueltos son los almacenados, no copias.
+     */
+    private Iterator<Document> coincidencias(Map<String, Object> filtro) {
+        if (filtro == null || filtro.isEmpty()) return documentos.values().iterator();
+
+        Object id = filtro.get(CAMPO_ID);
+        if (id != null) {
+            Document documento = documentos.get(id);
+            if (documento == null || !cumple(documento, filtro)) return Collections.emptyIterator();
+            return Collections.singletonList(documento).iterator();
+        }
+
+        Iterator<Document> todos = documentos.values().iterator();
+        return new Iterator<Document>() {
+            private Document siguiente = avanzar();
+
+            private Document avanzar() {
+                while (todos.hasNext()) {
+                    Document documento = todos.next();
+                    if (cumple(documento, filtro)) return documento;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public Document next() {
+                if (siguiente == null) throw new NoSuchElementException();
+                Document actual = siguiente;
+                siguiente = avanzar();
+                return actual;
+            }
+        };
+    }
+
+    private static boolean cumple(Document documento, Map<String, Object> filtro) {
+        for (Map.Entry<String, Object> condicion : filtro.entrySet()) {
+            Object valor = documento.get(condicion.getKey());
+            if (valor == null ? condicion.getValue() != null : !valor.equals(condicion.getValue())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Convierte un filtro de igualdades en un mapa campo -> valor
+     */
+    private static Map<String, Object> filtro(Object bson) {
+        BsonDocument documento = aDocumentoBson(bson);
+        Map<String, Object> filtro = new LinkedHashMap<>();
+        for (Map.Entry<String, BsonValue> condicion : documento.entrySet()) {
+            if (condicion.getKey().startsWith("$") || condicion.getValue().isDocument()) {
+                throw new UnsupportedOperationException("ColeccionEnMemoria solo admite filtros de igualdad: " + documento);
+            }
+            filtro.put(condicion.getKey(), valorJava(condicion.getValue()));
+        }
+        return filtro;
+    }
+
+    private static BsonDocument aDocumentoBson(Object bson) {
+        return ((Bson) bson).toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    private static Object valorJava(BsonValue valor) {
+        if (valor.isString()) return valor.asString().getValue();
+        if (valor.isInt32()) return valor.asInt32().getValue();
+        if (valor.isInt64()) return valor.asInt64().getValue();
+        if (valor.isDouble()) return valor.asDouble().getValue();
+        if (valor.isBoolean()) return valor.asBoolean().getValue();
+        if (valor.isNull()) return null;
+        throw new UnsupportedOperationException("ColeccionEnMemoria no admite valores " + valor.getBsonType());
+    }
+
+    private static UnsupportedOperationException noSoportada(Method method) {
+        return new UnsupportedOperationException("ColeccionEnMemoria no implementa " + method.getName());
+    }
+
+    // ===============================
+    // CONSULTAS Y CURSORES
+    // ===============================
+
+    /**
+     * Resultado de find(): filtro, proyección y límite, evaluados al iterar
+     */
+    private final class Consulta implements InvocationHandler {
+        private final FindIterable<?> proxy;
+        private Map<String, Object> filtro;
+        private List<String> camposIncluidos;
+        private int limite;
+
+        Consulta(Map<String, Object> filtro) {
+            this.filtro = filtro;
+            this.proxy = (FindIterable<?>) Proxy.newProxyInstance(ColeccionEnMemoria.class.getClassLoader(),
+                    new Class<?>[]{FindIterable.class}, this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "filter":
+                    filtro = filtro(args[0]);
+                    return proxy;
+                case "projection":
+                    proyeccion(aDocumentoBson(args[0]));
+                    return proxy;
+                case "limit":
+                    limite = (Integer) args[0];
+                    return proxy;
+                case "batchSize":
+                    return proxy;
+                case "first": {
+                    Iterator<Document> it = resultados();
+                    return it.hasNext() ? it.next() : null;
+                }
+                case "iterator":
+                case "cursor":
+                    return cursor(resultados());
+                case "forEach": {
+                    Iterator<Document> it = resultados();
+                    while (it.hasNext()) ((Consumer<Object>) args[0]).accept(it.next());
+                    return null;
+                }
+                case "into": {
+                    Iterator<Document> it = resultados();
+                    while (it.hasNext()) ((Collection<Object>) args[0]).add(it.next());
+                    return args[0];
+                }
+                case "toString":
+                    return "Consulta" + filtro;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw noSoportada(method);
+            }
+        }
+
+        private void proyeccion(BsonDocument proyeccion) {
+            List<String> incluidos = new ArrayList<>();
+            for (Map.Entry<String, BsonValue> campo : proyeccion.entrySet()) {
+                boolean incluir = campo.getValue().isBoolean() ? campo.getValue().asBoolean().getValue()
+                        : campo.getValue().isInt32() && campo.getValue().asInt32().getValue() != 0;
+                if ("_id".equals(campo.getKey())) {
+                    // Los documentos en memoria no tienen _id
+                    continue;
+                }
+                if (incluir) {
+                    incluidos.add(campo.getKey());
+                } else {
+                    throw new UnsupportedOperationException("ColeccionEnMemoria solo admite proyecciones de inclusión");
+                }
+            }
+            camposIncluidos = incluidos.isEmpty() ? null : incluidos;
+        }
+
+        /**
+         * Copias de los documentos que cumplen el filtro, con la proyección aplicada
+         */
+        private Iterator<Document> resultados() {
+            Iterator<Document> coincidencias = coincidencias(filtro);
+            int maximo = limite > 0 ? limite : Integer.MAX_VALUE;
+            return new Iterator<Document>() {
+                private int entregados;
+
+                @Override
+                public boolean hasNext() {
+                    return entregados < maximo && coincidencias.hasNext();
+                }
+
+                @Override
+                public Document next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    entregados++;
+                    return copiar(coincidencias.next());
+                }
+            };
+        }
+
+        private Document copiar(Document documento) {
+            if (camposIncluidos == null) return new Document(documento);
+            Document copia = new Document();
+            for (String campo : camposIncluidos) {
+                Object valor = documento.get(campo);
+                if (valor != null) copia.append(campo, valor);
+            }
+            return copia;
+        }
+    }
+
+    private static MongoCursor<?> cursor(Iterator<Document> iterador) {
+        return (MongoCursor<?>) Proxy.newProxyInstance(ColeccionEnMemoria.class.getClassLoader(),
+                new Class<?>[]{MongoCursor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hasNext":
+                            return iterador.hasNext();
+                        case "next":
+                            return iterador.next();
+                        case "tryNext":
+                            return iterador.hasNext() ? iterador.next() : null;
+                        case "close":
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "CursorEnMemoria";
+                        default:
+                            throw noSoportada(method);
+                    }
+                });
+    }
+}
@@ -0,0 +1,80 @@
+package com.techsolutions.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.techsolutions.model.Empleado;
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.util.Utilidades;
+
+/**
+ * Datos sintéticos para los benchmarks. Usan una semilla fija para que dos
+ * ejecuciones midan exactamente la misma entrada.
+ */
+final class DatosBenchmark {
+
+    static final long SEMILLA = 20250921L;
+
+    static final String[] DEPARTAMENTOS = {
+        "Desarrollo", "Soporte Técnico", "Marketing", "Ventas", "Administracion", "Recursos Humanos"
+    };
+
+    static final String[] URGENCIAS = {"Crítica", "Alta", "Media", "Baja"};
+
+    private static final int DIA_BASE = Utilidades.convertirADiaEpoch("2025-01-01");
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Tareas con prioridad T1..Tn en orden aleatorio, con horas 1-80,
+     * prioridad 1-4 y entrega a lo largo de dos años
+     */
+    static List<TareaPrioridad> tareasConPrioridad(int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        List<TareaPrioridad> tareas = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            tareas.add(new TareaPrioridad("T" + i,
+                    "Tarea de prueba " + i,
+                    DEPARTAMENTOS[random.nextInt(DEPARTAMENTOS.length)],
+                    URGENCIAS[random.nextInt(URGENCIAS.length)],
+                    1 + random.nextInt(80),
+                    1 + random.nextInt(4),
+                    Utilidades.convertirDesdeDiaEpoch(DIA_BASE + random.nextInt(730))));
+        }
+        Collections.shuffle(tareas, random);
+        return tareas;
+    }
+
+    static List<Tarea> comoTareas(List<TareaPrioridad> tareas) {
+        return new ArrayList<>(tareas);
+    }
+
+    /**
+     * Empleados EMP1..EMPn con departamento aleatorio
+     */
+    static List<Empleado> empleados(int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        List<Empleado> empleados = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            empleados.add(new Empleado("EMP" + i, "Empleado " + i,
+                    DEPARTAMENTOS[random.nextInt(DEPARTAMENTOS.length)]));
+        }
+        return empleados;
+    }
+
+    /**
+     * IDs existentes elegidos al azar para las búsquedas
+     */
+    static String[] idsAleatorios(String prefijo, int maximo, int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        String[] ids = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            ids[i] = prefijo + (1 + random.nextInt(maximo));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,106 @@
+package com.techsolutions.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.repository.RegistroTarea;
+import com.techsolutions.repository.TareaRepositoryMemoria;
+
+/**
+ * Escrituras por segundo del repositorio de tareas con diario en un
+ * directorio temporal del disco local.
+ *
+ * Cada escritura vuelve cuando su registro está en disco. Con un hilo cada
+ * operación paga un fsync; con varios, el group commit confirma en un solo
+ * fsync todo lo que llegó mientras se escribía el lote anterior, así que el
+ * total debería crecer con los hilos hasta el ancho de banda del disco.
+ * Conviene ejecutarlo en el disco real de producción: en un tmpfs el fsync
+ * no cuesta nada.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DiarioBenchmark {
+
+    private static final int TAMANO_INICIAL = 10_000;
+
+    private Path directorio;
+    private TareaRepositoryMemoria repositorio;
+    private List<TareaPrioridad> tareas;
+    private final AtomicLong siguienteId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        directorio = Files.createTempDirectory(Path.of(System.getProperty("user.dir")), "diario-benchmark");
+        repositorio = TareaRepositoryMemoria.abrirConDiario(directorio.resolve("tareas.dat"));
+        tareas = DatosBenchmark.tareasConPrioridad(TAMANO_INICIAL, DatosBenchmark.SEMILLA);
+        for (TareaPrioridad tarea : tareas) {
+            repositorio.guardar(new RegistroTarea(tarea, "programada"));
+        }
+        siguienteId.set(TAMANO_INICIAL + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        repositorio.close();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(ruta -> ruta.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long guardarTarea() {
+        return guardarNueva();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long guardarTareaConcurrente() {
+        return guardarNueva();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean actualizarTareaConcurrente() {
+        long n = siguienteId.getAndIncrement();
+        TareaPrioridad base = tareas.get((int) (n % TAMANO_INICIAL));
+        Tarea cambios = new Tarea(base.getId(), base.getDescripcion(), base.getDepartamento(), base.getUrgencia(),
+                1 + (int) (n % 80));
+        return repositorio.actualizarDatos(cambios);
+    }
+
+    private long guardarNueva() {
+        long n = siguienteId.getAndIncrement();
+        TareaPrioridad base = tareas.get((int) (n % TAMANO_INICIAL));
+        Tarea nueva = new Tarea("T" + n, base.getDescripcion(), base.getDepartamento(), base.getUrgencia(),
+                base.getHorasEstimadas());
+        repositorio.guardar(new RegistroTarea(nueva, "urgente"));
+        return n;
+    }
+}
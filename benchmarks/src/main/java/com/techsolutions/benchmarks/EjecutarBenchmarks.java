@@ -0,0 +1,50 @@
+package com.techsolutions.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar. Acepta las mismas opciones que
+ * org.openjdk.jmh.Main (filtro por nombre, -p tamano=..., -rf json, ...) y
+ * añade siempre el perfilador de GC, para que cada resultado incluya la
+ * memoria asignada por operación (gc.alloc.rate.norm).
+ */
+public final class EjecutarBenchmarks {
+
+    private EjecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions lineaDeComandos;
+        try {
+            lineaDeComandos = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Opciones inválidas: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (lineaDeComandos.shouldHelp()) {
+            lineaDeComandos.showHelp();
+            return;
+        }
+
+        Options opciones = new OptionsBuilder()
+                .parent(lineaDeComandos)
+                .addProfiler(GCProfiler.class)
+                .build();
+        Runner runner = new Runner(opciones);
+        if (lineaDeComandos.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
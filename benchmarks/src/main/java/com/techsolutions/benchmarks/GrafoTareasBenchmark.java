@@ -0,0 +1,88 @@
+package com.techsolutions.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.util.GrafoTareas;
+
+/**
+ * Orden topológico, camino crítico y detección de ciclos en GrafoTareas
+ * sobre un grafo acíclico aleatorio (cada tarea depende de hasta 2
+ * anteriores).
+ *
+ * GrafoTareas busca los dependientes de cada tarea recorriendo todo el mapa
+ * de dependencias, así que las tres operaciones son O(V·(V+E)). Los tamaños
+ * por defecto llegan a 10k para que una ejecución completa termine en
+ * minutos; con -p tamano=100000 se puede medir más.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class GrafoTareasBenchmark {
+
+    /** Dependencias por tarea (hacia tareas anteriores, así el grafo no tiene ciclos) */
+    private static final int DEPENDENCIAS_POR_TAREA = 2;
+
+    @Param({"1000", "10000"})
+    public int tamano;
+
+    private GrafoTareas grafo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<TareaPrioridad> tareas = DatosBenchmark.tareasConPrioridad(tamano, DatosBenchmark.SEMILLA);
+        grafo = new GrafoTareas();
+        for (TareaPrioridad tarea : tareas) {
+            grafo.agregarTarea(tarea);
+        }
+
+        Random random = new Random(DatosBenchmark.SEMILLA + 2);
+        for (int i = 2; i <= tamano; i++) {
+            int anterior = 0;
+            for (int d = 0; d < DEPENDENCIAS_POR_TAREA; d++) {
+                int dependeDe = 1 + random.nextInt(i - 1);
+                if (dependeDe == anterior) continue;
+                grafo.agregarDependencia("T" + i, "T" + dependeDe);
+                anterior = dependeDe;
+            }
+        }
+
+        // Sin esto, un orden topológico roto se mediría como si fuera correcto
+        if (grafo.tieneCiclos() || grafo.obtenerOrdenTopologico().size() != tamano) {
+            throw new IllegalStateException("GrafoTareas no devuelve un orden completo para un grafo acíclico");
+        }
+    }
+
+    @Benchmark
+    public List<String> ordenTopologico() {
+        return grafo.obtenerOrdenTopologico();
+    }
+
+    @Benchmark
+    public List<String> caminoCritico() {
+        return grafo.obtenerCaminoCritico();
+    }
+
+    @Benchmark
+    public boolean tieneCiclos() {
+        return grafo.tieneCiclos();
+    }
+}
@@ -0,0 +1,145 @@
+package com.techsolutions.benchmarks;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mongodb.client.MongoCollection;
+import com.techsolutions.db.MongoDBManager;
+import com.techsolutions.model.Empleado;
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+
+/**
+ * Operaciones de MongoDBManager sobre colecciones en memoria
+ * (ColeccionEnMemoria) con n tareas y n empleados.
+ *
+ * Mide el coste propio del gestor y de la forma de sus consultas (documentos
+ * que construye, convierte o recorre), no la red ni el servidor: una
+ * operación que aquí crece con n, como generar un ID recorriendo toda la
+ * colección, también crecerá contra MongoDB.
+ *
+ * Las subclases fijan el modo: PersistenciaRendimientoBenchmark informa
+ * operaciones por segundo y PersistenciaLatenciaBenchmark percentiles de
+ * latencia (p50, p90, p99...).
+ *
+ * El gestor registra en la Bitacora, que escribe en segundo plano en
+ * ~/.techsolutions/logs. La JVM de la medición usa nivel AVISO y su propio
+ * archivo en target/, así los mensajes de cada tarea guardada (DEBUG) se
+ * quedan en la comprobación de nivel y no se mezclan con la bitácora del
+ * usuario.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g",
+        "-Dtechsolutions.log.nivel=AVISO", "-Dtechsolutions.log.archivo=target/jmh-bitacora.log"})
+@State(Scope.Benchmark)
+public abstract class PersistenciaBenchmark {
+
+    private static final String[] TIPOS = {"urgente", "programada", "departamento"};
+
+    @Param({"1000", "10000", "100000"})
+    public int tamano;
+
+    private MongoDBManager manager;
+    private List<TareaPrioridad> tareas;
+    private String[] idsExistentes;
+    private int siguiente;
+    private int siguienteIdNuevo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        MongoCollection<Document> tareasCollection = ColeccionEnMemoria.crear();
+        MongoCollection<Document> empleadosCollection = ColeccionEnMemoria.crear();
+        manager = MongoDBManager.conColecciones(tareasCollection, empleadosCollection);
+
+        tareas = DatosBenchmark.tareasConPrioridad(tamano, DatosBenchmark.SEMILLA);
+        for (int i = 0; i < tareas.size(); i++) {
+            TareaPrioridad tarea = tareas.get(i);
+            manager.guardarTareaPrioridad(tarea, TIPOS[i % TIPOS.length], tarea.getPrioridad(), tarea.getFechaEntrega());
+        }
+        for (Empleado empleado : DatosBenchmark.empleados(tamano, DatosBenchmark.SEMILLA)) {
+            manager.guardarEmpleado(empleado);
+        }
+
+        idsExistentes = DatosBenchmark.idsAleatorios("T", tamano, 1024, DatosBenchmark.SEMILLA + 5);
+        siguienteIdNuevo = tamano + 1;
+    }
+
+    // ===============================
+    // LECTURAS
+    // ===============================
+
+    @Benchmark
+    public Tarea buscarTareaPorId() {
+        return manager.buscarTareaPorId(siguienteIdExistente());
+    }
+
+    @Benchmark
+    public List<Tarea> cargarTodasLasTareas() {
+        return manager.cargarTodasLasTareas();
+    }
+
+    @Benchmark
+    public List<Tarea> cargarTareasPorTipo() {
+        return manager.cargarTareasPorTipo("urgente");
+    }
+
+    @Benchmark
+    public Document obtenerEstadisticasTareas() {
+        return manager.obtenerEstadisticasTareas();
+    }
+
+    // ===============================
+    // ESCRITURAS
+    // ===============================
+
+    /**
+     * Guarda una tarea nueva y la elimina, para que la colección conserve n
+     * documentos durante toda la medición
+     */
+    @Benchmark
+    public boolean guardarYEliminarTarea() {
+        TareaPrioridad base = tareas.get(siguienteIdNuevo % tamano);
+        String id = "T" + siguienteIdNuevo++;
+        Tarea nueva = new Tarea(id, base.getDescripcion(), base.getDepartamento(), base.getUrgencia(), base.getHorasEstimadas());
+        boolean guardada = manager.guardarTareaPrioridad(nueva, "urgente", base.getPrioridad(), base.getFechaEntrega());
+        return manager.eliminarTarea(id) & guardada;
+    }
+
+    @Benchmark
+    public boolean actualizarTarea() {
+        String id = siguienteIdExistente();
+        TareaPrioridad base = tareas.get(siguiente % tamano);
+        Tarea cambios = new Tarea(id, base.getDescripcion(), base.getDepartamento(), base.getUrgencia(),
+                1 + (siguiente % 80));
+        return manager.actualizarTarea(id, cambios);
+    }
+
+    // ===============================
+    // GENERACIÓN DE IDS
+    // ===============================
+
+    @Benchmark
+    public String generarIdTarea() {
+        return manager.generarIdTarea();
+    }
+
+    @Benchmark
+    public String generarIdEmpleado() {
+        return manager.generarIdEmpleado();
+    }
+
+    private String siguienteIdExistente() {
+        return idsExistentes[siguiente++ & (idsExistentes.length - 1)];
+    }
+}
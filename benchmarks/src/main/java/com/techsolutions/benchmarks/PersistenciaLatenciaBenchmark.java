@@ -0,0 +1,16 @@
+package com.techsolutions.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Distribución de latencias de cada operación de persistencia; JMH informa
+ * p0.50, p0.90, p0.99 y p0.999 además de la media
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistenciaLatenciaBenchmark extends PersistenciaBenchmark {
+}
@@ -0,0 +1,15 @@
+package com.techsolutions.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Operaciones por segundo de cada operación de persistencia
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PersistenciaRendimientoBenchmark extends PersistenciaBenchmark {
+}
@@ -0,0 +1,131 @@
+package com.techsolutions.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.util.IndiceIdsOrdenado;
+import com.techsolutions.util.Utilidades;
+
+/**
+ * Ordenamientos y búsquedas de Utilidades, de 1k a 1M tareas.
+ *
+ * Los ordenamientos trabajan sobre una copia de la lista desordenada, así que
+ * cada operación incluye copiar n referencias; ordenarConListSort es la
+ * referencia con el ordenamiento de la JDK sobre la misma copia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class UtilidadesBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    private List<TareaPrioridad> desordenadas;
+    private List<Tarea> desordenadasComoTareas;
+    private List<Tarea> ordenadasPorId;
+    private IndiceIdsOrdenado indiceIds;
+    private String[] idsBuscados;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        desordenadas = DatosBenchmark.tareasConPrioridad(tamano, DatosBenchmark.SEMILLA);
+        desordenadasComoTareas = DatosBenchmark.comoTareas(desordenadas);
+
+        ordenadasPorId = new ArrayList<>(desordenadasComoTareas);
+        Utilidades.ordenarTareasPorId(ordenadasPorId);
+        indiceIds = new IndiceIdsOrdenado();
+        indiceIds.agregarTodas(desordenadasComoTareas);
+
+        idsBuscados = DatosBenchmark.idsAleatorios("T", tamano, 1024, DatosBenchmark.SEMILLA + 3);
+    }
+
+    // ===============================
+    // ORDENAMIENTOS
+    // ===============================
+
+    @Benchmark
+    public List<TareaPrioridad> ordenarPorPrioridad() {
+        List<TareaPrioridad> copia = new ArrayList<>(desordenadas);
+        Utilidades.ordenarTareasPorPrioridad(copia);
+        return copia;
+    }
+
+    @Benchmark
+    public List<Tarea> ordenarPorDepartamento() {
+        List<Tarea> copia = new ArrayList<>(desordenadasComoTareas);
+        Utilidades.ordenarTareasPorDepartamento(copia);
+        return copia;
+    }
+
+    @Benchmark
+    public List<TareaPrioridad> ordenarPorPrioridadFechaDepartamento() {
+        List<TareaPrioridad> copia = new ArrayList<>(desordenadas);
+        Utilidades.ordenarTareasPorPrioridadFechaDepartamento(copia);
+        return copia;
+    }
+
+    @Benchmark
+    public List<Tarea> ordenarPorId() {
+        List<Tarea> copia = new ArrayList<>(desordenadasComoTareas);
+        Utilidades.ordenarTareasPorId(copia);
+        return copia;
+    }
+
+    @Benchmark
+    public List<TareaPrioridad> ordenarConListSort() {
+        List<TareaPrioridad> copia = new ArrayList<>(desordenadas);
+        copia.sort(Comparator.naturalOrder());
+        return copia;
+    }
+
+    // ===============================
+    // BÚSQUEDAS
+    // ===============================
+
+    @Benchmark
+    public Tarea busquedaBinariaPorId() {
+        return Utilidades.busquedaBinariaPorId(ordenadasPorId, siguienteId());
+    }
+
+    @Benchmark
+    public Tarea indiceIdsObtener() {
+        return indiceIds.obtener(siguienteId());
+    }
+
+    @Benchmark
+    public int indiceIdsRango() {
+        int desde = Utilidades.extraerNumeroId(siguienteId());
+        return indiceIds.contarEnRango(desde, desde + 1000);
+    }
+
+    @Benchmark
+    public List<Tarea> buscarPorDepartamento() {
+        return Utilidades.buscarTareasPorDepartamento(desordenadasComoTareas, "Ventas");
+    }
+
+    private String siguienteId() {
+        return idsBuscados[siguiente++ & (idsBuscados.length - 1)];
+    }
+}
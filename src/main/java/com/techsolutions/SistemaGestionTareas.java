@@ -14,17 +14,10 @@ import java.util.Stack;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ArrayList;
-import com.mongodb.client.MongoClients;
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.model.Filters;
-import com.mongodb.client.model.Updates;
-import org.bson.Document;
-import java.util.PriorityQueue;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 // Importaciones de los modelos
 import com.techsolutions.model.Tarea;
@@ -32,11 +25,34 @@ import com.techsolutions.model.TareaPrioridad;
 import com.techsolutions.model.Empleado;
 import com.techsolutions.model.ArbolEmpleados;
 import com.techsolutions.model.Usuario;
+import com.techsolutions.model.ValoresCanonicos;
+import com.techsolutions.db.ArchivoTareasCerradas;
 import com.techsolutions.gui.LoginFrame;
 import com.techsolutions.gui.ArbolEmpleadosViewer;
 import com.techsolutions.gui.GestionUsuariosPanel;
+import com.techsolutions.services.ConsultaTareas;
+import com.techsolutions.services.MotorConsultas;
 import com.techsolutions.services.UsuarioService;
 import com.techsolutions.gui.TableWithFilters;
+import com.techsolutions.gui.PlanificadorRefresco;
+import com.techsolutions.gui.PanelMetricas;
+import com.techsolutions.gui.ModeloTablaColumnar;
+import com.techsolutions.repository.EmpleadoRepository;
+import com.techsolutions.repository.RegistroTarea;
+import com.techsolutions.repository.Repositorios;
+import com.techsolutions.repository.TareaRepository;
+import com.techsolutions.util.AgregadorHoras;
+import com.techsolutions.util.BalanceadorCarga;
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.CodecId;
+import com.techsolutions.util.ColaPrioridadIndexada;
+import com.techsolutions.util.IndiceBusquedaTexto;
+import com.techsolutions.util.IndiceIdsOrdenado;
+import com.techsolutions.util.IndicePrioridad;
+import com.techsolutions.util.OrdenamientoConteo;
+import com.techsolutions.util.PlanificadorEntregas;
+import com.techsolutions.util.RegistroMetricas;
+import com.techsolutions.util.Utilidades;
 
 /**
  * SISTEMA DE GESTION DE TAREAS - TechSolutions S.A. de C.V.
@@ -62,10 +78,11 @@ import com.techsolutions.gui.TableWithFilters;
  *    - Para tareas organizadas por departamento
  *    - Operaciones: Insertar, Eliminar, Buscar por indice
  * 
- * 4. COLA DE PRIORIDAD (PriorityQueue) - Tareas Priorizadas:
+ * 4. COLA DE PRIORIDAD (Monticulo indexado) - Tareas Priorizadas:
  *    - Ordenamiento automatico por prioridad numerica
  *    - Para tareas con niveles de importancia
- *    - Operaciones: Insertar con prioridad, Extraer mas prioritaria
+ *    - Operaciones: Insertar con prioridad, Extraer mas prioritaria,
+ *      Cambiar prioridad y Eliminar por ID en O(log n)
  * 
  * 5. ARBOL BINARIO DE BUSQUEDA (BST) - Empleados:
  *    - Busqueda eficiente O(log n)
@@ -75,7 +92,7 @@ import com.techsolutions.gui.TableWithFilters;
  * CARACTERISTICAS TECNICAS:
  * =========================
  * - Interfaz grafica moderna con Swing
- * - Integracion con MongoDB para persistencia
+ * - Persistencia en MongoDB o en memoria a traves de repositorios
  * - Algoritmos de busqueda y ordenamiento
  * - Recursividad para calculos complejos
  * - Divide y venceras para distribucion de tareas
@@ -86,6 +103,11 @@ import com.techsolutions.gui.TableWithFilters;
  * @since 2025-09-21
  */
 public class SistemaGestionTareas extends JFrame {
+
+    private static final Bitacora BITACORA = Bitacora.de("aplicacion");
+
+    // Traza fila a fila de las tablas; desactivada salvo con vista.filas=DEBUG
+    private static final Bitacora BITACORA_FILAS = Bitacora.de("vista.filas");
     
     // ===============================================
     // ESTRUCTURAS DE DATOS PRINCIPALES
@@ -101,20 +123,17 @@ public class SistemaGestionTareas extends JFrame {
     private final List<Tarea> listaTareasDepartamento = new ArrayList<>();
     
     // ===============================================
-    // CONEXION A BASE DE DATOS MONGODB
+    // ALMACENAMIENTO (MONGODB O EN MEMORIA)
     // ===============================================
     
-    /** Cliente de conexion a MongoDB */
-    private MongoClient mongoClient;
-    
-    /** Base de datos MongoDB */
-    private MongoDatabase database;
+    /** Almacenamiento configurado (ver Repositorios) */
+    private Repositorios repositorios;
     
-    /** Coleccion de tareas en MongoDB */
-    private MongoCollection<Document> collection;
+    /** Repositorio de tareas */
+    private TareaRepository repoTareas;
     
-    /** Coleccion de empleados en MongoDB */
-    private MongoCollection<Document> empleadosCollection;
+    /** Repositorio de empleados */
+    private EmpleadoRepository repoEmpleados;
     
     // ===============================================
     // COMPONENTES DE INTERFAZ GRAFICA
@@ -144,14 +163,18 @@ public class SistemaGestionTareas extends JFrame {
     
     // Panel General
     private JTable tablaGeneral;
-    private DefaultTableModel modelGeneral;
+    private ModeloTablaColumnar modelGeneral;
     private JButton btnActualizarGeneral;
     
     // Panel Cola de Prioridades
     private JPanel panelPrioridad;
     private JTable tablaPrioridad;
-    private DefaultTableModel modelPrioridad;
+    private ModeloTablaColumnar modelPrioridad;
     private JButton btnVerPrioridad, btnEliminarPrioridad; // Agrega esta linea junto con los otros botones
+
+    private static final String TITULO_PRIORIDAD = "Gestión de Tareas por Prioridad";
+    // La tabla de prioridades muestra solo las primeras tareas del índice; con más, filtros y orden se aplican sobre ellas
+    private static final int FILAS_TABLA_PRIORIDAD = 2000;
     
     // Panel Empleados
     private JPanel panelEmpleados;
@@ -164,28 +187,30 @@ public class SistemaGestionTareas extends JFrame {
 
 
 
-    // Recursividad para sumar tiempo estimado
-    private int calcularTiempoTotalRecursivo(List<Tarea> tareas, int idx) {
-        if (idx >= tareas.size()) return 0;
-        int tiempo = tareas.get(idx).getHorasEstimadas(); // Usa el campo real
-        return tiempo + calcularTiempoTotalRecursivo(tareas, idx + 1);
-    }
-
-    // Divide y venceras para distribuir tareas (puedes mostrar la asignacion en la interfaz)
-    private void distribuirTareasDivideVenceras(List<Tarea> tareas, int inicio, int fin) {
-        if (inicio >= fin) return;
-        int medio = (inicio + fin) / 2;
-        // Aqui podrias asignar tareas.get(medio) a un empleado/proyecto
-        distribuirTareasDivideVenceras(tareas, inicio, medio);
-        distribuirTareasDivideVenceras(tareas, medio + 1, fin);
+    // Agregados de horas de todas las tareas activas (pila, cola y lista)
+    private AgregadorHoras.Estadisticas calcularEstadisticasHoras() {
+        return AgregadorHoras.calcularParalelo(listaTareasDepartamento, pilaTareasUrgentes, colaTareasProgramadas);
     }
 
     // HashMap para tareas y empleados
     private final Map<String, Tarea> hashTareas = new HashMap<>();
 
+    // Historial de tareas cerradas fuera del heap (null si no se pudo abrir)
+    private ArchivoTareasCerradas archivoCerradas;
+
+    // Índice de texto para la búsqueda global (ID, departamento y descripción)
+    private final IndiceBusquedaTexto indiceBusqueda = new IndiceBusquedaTexto();
+    private static final int MAX_RESULTADOS_BUSQUEDA = 15;
+
+    // Índices secundarios y planificador para los filtros avanzados
+    private final MotorConsultas motorConsultas = new MotorConsultas();
+
+    // Índice ordenado por número de ID para búsquedas por rango ("T1000-T2000")
+    private final IndiceIdsOrdenado indiceIds = new IndiceIdsOrdenado();
+
     // Metodos de ordenamiento y busqueda
     private void ordenarTareasPorPrioridadFecha(List<TareaPrioridad> lista) {
-        lista.sort(Comparator.naturalOrder());
+        Utilidades.ordenarTareasPorPrioridadFechaDepartamento(lista);
     }
 
     // Ejemplo de busqueda eficiente
@@ -193,8 +218,11 @@ public class SistemaGestionTareas extends JFrame {
         return hashTareas.get(id);
     }
 
-    // Cola de prioridades global
-    private final PriorityQueue<TareaPrioridad> colaPrioridad = new PriorityQueue<>();
+    // Cola de prioridades global (montículo indexado por ID para poder reordenar tareas)
+    private final ColaPrioridadIndexada colaPrioridad = new ColaPrioridadIndexada();
+
+    // Indice ordenado que alimenta la tabla de prioridades sin copiar la cola
+    private final IndicePrioridad indicePrioridad = new IndicePrioridad();
 
     // Arbol binario de empleados global
     private final ArbolEmpleados arbolEmpleados = new ArbolEmpleados();
@@ -206,11 +234,18 @@ public class SistemaGestionTareas extends JFrame {
     // Usuario actual del sistema
     private Usuario usuarioActual;
 
+    // Agrupa los refrescos de tablas para no reconstruirlas en cada cambio
+    private final PlanificadorRefresco planificadorRefresco = new PlanificadorRefresco();
+
+    // Contadores y latencias de la aplicación (panel de métricas y volcado a archivo)
+    private final RegistroMetricas metricas = RegistroMetricas.getInstance();
+
     public SistemaGestionTareas(Usuario usuario) {
         super("Sistema de Gestion de Tareas - TechSolutions S.A. de C.V.");
         this.usuarioActual = usuario;
         
         inicializarSistema();
+        metricas.indicador("tareas.activas", hashTareas::size);
     }
     
     // Constructor por defecto (para compatibilidad)
@@ -240,23 +275,28 @@ public class SistemaGestionTareas extends JFrame {
             UIManager.put("TableHeader.foreground", Color.BLACK);
             UIManager.put("TableHeader.font", new Font("Segoe UI", Font.BOLD, 12));
         } catch (Exception e) {
-            System.err.println("Error configurando Look and Feel: " + e.getMessage());
+            BITACORA.aviso("Error configurando Look and Feel: {}", e.getMessage());
         }
         
         // HashMap de tareas
         hashTareas.put("T1", new Tarea("T1", "Revisar codigo", "Desarrollo", "Alta"));
 
-        // Conectar a MongoDB
-        conectarMongoDB();
+        // Registrar las vistas que se refrescan de forma agrupada
+        registrarVistasRefresco();
+
+        // Abrir el almacenamiento (MongoDB o en memoria)
+        abrirRepositorios();
+
+        motorConsultas.setRepositorio(repoTareas);
+
+        // Abrir el historial de tareas cerradas
+        abrirArchivoCerradas();
 
         // Configurar interfaz completa
         configurarInterfaz();
 
-        // Cargar datos desde MongoDB
-        cargarDatosDesdeMongoDB();
-        
-        // Cargar empleados en el arbol
-        cargarEmpleadosDesdeMongoDB();
+        // Cargar datos desde el repositorio (incluye los empleados del arbol)
+        cargarDatosDesdeRepositorio();
 
         // Ejemplo de ordenamiento
         java.util.List<TareaPrioridad> listaPrioridad = new ArrayList<>();
@@ -297,116 +337,99 @@ public class SistemaGestionTareas extends JFrame {
         };
     }
     
-    // Conectar a MongoDB tambien para empleados
-    private void conectarMongoDB() {
+    // Abre los repositorios de tareas y empleados; si MongoDB no responde se usan en memoria
+    private void abrirRepositorios() {
         try {
-            mongoClient = MongoClients.create("mongodb://localhost:27017");
-            database = mongoClient.getDatabase("techsolutions");
-            collection = database.getCollection("tareas");
-            empleadosCollection = database.getCollection("empleados");
-            System.out.println("Conexion a MongoDB establecida correctamente");
+            repositorios = Repositorios.getInstance();
+            repoTareas = repositorios.getTareas();
+            repoEmpleados = repositorios.getEmpleados();
+            BITACORA.info("Almacenamiento: {}", repositorios.getDescripcion());
         } catch (Exception e) {
-            System.err.println("Error al conectar con MongoDB: " + e.getMessage());
-            System.err.println("El sistema funcionara sin persistencia de datos");
+            BITACORA.error("Error al abrir el almacenamiento: {}", e.getMessage());
+            BITACORA.aviso("El sistema funcionara sin persistencia de datos");
             // No mostrar dialogo de error que podria interferir con la inicializacion
-            mongoClient = null;
-            database = null;
-            collection = null;
-            empleadosCollection = null;
+            repositorios = Repositorios.volatiles();
+            repoTareas = repositorios.getTareas();
+            repoEmpleados = repositorios.getEmpleados();
         }
     }
     
-    // Cargar empleados en el arbol desde MongoDB
-    private ArbolEmpleados cargarEmpleadosDesdeMongoDB() {
-        ArbolEmpleados arbol = new ArbolEmpleados();
-        for (Document doc : empleadosCollection.find()) {
-            arbol.insertar(new Empleado(
-                doc.getString("id"),
-                doc.getString("nombre"),
-                doc.getString("departamento")
-            ));
-        }
-        return arbol;
-    }
-    
-    private void cargarDatosDesdeMongoDB() {
-        // Si no hay conexion a MongoDB, no intentar cargar datos
-        if (collection == null || empleadosCollection == null) {
-            System.out.println("MongoDB no disponible, usando datos predeterminados");
-            cargarDatosPredeterminados();
-            return;
-        }
-        
+    private void cargarDatosDesdeRepositorio() {
         try {
+            // Sin datos guardados en memoria se muestran los de ejemplo; con MongoDB se respeta la base vacia
+            if (repositorios.getModo() != Repositorios.Modo.MONGODB &&
+                repoTareas.contar() == 0 && repoEmpleados.contar() == 0) {
+                BITACORA.info("Almacenamiento vacio, usando datos predeterminados");
+                cargarDatosPredeterminados();
+                return;
+            }
+
             pilaTareasUrgentes.clear();
             colaTareasProgramadas.clear();
             listaTareasDepartamento.clear();
             colaPrioridad.clear();
+            indicePrioridad.limpiar();
             hashTareas.clear();
+            indiceBusqueda.limpiar();
+            motorConsultas.limpiar();
+            indiceIds.limpiar();
             // No podemos reasignar arbolEmpleados porque es final, pero podemos limpiarlo de otra manera
             dependenciasTareas.clear(); // Limpia el grafo
 
-            for (Document doc : collection.find()) {
-                Tarea tarea = documentToTarea(doc);
+            for (RegistroTarea registro : repoTareas.cargarTodas()) {
+                // Las tareas cerradas viven en el archivo histórico, no en memoria
+                if (registro.estaCompletada() ||
+                    (archivoCerradas != null && archivoCerradas.contiene(registro.getId()))) {
+                    continue;
+                }
+
+                String tipo = ValoresCanonicos.tipo(registro.getTipo());
+
+                // Un solo objeto por tarea: la misma instancia va al hash y a la cola de prioridades
+                Tarea tarea = registro.toTarea();
                 hashTareas.put(tarea.getId(), tarea);
+                indexarTarea(tarea);
 
-                String tipo = doc.getString("tipo");
-                int prioridad = doc.getInteger("prioridad", 2); // Default Media
-                String fechaEntrega = doc.getString("fechaEntrega");
-
-                // Si tiene prioridad y fecha, usalo como TareaPrioridad
-                if (prioridad > 0 && fechaEntrega != null) {
-                    TareaPrioridad tp = new TareaPrioridad(
-                        tarea.getId(), tarea.getDescripcion(), tarea.getDepartamento(),
-                        tarea.getUrgencia(), prioridad, fechaEntrega
-                    );
-                    colaPrioridad.add(tp);
+                // toTarea() solo devuelve una TareaPrioridad si tiene prioridad y fecha
+                if (tarea instanceof TareaPrioridad) {
+                    TareaPrioridad tareaPrioridad = (TareaPrioridad) tarea;
+                    colaPrioridad.add(tareaPrioridad);
+                    indicePrioridad.agregar(tareaPrioridad);
                 }
 
                 // Logica original
-                if ("urgente".equals(tipo)) pilaTareasUrgentes.push(tarea);
-                else if ("programada".equals(tipo)) colaTareasProgramadas.add(tarea);
-                else if ("departamento".equals(tipo)) {
+                // Valores canonicos: se comparan por identidad
+                if (tipo == ValoresCanonicos.TIPO_URGENTE) pilaTareasUrgentes.push(tarea);
+                else if (tipo == ValoresCanonicos.TIPO_PROGRAMADA) colaTareasProgramadas.add(tarea);
+                else if (tipo == ValoresCanonicos.TIPO_DEPARTAMENTO) {
                     // Solo agregar tareas del departamento del usuario actual
                     if (tarea.getDepartamento() != null && 
-                        tarea.getDepartamento().equals(usuarioActual.getDepartamento())) {
+                        tarea.getDepartamento() == usuarioActual.getDepartamento()) {
                         listaTareasDepartamento.add(tarea);
                     }
                 }
 
                 // Cargar dependencias si existen
-                Object depsObj = doc.get("dependencias");
-                if (depsObj instanceof List<?>) {
-                    List<?> depsList = (List<?>) depsObj;
-                    List<String> deps = new ArrayList<>();
-                    for (Object o : depsList) {
-                        if (o != null) deps.add(o.toString());
-                    }
-                    if (!deps.isEmpty()) {
-                        dependenciasTareas.put(tarea.getId(), deps);
-                    }
+                if (!registro.getDependencias().isEmpty()) {
+                    dependenciasTareas.put(tarea.getId(), registro.getDependencias());
                 }
             }
 
-            // Cargar empleados en el arbol desde MongoDB
-            for (Document doc : empleadosCollection.find()) {
-                arbolEmpleados.insertar(new Empleado(
-                    doc.getString("id"),
-                    doc.getString("nombre"),
-                    doc.getString("departamento")
-                ));
+            // Cargar empleados en el arbol
+            for (Empleado empleado : repoEmpleados.cargarTodos()) {
+                arbolEmpleados.insertar(empleado);
             }
 
             actualizarTablas();
-            mostrarTodosEmpleados(); // <-- Agrega esta linea
+            planificadorRefresco.marcarSucia("empleados");
         } catch (Exception e) {
-            System.err.println("Error al cargar datos desde MongoDB: " + e.getMessage());
+            BITACORA.error("Error al cargar datos desde el almacenamiento: {}", e.getMessage());
             cargarDatosPredeterminados();
         }
     }
     
     /**
-     * Carga algunos datos predeterminados cuando MongoDB no esta disponible
+     * Carga algunos datos predeterminados cuando no hay datos guardados
      */
     private void cargarDatosPredeterminados() {
         // Agregar algunas tareas de ejemplo
@@ -423,12 +446,17 @@ public class SistemaGestionTareas extends JFrame {
         listaTareasDepartamento.add(tarea3);
         colaPrioridad.add(tarea4);
         colaPrioridad.add(tarea5);
+        indicePrioridad.agregar(tarea4);
+        indicePrioridad.agregar(tarea5);
         
         hashTareas.put(tarea1.getId(), tarea1);
         hashTareas.put(tarea2.getId(), tarea2);
         hashTareas.put(tarea3.getId(), tarea3);
         hashTareas.put(tarea4.getId(), tarea4);
         hashTareas.put(tarea5.getId(), tarea5);
+        indiceBusqueda.agregarTodas(hashTareas.values());
+        motorConsultas.agregarTodas(hashTareas.values());
+        indiceIds.agregarTodas(hashTareas.values());
         
         // Agregar empleados de ejemplo
         arbolEmpleados.insertar(new Empleado("E001", "Juan Perez", "Desarrollo"));
@@ -445,7 +473,7 @@ public class SistemaGestionTareas extends JFrame {
         if (usuarioActual.esJefe()) {
             // Solo el jefe tiene acceso a todas las tablas
             actualizarTablas();
-            mostrarTodosEmpleados();
+            planificadorRefresco.marcarSucia("empleados");
         } else if (usuarioActual.esJefeDepartamento()) {
             // Jefe de departamento solo actualiza las tablas que maneja
             actualizarTablasDepartamento();
@@ -461,13 +489,13 @@ public class SistemaGestionTareas extends JFrame {
     private void actualizarTablasDepartamento() {
         // Solo actualizar las tablas que el jefe de departamento puede ver
         if (modelLista != null) {
-            actualizarTablaLista();
+            planificadorRefresco.marcarSucia("lista");
         }
         if (modelPrioridad != null) {
-            actualizarTablaPrioridad();
+            planificadorRefresco.marcarSucia("prioridad");
         }
         if (modelEmpleados != null) {
-            mostrarTodosEmpleados();
+            planificadorRefresco.marcarSucia("empleados");
         }
     }
     
@@ -484,11 +512,11 @@ public class SistemaGestionTareas extends JFrame {
             // Recargar las tareas asignadas al empleado
             cargarTareasEmpleado(modelo);
             
-            System.out.println("🔄 Vista de empleado actualizada correctamente");
+            BITACORA.debug("Vista de empleado actualizada correctamente");
         }
     }
     
-    private void guardarTareaEnMongoDB(Tarea tarea, String tipo) {
+    private void guardarTareaEnRepositorio(Tarea tarea, String tipo) {
         try {
             int prioridad = 2;
             String fechaEntrega = null;
@@ -498,57 +526,25 @@ public class SistemaGestionTareas extends JFrame {
                         JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, opciones, opciones[1]) + 1;
                 fechaEntrega = JOptionPane.showInputDialog(this, "Fecha de entrega (yyyy-MM-dd):");
             }
-            Document doc = new Document("id", tarea.getId())
-                    .append("descripcion", tarea.getDescripcion())
-                    .append("departamento", tarea.getDepartamento())
-                    .append("urgencia", tarea.getUrgencia())
-                    .append("horasEstimadas", tarea.getHorasEstimadas())
-                    .append("empleadoAsignado", tarea.getEmpleadoAsignado()) // NUEVO: empleado asignado
-                    .append("tipo", tipo)
-                    .append("prioridad", prioridad)
-                    .append("fechaEntrega", fechaEntrega);
-            collection.insertOne(doc);
+            repoTareas.guardar(new RegistroTarea(tarea, tipo, prioridad, fechaEntrega));
         } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error al guardar en MongoDB: " + e.getMessage(), 
+            JOptionPane.showMessageDialog(this, "Error al guardar la tarea: " + e.getMessage(), 
                     "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
     
     /**
-     * Actualiza una tarea existente en MongoDB
+     * Actualiza una tarea existente en el repositorio
      */
-    private void actualizarTareaEnMongoDB(Tarea tarea) {
+    private void actualizarTareaEnRepositorio(Tarea tarea) {
         try {
-            Document filtro = new Document("id", tarea.getId());
-            Document actualizacion = new Document("$set", new Document()
-                    .append("descripcion", tarea.getDescripcion())
-                    .append("departamento", tarea.getDepartamento())
-                    .append("urgencia", tarea.getUrgencia())
-                    .append("horasEstimadas", tarea.getHorasEstimadas())
-                    .append("empleadoAsignado", tarea.getEmpleadoAsignado()));
-            
-            collection.updateOne(filtro, actualizacion);
-            System.out.println("Tarea actualizada en MongoDB: " + tarea.getId());
+            repoTareas.actualizarDatos(tarea);
+            BITACORA.debug("Tarea actualizada: {}", tarea.getId());
         } catch (Exception e) {
-            System.err.println("Error al actualizar tarea en MongoDB: " + e.getMessage());
+            BITACORA.error("Error al actualizar tarea: {}", e.getMessage());
         }
     }
     
-    private Tarea documentToTarea(Document doc) {
-        String id = doc.getString("id");
-        String descripcion = doc.getString("descripcion");
-        String departamento = doc.getString("departamento");
-        String urgencia = doc.getString("urgencia");
-        int horasEstimadas = doc.getInteger("horasEstimadas", 1);
-        String empleadoAsignado = doc.getString("empleadoAsignado"); // NUEVO
-        
-        Tarea tarea = new Tarea(id, descripcion, departamento, urgencia, horasEstimadas);
-        if (empleadoAsignado != null && !empleadoAsignado.isEmpty()) {
-            tarea.setEmpleadoAsignado(empleadoAsignado);
-        }
-        return tarea;
-    }
-    
     private void configurarInterfaz() {
         // Configurar ventana principal con tamano mas grande
         setTitle("Sistema de Gestion de Tareas - " + usuarioActual.getNombre() + " (" + usuarioActual.getRol().getDescripcion() + ")");
@@ -622,9 +618,130 @@ public class SistemaGestionTareas extends JFrame {
         panelIzquierdo.add(lblHora, BorderLayout.EAST);
         
         panelSuperior.add(panelIzquierdo, BorderLayout.WEST);
+        panelSuperior.add(crearCajaBusqueda(), BorderLayout.CENTER);
         panelSuperior.add(btnLogout, BorderLayout.EAST);
         mainPanel.add(panelSuperior, BorderLayout.NORTH);
     }
+
+    /**
+     * Registra una tarea activa en los índices de búsqueda y de consultas
+     */
+    private void indexarTarea(Tarea tarea) {
+        indiceBusqueda.agregar(tarea);
+        motorConsultas.agregar(tarea);
+        indiceIds.agregar(tarea);
+    }
+
+    private void desindexarTarea(String id) {
+        indiceBusqueda.eliminar(id);
+        motorConsultas.eliminar(id);
+        indiceIds.eliminar(id);
+    }
+
+    /**
+     * Caja de búsqueda global: busca en el índice de texto mientras se escribe
+     * (con una pausa de 150 ms) y muestra los resultados en una lista desplegable.
+     */
+    private JPanel crearCajaBusqueda() {
+        JTextField txtBuscar = new JTextField(28);
+        txtBuscar.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        txtBuscar.setToolTipText("Buscar tareas por ID, departamento o descripción");
+
+        DefaultListModel<IndiceBusquedaTexto.Resultado> modeloResultados = new DefaultListModel<>();
+        JList<IndiceBusquedaTexto.Resultado> listaResultados = new JList<>(modeloResultados);
+        listaResultados.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        listaResultados.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                Tarea t = ((IndiceBusquedaTexto.Resultado) value).getTarea();
+                String texto = t.getId() + " - " + t.getDescripcion() + " (" + t.getDepartamento() + ")";
+                return super.getListCellRendererComponent(list, texto, index, isSelected, cellHasFocus);
+            }
+        });
+
+        JPopupMenu popup = new JPopupMenu();
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(listaResultados));
+
+        Timer retardo = new Timer(150, e -> {
+            String consulta = txtBuscar.getText();
+            modeloResultados.clear();
+            if (consulta.trim().isEmpty()) {
+                popup.setVisible(false);
+                return;
+            }
+            for (IndiceBusquedaTexto.Resultado r : indiceBusqueda.buscar(consulta, MAX_RESULTADOS_BUSQUEDA, this::tareaVisibleEnBusqueda)) {
+                modeloResultados.addElement(r);
+            }
+            if (modeloResultados.isEmpty()) {
+                popup.setVisible(false);
+            } else {
+                listaResultados.setVisibleRowCount(Math.min(modeloResultados.size(), 10));
+                popup.pack();
+                popup.show(txtBuscar, 0, txtBuscar.getHeight());
+            }
+        });
+        retardo.setRepeats(false);
+
+        txtBuscar.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { retardo.restart(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { retardo.restart(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { retardo.restart(); }
+        });
+        txtBuscar.addActionListener(e -> {
+            if (!modeloResultados.isEmpty()) {
+                popup.setVisible(false);
+                mostrarDetalleTarea(modeloResultados.get(0).getTarea());
+            }
+        });
+        listaResultados.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                IndiceBusquedaTexto.Resultado seleccionado = listaResultados.getSelectedValue();
+                if (seleccionado != null) {
+                    popup.setVisible(false);
+                    mostrarDetalleTarea(seleccionado.getTarea());
+                }
+            }
+        });
+
+        JLabel lblBuscar = new JLabel("Buscar:");
+        lblBuscar.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        lblBuscar.setForeground(Color.WHITE);
+
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+        panel.setOpaque(false);
+        panel.add(lblBuscar);
+        panel.add(txtBuscar);
+        return panel;
+    }
+
+    /**
+     * Los jefes generales y el CEO ven todas las tareas; el resto solo las de su departamento
+     */
+    private boolean tareaVisibleEnBusqueda(Tarea tarea) {
+        if (usuarioActual.esCEO() || usuarioActual.esJefe()) return true;
+        return tarea.getDepartamento() == usuarioActual.getDepartamento();
+    }
+
+    private void mostrarDetalleTarea(Tarea tarea) {
+        StringBuilder detalle = new StringBuilder();
+        detalle.append("ID: ").append(tarea.getId()).append("\n");
+        detalle.append("Descripción: ").append(tarea.getDescripcion()).append("\n");
+        detalle.append("Departamento: ").append(tarea.getDepartamento()).append("\n");
+        detalle.append("Urgencia: ").append(tarea.getUrgencia()).append("\n");
+        detalle.append("Horas estimadas: ").append(tarea.getHorasEstimadas()).append("\n");
+        detalle.append("Empleado asignado: ")
+               .append(tarea.getEmpleadoAsignado() != null ? tarea.getEmpleadoAsignado() : "Sin asignar");
+        if (tarea instanceof TareaPrioridad) {
+            TareaPrioridad tp = (TareaPrioridad) tarea;
+            detalle.append("\nPrioridad: ").append(tp.getPrioridadNombre());
+            detalle.append("\nFecha de entrega: ").append(tp.getFechaEntrega());
+        }
+        JOptionPane.showMessageDialog(this, detalle.toString(), "Tarea " + tarea.getId(),
+                JOptionPane.INFORMATION_MESSAGE);
+    }
     
     /**
      * Configura los paneles segun el rol del usuario autenticado
@@ -666,6 +783,7 @@ public class SistemaGestionTareas extends JFrame {
         tabbedPane.addTab("Prioridades", panelPrioridad);
         tabbedPane.addTab("Empleados", panelEmpleados);
         tabbedPane.addTab("Administracion", panelAdministracion);
+        tabbedPane.addTab("Metricas", new PanelMetricas());
     }
     
     /**
@@ -694,6 +812,7 @@ public class SistemaGestionTareas extends JFrame {
         tabbedPane.addTab("Empleados", panelEmpleados);
         tabbedPane.addTab("Administracion", panelAdministracion);
         tabbedPane.addTab("Panel Ejecutivo", panelEjecutivo);
+        tabbedPane.addTab("Metricas", new PanelMetricas());
     }
     
     /**
@@ -1084,16 +1203,19 @@ public class SistemaGestionTareas extends JFrame {
                 TitledBorder.LEFT, TitledBorder.TOP, new Font("Segoe UI", Font.BOLD, 14), new Color(70, 130, 180)));
 
         // Modelo de tabla NO EDITABLE
+        // Modelo columnar: no crea un Vector por fila y codifica las columnas repetitivas
         String[] columnas = {"ID", "Descripción", "Departamento", "Urgencia", "Tipo"};
-        modelGeneral = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        modelGeneral = new ModeloTablaColumnar(columnas, new ModeloTablaColumnar.TipoColumna[]{
+            ModeloTablaColumnar.TipoColumna.TEXTO,
+            ModeloTablaColumnar.TipoColumna.TEXTO,
+            ModeloTablaColumnar.TipoColumna.CATEGORIA,
+            ModeloTablaColumnar.TipoColumna.CATEGORIA,
+            ModeloTablaColumnar.TipoColumna.CATEGORIA
+        });
         
         // Usar nueva tabla con filtros
-        TableWithFilters tablaGeneral = new TableWithFilters(modelGeneral);
+        // La tabla general reúne todas las tareas: filtrado y orden en segundo plano
+        TableWithFilters tablaGeneral = new TableWithFilters(modelGeneral, true);
         this.tablaGeneral = tablaGeneral;
 
         // Panel de botones en la parte SUPERIOR - organizado en filas
@@ -1220,17 +1342,20 @@ public class SistemaGestionTareas extends JFrame {
     private JPanel crearPanelPrioridad() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
-        panel.setBorder(new TitledBorder(null, "Gestión de Tareas por Prioridad", 
+        panel.setBorder(new TitledBorder(null, TITULO_PRIORIDAD, 
                 TitledBorder.LEFT, TitledBorder.TOP, new Font("Segoe UI", Font.BOLD, 14), new Color(70, 130, 180)));
 
         // Modelo de tabla NO EDITABLE
         String[] columnas = {"ID", "Descripción", "Departamento", "Urgencia", "Prioridad", "Fecha Entrega"};
-        modelPrioridad = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        modelPrioridad = new ModeloTablaColumnar(columnas, new ModeloTablaColumnar.TipoColumna[]{
+            ModeloTablaColumnar.TipoColumna.TEXTO,
+            ModeloTablaColumnar.TipoColumna.TEXTO,
+            ModeloTablaColumnar.TipoColumna.CATEGORIA,
+            ModeloTablaColumnar.TipoColumna.CATEGORIA,
+            ModeloTablaColumnar.TipoColumna.CATEGORIA,
+            // Las fechas casi no se repiten: como categoría el diccionario crecería sin límite
+            ModeloTablaColumnar.TipoColumna.TEXTO
+        });
         
         // Usar nueva tabla con filtros
         TableWithFilters tablaPrioridad = new TableWithFilters(modelPrioridad);
@@ -1247,6 +1372,8 @@ public class SistemaGestionTareas extends JFrame {
 
         btnVerPrioridad = crearBotonModerno("Ver Mayor Prioridad", new Color(255, 215, 0));
         btnEliminarPrioridad = crearBotonModerno("Eliminar Mayor Prioridad", new Color(255, 182, 193));
+        JButton btnCambiarPrioridad = crearBotonModerno("Cambiar Prioridad", new Color(255, 228, 181));
+        JButton btnPlanificarEntregas = crearBotonModerno("Planificar Entregas", new Color(176, 224, 230));
 
         btnVerPrioridad.addActionListener(new ActionListener() {
             @Override
@@ -1262,8 +1389,13 @@ public class SistemaGestionTareas extends JFrame {
             }
         });
 
+        btnCambiarPrioridad.addActionListener(e -> cambiarPrioridadTarea());
+        btnPlanificarEntregas.addActionListener(e -> planificarEntregas());
+
         panelBotones.add(btnVerPrioridad);
         panelBotones.add(btnEliminarPrioridad);
+        panelBotones.add(btnCambiarPrioridad);
+        panelBotones.add(btnPlanificarEntregas);
         
         // Panel central con filtros y tabla
         JPanel panelCentral = new JPanel(new BorderLayout());
@@ -1288,15 +1420,15 @@ public class SistemaGestionTareas extends JFrame {
     // Nueva lógica para la tabla de prioridades
     private void actualizarTablaPrioridad() {
         if (modelPrioridad == null) {
-            System.err.println("Advertencia: modelPrioridad es null, omitiendo actualización");
+            BITACORA.aviso("modelPrioridad es null, omitiendo actualización");
             return;
         }
+        modelPrioridad.iniciarCarga();
         modelPrioridad.setRowCount(0);
         
-        // Copia la cola para no modificar el orden real
-        PriorityQueue<TareaPrioridad> copia = new PriorityQueue<>(colaPrioridad);
-        while (!copia.isEmpty()) {
-            TareaPrioridad tarea = copia.poll();
+        // El indice ya esta ordenado: solo se cargan las primeras filas, O(log n + k)
+        List<TareaPrioridad> visibles = indicePrioridad.primeros(FILAS_TABLA_PRIORIDAD);
+        for (TareaPrioridad tarea : visibles) {
             String prioridadStr = tarea.getPrioridad() == 1 ? "Alta" : tarea.getPrioridad() == 2 ? "Media" : "Baja";
             modelPrioridad.addRow(new Object[]{
                 tarea.getId(),
@@ -1307,6 +1439,16 @@ public class SistemaGestionTareas extends JFrame {
                 tarea.getFechaEntrega()
             });
         }
+        modelPrioridad.finalizarCarga();
+
+        // El título avisa cuando la tabla no muestra todas las tareas
+        if (panelPrioridad != null) {
+            int total = indicePrioridad.tamano();
+            ((TitledBorder) panelPrioridad.getBorder()).setTitle(total > visibles.size()
+                    ? TITULO_PRIORIDAD + " (primeras " + visibles.size() + " de " + total + ")"
+                    : TITULO_PRIORIDAD);
+            panelPrioridad.repaint();
+        }
     }
 
     private void verTareaMayorPrioridad() {
@@ -1328,6 +1470,135 @@ public class SistemaGestionTareas extends JFrame {
                 "Mayor Prioridad", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Cambia la prioridad y la fecha de entrega de una tarea de la cola. El
+     * montículo la reacomoda en O(log n); el índice ordenado comparte la
+     * instancia, así que se retira antes de cambiar la clave y se vuelve a agregar.
+     */
+    private void cambiarPrioridadTarea() {
+        int fila = tablaPrioridad.getSelectedRow();
+        String sugerido = fila >= 0 ? String.valueOf(tablaPrioridad.getValueAt(fila, 0)) : "";
+        String id = (String) JOptionPane.showInputDialog(this, "ID de la tarea:", "Cambiar Prioridad",
+                JOptionPane.QUESTION_MESSAGE, null, null, sugerido);
+        if (id == null || id.trim().isEmpty()) return;
+        id = id.trim();
+
+        TareaPrioridad tarea = colaPrioridad.get(id);
+        if (tarea == null) {
+            JOptionPane.showMessageDialog(this, "La tarea " + id + " no está en la cola de prioridades.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        String[] opciones = {"Alta", "Media", "Baja"};
+        int actual = Math.min(Math.max(tarea.getPrioridad(), 1), opciones.length) - 1;
+        int eleccion = JOptionPane.showOptionDialog(this, "Prioridad de la tarea:", "Prioridad",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, opciones, opciones[actual]);
+        if (eleccion < 0) return;
+        int prioridad = eleccion + 1;
+
+        String fechaEntrega = (String) JOptionPane.showInputDialog(this, "Fecha de entrega (yyyy-MM-dd):",
+                "Cambiar Prioridad", JOptionPane.QUESTION_MESSAGE, null, null, tarea.getFechaEntrega());
+        if (fechaEntrega == null) return;
+        fechaEntrega = fechaEntrega.trim();
+        if (!Utilidades.validarFormatoFecha(fechaEntrega)) {
+            JOptionPane.showMessageDialog(this, "Fecha inválida (use yyyy-MM-dd): " + fechaEntrega,
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Primero el repositorio: si falla, la memoria queda como estaba
+        try {
+            repoTareas.actualizarPrioridad(id, prioridad, fechaEntrega);
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, "Error al guardar la prioridad: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        desindexarTarea(id);
+        // El índice recoloca la tarea en el árbol y la cola en el montículo, O(log n) cada uno
+        indicePrioridad.actualizar(id, prioridad, fechaEntrega);
+        colaPrioridad.reacomodar(id);
+        indexarTarea(tarea);
+
+        actualizarTablas();
+    }
+
+    /**
+     * Planifica las tareas con prioridad sobre los empleados de cada departamento
+     * (fecha de entrega más cercana primero, respetando dependencias) y muestra
+     * la fecha prevista de finalización de cada una.
+     */
+    private void planificarEntregas() {
+        if (indicePrioridad.estaVacio()) {
+            JOptionPane.showMessageDialog(this, "No hay tareas en la cola de prioridades",
+                    "Cola Vacía", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        // Se planifica sobre el índice ordenado, sin copiar las tareas
+        Collection<TareaPrioridad> tareas = indicePrioridad.tareas();
+
+        // Capacidad: empleados registrados en cada departamento
+        Map<String, List<Empleado>> empleadosPorDepto = new HashMap<>();
+        Map<String, Integer> capacidad = new HashMap<>();
+        for (TareaPrioridad tarea : tareas) {
+            String depto = tarea.getDepartamento();
+            if (!empleadosPorDepto.containsKey(depto)) {
+                List<Empleado> empleados = new ArrayList<>();
+                arbolEmpleados.buscarPorDepartamento(depto, empleados);
+                empleadosPorDepto.put(depto, empleados);
+                capacidad.put(depto, empleados.size());
+            }
+        }
+
+        long inicio = System.nanoTime();
+        PlanificadorEntregas.ResultadoPlanificacion resultado = new PlanificadorEntregas()
+                .planificar(tareas, capacidad, dependenciasTareas, Utilidades.obtenerFechaActual());
+        metricas.registrarDesde("grafo.planificarEntregas", inicio);
+
+        StringBuilder reporte = new StringBuilder();
+        reporte.append("📅 PLAN DE ENTREGAS\n");
+        reporte.append("=".repeat(70)).append("\n\n");
+        reporte.append(String.format("%-8s %-28s %-20s %-12s %-12s%n",
+                "ID", "Responsable", "Departamento", "Entrega", "Fin previsto"));
+
+        for (PlanificadorEntregas.Asignacion asignacion : resultado.getAsignaciones()) {
+            TareaPrioridad tarea = asignacion.getTarea();
+            List<Empleado> empleados = empleadosPorDepto.get(tarea.getDepartamento());
+            String responsable = asignacion.getPuesto() < empleados.size()
+                    ? empleados.get(asignacion.getPuesto()).getNombre()
+                    : "Sin asignar";
+            reporte.append(String.format("%-8s %-28s %-20s %-12s %-12s%s%n",
+                    tarea.getId(), responsable, tarea.getDepartamento(), tarea.getFechaEntrega(),
+                    asignacion.getFechaFinPrevista(), asignacion.isRetrasada() ? " ⚠️ RETRASO" : ""));
+        }
+
+        reporte.append("\n").append("=".repeat(70)).append("\n");
+        reporte.append(String.format("Tareas planificadas: %d | Retrasadas: %d | Horas de trabajo: %d%n",
+                resultado.getAsignaciones().size(), resultado.getRetrasadas(), resultado.getHorasTotales()));
+        if (!resultado.getBloqueadas().isEmpty()) {
+            reporte.append("Bloqueadas por dependencias cíclicas: ")
+                   .append(String.join(", ", resultado.getBloqueadas())).append("\n");
+        }
+        if (!resultado.getDepartamentosSinPersonal().isEmpty()) {
+            reporte.append("Departamentos sin empleados (se asume un puesto): ")
+                   .append(String.join(", ", resultado.getDepartamentosSinPersonal())).append("\n");
+        }
+        reporte.append("Tiempo de cálculo: ").append(resultado.getTiempoCalculoMs()).append(" ms");
+
+        JTextArea areaReporte = new JTextArea(reporte.toString());
+        areaReporte.setFont(new Font("Courier New", Font.PLAIN, 12));
+        areaReporte.setEditable(false);
+
+        JScrollPane scroll = new JScrollPane(areaReporte);
+        scroll.setPreferredSize(new Dimension(750, 400));
+
+        JOptionPane.showMessageDialog(this, scroll,
+            "Planificación de Entregas", JOptionPane.INFORMATION_MESSAGE);
+    }
+
     // Lógica para eliminar la tarea con mayor prioridad
     private void eliminarTareaMayorPrioridad() {
         if (colaPrioridad.isEmpty()) {
@@ -1336,7 +1607,9 @@ public class SistemaGestionTareas extends JFrame {
             return;
         }
         TareaPrioridad tarea = colaPrioridad.poll();
-        eliminarTareaDeMongoDB(tarea.getId());
+        indicePrioridad.eliminar(tarea.getId());
+        desindexarTarea(tarea.getId());
+        eliminarTareaDelRepositorio(tarea.getId());
 
         // Elimina de otras estructuras
         pilaTareasUrgentes.removeIf(t -> t.getId().equals(tarea.getId()));
@@ -1390,7 +1663,8 @@ public class SistemaGestionTareas extends JFrame {
                     }
                 }
                 pilaTareasUrgentes.push(tarea);
-                guardarTareaEnMongoDB(tarea, "urgente");
+                indexarTarea(tarea);
+                guardarTareaEnRepositorio(tarea, "urgente");
                 actualizarTablaPila();
             }
         } catch (Exception e) {
@@ -1408,8 +1682,10 @@ public class SistemaGestionTareas extends JFrame {
             }
             
             Tarea tarea = pilaTareasUrgentes.pop();
-            eliminarTareaDeMongoDB(tarea.getId());
-            actualizarTablaPila();
+            // La misma instancia está en el hash y en la cola de prioridades
+            retirarTareaActiva(tarea.getId());
+            eliminarTareaDelRepositorio(tarea.getId());
+            actualizarTablas();
             
             JOptionPane.showMessageDialog(this, "Tarea eliminada: " + tarea.getDescripcion(), 
                     "Tarea Eliminada", JOptionPane.INFORMATION_MESSAGE);
@@ -1454,7 +1730,8 @@ public class SistemaGestionTareas extends JFrame {
                     }
                 }
                 colaTareasProgramadas.add(tarea);
-                guardarTareaEnMongoDB(tarea, "programada");
+                indexarTarea(tarea);
+                guardarTareaEnRepositorio(tarea, "programada");
                 actualizarTablaCola();
             }
         } catch (Exception e) {
@@ -1472,8 +1749,10 @@ public class SistemaGestionTareas extends JFrame {
             }
             
             Tarea tarea = colaTareasProgramadas.remove();
-            eliminarTareaDeMongoDB(tarea.getId());
-            actualizarTablaCola();
+            // La misma instancia está en el hash y en la cola de prioridades
+            retirarTareaActiva(tarea.getId());
+            eliminarTareaDelRepositorio(tarea.getId());
+            actualizarTablas();
             
             JOptionPane.showMessageDialog(this, "Tarea eliminada: " + tarea.getDescripcion(), 
                     "Tarea Eliminada", JOptionPane.INFORMATION_MESSAGE);
@@ -1518,7 +1797,8 @@ public class SistemaGestionTareas extends JFrame {
                     }
                 }
                 listaTareasDepartamento.add(tarea);
-                guardarTareaEnMongoDB(tarea, "departamento");
+                indexarTarea(tarea);
+                guardarTareaEnRepositorio(tarea, "departamento");
                 actualizarTablaLista();
             }
         } catch (Exception e) {
@@ -1547,9 +1827,10 @@ public class SistemaGestionTareas extends JFrame {
             }
             
             if (tareaEliminar != null) {
-                listaTareasDepartamento.remove(tareaEliminar);
-                eliminarTareaDeMongoDB(tareaEliminar.getId());
-                actualizarTablaLista();
+                // La misma instancia está en el hash y en la cola de prioridades
+                retirarTareaActiva(tareaEliminar.getId());
+                eliminarTareaDelRepositorio(tareaEliminar.getId());
+                actualizarTablas();
                 
                 JOptionPane.showMessageDialog(this, "Tarea eliminada: " + tareaEliminar.getDescripcion(), 
                         "Tarea Eliminada", JOptionPane.INFORMATION_MESSAGE);
@@ -1569,12 +1850,13 @@ public class SistemaGestionTareas extends JFrame {
             }
             
             if (modelLista == null) {
-                System.err.println("Advertencia: modelLista es null en buscarTareasLista");
+                BITACORA.aviso("modelLista es null en buscarTareasLista");
                 return;
             }
             modelLista.setRowCount(0);
+            String departamentoCanonico = ValoresCanonicos.buscarDepartamento(departamento);
             for (Tarea tarea : listaTareasDepartamento) {
-                if (tarea.getDepartamento().equalsIgnoreCase(departamento)) {
+                if (tarea.getDepartamento() == departamentoCanonico) {
                     modelLista.addRow(new Object[]{
                         tarea.getId(),
                         tarea.getDescripcion(),
@@ -1590,16 +1872,8 @@ public class SistemaGestionTareas extends JFrame {
     }
     
     private String generarIdTarea() {
-    int max = 0;
-    for (Document doc : collection.find()) {
-        String id = doc.getString("id");
-        if (id != null && id.matches("T\\d+")) {
-            int num = Integer.parseInt(id.substring(1));
-            if (num > max) max = num;
-        }
+        return CodecId.formatear(CodecId.PREFIJO_TAREA, repoTareas.maximoNumeroId(CodecId.PREFIJO_TAREA) + 1);
     }
-    return "T" + (max + 1);
-}
 
     private Tarea mostrarDialogoNuevaTarea(String tipo) {
         JTextField txtId = new JTextField(generarIdTarea());
@@ -1655,17 +1929,33 @@ public class SistemaGestionTareas extends JFrame {
         return null;
     }
     
+    /**
+     * Registra cada tabla en el planificador de refresco
+     */
+    private void registrarVistasRefresco() {
+        planificadorRefresco.registrarVista("pila", this::actualizarTablaPila);
+        planificadorRefresco.registrarVista("cola", this::actualizarTablaCola);
+        planificadorRefresco.registrarVista("lista", this::actualizarTablaLista);
+        planificadorRefresco.registrarVista("general", this::actualizarTablaGeneral);
+        planificadorRefresco.registrarVista("prioridad", this::actualizarTablaPrioridad);
+        planificadorRefresco.registrarVista("empleados", this::mostrarTodosEmpleados);
+    }
+
+    /**
+     * Solicita el refresco de las tablas de tareas. Las llamadas consecutivas se
+     * agrupan en un solo repintado por cuadro.
+     */
     private void actualizarTablas() {
-        actualizarTablaPila();
-        actualizarTablaCola();
-        actualizarTablaLista();
-        actualizarTablaGeneral();
-        actualizarTablaPrioridad(); // NUEVO
+        planificadorRefresco.marcarSucia("pila");
+        planificadorRefresco.marcarSucia("cola");
+        planificadorRefresco.marcarSucia("lista");
+        planificadorRefresco.marcarSucia("general");
+        planificadorRefresco.marcarSucia("prioridad");
     }
     
     private void actualizarTablaPila() {
         if (modelPila == null) {
-            System.err.println("Advertencia: modelPila es null, omitiendo actualización");
+            BITACORA.aviso("modelPila es null, omitiendo actualización");
             return;
         }
         modelPila.setRowCount(0);
@@ -1681,7 +1971,7 @@ public class SistemaGestionTareas extends JFrame {
     
     private void actualizarTablaCola() {
         if (modelCola == null) {
-            System.err.println("Advertencia: modelCola es null, omitiendo actualización");
+            BITACORA.aviso("modelCola es null, omitiendo actualización");
             return;
         }
         modelCola.setRowCount(0);
@@ -1697,7 +1987,7 @@ public class SistemaGestionTareas extends JFrame {
     
     private void actualizarTablaLista() {
         if (modelLista == null) {
-            System.err.println("Advertencia: modelLista es null, omitiendo actualización");
+            BITACORA.aviso("modelLista es null, omitiendo actualización");
             return;
         }
         modelLista.setRowCount(0);
@@ -1759,9 +2049,10 @@ public class SistemaGestionTareas extends JFrame {
     
     private void actualizarTablaGeneral() {
         if (modelGeneral == null) {
-            System.err.println("Advertencia: modelGeneral es null, omitiendo actualización");
+            BITACORA.aviso("modelGeneral es null, omitiendo actualización");
             return;
         }
+        modelGeneral.iniciarCarga();
         modelGeneral.setRowCount(0);
         
         // Agregar tareas urgentes
@@ -1796,6 +2087,7 @@ public class SistemaGestionTareas extends JFrame {
                 "Departamento"
             });
         }
+        modelGeneral.finalizarCarga();
     }
     
 
@@ -1976,7 +2268,7 @@ public class SistemaGestionTareas extends JFrame {
     private void buscarEmpleadosPorDepartamento() {
         String departamento = txtBusquedaEmpleado.getText().trim();
         if (modelEmpleados == null) {
-            System.err.println("Advertencia: modelEmpleados es null en buscarEmpleadosPorDepartamento");
+            BITACORA.aviso("modelEmpleados es null en buscarEmpleadosPorDepartamento");
             return;
         }
         modelEmpleados.setRowCount(0);
@@ -2064,14 +2356,12 @@ public class SistemaGestionTareas extends JFrame {
                 }
             }
 
-            // Insertar en MongoDB
+            // Insertar en el repositorio
             try {
-                Document doc = new Document("id", id)
-                        .append("nombre", nombre)
-                        .append("departamento", departamento);
-                empleadosCollection.insertOne(doc);
+                Empleado empleado = new Empleado(id, nombre, departamento);
+                repoEmpleados.guardar(empleado);
                 // Insertar en el árbol
-                arbolEmpleados.insertar(new Empleado(id, nombre, departamento));
+                arbolEmpleados.insertar(empleado);
                 mostrarTodosEmpleados(); // Refresca la tabla
                 JOptionPane.showMessageDialog(this, "Empleado insertado correctamente.", "Éxito", JOptionPane.INFORMATION_MESSAGE);
             } catch (Exception ex) {
@@ -2080,37 +2370,100 @@ public class SistemaGestionTareas extends JFrame {
         }
     }
 
-    // Muestra el tiempo total estimado usando recursividad
+    // Muestra el tiempo total estimado y su desglose por departamento
     private void mostrarTiempoTotalRecursivo() {
-        int total = calcularTiempoTotalRecursivo(listaTareasDepartamento, 0)
-                  + calcularTiempoTotalRecursivo(pilaTareasUrgentes, 0)
-                  + calcularTiempoTotalRecursivo(colaTareasProgramadas, 0);
-        JOptionPane.showMessageDialog(this,
-                "Tiempo total estimado (recursivo): " + total + " horas (usando el campo real de cada tarea).",
+        AgregadorHoras.Estadisticas estadisticas = calcularEstadisticasHoras();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Tiempo total estimado: ").append(estadisticas.getTotal()).append(" horas\n");
+        sb.append("Promedio: ").append(String.format("%.1f", estadisticas.getPromedio())).append(" h, mediana: ")
+          .append(estadisticas.getMediana()).append(" h, p90: ").append(estadisticas.percentil(90)).append(" h\n\n");
+        sb.append("Por departamento:\n");
+
+        Map<String, AgregadorHoras.Estadisticas> porDepartamento = AgregadorHoras.porDepartamentoParalelo(
+                listaTareasDepartamento, pilaTareasUrgentes, colaTareasProgramadas);
+        Map<String, AgregadorHoras.Estadisticas> ordenado = new TreeMap<>();
+        for (Map.Entry<String, AgregadorHoras.Estadisticas> entrada : porDepartamento.entrySet()) {
+            String depto = entrada.getKey();
+            ordenado.put(depto == null || depto.isEmpty() ? "(sin departamento)" : depto, entrada.getValue());
+        }
+        for (Map.Entry<String, AgregadorHoras.Estadisticas> entrada : ordenado.entrySet()) {
+            AgregadorHoras.Estadisticas e = entrada.getValue();
+            sb.append("  ").append(entrada.getKey()).append(": ")
+              .append(e.getTotal()).append(" h en ").append(e.getCantidad()).append(" tareas (p90 ")
+              .append(e.percentil(90)).append(" h)\n");
+        }
+        JOptionPane.showMessageDialog(this, sb.toString(),
                 "Tiempo Total Estimado", JOptionPane.INFORMATION_MESSAGE);
     }
 
-    // Muestra la distribución de tareas usando divide y vencerás
+    // Muestra un reparto equilibrado de las tareas activas entre los empleados de cada departamento
     private void mostrarDistribucionDivideVenceras() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Distribución de tareas:\n");
         List<Tarea> todas = new ArrayList<>();
         todas.addAll(pilaTareasUrgentes);
         todas.addAll(colaTareasProgramadas);
         todas.addAll(listaTareasDepartamento);
-        distribuirTareasDivideVencerasMostrar(todas, 0, todas.size() - 1, sb, 1);
-        JOptionPane.showMessageDialog(this, sb.toString(), "Distribución de Tareas", JOptionPane.INFORMATION_MESSAGE);
+
+        List<Empleado> empleados = new ArrayList<>();
+        arbolEmpleados.buscarPorDepartamento("", empleados);
+        if (empleados.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No hay empleados para repartir las tareas.",
+                    "Distribución de Tareas", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        BalanceadorCarga.ResultadoBalanceo resultado = new BalanceadorCarga().balancear(todas, empleados, true);
+        metricas.registrarDesde("algoritmo.balancearCarga", inicio);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Reparto por carga (LPT) de ").append(todas.size()).append(" tareas entre ")
+          .append(empleados.size()).append(" empleados, respetando departamentos\n\n");
+        sb.append(String.format("Carga máxima: %d h   mínima: %d h   promedio: %.1f h%n",
+                resultado.getMakespan(), resultado.getCargaMinima(), resultado.getCargaPromedio()));
+        sb.append(String.format("Cota inferior del óptimo: %d h (máxima / cota = %.3f)%n",
+                resultado.getCotaInferior(), resultado.getRazonSobreCota()));
+        sb.append("Calculado en ").append(resultado.getTiempoCalculoMs()).append(" ms\n\n");
+
+        for (BalanceadorCarga.Destino destino : resultado.getDestinos()) {
+            sb.append(String.format("%-8s %-25s %-18s %6d h  %d tareas%n",
+                    destino.getId(), destino.getNombre(), destino.getDepartamento(),
+                    destino.getCarga(), destino.getTareas().size()));
+        }
+        if (!resultado.getSinAsignar().isEmpty()) {
+            sb.append("\nSin empleados en su departamento: ").append(resultado.getSinAsignar().size()).append(" tareas\n");
+        }
+
+        JTextArea area = new JTextArea(sb.toString(), 25, 80);
+        area.setEditable(false);
+        area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(area), "Distribución de Tareas", JOptionPane.INFORMATION_MESSAGE);
     }
 
-    // Algoritmo divide y vencerás para mostrar la distribución
-    private void distribuirTareasDivideVencerasMostrar(List<Tarea> tareas, int inicio, int fin, StringBuilder sb, int nivel) {
-        if (inicio > fin) return;
-        int medio = (inicio + fin) / 2;
-        Tarea tarea = tareas.get(medio);
-        sb.append("Nivel ").append(nivel).append(": [").append(tarea.getId()).append("] ")
-          .append(tarea.getDescripcion()).append(" (").append(tarea.getDepartamento()).append(")\n");
-        distribuirTareasDivideVencerasMostrar(tareas, inicio, medio - 1, sb, nivel + 1);
-        distribuirTareasDivideVencerasMostrar(tareas, medio + 1, fin, sb, nivel + 1);
+    // Muestra las tareas cuyo número de ID está en el rango (por ejemplo "T1000-T2000")
+    private void mostrarTareasEnRangoDeIds(int desde, int hasta) {
+        List<Tarea> tareas = indiceIds.rango(desde, hasta);
+        if (tareas.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No hay tareas entre T" + desde + " y T" + hasta + ".",
+                    "No encontrado", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        DefaultTableModel modelo = new DefaultTableModel(
+                new String[]{"ID", "Descripción", "Departamento", "Urgencia", "Horas"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (Tarea t : tareas) {
+            modelo.addRow(new Object[]{t.getId(), t.getDescripcion(), t.getDepartamento(),
+                    t.getUrgencia(), t.getHorasEstimadas()});
+        }
+        JTable tabla = new JTable(modelo);
+        JScrollPane scroll = new JScrollPane(tabla);
+        scroll.setPreferredSize(new Dimension(700, 350));
+        JOptionPane.showMessageDialog(this, scroll,
+                tareas.size() + " tareas entre T" + desde + " y T" + hasta, JOptionPane.INFORMATION_MESSAGE);
     }
 
     // Método para mostrar los detalles de la tarea buscada por ID
@@ -2120,6 +2473,11 @@ public class SistemaGestionTareas extends JFrame {
             JOptionPane.showMessageDialog(this, "Ingrese un ID para buscar.", "Campo vacío", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        int[] rango = IndiceIdsOrdenado.parsearRango(id);
+        if (rango != null) {
+            mostrarTareasEnRangoDeIds(rango[0], rango[1]);
+            return;
+        }
         Tarea tarea = buscarTareaPorId(id);
         if (tarea == null) {
             JOptionPane.showMessageDialog(this, "No se encontró ninguna tarea con ese ID.", "No encontrado", JOptionPane.INFORMATION_MESSAGE);
@@ -2136,43 +2494,36 @@ public class SistemaGestionTareas extends JFrame {
 
     // Método para ordenar y mostrar la tabla general por urgencia y departamento
     private void ordenarTablaGeneralPorUrgenciaYDepto() {
-        // Junta todas las tareas en una lista temporal
-        List<Tarea> todas = new ArrayList<>();
-        todas.addAll(pilaTareasUrgentes);
-        todas.addAll(colaTareasProgramadas);
-        todas.addAll(listaTareasDepartamento);
-
-        // Ordena por urgencia (Alta, Media, Baja) y luego por departamento
-        todas.sort(Comparator
-            .comparing((Tarea t) -> urgenciaValor(t.getUrgencia()))
-            .thenComparing(Tarea::getDepartamento)
-        );
-
         if (modelGeneral == null) {
-            System.err.println("Advertencia: modelGeneral es null en vista general");
+            BITACORA.aviso("modelGeneral es null en vista general");
             return;
         }
+
+        // Junta todas las tareas con su tipo en arreglos paralelos
+        int total = pilaTareasUrgentes.size() + colaTareasProgramadas.size() + listaTareasDepartamento.size();
+        Tarea[] todas = new Tarea[total];
+        String[] tipos = new String[total];
+        int n = 0;
+        for (Tarea tarea : pilaTareasUrgentes) { todas[n] = tarea; tipos[n++] = "Urgente"; }
+        for (Tarea tarea : colaTareasProgramadas) { todas[n] = tarea; tipos[n++] = "Programada"; }
+        for (Tarea tarea : listaTareasDepartamento) { todas[n] = tarea; tipos[n++] = "Departamento"; }
+
+        // Ordena por urgencia (Crítica, Alta, Media, Baja) y luego por departamento en tiempo lineal
+        int[] orden = OrdenamientoConteo.indicesPorUrgenciaYDepartamento(todas);
+
+        modelGeneral.iniciarCarga();
         modelGeneral.setRowCount(0);
-        for (Tarea tarea : todas) {
-            String tipo = "Departamento";
-            if (pilaTareasUrgentes.contains(tarea)) tipo = "Urgente";
-            else if (colaTareasProgramadas.contains(tarea)) tipo = "Programada";
+        for (int i : orden) {
+            Tarea tarea = todas[i];
             modelGeneral.addRow(new Object[]{
                 tarea.getId(),
                 tarea.getDescripcion(),
                 tarea.getDepartamento(),
                 tarea.getUrgencia(),
-                tipo
+                tipos[i]
             });
         }
-    }
-
-    // Método auxiliar para convertir urgencia a valor numérico
-    private int urgenciaValor(String urgencia) {
-        if ("Alta".equalsIgnoreCase(urgencia)) return 1;
-        if ("Media".equalsIgnoreCase(urgencia)) return 2;
-        if ("Baja".equalsIgnoreCase(urgencia)) return 3;
-        return 4;
+        modelGeneral.finalizarCarga();
     }
 
     // Método para agregar una dependencia entre tareas
@@ -2193,14 +2544,11 @@ public class SistemaGestionTareas extends JFrame {
         // Actualiza el grafo en memoria
         dependenciasTareas.computeIfAbsent(idTarea, k -> new ArrayList<>()).add(idDepende);
 
-        // Actualiza en MongoDB
+        // Actualiza en el repositorio
         try {
-            collection.updateOne(
-                Filters.eq("id", idTarea),
-                Updates.addToSet("dependencias", idDepende)
-            );
+            repoTareas.agregarDependencia(idTarea, idDepende);
         } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Error al guardar dependencia en MongoDB: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            JOptionPane.showMessageDialog(this, "Error al guardar la dependencia: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
 
         JOptionPane.showMessageDialog(this, "Dependencia agregada: " + idTarea + " depende de " + idDepende,
@@ -2227,23 +2575,23 @@ public class SistemaGestionTareas extends JFrame {
         JOptionPane.showMessageDialog(this, sb.toString(), "Dependencias de la tarea", JOptionPane.INFORMATION_MESSAGE);
     }
 
-    private void eliminarTareaDeMongoDB(String id) {
+    private void eliminarTareaDelRepositorio(String id) {
     try {
-        collection.deleteOne(Filters.eq("id", id));
+        repoTareas.eliminar(id);
     } catch (Exception e) {
-        JOptionPane.showMessageDialog(this, "Error al eliminar tarea de MongoDB: " + e.getMessage(),
+        JOptionPane.showMessageDialog(this, "Error al eliminar la tarea: " + e.getMessage(),
                 "Error", JOptionPane.ERROR_MESSAGE);
     }
 }
 
     public static void main(String[] args) {
+        RegistroMetricas.getInstance().iniciarVolcado();
         SwingUtilities.invokeLater(() -> {
             try {
                 // Abrir pantalla de login en lugar del sistema directamente
                 new LoginFrame().setVisible(true);
             } catch (Exception e) {
-                System.err.println("Error al inicializar la aplicación: " + e.getMessage());
-                e.printStackTrace();
+                BITACORA.error("Error al inicializar la aplicación", e);
             }
         });
     }
@@ -2270,7 +2618,7 @@ public class SistemaGestionTareas extends JFrame {
                 mostrarEmpleado = true;
             } else if (usuarioActual.getRol() == Usuario.Rol.JEFE_DEPARTAMENTO) {
                 // JEFE_DEPARTAMENTO solo ve empleados de su departamento
-                mostrarEmpleado = emp.getDepartamento().equals(departamentoUsuario);
+                mostrarEmpleado = emp.getDepartamento() == departamentoUsuario;
             } else {
                 // EMPLEADO solo se ve a si mismo
                 mostrarEmpleado = emp.getId() == usuarioActual.getId();
@@ -2291,16 +2639,8 @@ public class SistemaGestionTareas extends JFrame {
     }
 
     private String generarIdEmpleado() {
-    int max = 0;
-    for (Document doc : empleadosCollection.find()) {
-        String id = doc.getString("id");
-        if (id != null && id.matches("E\\d+")) {
-            int num = Integer.parseInt(id.substring(1));
-            if (num > max) max = num;
-        }
+        return CodecId.formatear("E", repoEmpleados.maximoNumeroId("E") + 1);
     }
-    return "E" + (max + 1);
-}
 
     /**
      * Cuenta las tareas relacionadas con un empleado específico según su departamento
@@ -2321,28 +2661,28 @@ public class SistemaGestionTareas extends JFrame {
         
         // Buscar en pila de tareas urgentes
         for (Tarea tarea : pilaTareasUrgentes) {
-            if (departamentoEmpleado.equals(tarea.getDepartamento())) {
+            if (departamentoEmpleado == tarea.getDepartamento()) {
                 contador++;
             }
         }
         
         // Buscar en cola de tareas programadas
         for (Tarea tarea : colaTareasProgramadas) {
-            if (departamentoEmpleado.equals(tarea.getDepartamento())) {
+            if (departamentoEmpleado == tarea.getDepartamento()) {
                 contador++;
             }
         }
         
         // Buscar en lista de tareas departamentales
         for (Tarea tarea : listaTareasDepartamento) {
-            if (departamentoEmpleado.equals(tarea.getDepartamento())) {
+            if (departamentoEmpleado == tarea.getDepartamento()) {
                 contador++;
             }
         }
         
         // Buscar en cola de prioridad
         for (TareaPrioridad tareaPrioridad : colaPrioridad) {
-            if (departamentoEmpleado.equals(tareaPrioridad.getDepartamento())) {
+            if (departamentoEmpleado == tareaPrioridad.getDepartamento()) {
                 contador++;
             }
         }
@@ -2808,7 +3148,7 @@ public class SistemaGestionTareas extends JFrame {
     private void cargarTareasDepartamentoConAsignacion(DefaultTableModel modelo) {
         modelo.setRowCount(0); // Limpiar tabla
         for (Tarea tarea : listaTareasDepartamento) {
-            if (tarea.getDepartamento().equals(usuarioActual.getDepartamento())) {
+            if (tarea.getDepartamento() == usuarioActual.getDepartamento()) {
                 String empleadoAsignado = tarea.getEmpleadoAsignado();
                 String nombreEmpleado = "Sin asignar";
                 
@@ -2899,23 +3239,20 @@ public class SistemaGestionTareas extends JFrame {
      * Carga empleados filtrados por departamento del usuario actual
      */
     private void cargarEmpleadosPorDepartamento(DefaultTableModel modelo) {
+        long inicio = System.nanoTime();
         String departamentoActual = usuarioActual.getDepartamento();
         
         // Crear lista para almacenar empleados del departamento
         List<Empleado> empleadosDepartamento = new ArrayList<>();
         
-        // Debug: Imprimir información de búsqueda
-        System.out.println("🔍 DEBUG: Buscando empleados para departamento: " + departamentoActual);
-        
         // Buscar empleados del departamento actual
         arbolEmpleados.buscarPorDepartamento(departamentoActual, empleadosDepartamento);
-        
-        // Debug: Mostrar cuántos empleados se encontraron
-        System.out.println("👥 DEBUG: Empleados encontrados: " + empleadosDepartamento.size());
+        metricas.registrarDesde("vista.empleadosDepartamento.busqueda", inicio);
+        BITACORA_FILAS.debug("Empleados de {}: {}", departamentoActual, empleadosDepartamento.size());
         
         // Agregar empleados a la tabla
         for (Empleado empleado : empleadosDepartamento) {
-            System.out.println("   - " + empleado.getId() + ": " + empleado.getNombre() + " (" + empleado.getDepartamento() + ")");
+            BITACORA_FILAS.debug("Empleado {}: {}", empleado.getId(), empleado.getNombre());
             modelo.addRow(new Object[]{
                 empleado.getId(),
                 empleado.getNombre(),
@@ -2932,8 +3269,9 @@ public class SistemaGestionTareas extends JFrame {
                 departamentoActual, 
                 "Sin datos"
             });
-            System.out.println("⚠️ DEBUG: No se encontraron empleados para el departamento: " + departamentoActual);
         }
+        metricas.sumar("vista.empleadosDepartamento.filas", empleadosDepartamento.size());
+        metricas.registrarDesde("vista.empleadosDepartamento", inicio);
     }
     
     // ===============================================
@@ -2944,10 +3282,8 @@ public class SistemaGestionTareas extends JFrame {
      * Carga las tareas específicas del empleado autenticado
      */
     private void cargarTareasEmpleado(DefaultTableModel modelo) {
-        // Debug: Mostrar información del empleado actual
-        System.out.println("🔍 DEBUG: Cargando tareas para empleado: " + usuarioActual.getId() + " (" + usuarioActual.getNombre() + ")");
-        System.out.println("   Departamento: " + usuarioActual.getDepartamento());
-        
+        long inicio = System.nanoTime();
+        BITACORA_FILAS.debug("Cargando tareas de {} ({})", usuarioActual.getId(), usuarioActual.getDepartamento());
         int tareasEncontradas = 0;
         
         // Filtrar solo las tareas asignadas al empleado actual
@@ -2955,9 +3291,9 @@ public class SistemaGestionTareas extends JFrame {
             // Verificar si la tarea está asignada al empleado actual
             if (tarea.getEmpleadoAsignado() != null && 
                 tarea.getEmpleadoAsignado().equals(usuarioActual.getId()) &&
-                tarea.getDepartamento().equals(usuarioActual.getDepartamento())) {
+                tarea.getDepartamento() == usuarioActual.getDepartamento()) {
                 
-                System.out.println("   ✅ Tarea asignada encontrada: " + tarea.getId() + " - " + tarea.getDescripcion());
+                BITACORA_FILAS.debug("Tarea asignada {}: {}", tarea.getId(), tarea.getDescripcion());
                 tareasEncontradas++;
                 
                 int tiempoRestante = calcularTiempoRestante(tarea);
@@ -2972,8 +3308,6 @@ public class SistemaGestionTareas extends JFrame {
             }
         }
         
-        System.out.println("📊 DEBUG: Total de tareas asignadas encontradas: " + tareasEncontradas);
-        
         // Si no hay tareas asignadas, agregar una fila informativa
         if (tareasEncontradas == 0) {
             modelo.addRow(new Object[]{
@@ -2984,8 +3318,9 @@ public class SistemaGestionTareas extends JFrame {
                 "Sin asignar", 
                 "-"
             });
-            System.out.println("ℹ️ DEBUG: No se encontraron tareas asignadas al empleado");
         }
+        metricas.sumar("vista.tareasEmpleado.filas", tareasEncontradas);
+        metricas.registrarDesde("vista.tareasEmpleado", inicio);
     }
     
     /**
@@ -2997,11 +3332,74 @@ public class SistemaGestionTareas extends JFrame {
             return;
         }
         
-        // Marcar tarea como pendiente de revisión
+        String id = idTarea.trim();
+        Tarea tarea = hashTareas.get(id);
+        if (tarea == null) {
+            JOptionPane.showMessageDialog(this, "No existe una tarea activa con ID " + id, "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (usuarioActual.esEmpleado() && !usuarioActual.getId().equals(tarea.getEmpleadoAsignado())) {
+            JOptionPane.showMessageDialog(this, "La tarea " + id + " no está asignada a usted", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Guardar en el historial antes de retirarla de memoria
+        if (archivoCerradas != null) {
+            try {
+                archivoCerradas.archivar(tarea, comentarios, usuarioActual.getId());
+            } catch (java.io.IOException e) {
+                BITACORA.error("Error al archivar la tarea {}: {}", id, e.getMessage());
+                JOptionPane.showMessageDialog(this, "No se pudo archivar la tarea: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+        }
+        marcarTareaCompletadaEnRepositorio(id, comentarios);
+        retirarTareaActiva(id);
+        actualizarTablasSegunRol();
+
         JOptionPane.showMessageDialog(this, 
-            "Tarea " + idTarea + " marcada como completada.\nPendiente de revisión por jefe de departamento.",
+            "Tarea " + id + " marcada como completada.\nPendiente de revisión por jefe de departamento.",
             "Tarea Completada", JOptionPane.INFORMATION_MESSAGE);
     }
+
+    /**
+     * Quita una tarea de todas las estructuras en memoria
+     */
+    private void retirarTareaActiva(String id) {
+        pilaTareasUrgentes.removeIf(t -> t.getId().equals(id));
+        colaTareasProgramadas.removeIf(t -> t.getId().equals(id));
+        listaTareasDepartamento.removeIf(t -> t.getId().equals(id));
+        if (colaPrioridad.remove(id) != null) {
+            indicePrioridad.eliminar(id);
+        }
+        hashTareas.remove(id);
+        desindexarTarea(id);
+    }
+
+    private void marcarTareaCompletadaEnRepositorio(String id, String comentarios) {
+        try {
+            repoTareas.marcarCompletada(id, System.currentTimeMillis(), comentarios);
+        } catch (Exception e) {
+            BITACORA.error("Error al marcar la tarea como completada: {}", e.getMessage());
+        }
+    }
+
+    private void abrirArchivoCerradas() {
+        try {
+            archivoCerradas = ArchivoTareasCerradas.abrir(ArchivoTareasCerradas.rutaPredeterminada());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    archivoCerradas.close();
+                } catch (java.io.IOException e) {
+                    BITACORA.error("Error al cerrar el archivo de tareas cerradas: {}", e.getMessage());
+                }
+            }));
+        } catch (java.io.IOException e) {
+            BITACORA.error("No se pudo abrir el archivo de tareas cerradas: {}", e.getMessage());
+            archivoCerradas = null;
+        }
+    }
     
     /**
      * Crea nueva tarea para el departamento (jefe de departamento)
@@ -3023,9 +3421,10 @@ public class SistemaGestionTareas extends JFrame {
                 // Agregar a las estructuras
                 listaTareasDepartamento.add(nuevaTarea);
                 hashTareas.put(id, nuevaTarea);
+                indexarTarea(nuevaTarea);
                 
-                // Guardar en MongoDB
-                guardarTareaEnMongoDB(nuevaTarea, "departamento");
+                // Guardar en el repositorio
+                guardarTareaEnRepositorio(nuevaTarea, "departamento");
                 
                 // Actualizar todas las interfaces
                 actualizarTablasSegunRol();
@@ -3040,8 +3439,49 @@ public class SistemaGestionTareas extends JFrame {
      * Revisa tareas completadas por empleados (jefe de departamento)
      */
     private void revisarTareasCompletadas() {
-        JOptionPane.showMessageDialog(this, "Funcionalidad en desarrollo.\nAquí se mostrarán las tareas completadas pendientes de revisión.",
-            "Revisar Tareas", JOptionPane.INFORMATION_MESSAGE);
+        if (archivoCerradas == null) {
+            JOptionPane.showMessageDialog(this, "El historial de tareas cerradas no está disponible.",
+                "Revisar Tareas", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        String departamento = usuarioActual.getDepartamento();
+        DefaultTableModel modelo = new DefaultTableModel(
+            new String[]{"ID", "Descripción", "Urgencia", "Horas", "Empleado", "Cerrada", "Comentarios"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        int[] horasTotales = {0};
+        // Recorrido secuencial del archivo: solo se decodifican los registros vigentes
+        archivoCerradas.recorrer(t -> {
+            if (t.getDepartamento() == departamento) {
+                modelo.addRow(new Object[]{
+                    t.getId(), t.getDescripcion(), t.getUrgencia(), t.getHorasEstimadas(),
+                    t.getEmpleadoAsignado(), t.getFechaCierreTexto(), t.getComentarios()
+                });
+                horasTotales[0] += t.getHorasEstimadas();
+            }
+        });
+
+        if (modelo.getRowCount() == 0) {
+            JOptionPane.showMessageDialog(this, "No hay tareas completadas en " + departamento + ".",
+                "Revisar Tareas", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JTable tabla = new JTable(modelo);
+        tabla.setAutoCreateRowSorter(true);
+        JScrollPane scroll = new JScrollPane(tabla);
+        scroll.setPreferredSize(new Dimension(800, 400));
+
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.add(new JLabel("Tareas completadas: " + modelo.getRowCount() +
+            "   |   Horas totales: " + horasTotales[0]), BorderLayout.NORTH);
+        panel.add(scroll, BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, "Tareas Completadas - " + departamento,
+            JOptionPane.PLAIN_MESSAGE);
     }
     
     /**
@@ -3052,7 +3492,7 @@ public class SistemaGestionTareas extends JFrame {
         java.util.List<Tarea> tareasDisponibles = new java.util.ArrayList<>();
         
         for (Tarea tarea : listaTareasDepartamento) {
-            if (tarea.getDepartamento().equals(usuarioActual.getDepartamento()) && 
+            if (tarea.getDepartamento() == usuarioActual.getDepartamento() && 
                 (tarea.getEmpleadoAsignado() == null || tarea.getEmpleadoAsignado().isEmpty())) {
                 tareasDisponibles.add(tarea);
             }
@@ -3117,8 +3557,9 @@ public class SistemaGestionTareas extends JFrame {
         if (tareaAsignar != null) {
             tareaAsignar.setEmpleadoAsignado(idEmpleadoSeleccionado);
             
-            // Guardar cambios en MongoDB
-            actualizarTareaEnMongoDB(tareaAsignar);
+            // Guardar cambios en el repositorio
+            actualizarTareaEnRepositorio(tareaAsignar);
+            motorConsultas.agregar(tareaAsignar);
             
             JOptionPane.showMessageDialog(this,
                 "Tarea asignada exitosamente:\n\n" +
@@ -3163,10 +3604,12 @@ public class SistemaGestionTareas extends JFrame {
         stats.append("👥 Total Empleados: ").append(arbolEmpleados.contarEmpleados()).append("\n\n");
         
         // Tiempo total estimado
-        int tiempoTotal = calcularTiempoTotalRecursivo(listaTareasDepartamento, 0) +
-                         calcularTiempoTotalRecursivo(pilaTareasUrgentes, 0) +
-                         calcularTiempoTotalRecursivo(colaTareasProgramadas, 0);
-        stats.append("⏱️ Tiempo Total Estimado: ").append(tiempoTotal).append(" horas\n");
+        AgregadorHoras.Estadisticas horas = calcularEstadisticasHoras();
+        stats.append("⏱️ Tiempo Total Estimado: ").append(horas.getTotal()).append(" horas\n");
+        stats.append("📊 Horas por tarea: promedio ").append(String.format("%.1f", horas.getPromedio()))
+             .append(", mediana ").append(horas.getMediana())
+             .append(", p90 ").append(horas.percentil(90)).append("\n");
+        stats.append("🔄 Refresco de tablas: ").append(planificadorRefresco.obtenerResumen()).append("\n");
         
         JOptionPane.showMessageDialog(this, stats.toString(), "Estadísticas del Sistema", JOptionPane.INFORMATION_MESSAGE);
     }
@@ -3175,8 +3618,160 @@ public class SistemaGestionTareas extends JFrame {
      * Abre filtros avanzados (jefe)
      */
     private void abrirFiltrosAvanzados() {
-        JOptionPane.showMessageDialog(this, "Funcionalidad de filtros avanzados en desarrollo.",
-            "Filtros Avanzados", JOptionPane.INFORMATION_MESSAGE);
+        JDialog dialogo = new JDialog(this, "Filtros Avanzados", true);
+        dialogo.setLayout(new BorderLayout(10, 10));
+
+        String cualquiera = "(Cualquiera)";
+        java.util.List<String> departamentos = new ArrayList<>();
+        departamentos.add(cualquiera);
+        departamentos.addAll(ValoresCanonicos.DEPARTAMENTOS.obtenerValores());
+        java.util.List<String> urgencias = new ArrayList<>();
+        urgencias.add(cualquiera);
+        urgencias.addAll(ValoresCanonicos.URGENCIAS.obtenerValores());
+
+        JComboBox<String> cmbDepartamento = new JComboBox<>(departamentos.toArray(new String[0]));
+        JComboBox<String> cmbUrgencia = new JComboBox<>(urgencias.toArray(new String[0]));
+        JTextField txtPrioridadMin = new JTextField(5);
+        JTextField txtPrioridadMax = new JTextField(5);
+        JTextField txtFechaDesde = new JTextField(10);
+        JTextField txtFechaHasta = new JTextField(10);
+        JTextField txtEmpleado = new JTextField(10);
+        JCheckBox chkSinAsignar = new JCheckBox("Solo sin asignar");
+        JTextField txtHorasMin = new JTextField(5);
+        JTextField txtHorasMax = new JTextField(5);
+        JCheckBox chkCompletadas = new JCheckBox("Incluir tareas completadas (consulta al almacenamiento)");
+
+        JPanel panelCriterios = new JPanel(new GridBagLayout());
+        panelCriterios.setBorder(new EmptyBorder(10, 10, 0, 10));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(4, 4, 4, 4);
+        gbc.anchor = GridBagConstraints.WEST;
+        Object[][] filas = {
+            {"Departamento:", cmbDepartamento, null},
+            {"Urgencia:", cmbUrgencia, null},
+            {"Prioridad (1-4) desde / hasta:", txtPrioridadMin, txtPrioridadMax},
+            {"Entrega desde / hasta (yyyy-MM-dd):", txtFechaDesde, txtFechaHasta},
+            {"Empleado asignado (ID):", txtEmpleado, chkSinAsignar},
+            {"Horas desde / hasta:", txtHorasMin, txtHorasMax},
+        };
+        for (int i = 0; i < filas.length; i++) {
+            gbc.gridy = i;
+            gbc.gridx = 0;
+            panelCriterios.add(new JLabel((String) filas[i][0]), gbc);
+            gbc.gridx = 1;
+            panelCriterios.add((Component) filas[i][1], gbc);
+            if (filas[i][2] != null) {
+                gbc.gridx = 2;
+                panelCriterios.add((Component) filas[i][2], gbc);
+            }
+        }
+        gbc.gridy = filas.length;
+        gbc.gridx = 0;
+        gbc.gridwidth = 3;
+        panelCriterios.add(chkCompletadas, gbc);
+
+        DefaultTableModel modeloResultados = new DefaultTableModel(
+            new String[]{"ID", "Descripción", "Departamento", "Urgencia", "Horas", "Empleado", "Prioridad", "Entrega"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable tablaResultados = new JTable(modeloResultados);
+        tablaResultados.setAutoCreateRowSorter(true);
+        JTextArea txtPlan = new JTextArea(9, 80);
+        txtPlan.setEditable(false);
+        txtPlan.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JScrollPane(tablaResultados), new JScrollPane(txtPlan));
+        split.setResizeWeight(0.65);
+        split.setPreferredSize(new Dimension(950, 450));
+
+        JButton btnBuscar = crearBotonModerno("Buscar", new Color(34, 139, 34));
+        JButton btnExplicar = crearBotonModerno("Explicar Plan", new Color(70, 130, 180));
+        JButton btnCerrar = crearBotonModerno("Cerrar", new Color(105, 105, 105));
+        JLabel lblEstado = new JLabel(" ");
+
+        // Construye la consulta desde el formulario; null si hay datos inválidos
+        java.util.function.Supplier<ConsultaTareas> leerConsulta = () -> {
+            try {
+                ConsultaTareas consulta = new ConsultaTareas();
+                if (cmbDepartamento.getSelectedIndex() > 0) consulta.setDepartamento((String) cmbDepartamento.getSelectedItem());
+                if (cmbUrgencia.getSelectedIndex() > 0) consulta.setUrgencia((String) cmbUrgencia.getSelectedItem());
+                consulta.setPrioridadMinima(leerEnteroOpcional(txtPrioridadMin));
+                consulta.setPrioridadMaxima(leerEnteroOpcional(txtPrioridadMax));
+                consulta.setFechaEntregaDesde(txtFechaDesde.getText());
+                consulta.setFechaEntregaHasta(txtFechaHasta.getText());
+                if (chkSinAsignar.isSelected()) {
+                    consulta.setEmpleadoAsignado(ConsultaTareas.SIN_ASIGNAR);
+                } else if (!txtEmpleado.getText().trim().isEmpty()) {
+                    consulta.setEmpleadoAsignado(txtEmpleado.getText());
+                }
+                consulta.setHorasMinimas(leerEnteroOpcional(txtHorasMin));
+                consulta.setHorasMaximas(leerEnteroOpcional(txtHorasMax));
+                consulta.setIncluirCompletadas(chkCompletadas.isSelected());
+                return consulta;
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(dialogo, ex.getMessage(), "Criterio inválido", JOptionPane.ERROR_MESSAGE);
+                return null;
+            }
+        };
+
+        btnBuscar.addActionListener(e -> {
+            ConsultaTareas consulta = leerConsulta.get();
+            if (consulta == null) return;
+            MotorConsultas.ResultadoConsulta resultado = motorConsultas.ejecutar(consulta);
+            modeloResultados.setRowCount(0);
+            for (Tarea t : resultado.getTareas()) {
+                TareaPrioridad tp = t instanceof TareaPrioridad ? (TareaPrioridad) t : null;
+                modeloResultados.addRow(new Object[]{
+                    t.getId(), t.getDescripcion(), t.getDepartamento(), t.getUrgencia(), t.getHorasEstimadas(),
+                    t.getEmpleadoAsignado() != null ? t.getEmpleadoAsignado() : "Sin asignar",
+                    tp != null ? tp.getPrioridadNombre() : "-",
+                    tp != null ? tp.getFechaEntrega() : "-"
+                });
+            }
+            txtPlan.setText(resultado.explicar());
+            txtPlan.setCaretPosition(0);
+            lblEstado.setText(resultado.getTareas().size() + " tareas encontradas en " +
+                String.format("%.2f ms", resultado.getTiempoMs()));
+        });
+        btnExplicar.addActionListener(e -> {
+            ConsultaTareas consulta = leerConsulta.get();
+            if (consulta == null) return;
+            txtPlan.setText(motorConsultas.explicar(consulta));
+            txtPlan.setCaretPosition(0);
+        });
+        btnCerrar.addActionListener(e -> dialogo.dispose());
+
+        JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        panelBotones.add(lblEstado);
+        panelBotones.add(btnBuscar);
+        panelBotones.add(btnExplicar);
+        panelBotones.add(btnCerrar);
+
+        dialogo.add(panelCriterios, BorderLayout.NORTH);
+        dialogo.add(split, BorderLayout.CENTER);
+        dialogo.add(panelBotones, BorderLayout.SOUTH);
+        dialogo.pack();
+        dialogo.setLocationRelativeTo(this);
+        dialogo.setVisible(true);
+    }
+
+    /**
+     * Lee un entero de un campo de texto; null si está vacío
+     *
+     * @throws IllegalArgumentException si el texto no es un número
+     */
+    private static Integer leerEnteroOpcional(JTextField campo) {
+        String texto = campo.getText().trim();
+        if (texto.isEmpty()) return null;
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido: " + texto);
+        }
     }
     
     // ==================== MÉTODOS AUXILIARES PARA MENÚS DEPARTAMENTALES ====================
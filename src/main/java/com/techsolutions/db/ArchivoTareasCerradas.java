@@ -0,0 +1,403 @@
+package com.techsolutions.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.model.ValoresCanonicos;
+import com.techsolutions.util.Utilidades;
+
+/**
+ * Archivo histórico de tareas cerradas (completadas) fuera del heap.
+ *
+ * Las tareas cerradas se escriben en un archivo de solo anexado mapeado en
+ * memoria (MappedByteBuffer), de modo que el historial no ocupa el heap de la
+ * aplicación y sobrevive entre sesiones. En memoria solo se mantiene un índice
+ * ID -> posición del registro; los datos se decodifican al consultarlos.
+ *
+ * Formato del archivo:
+ * - Cabecera de 16 bytes: firma "TSAR", versión y posición del final de los datos.
+ * - Registros consecutivos: longitud (int), fecha de cierre (long, epoch ms),
+ *   horas, prioridad y día de entrega (int) y los textos como longitud + UTF-8
+ *   (longitud -1 para null).
+ *
+ * Cada registro se escribe y se fuerza a disco antes de avanzar la posición
+ * final de la cabecera, que luego se fuerza también. Como el sistema operativo
+ * puede escribir las páginas del mapeo en cualquier orden, sin el primer
+ * force() la cabecera podría llegar a disco antes que los datos; así, tras un
+ * cierre inesperado la cabecera nunca apunta más allá de datos completos.
+ * Si una tarea se archiva dos veces, el registro más reciente es el vigente.
+ */
+public class ArchivoTareasCerradas implements Closeable {
+
+    private static final int FIRMA = 0x54534152; // "TSAR"
+    private static final int VERSION = 1;
+    private static final int TAMANO_CABECERA = 16;
+    private static final int POS_FIN = 8;
+    private static final int TAMANO_INICIAL = 1 << 20; // 1 MB
+
+    private static final DateTimeFormatter FORMATO_CIERRE =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    private final Path ruta;
+    private final FileChannel canal;
+    private MappedByteBuffer mapa;
+
+    // Posición del final de los datos válidos
+    private int fin;
+    private int totalRegistros;
+
+    // ID -> posición del registro vigente
+    private final Map<String, Integer> indice = new HashMap<>();
+
+    private ArchivoTareasCerradas(Path ruta, FileChannel canal) {
+        this.ruta = ruta;
+        this.canal = canal;
+    }
+
+    /**
+     * Ruta predeterminada del archivo: ~/.techsolutions/tareas-cerradas.dat
+     */
+    public static Path rutaPredeterminada() {
+        return Paths.get(System.getProperty("user.home"), ".techsolutions", "tareas-cerradas.dat");
+    }
+
+    /**
+     * Abre (o crea) el archivo y reconstruye el índice recorriéndolo una vez
+     *
+     * @throws IOException si el archivo no se puede abrir o no tiene el formato esperado
+     */
+    public static ArchivoTareasCerradas abrir(Path ruta) throws IOException {
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        FileChannel canal = FileChannel.open(ruta,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ArchivoTareasCerradas archivo = new ArchivoTareasCerradas(ruta, canal);
+        try {
+            archivo.inicializar();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        return archivo;
+    }
+
+    private void inicializar() throws IOException {
+        long tamanoActual = canal.size();
+        if (tamanoActual > Integer.MAX_VALUE) {
+            throw new IOException("Archivo de tareas cerradas demasiado grande: " + ruta);
+        }
+        mapear((int) Math.max(tamanoActual, TAMANO_INICIAL));
+
+        if (tamanoActual == 0) {
+            mapa.putInt(0, FIRMA);
+            mapa.putInt(4, VERSION);
+            fin = TAMANO_CABECERA;
+            mapa.putLong(POS_FIN, fin);
+            mapa.force();
+            return;
+        }
+
+        if (mapa.getInt(0) != FIRMA || mapa.getInt(4) != VERSION) {
+            throw new IOException("El archivo no es un archivo de tareas cerradas válido: " + ruta);
+        }
+        long finGuardado = mapa.getLong(POS_FIN);
+        if (finGuardado < TAMANO_CABECERA || finGuardado > mapa.capacity()) {
+            throw new IOException("Cabecera dañada en " + ruta);
+        }
+        fin = (int) finGuardado;
+
+        for (int pos = TAMANO_CABECERA; pos < fin; pos += 4 + mapa.getInt(pos)) {
+            indice.put(leerId(pos), pos);
+            totalRegistros++;
+        }
+    }
+
+    private void mapear(int tamano) throws IOException {
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Agrega una tarea al archivo con la fecha de cierre actual
+     *
+     * @param comentarios comentarios de cierre (puede ser null)
+     * @param cerradaPor ID del usuario que cerró la tarea
+     * @return el registro archivado
+     */
+    public synchronized TareaCerrada archivar(Tarea tarea, String comentarios, String cerradaPor) throws IOException {
+        int prioridad = 0;
+        int diaEntrega = Utilidades.SIN_FECHA;
+        if (tarea instanceof TareaPrioridad) {
+            TareaPrioridad tp = (TareaPrioridad) tarea;
+            prioridad = tp.getPrioridad();
+            diaEntrega = tp.getDiaEntrega();
+        }
+        TareaCerrada registro = new TareaCerrada(tarea.getId(), tarea.getDescripcion(),
+                tarea.getDepartamento(), tarea.getUrgencia(), tarea.getHorasEstimadas(),
+                tarea.getEmpleadoAsignado(), prioridad, diaEntrega,
+                System.currentTimeMillis(), comentarios, cerradaPor);
+
+        byte[][] textos = codificarTextos(registro);
+        int longitud = 8 + 4 + 4 + 4;
+        for (byte[] texto : textos) {
+            longitud += 4 + (texto == null ? 0 : texto.length);
+        }
+
+        asegurarEspacio(4 + longitud);
+
+        ByteBuffer escritura = mapa.duplicate();
+        escritura.position(fin);
+        escritura.putInt(longitud);
+        escritura.putLong(registro.fechaCierre);
+        escritura.putInt(registro.horasEstimadas);
+        escritura.putInt(registro.prioridad);
+        escritura.putInt(registro.diaEntrega);
+        for (byte[] texto : textos) {
+            if (texto == null) {
+                escritura.putInt(-1);
+            } else {
+                escritura.putInt(texto.length);
+                escritura.put(texto);
+            }
+        }
+
+        // Publicar el registro solo cuando sus datos ya están en disco.
+        // force(indice, longitud) requiere Java 13; force() solo escribe las páginas modificadas
+        mapa.force();
+        int posicion = fin;
+        fin += 4 + longitud;
+        mapa.putLong(POS_FIN, fin);
+        mapa.force();
+
+        indice.put(registro.id, posicion);
+        totalRegistros++;
+        return registro;
+    }
+
+    private static byte[][] codificarTextos(TareaCerrada r) {
+        String[] textos = {r.id, r.descripcion, r.departamento, r.urgencia,
+                r.empleadoAsignado, r.comentarios, r.cerradaPor};
+        byte[][] bytes = new byte[textos.length][];
+        for (int i = 0; i < textos.length; i++) {
+            bytes[i] = textos[i] == null ? null : textos[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    private void asegurarEspacio(int bytes) throws IOException {
+        long necesario = (long) fin + bytes;
+        if (necesario <= mapa.capacity()) return;
+        if (necesario > Integer.MAX_VALUE) {
+            throw new IOException("El archivo de tareas cerradas alcanzó su tamaño máximo");
+        }
+        long nuevo = Math.max(necesario, (long) mapa.capacity() * 2);
+        mapa.force();
+        mapear((int) Math.min(nuevo, Integer.MAX_VALUE));
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Obtiene el registro vigente de una tarea, o null si no está archivada
+     */
+    public synchronized TareaCerrada obtener(String id) {
+        Integer posicion = indice.get(id);
+        return posicion == null ? null : leer(posicion);
+    }
+
+    public synchronized boolean contiene(String id) {
+        return indice.containsKey(id);
+    }
+
+    /**
+     * Número de tareas distintas archivadas
+     */
+    public synchronized int tamano() {
+        return indice.size();
+    }
+
+    /**
+     * Número de registros escritos, incluidos los reemplazados
+     */
+    public synchronized int getTotalRegistros() {
+        return totalRegistros;
+    }
+
+    /**
+     * Bytes ocupados por los datos del archivo
+     */
+    public synchronized long getBytesUsados() {
+        return fin;
+    }
+
+    /**
+     * Recorre secuencialmente los registros vigentes en orden de archivo
+     * (orden de cierre), sin cargarlos todos en memoria.
+     */
+    public synchronized void recorrer(Consumer<TareaCerrada> accion) {
+        for (int pos = TAMANO_CABECERA; pos < fin; pos += 4 + mapa.getInt(pos)) {
+            Integer vigente = indice.get(leerId(pos));
+            if (vigente != null && vigente == pos) {
+                accion.accept(leer(pos));
+            }
+        }
+    }
+
+    /**
+     * Devuelve los registros vigentes que cumplen la condición, en orden de cierre
+     */
+    public List<TareaCerrada> buscar(Predicate<TareaCerrada> condicion) {
+        List<TareaCerrada> resultado = new ArrayList<>();
+        recorrer(t -> {
+            if (condicion.test(t)) resultado.add(t);
+        });
+        return resultado;
+    }
+
+    private String leerId(int posicion) {
+        ByteBuffer lectura = mapa.duplicate();
+        lectura.position(posicion + 4 + 8 + 4 + 4 + 4);
+        return leerTexto(lectura);
+    }
+
+    private TareaCerrada leer(int posicion) {
+        ByteBuffer lectura = mapa.duplicate();
+        lectura.position(posicion + 4);
+        long fechaCierre = lectura.getLong();
+        int horas = lectura.getInt();
+        int prioridad = lectura.getInt();
+        int diaEntrega = lectura.getInt();
+        String id = leerTexto(lectura);
+        String descripcion = leerTexto(lectura);
+        String departamento = leerTexto(lectura);
+        String urgencia = leerTexto(lectura);
+        String empleado = leerTexto(lectura);
+        String comentarios = leerTexto(lectura);
+        String cerradaPor = leerTexto(lectura);
+        return new TareaCerrada(id, descripcion, departamento, urgencia, horas, empleado,
+                prioridad, diaEntrega, fechaCierre, comentarios, cerradaPor);
+    }
+
+    private static String leerTexto(ByteBuffer lectura) {
+        int longitud = lectura.getInt();
+        if (longitud < 0) return null;
+        byte[] bytes = new byte[longitud];
+        lectura.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escribe a disco los cambios pendientes y cierra el archivo
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!canal.isOpen()) return;
+        mapa.force();
+        canal.close();
+    }
+
+    public Path getRuta() {
+        return ruta;
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Copia inmutable de una tarea cerrada leída del archivo
+     */
+    public static final class TareaCerrada {
+        private final String id;
+        private final String descripcion;
+        private final String departamento;
+        private final String urgencia;
+        private final int horasEstimadas;
+        private final String empleadoAsignado;
+        private final int prioridad;
+        private final int diaEntrega;
+        private final long fechaCierre;
+        private final String comentarios;
+        private final String cerradaPor;
+
+        TareaCerrada(String id, String descripcion, String departamento, String urgencia,
+                int horasEstimadas, String empleadoAsignado, int prioridad, int diaEntrega,
+                long fechaCierre, String comentarios, String cerradaPor) {
+            this.id = id;
+            this.descripcion = descripcion;
+            // Canonicalizar para poder comparar con == como el resto del modelo
+            this.departamento = ValoresCanonicos.departamento(departamento);
+            this.urgencia = ValoresCanonicos.urgencia(urgencia);
+            this.horasEstimadas = horasEstimadas;
+            this.empleadoAsignado = empleadoAsignado;
+            this.prioridad = prioridad;
+            this.diaEntrega = diaEntrega;
+            this.fechaCierre = fechaCierre;
+            this.comentarios = comentarios;
+            this.cerradaPor = cerradaPor;
+        }
+
+        public String getId() { return id; }
+        public String getDescripcion() { return descripcion; }
+        public String getDepartamento() { return departamento; }
+        public String getUrgencia() { return urgencia; }
+        public int getHorasEstimadas() { return horasEstimadas; }
+        public String getEmpleadoAsignado() { return empleadoAsignado; }
+        public int getPrioridad() { return prioridad; }
+        public String getComentarios() { return comentarios; }
+        public String getCerradaPor() { return cerradaPor; }
+
+        /** Fecha de cierre en milisegundos epoch */
+        public long getFechaCierre() { return fechaCierre; }
+
+        /** Fecha de cierre como texto "yyyy-MM-dd HH:mm" */
+        public String getFechaCierreTexto() {
+            return FORMATO_CIERRE.format(Instant.ofEpochMilli(fechaCierre));
+        }
+
+        /** Fecha de entrega yyyy-MM-dd, o null si la tarea no tenía */
+        public String getFechaEntrega() {
+            return diaEntrega == Utilidades.SIN_FECHA ? null : Utilidades.convertirDesdeDiaEpoch(diaEntrega);
+        }
+
+        /**
+         * Crea una Tarea (o TareaPrioridad si tenía prioridad y fecha) con los datos archivados
+         */
+        public Tarea toTarea() {
+            Tarea tarea;
+            if (prioridad > 0 && diaEntrega != Utilidades.SIN_FECHA) {
+                tarea = new TareaPrioridad(id, descripcion, departamento, urgencia,
+                        horasEstimadas, prioridad, getFechaEntrega());
+            } else {
+                tarea = new Tarea(id, descripcion, departamento, urgencia, horasEstimadas);
+            }
+            tarea.setEmpleadoAsignado(empleadoAsignado);
+            return tarea;
+        }
+
+        @Override
+        public String toString() {
+            return "TareaCerrada{id='" + id + "', descripcion='" + descripcion
+                    + "', departamento='" + departamento + "', cierre=" + getFechaCierreTexto() + "}";
+        }
+    }
+}
@@ -11,11 +11,14 @@ import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Updates;
 import com.techsolutions.model.ArbolEmpleados;
 import com.techsolutions.model.Empleado;
 import com.techsolutions.model.Tarea;
 import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.CodecId;
 
 /**
  * Gestor de base de datos MongoDB para el sistema de gestión de tareas de TechSolutions S.A. de C.V.
@@ -36,6 +39,8 @@ import com.techsolutions.model.TareaPrioridad;
  * @since 2025-09-21
  */
 public class MongoDBManager {
+
+    private static final Bitacora BITACORA = Bitacora.de("mongodb");
     
     // ===============================
     // ATRIBUTOS DE INSTANCIA
@@ -75,6 +80,9 @@ public class MongoDBManager {
     /** Nombre de la colección de empleados */
     private static final String EMPLEADOS_COLLECTION = "empleados";
 
+    /** Proyección que solo trae el campo id (para generar IDs sin decodificar documentos completos) */
+    private static final Bson SOLO_ID = Projections.fields(Projections.include("id"), Projections.excludeId());
+
     // ===============================
     // CONSTRUCTOR Y SINGLETON
     // ===============================
@@ -88,6 +96,29 @@ public class MongoDBManager {
         inicializarConexion();
     }
 
+    /**
+     * Constructor sobre colecciones ya creadas; no abre ninguna conexión.
+     */
+    private MongoDBManager(MongoCollection<Document> tareasCollection, MongoCollection<Document> empleadosCollection) {
+        this.tareasCollection = tareasCollection;
+        this.empleadosCollection = empleadosCollection;
+        this.conexionEstablecida = true;
+    }
+
+    /**
+     * Crea un gestor independiente del Singleton que trabaja sobre las
+     * colecciones recibidas, por ejemplo colecciones en memoria para medir
+     * el rendimiento de las operaciones sin un servidor MongoDB.
+     * 
+     * @param tareasCollection Colección que hará de colección de tareas
+     * @param empleadosCollection Colección que hará de colección de empleados
+     * @return Un gestor conectado a esas colecciones
+     */
+    public static MongoDBManager conColecciones(MongoCollection<Document> tareasCollection,
+            MongoCollection<Document> empleadosCollection) {
+        return new MongoDBManager(tareasCollection, empleadosCollection);
+    }
+
     /**
      * Obtiene la instancia única del MongoDBManager (patrón Singleton).
      * Si no existe una instancia, la crea automáticamente.
@@ -122,15 +153,14 @@ public class MongoDBManager {
             
             // Marcar conexión como exitosa
             conexionEstablecida = true;
-            System.out.println("✓ Conexión a MongoDB establecida correctamente");
-            System.out.println("✓ Base de datos: " + DATABASE_NAME);
-            System.out.println("✓ URI: " + MONGO_URI);
+            BITACORA.info("Conexión a MongoDB establecida correctamente");
+            BITACORA.info("Base de datos: {}", DATABASE_NAME);
+            BITACORA.info("URI: {}", MONGO_URI);
             
         } catch (Exception e) {
             conexionEstablecida = false;
-            System.err.println("✗ Error al conectar con MongoDB: " + e.getMessage());
-            System.err.println("✗ Verifica que MongoDB esté ejecutándose en " + MONGO_URI);
-            e.printStackTrace();
+            BITACORA.error("Error al conectar con MongoDB", e);
+            BITACORA.aviso("Verifica que MongoDB esté ejecutándose en {}", MONGO_URI);
         }
     }
 
@@ -163,7 +193,7 @@ public class MongoDBManager {
         if (mongoClient != null) {
             mongoClient.close();
             conexionEstablecida = false;
-            System.out.println("✓ Conexión a MongoDB cerrada correctamente");
+            BITACORA.info("Conexión a MongoDB cerrada correctamente");
         }
     }
 
@@ -184,7 +214,7 @@ public class MongoDBManager {
             database.listCollectionNames().first();
             return true;
         } catch (Exception e) {
-            System.err.println("✗ Error en prueba de conexión: " + e.getMessage());
+            BITACORA.error("Error en prueba de conexión: {}", e.getMessage());
             return false;
         }
     }
@@ -203,7 +233,7 @@ public class MongoDBManager {
     public boolean guardarTarea(Tarea tarea, String tipo) {
         // Verificar que existe conexión a la base de datos
         if (!conexionEstablecida) {
-            System.err.println("✗ No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -213,11 +243,11 @@ public class MongoDBManager {
             
             // Insertar el documento en la colección de tareas
             tareasCollection.insertOne(doc);
-            System.out.println("✓ Tarea guardada correctamente: " + tarea.getId());
+            BITACORA.debug("Tarea guardada correctamente: {}", tarea.getId());
             return true;
             
         } catch (Exception e) {
-            System.err.println("✗ Error al guardar tarea: " + e.getMessage());
+            BITACORA.error("Error al guardar tarea: {}", e.getMessage());
             return false;
         }
     }
@@ -235,7 +265,7 @@ public class MongoDBManager {
     public boolean guardarTareaPrioridad(Tarea tarea, String tipo, int prioridad, String fechaEntrega) {
         // Verificar conexión a la base de datos
         if (!conexionEstablecida) {
-            System.err.println("✗ No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -249,12 +279,12 @@ public class MongoDBManager {
 
             // Insertar en la base de datos
             tareasCollection.insertOne(doc);
-            System.out.println("✓ Tarea con prioridad guardada: " + tarea.getId() + 
-                             " (Prioridad: " + prioridad + ", Fecha: " + fechaEntrega + ")");
+            BITACORA.debug("Tarea con prioridad guardada: {} (Prioridad: {}, Fecha: {})",
+                    tarea.getId(), prioridad, fechaEntrega);
             return true;
             
         } catch (Exception e) {
-            System.err.println("✗ Error al guardar tarea con prioridad: " + e.getMessage());
+            BITACORA.error("Error al guardar tarea con prioridad: {}", e.getMessage());
             return false;
         }
     }
@@ -270,7 +300,7 @@ public class MongoDBManager {
         
         // Verificar conexión antes de proceder
         if (!conexionEstablecida) {
-            System.err.println("✗ No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return tareas;
         }
 
@@ -282,7 +312,7 @@ public class MongoDBManager {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar tareas: " + e.getMessage());
+            BITACORA.error("Error al cargar tareas: {}", e.getMessage());
         }
 
         return tareas;
@@ -295,7 +325,7 @@ public class MongoDBManager {
         List<Tarea> tareas = new ArrayList<>();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return tareas;
         }
 
@@ -307,7 +337,7 @@ public class MongoDBManager {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar tareas por tipo: " + e.getMessage());
+            BITACORA.error("Error al cargar tareas por tipo: {}", e.getMessage());
         }
 
         return tareas;
@@ -318,7 +348,7 @@ public class MongoDBManager {
      */
     public Tarea buscarTareaPorId(String id) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return null;
         }
 
@@ -326,7 +356,7 @@ public class MongoDBManager {
             Document doc = tareasCollection.find(Filters.eq("id", id)).first();
             return doc != null ? documentToTarea(doc) : null;
         } catch (Exception e) {
-            System.err.println("Error al buscar tarea por ID: " + e.getMessage());
+            BITACORA.error("Error al buscar tarea por ID: {}", e.getMessage());
             return null;
         }
     }
@@ -336,14 +366,14 @@ public class MongoDBManager {
      */
     public boolean eliminarTarea(String id) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
         try {
             return tareasCollection.deleteOne(Filters.eq("id", id)).getDeletedCount() > 0;
         } catch (Exception e) {
-            System.err.println("Error al eliminar tarea: " + e.getMessage());
+            BITACORA.error("Error al eliminar tarea: {}", e.getMessage());
             return false;
         }
     }
@@ -353,7 +383,7 @@ public class MongoDBManager {
      */
     public boolean actualizarTarea(String id, Tarea tareaActualizada) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -368,7 +398,7 @@ public class MongoDBManager {
 
             return tareasCollection.updateOne(filter, updates).getModifiedCount() > 0;
         } catch (Exception e) {
-            System.err.println("Error al actualizar tarea: " + e.getMessage());
+            BITACORA.error("Error al actualizar tarea: {}", e.getMessage());
             return false;
         }
     }
@@ -380,7 +410,7 @@ public class MongoDBManager {
      */
     public boolean guardarEmpleado(Empleado empleado) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -392,7 +422,7 @@ public class MongoDBManager {
             empleadosCollection.insertOne(doc);
             return true;
         } catch (Exception e) {
-            System.err.println("Error al guardar empleado: " + e.getMessage());
+            BITACORA.error("Error al guardar empleado: {}", e.getMessage());
             return false;
         }
     }
@@ -404,7 +434,7 @@ public class MongoDBManager {
         List<Empleado> empleados = new ArrayList<>();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return empleados;
         }
 
@@ -416,7 +446,7 @@ public class MongoDBManager {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar empleados: " + e.getMessage());
+            BITACORA.error("Error al cargar empleados: {}", e.getMessage());
         }
 
         return empleados;
@@ -429,7 +459,7 @@ public class MongoDBManager {
         ArbolEmpleados arbol = new ArbolEmpleados();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return arbol;
         }
 
@@ -441,7 +471,7 @@ public class MongoDBManager {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar empleados en árbol: " + e.getMessage());
+            BITACORA.error("Error al cargar empleados en árbol: {}", e.getMessage());
         }
 
         return arbol;
@@ -454,7 +484,7 @@ public class MongoDBManager {
         List<Empleado> empleados = new ArrayList<>();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return empleados;
         }
 
@@ -465,9 +495,9 @@ public class MongoDBManager {
                     empleados.add(empleado);
                 }
             }
-            System.out.println("✅ Cargados " + empleados.size() + " empleados desde MongoDB");
+            BITACORA.info("Cargados {} empleados desde MongoDB", empleados.size());
         } catch (Exception e) {
-            System.err.println("Error al obtener empleados: " + e.getMessage());
+            BITACORA.error("Error al obtener empleados: {}", e.getMessage());
         }
 
         return empleados;
@@ -480,7 +510,7 @@ public class MongoDBManager {
      */
     public Document obtenerEstadisticasTareas() {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return new Document();
         }
 
@@ -495,7 +525,7 @@ public class MongoDBManager {
                     .append("programadas", tareasProgramadas)
                     .append("departamento", tareasDepartamento);
         } catch (Exception e) {
-            System.err.println("Error al obtener estadísticas: " + e.getMessage());
+            BITACORA.error("Error al obtener estadísticas: {}", e.getMessage());
             return new Document();
         }
     }
@@ -505,17 +535,10 @@ public class MongoDBManager {
      */
     public String generarIdTarea() {
         try {
-            int max = 0;
-            for (Document doc : tareasCollection.find()) {
-                String id = doc.getString("id");
-                if (id != null && id.matches("T\\d+")) {
-                    int num = Integer.parseInt(id.substring(1));
-                    if (num > max) max = num;
-                }
-            }
-            return "T" + (max + 1);
+            return CodecId.formatear(CodecId.PREFIJO_TAREA,
+                    maximoNumeroId(tareasCollection, CodecId.PREFIJO_TAREA) + 1);
         } catch (Exception e) {
-            System.err.println("Error al generar ID de tarea: " + e.getMessage());
+            BITACORA.error("Error al generar ID de tarea: {}", e.getMessage());
             return "T1";
         }
     }
@@ -525,21 +548,27 @@ public class MongoDBManager {
      */
     public String generarIdEmpleado() {
         try {
-            int max = 0;
-            for (Document doc : empleadosCollection.find()) {
-                String id = doc.getString("id");
-                if (id != null && id.matches("EMP\\d+")) {
-                    int num = Integer.parseInt(id.substring(3));
-                    if (num > max) max = num;
-                }
-            }
-            return "EMP" + (max + 1);
+            return CodecId.formatear(CodecId.PREFIJO_EMPLEADO,
+                    maximoNumeroId(empleadosCollection, CodecId.PREFIJO_EMPLEADO) + 1);
         } catch (Exception e) {
-            System.err.println("Error al generar ID de empleado: " + e.getMessage());
+            BITACORA.error("Error al generar ID de empleado: {}", e.getMessage());
             return "EMP1";
         }
     }
 
+    /**
+     * Mayor número de ID de una colección. Solo se trae el campo id de cada
+     * documento y se analiza sin expresiones regulares ni subcadenas.
+     */
+    private static long maximoNumeroId(MongoCollection<Document> coleccion, String prefijo) {
+        long max = 0;
+        for (Document doc : coleccion.find().projection(SOLO_ID)) {
+            long numero = CodecId.numero(doc.getString("id"), prefijo);
+            if (numero > max) max = numero;
+        }
+        return max;
+    }
+
     // ==================== MÉTODOS AUXILIARES ====================
 
     /**
@@ -575,7 +604,7 @@ public class MongoDBManager {
                 return new Tarea(id, descripcion, departamento, urgencia, horasEstimadas);
             }
         } catch (Exception e) {
-            System.err.println("Error al convertir documento a tarea: " + e.getMessage());
+            BITACORA.error("Error al convertir documento a tarea: {}", e.getMessage());
             return null;
         }
     }
@@ -591,7 +620,7 @@ public class MongoDBManager {
 
             return new Empleado(id, nombre, departamento);
         } catch (Exception e) {
-            System.err.println("Error al convertir documento a empleado: " + e.getMessage());
+            BITACORA.error("Error al convertir documento a empleado: {}", e.getMessage());
             return null;
         }
     }
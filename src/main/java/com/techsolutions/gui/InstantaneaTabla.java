@@ -0,0 +1,155 @@
+package com.techsolutions.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.swing.table.TableModel;
+
+/**
+ * Copia de los valores de un TableModel tomada en el hilo de eventos (EDT), para
+ * que el filtrado y el ordenamiento puedan trabajar en otro hilo sin tocar el modelo.
+ *
+ * Las versiones en minúsculas y los índices de trigramas se construyen bajo
+ * demanda, por columna, en el hilo que los necesite.
+ */
+class InstantaneaTabla {
+
+    static final int TAMANO_NGRAMA = 3;
+    static final int[] SIN_FILAS = new int[0];
+
+    final int filas;
+    final int columnas;
+    private final Object[][] valores;
+    private final String[][] textos;
+    private final List<Map<Long, int[]>> ngramas;
+
+    InstantaneaTabla(TableModel modelo) {
+        this.filas = modelo.getRowCount();
+        this.columnas = modelo.getColumnCount();
+        this.valores = new Object[columnas][filas];
+        for (int c = 0; c < columnas; c++) {
+            for (int f = 0; f < filas; f++) {
+                valores[c][f] = modelo.getValueAt(f, c);
+            }
+        }
+        this.textos = new String[columnas][];
+        this.ngramas = new ArrayList<>(Collections.nCopies(columnas, (Map<Long, int[]>) null));
+    }
+
+    /**
+     * Valores originales de una columna (no modificar)
+     */
+    Object[] valores(int columna) {
+        return valores[columna];
+    }
+
+    /**
+     * Textos de una columna en minúsculas
+     */
+    synchronized String[] texto(int columna) {
+        if (textos[columna] == null) {
+            String[] minusculas = new String[filas];
+            for (int f = 0; f < filas; f++) {
+                Object valor = valores[columna][f];
+                minusculas[f] = valor == null ? "" : valor.toString().toLowerCase(Locale.ROOT);
+            }
+            textos[columna] = minusculas;
+        }
+        return textos[columna];
+    }
+
+    synchronized Map<Long, int[]> ngramas(int columna) {
+        Map<Long, int[]> indice = ngramas.get(columna);
+        if (indice == null) {
+            String[] datos = texto(columna);
+            Map<Long, ListaEnteros> temporal = new HashMap<>();
+            for (int f = 0; f < filas; f++) {
+                String texto = datos[f];
+                for (int i = 0; i + TAMANO_NGRAMA <= texto.length(); i++) {
+                    temporal.computeIfAbsent(claveNgrama(texto, i), k -> new ListaEnteros()).agregarUnico(f);
+                }
+            }
+            indice = new HashMap<>(temporal.size() * 2);
+            for (Map.Entry<Long, ListaEnteros> entry : temporal.entrySet()) {
+                indice.put(entry.getKey(), entry.getValue().aArreglo());
+            }
+            ngramas.set(columna, indice);
+        }
+        return indice;
+    }
+
+    /**
+     * Filas que contienen todos los trigramas de la consulta (superconjunto de
+     * las coincidencias reales, que luego se verifican).
+     */
+    int[] candidatasPorNgramas(int columna, String consulta) {
+        Map<Long, int[]> indice = ngramas(columna);
+
+        int cantidad = consulta.length() - TAMANO_NGRAMA + 1;
+        int[][] listas = new int[cantidad][];
+        for (int i = 0; i < cantidad; i++) {
+            int[] filasNgrama = indice.get(claveNgrama(consulta, i));
+            if (filasNgrama == null) return SIN_FILAS;
+            listas[i] = filasNgrama;
+        }
+
+        // Intersecar empezando por la lista más corta
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.length, b.length));
+        int[] resultado = listas[0];
+        for (int i = 1; i < listas.length && resultado.length > 0; i++) {
+            if (listas[i] != listas[i - 1]) {
+                resultado = intersecar(resultado, listas[i]);
+            }
+        }
+        return resultado;
+    }
+
+    private static long claveNgrama(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32)
+                | ((long) texto.charAt(inicio + 1) << 16)
+                | texto.charAt(inicio + 2);
+    }
+
+    private static int[] intersecar(int[] a, int[] b) {
+        int[] resultado = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                resultado[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, k);
+    }
+
+    /**
+     * Lista creciente de enteros sin autoboxing
+     */
+    private static class ListaEnteros {
+        private int[] datos = new int[4];
+        private int tamano;
+
+        /** Agrega la fila si no es la última agregada (las filas llegan en orden) */
+        void agregarUnico(int valor) {
+            if (tamano > 0 && datos[tamano - 1] == valor) return;
+            if (tamano == datos.length) {
+                datos = Arrays.copyOf(datos, tamano * 2);
+            }
+            datos[tamano++] = valor;
+        }
+
+        int[] aArreglo() {
+            return Arrays.copyOf(datos, tamano);
+        }
+    }
+}
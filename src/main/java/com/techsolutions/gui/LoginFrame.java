@@ -34,12 +34,15 @@ import javax.swing.border.EmptyBorder;
 import com.techsolutions.SistemaGestionTareas;
 import com.techsolutions.model.Usuario;
 import com.techsolutions.services.UsuarioService;
+import com.techsolutions.util.Bitacora;
 
 /**
  * Pantalla de inicio de sesión del sistema
  * Permite autenticación con diferentes roles de usuario
  */
 public class LoginFrame extends JFrame {
+
+    private static final Bitacora BITACORA = Bitacora.de("vista");
     
     private JTextField txtUsername;
     private JPasswordField txtPassword;
@@ -71,7 +74,7 @@ public class LoginFrame extends JFrame {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
-            System.err.println("Error configurando Look and Feel: " + e.getMessage());
+            BITACORA.aviso("Error configurando Look and Feel: {}", e.getMessage());
         }
     }
     
@@ -274,7 +277,7 @@ public class LoginFrame extends JFrame {
                 SistemaGestionTareas sistema = new SistemaGestionTareas(usuario);
                 sistema.setVisible(true);
             } catch (Exception e) {
-                e.printStackTrace();
+                BITACORA.error("Error al cargar el sistema", e);
                 JOptionPane.showMessageDialog(null, 
                     "Error al cargar el sistema: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,257 @@
+package com.techsolutions.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabla de solo lectura que guarda los datos por columnas.
+ *
+ * DefaultTableModel guarda cada fila como un Vector de objetos. Este modelo
+ * guarda cada columna en un único arreglo, según su tipo:
+ * - TEXTO: arreglo de referencias String (se comparten con los objetos de origen).
+ * - CATEGORIA: arreglo de int con el código de un diccionario por columna, para
+ *   columnas con pocos valores distintos (departamento, urgencia, tipo...).
+ * - ENTERO: arreglo de int.
+ *
+ * getValueAt no crea objetos por fila (salvo el Integer de las columnas ENTERO,
+ * que Java reutiliza para valores pequeños). Ofrece addRow/setRowCount/removeRow
+ * compatibles con DefaultTableModel y un modo de carga por lotes que notifica
+ * a la tabla una sola vez.
+ */
+public class ModeloTablaColumnar extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Tipo de almacenamiento de una columna */
+    public enum TipoColumna {
+        TEXTO, CATEGORIA, ENTERO
+    }
+
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final int SIN_VALOR = -1;
+
+    private final String[] nombres;
+    private final TipoColumna[] tipos;
+
+    // Por columna: String[] (TEXTO) o int[] (CATEGORIA y ENTERO)
+    private final Object[] datos;
+    private final List<List<String>> valoresCategoria = new ArrayList<>();
+    private final List<Map<String, Integer>> codigosCategoria = new ArrayList<>();
+
+    private int filas;
+    private int capacidad = CAPACIDAD_INICIAL;
+
+    // Carga por lotes
+    private boolean cargando;
+
+    public ModeloTablaColumnar(String[] nombres, TipoColumna[] tipos) {
+        if (nombres.length != tipos.length) {
+            throw new IllegalArgumentException("Debe indicarse un tipo por cada columna");
+        }
+        this.nombres = nombres.clone();
+        this.tipos = tipos.clone();
+        this.datos = new Object[tipos.length];
+
+        for (int c = 0; c < tipos.length; c++) {
+            datos[c] = tipos[c] == TipoColumna.TEXTO ? new String[capacidad] : new int[capacidad];
+            valoresCategoria.add(tipos[c] == TipoColumna.CATEGORIA ? new ArrayList<>() : null);
+            codigosCategoria.add(tipos[c] == TipoColumna.CATEGORIA ? new HashMap<>() : null);
+        }
+    }
+
+    // ==================== TableModel ====================
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return nombres.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return nombres[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return tipos[column] == TipoColumna.ENTERO ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (row < 0 || row >= filas) {
+            throw new ArrayIndexOutOfBoundsException(row);
+        }
+        switch (tipos[column]) {
+            case TEXTO:
+                return ((String[]) datos[column])[row];
+            case CATEGORIA:
+                int codigo = ((int[]) datos[column])[row];
+                return codigo == SIN_VALOR ? null : valoresCategoria.get(column).get(codigo);
+            default:
+                return ((int[]) datos[column])[row];
+        }
+    }
+
+    // ==================== MODIFICACIÓN ====================
+
+    /**
+     * Agrega una fila al final (mismo uso que DefaultTableModel.addRow)
+     */
+    public void addRow(Object... valores) {
+        asegurarCapacidad(filas + 1);
+        for (int c = 0; c < tipos.length; c++) {
+            escribir(c, filas, c < valores.length ? valores[c] : null);
+        }
+        filas++;
+        if (!cargando) {
+            fireTableRowsInserted(filas - 1, filas - 1);
+        }
+    }
+
+    /**
+     * Cambia el número de filas. Las filas nuevas quedan vacías.
+     */
+    public void setRowCount(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("Número de filas inválido: " + rowCount);
+        }
+        int anterior = filas;
+        if (rowCount == anterior) return;
+
+        if (rowCount > anterior) {
+            asegurarCapacidad(rowCount);
+            for (int c = 0; c < tipos.length; c++) {
+                for (int f = anterior; f < rowCount; f++) {
+                    escribir(c, f, null);
+                }
+            }
+            filas = rowCount;
+            if (!cargando) fireTableRowsInserted(anterior, rowCount - 1);
+        } else {
+            // Soltar las referencias a textos para que puedan liberarse
+            for (int c = 0; c < tipos.length; c++) {
+                if (tipos[c] == TipoColumna.TEXTO) {
+                    Arrays.fill((String[]) datos[c], rowCount, anterior, null);
+                }
+            }
+            filas = rowCount;
+            if (!cargando) fireTableRowsDeleted(rowCount, anterior - 1);
+        }
+    }
+
+    /**
+     * Elimina una fila desplazando las siguientes
+     */
+    public void removeRow(int row) {
+        if (row < 0 || row >= filas) {
+            throw new ArrayIndexOutOfBoundsException(row);
+        }
+        int mover = filas - row - 1;
+        for (int c = 0; c < tipos.length; c++) {
+            System.arraycopy(datos[c], row + 1, datos[c], row, mover);
+            if (tipos[c] == TipoColumna.TEXTO) {
+                ((String[]) datos[c])[filas - 1] = null;
+            }
+        }
+        filas--;
+        if (!cargando) fireTableRowsDeleted(row, row);
+    }
+
+    /**
+     * Inicia una carga por lotes: addRow y setRowCount no notifican a la tabla
+     * hasta llamar a finalizarCarga.
+     */
+    public void iniciarCarga() {
+        cargando = true;
+    }
+
+    /**
+     * Termina la carga por lotes y notifica a la tabla un único cambio completo
+     */
+    public void finalizarCarga() {
+        if (!cargando) return;
+        cargando = false;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Reduce los arreglos internos al número de filas actual
+     */
+    public void compactar() {
+        int nueva = Math.max(filas, CAPACIDAD_INICIAL);
+        if (nueva == capacidad) return;
+        redimensionar(nueva);
+    }
+
+    // ==================== ALMACENAMIENTO ====================
+
+    private void escribir(int columna, int fila, Object valor) {
+        switch (tipos[columna]) {
+            case TEXTO:
+                ((String[]) datos[columna])[fila] = valor == null ? null : valor.toString();
+                break;
+            case CATEGORIA:
+                ((int[]) datos[columna])[fila] = codificar(columna, valor);
+                break;
+            default:
+                int numero = 0;
+                if (valor instanceof Number) {
+                    numero = ((Number) valor).intValue();
+                } else if (valor != null) {
+                    try {
+                        numero = Integer.parseInt(valor.toString().trim());
+                    } catch (NumberFormatException e) {
+                        numero = 0;
+                    }
+                }
+                ((int[]) datos[columna])[fila] = numero;
+        }
+    }
+
+    private int codificar(int columna, Object valor) {
+        if (valor == null) return SIN_VALOR;
+        String texto = valor.toString();
+
+        Map<String, Integer> codigos = codigosCategoria.get(columna);
+        Integer codigo = codigos.get(texto);
+        if (codigo == null) {
+            List<String> valores = valoresCategoria.get(columna);
+            codigo = valores.size();
+            valores.add(texto);
+            codigos.put(texto, codigo);
+        }
+        return codigo;
+    }
+
+    private void asegurarCapacidad(int minima) {
+        if (minima <= capacidad) return;
+        int nueva = Math.max(minima, capacidad + (capacidad >> 1));
+        redimensionar(nueva);
+    }
+
+    private void redimensionar(int nueva) {
+        for (int c = 0; c < tipos.length; c++) {
+            if (tipos[c] == TipoColumna.TEXTO) {
+                datos[c] = Arrays.copyOf((String[]) datos[c], nueva);
+            } else {
+                datos[c] = Arrays.copyOf((int[]) datos[c], nueva);
+            }
+        }
+        capacidad = nueva;
+    }
+}
@@ -0,0 +1,290 @@
+package com.techsolutions.gui;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import javax.swing.DefaultRowSorter;
+import javax.swing.RowFilter;
+import javax.swing.RowSorter;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+
+import com.techsolutions.util.Bitacora;
+
+/**
+ * Motor de filtrado por columnas para tablas grandes.
+ *
+ * Sustituye los filtros por expresión regular que se recompilaban y evaluaban
+ * sobre todas las celdas en cada pulsación de tecla:
+ * - Las consultas son subcadenas literales sin distinguir mayúsculas.
+ * - La entrada se agrupa con un retardo (debounce) y el cálculo se hace en un
+ *   SwingWorker, fuera del hilo de eventos (EDT).
+ * - Por cada columna se construye, una sola vez por cambio del modelo, una copia
+ *   en minúsculas y un índice de trigramas (3 caracteres -> filas que lo contienen).
+ * - Si la nueva consulta de una columna contiene a la anterior (el usuario sigue
+ *   escribiendo), solo se revisan las filas que ya coincidían.
+ *
+ * El resultado es un arreglo de filas visibles que el RowFilter consulta en O(1).
+ * Mientras el resultado no corresponde al modelo actual (justo después de un
+ * cambio de datos) el filtro evalúa las celdas directamente. Con un
+ * OrdenadorAsincrono el arreglo se entrega directamente al sorter.
+ */
+public class MotorFiltrado implements TableModelListener {
+
+    private static final Bitacora BITACORA = Bitacora.de("vista");
+
+    /** Retardo por defecto entre la última pulsación y el filtrado */
+    public static final int RETARDO_POR_DEFECTO_MS = 150;
+
+    private final TableModel modelo;
+    private final RowSorter<? extends TableModel> sorter;
+    private final Timer temporizador;
+
+    // Estado manejado solo desde el EDT
+    private String[] consultasPendientes = new String[0];
+    private String[] consultasActivas = new String[0];
+    private InstantaneaTabla instantanea;
+    private long generacion;
+    private SwingWorker<EstadoFiltro, Void> trabajoEnCurso;
+    private boolean refiltradoPendiente;
+
+    // Último resultado aplicado (lo lee el RowFilter)
+    private EstadoFiltro estado;
+
+    private final RowFilter<Object, Integer> filtro = new RowFilter<Object, Integer>() {
+        @Override
+        public boolean include(Entry<? extends Object, ? extends Integer> entry) {
+            int fila = entry.getIdentifier();
+            EstadoFiltro actual = estado;
+            if (actual != null && instantanea != null && actual.instantanea == instantanea) {
+                return fila < actual.visibles.length && actual.visibles[fila];
+            }
+            return coincideDirecto(entry);
+        }
+    };
+
+    public MotorFiltrado(TableModel modelo, RowSorter<? extends TableModel> sorter) {
+        this(modelo, sorter, RETARDO_POR_DEFECTO_MS);
+    }
+
+    public MotorFiltrado(TableModel modelo, RowSorter<? extends TableModel> sorter, int retardoMs) {
+        this.modelo = modelo;
+        this.sorter = sorter;
+        this.temporizador = new Timer(retardoMs, e -> ejecutarFiltrado());
+        this.temporizador.setRepeats(false);
+        modelo.addTableModelListener(this);
+    }
+
+    /**
+     * Solicita filtrar con las consultas indicadas (una por columna; null o vacía
+     * significa sin filtro). El filtrado real se hace tras el retardo.
+     */
+    public void solicitarFiltrado(String[] consultas) {
+        String[] normalizadas = new String[consultas.length];
+        for (int i = 0; i < consultas.length; i++) {
+            String consulta = consultas[i];
+            normalizadas[i] = consulta == null || consulta.isEmpty() ? null : consulta.toLowerCase(Locale.ROOT);
+        }
+        consultasPendientes = normalizadas;
+        temporizador.restart();
+    }
+
+    /**
+     * Quita todos los filtros de inmediato
+     */
+    public void limpiar() {
+        temporizador.stop();
+        consultasPendientes = new String[0];
+        ejecutarFiltrado();
+    }
+
+    /**
+     * El modelo cambió: la instantánea deja de ser válida y, si hay filtros
+     * activos, se vuelve a filtrar una sola vez al terminar la ráfaga de cambios.
+     */
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        instantanea = null;
+        if (hayConsultas(consultasActivas) && !refiltradoPendiente && !temporizador.isRunning()) {
+            refiltradoPendiente = true;
+            SwingUtilities.invokeLater(() -> {
+                refiltradoPendiente = false;
+                if (!temporizador.isRunning() && instantanea == null) {
+                    consultasPendientes = consultasActivas;
+                    ejecutarFiltrado();
+                }
+            });
+        }
+    }
+
+    private void ejecutarFiltrado() {
+        if (trabajoEnCurso != null) {
+            trabajoEnCurso.cancel(true);
+            trabajoEnCurso = null;
+        }
+        long generacionActual = ++generacion;
+
+        consultasActivas = consultasPendientes;
+        if (!hayConsultas(consultasActivas)) {
+            estado = null;
+            aplicarEnSorter();
+            return;
+        }
+
+        if (instantanea == null) {
+            instantanea = new InstantaneaTabla(modelo);
+        }
+        final InstantaneaTabla base = instantanea;
+        final EstadoFiltro anterior = estado;
+        final String[] consultas = consultasActivas;
+
+        trabajoEnCurso = new SwingWorker<EstadoFiltro, Void>() {
+            @Override
+            protected EstadoFiltro doInBackground() {
+                return calcular(base, anterior, consultas, this);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || generacionActual != generacion) return;
+                try {
+                    EstadoFiltro resultado = get();
+                    if (resultado != null) {
+                        estado = resultado;
+                        aplicarEnSorter();
+                    }
+                } catch (Exception ex) {
+                    BITACORA.error("Error al filtrar la tabla: {}", ex.getMessage());
+                }
+            }
+        };
+
+        // Mientras se calcula se mantiene el filtro anterior; no se bloquea el EDT
+        trabajoEnCurso.execute();
+    }
+
+    /**
+     * Entrega el resultado al sorter de la tabla. El OrdenadorAsincrono recibe
+     * directamente las filas visibles; un DefaultRowSorter recibe el RowFilter.
+     */
+    private void aplicarEnSorter() {
+        if (sorter instanceof OrdenadorAsincrono) {
+            OrdenadorAsincrono ordenador = (OrdenadorAsincrono) sorter;
+            if (estado == null) {
+                ordenador.aplicarFiltro(null, null);
+            } else if (estado.instantanea == instantanea) {
+                ordenador.aplicarFiltro(estado.visibles, estado.instantanea);
+            }
+            // Si el modelo cambió mientras se filtraba ya hay un refiltrado programado
+        } else if (sorter instanceof DefaultRowSorter) {
+            @SuppressWarnings("unchecked")
+            DefaultRowSorter<?, Integer> sorterPorDefecto = (DefaultRowSorter<?, Integer>) sorter;
+            sorterPorDefecto.setRowFilter(estado == null ? null : filtro);
+        }
+    }
+
+    // ==================== CÁLCULO (fuera del EDT) ====================
+
+    private static EstadoFiltro calcular(InstantaneaTabla base, EstadoFiltro anterior, String[] consultas,
+            SwingWorker<?, ?> trabajo) {
+        int columnas = Math.min(consultas.length, base.columnas);
+        int[][] filasPorColumna = new int[consultas.length][];
+        boolean[] visibles = null;
+
+        for (int c = 0; c < columnas; c++) {
+            String consulta = consultas[c];
+            if (consulta == null) continue;
+            if (trabajo.isCancelled()) return null;
+
+            int[] candidatas;
+            if (anterior != null && anterior.instantanea == base && c < anterior.consultas.length
+                    && anterior.consultas[c] != null && anterior.filasPorColumna[c] != null
+                    && consulta.contains(anterior.consultas[c])) {
+                // El usuario amplió la consulta: basta con revisar las filas que ya coincidían
+                candidatas = anterior.filasPorColumna[c];
+            } else if (consulta.length() >= InstantaneaTabla.TAMANO_NGRAMA) {
+                candidatas = base.candidatasPorNgramas(c, consulta);
+            } else {
+                candidatas = null; // revisar todas las filas
+            }
+
+            int[] coincidencias = verificar(base.texto(c), candidatas, consulta);
+            filasPorColumna[c] = coincidencias;
+
+            boolean[] deColumna = new boolean[base.filas];
+            for (int fila : coincidencias) {
+                deColumna[fila] = true;
+            }
+            if (visibles == null) {
+                visibles = deColumna;
+            } else {
+                for (int fila = 0; fila < visibles.length; fila++) {
+                    visibles[fila] &= deColumna[fila];
+                }
+            }
+        }
+
+        if (visibles == null) {
+            visibles = new boolean[base.filas];
+            Arrays.fill(visibles, true);
+        }
+        return new EstadoFiltro(base, consultas, filasPorColumna, visibles);
+    }
+
+    private static int[] verificar(String[] textos, int[] candidatas, String consulta) {
+        int total = candidatas == null ? textos.length : candidatas.length;
+        int[] resultado = new int[total];
+        int encontrados = 0;
+
+        for (int k = 0; k < total; k++) {
+            int fila = candidatas == null ? k : candidatas[k];
+            if (textos[fila].contains(consulta)) {
+                resultado[encontrados++] = fila;
+            }
+        }
+        return encontrados == 0 ? InstantaneaTabla.SIN_FILAS : Arrays.copyOf(resultado, encontrados);
+    }
+
+    private boolean coincideDirecto(RowFilter.Entry<? extends Object, ? extends Integer> entry) {
+        String[] consultas = consultasActivas;
+        int columnas = Math.min(consultas.length, entry.getValueCount());
+        for (int c = 0; c < columnas; c++) {
+            if (consultas[c] == null) continue;
+            if (!entry.getStringValue(c).toLowerCase(Locale.ROOT).contains(consultas[c])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hayConsultas(String[] consultas) {
+        for (String consulta : consultas) {
+            if (consulta != null) return true;
+        }
+        return false;
+    }
+
+    // ==================== ESTRUCTURAS ====================
+
+    /**
+     * Resultado de un filtrado: filas visibles y coincidencias por columna
+     * (estas últimas permiten refinar la siguiente consulta).
+     */
+    private static class EstadoFiltro {
+        final InstantaneaTabla instantanea;
+        final String[] consultas;
+        final int[][] filasPorColumna;
+        final boolean[] visibles;
+
+        EstadoFiltro(InstantaneaTabla instantanea, String[] consultas, int[][] filasPorColumna, boolean[] visibles) {
+            this.instantanea = instantanea;
+            this.consultas = consultas;
+            this.filasPorColumna = filasPorColumna;
+            this.visibles = visibles;
+        }
+    }
+}
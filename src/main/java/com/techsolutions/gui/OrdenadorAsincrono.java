@@ -0,0 +1,398 @@
+package com.techsolutions.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.table.TableModel;
+
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.OrdenamientoParalelo;
+
+/**
+ * RowSorter que filtra y ordena en segundo plano.
+ *
+ * A diferencia de TableRowSorter, que ordena y filtra de forma síncrona en el
+ * hilo de eventos (EDT), este sorter toma una InstantaneaTabla del modelo en el
+ * EDT y calcula en un SwingWorker los arreglos vista->modelo y modelo->vista.
+ * Para modelos grandes se usa Arrays.parallelSort. Si llega una nueva petición
+ * mientras se calcula otra, la anterior se cancela y su resultado se descarta;
+ * el nuevo mapeo se instala de una sola vez en el EDT.
+ *
+ * El filtrado lo entrega ya calculado MotorFiltrado (filas visibles). Cuando el
+ * modelo cambia, la vista conserva el mapeo anterior hasta que termina el
+ * recálculo: las filas que ya no existen se quitan y las nuevas quedan ocultas,
+ * en lugar de mostrar por un momento todas las filas sin filtrar.
+ */
+public class OrdenadorAsincrono extends RowSorter<TableModel> {
+
+    private static final Bitacora BITACORA = Bitacora.de("vista");
+
+    /** A partir de este número de filas se ordena en paralelo */
+    public static final int UMBRAL_PARALELO = 10_000;
+
+    private static final int MAX_CLAVES = 3;
+
+    /** Orden para valores de distinto tipo o no comparables */
+    private static final Comparator<Object> ORDEN_TEXTO = (a, b) ->
+            String.CASE_INSENSITIVE_ORDER.compare(String.valueOf(a), String.valueOf(b));
+
+    private final TableModel modelo;
+    private List<SortKey> clavesOrden = Collections.emptyList();
+
+    // Filas visibles calculadas por MotorFiltrado (null = todas)
+    private boolean[] filasVisibles;
+
+    // Instantánea del modelo vigente; con filtro activo es la misma sobre la que se calculó el filtro
+    private InstantaneaTabla instantanea;
+    private Mapeo mapeo = Mapeo.IDENTIDAD;
+    private long generacion;
+    private SwingWorker<Mapeo, Void> trabajoEnCurso;
+    private boolean recalculoPendiente;
+
+    public OrdenadorAsincrono(TableModel modelo) {
+        this.modelo = modelo;
+    }
+
+    @Override
+    public TableModel getModel() {
+        return modelo;
+    }
+
+    // ==================== ORDEN ====================
+
+    @Override
+    public void toggleSortOrder(int column) {
+        List<SortKey> claves = new ArrayList<>(clavesOrden);
+        SortKey actual = null;
+        for (SortKey clave : claves) {
+            if (clave.getColumn() == column) {
+                actual = clave;
+                break;
+            }
+        }
+
+        if (actual == null) {
+            claves.add(0, new SortKey(column, SortOrder.ASCENDING));
+        } else {
+            claves.remove(actual);
+            SortOrder nuevoOrden = actual.getSortOrder() == SortOrder.ASCENDING
+                    ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+            claves.add(0, new SortKey(column, nuevoOrden));
+        }
+        if (claves.size() > MAX_CLAVES) {
+            claves = claves.subList(0, MAX_CLAVES);
+        }
+        setSortKeys(claves);
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> nuevas = keys == null
+                ? Collections.<SortKey>emptyList()
+                : Collections.unmodifiableList(new ArrayList<SortKey>(keys));
+        if (nuevas.equals(clavesOrden)) return;
+
+        clavesOrden = nuevas;
+        fireSortOrderChanged();
+        recalcular();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return clavesOrden;
+    }
+
+    // ==================== FILTRO ====================
+
+    /**
+     * Instala las filas visibles calculadas sobre una instantánea tomada después
+     * del último cambio del modelo; la misma instantánea se usa para ordenar.
+     * Con visibles null se muestran todas las filas.
+     */
+    void aplicarFiltro(boolean[] visibles, InstantaneaTabla instantaneaFiltro) {
+        this.filasVisibles = visibles;
+        if (instantaneaFiltro != null) {
+            this.instantanea = instantaneaFiltro;
+        }
+        recalcular();
+    }
+
+    // ==================== CONVERSIÓN DE ÍNDICES ====================
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (mapeo.vistaAModelo == null) {
+            comprobarIndice(index, modelo.getRowCount());
+            return index;
+        }
+        comprobarIndice(index, mapeo.vistaAModelo.length);
+        return mapeo.vistaAModelo[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (mapeo.modeloAVista == null) {
+            comprobarIndice(index, modelo.getRowCount());
+            return index;
+        }
+        comprobarIndice(index, mapeo.modeloAVista.length);
+        return mapeo.modeloAVista[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return mapeo.vistaAModelo == null ? modelo.getRowCount() : mapeo.vistaAModelo.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return modelo.getRowCount();
+    }
+
+    private static void comprobarIndice(int index, int limite) {
+        if (index < 0 || index >= limite) {
+            throw new IndexOutOfBoundsException("Índice de fila inválido: " + index);
+        }
+    }
+
+    // ==================== CAMBIOS DEL MODELO ====================
+
+    @Override
+    public void modelStructureChanged() {
+        clavesOrden = Collections.emptyList();
+        filasVisibles = null;
+        invalidarModelo();
+        fireSortOrderChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        invalidarModelo();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        invalidarModelo();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        invalidarModelo();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        invalidarModelo();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        invalidarModelo();
+    }
+
+    /**
+     * El mapeo anterior se conserva, recortado a las filas que siguen en el
+     * modelo, y se programa un único recálculo para toda la ráfaga de cambios.
+     */
+    private void invalidarModelo() {
+        instantanea = null;
+        cancelarTrabajo();
+
+        if (!hayTrabajoPendiente()) {
+            instalar(Mapeo.IDENTIDAD);
+            return;
+        }
+
+        instalar(mapeo.recortar(modelo.getRowCount()));
+
+        if (!recalculoPendiente) {
+            recalculoPendiente = true;
+            SwingUtilities.invokeLater(() -> {
+                recalculoPendiente = false;
+                recalcular();
+            });
+        }
+    }
+
+    // ==================== RECÁLCULO EN SEGUNDO PLANO ====================
+
+    private boolean hayTrabajoPendiente() {
+        return !clavesOrden.isEmpty() || filasVisibles != null;
+    }
+
+    private void cancelarTrabajo() {
+        generacion++;
+        if (trabajoEnCurso != null) {
+            trabajoEnCurso.cancel(true);
+            trabajoEnCurso = null;
+        }
+    }
+
+    private void recalcular() {
+        cancelarTrabajo();
+        long generacionActual = generacion;
+
+        if (!hayTrabajoPendiente()) {
+            instalar(Mapeo.IDENTIDAD);
+            return;
+        }
+
+        if (instantanea == null) {
+            if (filasVisibles != null) {
+                // El filtro corresponde a otra versión del modelo: MotorFiltrado
+                // ya está recalculándolo y entregará una instantánea nueva
+                return;
+            }
+            instantanea = new InstantaneaTabla(modelo);
+        }
+        final InstantaneaTabla base = instantanea;
+        final boolean[] visibles = filasVisibles;
+        final List<SortKey> claves = clavesOrden;
+
+        trabajoEnCurso = new SwingWorker<Mapeo, Void>() {
+            @Override
+            protected Mapeo doInBackground() {
+                return calcularMapeo(base, visibles, claves, this);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || generacionActual != generacion) return;
+                try {
+                    Mapeo resultado = get();
+                    if (resultado != null) {
+                        trabajoEnCurso = null;
+                        instalar(resultado);
+                    }
+                } catch (Exception ex) {
+                    BITACORA.error("Error al ordenar la tabla: {}", ex.getMessage());
+                }
+            }
+        };
+        trabajoEnCurso.execute();
+    }
+
+    /**
+     * Reemplaza el mapeo completo y notifica a la tabla (solo en el EDT)
+     */
+    private void instalar(Mapeo nuevo) {
+        Mapeo anterior = mapeo;
+        if (anterior == nuevo) return;
+
+        mapeo = nuevo;
+        fireRowSorterChanged(anterior.vistaAModelo);
+    }
+
+    private static Mapeo calcularMapeo(InstantaneaTabla base, boolean[] visibles, List<SortKey> claves,
+            SwingWorker<?, ?> trabajo) {
+        int filas = base.filas;
+
+        int total = 0;
+        int[] vista = new int[filas];
+        for (int f = 0; f < filas; f++) {
+            if (visibles == null || (f < visibles.length && visibles[f])) {
+                vista[total++] = f;
+            }
+        }
+        if (total < filas) {
+            vista = Arrays.copyOf(vista, total);
+        }
+        if (trabajo.isCancelled()) return null;
+
+        if (!claves.isEmpty()) {
+            // Se ordenan los índices como int[], sin un Integer por fila. El
+            // ordenamiento es estable: los empates conservan el orden del modelo
+            OrdenamientoParalelo.ordenarIndices(vista, crearComparador(base, claves),
+                    vista.length >= UMBRAL_PARALELO ? OrdenamientoParalelo.UMBRAL_PARALELO_PREDETERMINADO
+                                                    : Integer.MAX_VALUE);
+        }
+        if (trabajo.isCancelled()) return null;
+
+        int[] modeloAVista = new int[filas];
+        Arrays.fill(modeloAVista, -1);
+        for (int v = 0; v < vista.length; v++) {
+            modeloAVista[vista[v]] = v;
+        }
+        return new Mapeo(vista, modeloAVista);
+    }
+
+    private static OrdenamientoParalelo.ComparadorIndices crearComparador(InstantaneaTabla base, List<SortKey> claves) {
+        List<Object[]> columnas = new ArrayList<>();
+        List<Boolean> descendentes = new ArrayList<>();
+        for (SortKey clave : claves) {
+            if (clave.getSortOrder() == SortOrder.UNSORTED || clave.getColumn() >= base.columnas) continue;
+            columnas.add(base.valores(clave.getColumn()));
+            descendentes.add(clave.getSortOrder() == SortOrder.DESCENDING);
+        }
+
+        Object[][] valores = columnas.toArray(new Object[0][]);
+        boolean[] descendente = new boolean[valores.length];
+        for (int i = 0; i < descendente.length; i++) {
+            descendente[i] = descendentes.get(i);
+        }
+        return (a, b) -> {
+            for (int i = 0; i < valores.length; i++) {
+                Object[] columna = valores[i];
+                int c = descendente[i] ? compararValores(columna[b], columna[a])
+                                       : compararValores(columna[a], columna[b]);
+                if (c != 0) return c;
+            }
+            return 0;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compararValores(Object a, Object b) {
+        if (a == b) return 0;
+        if (a == null) return -1;
+        if (b == null) return 1;
+        if (a instanceof String || b instanceof String) return ORDEN_TEXTO.compare(a, b);
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return ORDEN_TEXTO.compare(a, b);
+    }
+
+    /**
+     * Mapeo inmutable entre filas de la vista y del modelo. Con arreglos null la
+     * vista es igual al modelo.
+     */
+    private static class Mapeo {
+        static final Mapeo IDENTIDAD = new Mapeo(null, null);
+
+        final int[] vistaAModelo;
+        final int[] modeloAVista;
+
+        Mapeo(int[] vistaAModelo, int[] modeloAVista) {
+            this.vistaAModelo = vistaAModelo;
+            this.modeloAVista = modeloAVista;
+        }
+
+        /**
+         * Mapeo válido para un modelo de filas filas: sin las filas de la vista
+         * que ya no existen y con las filas nuevas ocultas
+         */
+        Mapeo recortar(int filas) {
+            if (vistaAModelo == null || modeloAVista.length == filas) return this;
+
+            int[] vista = new int[Math.min(vistaAModelo.length, filas)];
+            int[] modeloVista = new int[filas];
+            Arrays.fill(modeloVista, -1);
+            int total = 0;
+            for (int fila : vistaAModelo) {
+                if (fila < filas) {
+                    modeloVista[fila] = total;
+                    vista[total++] = fila;
+                }
+            }
+            return new Mapeo(total == vista.length ? vista : Arrays.copyOf(vista, total), modeloVista);
+        }
+    }
+}
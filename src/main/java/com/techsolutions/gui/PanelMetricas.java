@@ -0,0 +1,180 @@
+package com.techsolutions.gui;
+
+import com.techsolutions.util.HistogramaLatencia;
+import com.techsolutions.util.RegistroMetricas;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Panel que muestra las métricas de RegistroMetricas: contadores,
+ * indicadores y percentiles de latencia. Se actualiza solo cada segundo
+ * mientras está visible.
+ */
+public class PanelMetricas extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INTERVALO_ACTUALIZACION_MS = 1000;
+
+    private final RegistroMetricas metricas = RegistroMetricas.getInstance();
+    private final Timer timer;
+    private JTable tablaMetricas;
+    private DefaultTableModel modelMetricas;
+    private JTextField txtFiltro;
+    private JLabel lblArchivo;
+    private JButton btnActualizar, btnVolcar, btnReiniciar;
+
+    /**
+     * Constructor del panel de métricas
+     */
+    public PanelMetricas() {
+        inicializarComponentes();
+        configurarLayout();
+        configurarEventos();
+        // Solo se consulta el registro si el panel está en pantalla
+        this.timer = new Timer(INTERVALO_ACTUALIZACION_MS, e -> {
+            if (isShowing()) actualizar();
+        });
+        actualizar();
+    }
+
+    /**
+     * Inicializa los componentes del panel
+     */
+    private void inicializarComponentes() {
+        String[] columnas = {"Métrica", "Tipo", "Valor / Cuenta", "Media", "p50", "p90", "p99", "p99.9", "Máximo"};
+        modelMetricas = new DefaultTableModel(columnas, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        tablaMetricas = new JTable(modelMetricas);
+        tablaMetricas.setAutoCreateRowSorter(true);
+        tablaMetricas.getColumnModel().getColumn(0).setPreferredWidth(260);
+
+        txtFiltro = new JTextField(20);
+        txtFiltro.setToolTipText("Muestra solo las métricas cuyo nombre contiene el texto");
+        lblArchivo = new JLabel();
+
+        btnActualizar = new JButton("Actualizar");
+        btnVolcar = new JButton("Volcar a archivo");
+        btnReiniciar = new JButton("Reiniciar");
+        btnVolcar.setToolTipText("Añade el estado actual de las métricas al archivo de volcado");
+        btnReiniciar.setToolTipText("Pone a cero contadores y latencias");
+    }
+
+    /**
+     * Configura el layout del panel
+     */
+    private void configurarLayout() {
+        setLayout(new BorderLayout());
+
+        JPanel panelInfo = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panelInfo.setBorder(BorderFactory.createTitledBorder("Métricas del sistema"));
+        panelInfo.add(new JLabel("Filtro:"));
+        panelInfo.add(txtFiltro);
+        panelInfo.add(lblArchivo);
+
+        JScrollPane scrollPane = new JScrollPane(tablaMetricas);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Contadores, indicadores y latencias"));
+
+        JPanel panelBotones = new JPanel(new FlowLayout());
+        panelBotones.add(btnActualizar);
+        panelBotones.add(btnVolcar);
+        panelBotones.add(btnReiniciar);
+
+        add(panelInfo, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(panelBotones, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Configura los eventos de los botones
+     */
+    private void configurarEventos() {
+        btnActualizar.addActionListener(e -> actualizar());
+        btnVolcar.addActionListener(e -> volcar());
+        btnReiniciar.addActionListener(e -> {
+            int confirmacion = JOptionPane.showConfirmDialog(this,
+                    "¿Poner a cero todos los contadores y latencias?",
+                    "Reiniciar métricas", JOptionPane.YES_NO_OPTION);
+            if (confirmacion == JOptionPane.YES_OPTION) {
+                metricas.reiniciar();
+                actualizar();
+            }
+        });
+        txtFiltro.addActionListener(e -> actualizar());
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Vuelve a llenar la tabla con el estado actual del registro
+     */
+    public void actualizar() {
+        String filtro = txtFiltro.getText().trim().toLowerCase();
+        List<RegistroMetricas.Metrica> lista = metricas.instantanea();
+
+        modelMetricas.setRowCount(0);
+        for (RegistroMetricas.Metrica m : lista) {
+            if (!filtro.isEmpty() && !m.getNombre().toLowerCase().contains(filtro)) continue;
+            HistogramaLatencia.Resumen r = m.getResumen();
+            if (r == null) {
+                modelMetricas.addRow(new Object[]{
+                    m.getNombre(), m.getTipo().getDescripcion(), m.getValor(), "", "", "", "", "", ""
+                });
+            } else {
+                modelMetricas.addRow(new Object[]{
+                    m.getNombre(),
+                    m.getTipo().getDescripcion(),
+                    r.getCuenta(),
+                    RegistroMetricas.formatearDuracion(r.getMedia()),
+                    RegistroMetricas.formatearDuracion(r.getP50()),
+                    RegistroMetricas.formatearDuracion(r.getP90()),
+                    RegistroMetricas.formatearDuracion(r.getP99()),
+                    RegistroMetricas.formatearDuracion(r.getP999()),
+                    RegistroMetricas.formatearDuracion(r.getMaximo())
+                });
+            }
+        }
+
+        Path archivo = metricas.getArchivoVolcado();
+        lblArchivo.setText(archivo == null ? "Volcado periódico desactivado" : "Volcado en " + archivo);
+    }
+
+    /**
+     * Añade el estado actual al archivo de volcado (o pregunta dónde guardarlo)
+     */
+    private void volcar() {
+        Path archivo = metricas.getArchivoVolcado();
+        if (archivo == null) {
+            JFileChooser selector = new JFileChooser();
+            if (selector.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            archivo = selector.getSelectedFile().toPath();
+        }
+        try {
+            metricas.volcar(archivo);
+            JOptionPane.showMessageDialog(this, "Métricas añadidas a " + archivo,
+                    "Volcado de métricas", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "No se pudo escribir " + archivo + ": " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.techsolutions.gui;
 
 import com.techsolutions.model.Tarea;
-import com.techsolutions.db.MongoDBManager;
+import com.techsolutions.repository.RegistroTarea;
+import com.techsolutions.repository.Repositorios;
+import com.techsolutions.repository.TareaRepository;
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.CodecId;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -14,18 +18,20 @@ import java.util.Stack;
  * Panel para gestionar tareas urgentes usando una estructura de datos tipo pila (LIFO)
  */
 public class PanelPila extends JPanel {
+    private static final Bitacora BITACORA = Bitacora.de("vista");
+
     private Stack<Tarea> pilaTareasUrgentes;
     private JTable tablaPila;
     private DefaultTableModel modelPila;
     private JButton btnPush, btnPop, btnPeek;
-    private MongoDBManager dbManager;
+    private TareaRepository repoTareas;
 
     /**
      * Constructor del panel de pila
      */
     public PanelPila() {
         this.pilaTareasUrgentes = new Stack<>();
-        this.dbManager = MongoDBManager.getInstance();
+        this.repoTareas = Repositorios.getInstance().getTareas();
         inicializarComponentes();
         configurarLayout();
         configurarEventos();
@@ -124,10 +130,12 @@ public class PanelPila extends JPanel {
                 // Agregar a la pila
                 pilaTareasUrgentes.push(nuevaTarea);
 
-                // Guardar en base de datos
-                boolean guardado = dbManager.guardarTarea(nuevaTarea, "urgente");
-                if (!guardado) {
+                // Guardar en el almacenamiento
+                try {
+                    repoTareas.guardar(new RegistroTarea(nuevaTarea, "urgente"));
+                } catch (Exception ex) {
                     pilaTareasUrgentes.pop(); // Revertir si falla el guardado
+                    BITACORA.error("Error al guardar tarea: {}", ex.getMessage());
                     JOptionPane.showMessageDialog(this, 
                         "Error al guardar la tarea en la base de datos",
                         "Error", 
@@ -162,7 +170,7 @@ public class PanelPila extends JPanel {
             Tarea tareaEliminada = pilaTareasUrgentes.pop();
 
             // Eliminar de base de datos
-            boolean eliminado = dbManager.eliminarTarea(tareaEliminada.getId());
+            boolean eliminado = repoTareas.eliminar(tareaEliminada.getId());
             if (!eliminado) {
                 pilaTareasUrgentes.push(tareaEliminada); // Revertir si falla
                 JOptionPane.showMessageDialog(this, 
@@ -254,10 +262,10 @@ public class PanelPila extends JPanel {
     public void cargarTareasDesdeDB() {
         try {
             pilaTareasUrgentes.clear();
-            var tareas = dbManager.cargarTareasPorTipo("urgente");
+            var registros = repoTareas.cargarPorTipo("urgente");
             
-            for (Tarea tarea : tareas) {
-                pilaTareasUrgentes.push(tarea);
+            for (RegistroTarea registro : registros) {
+                pilaTareasUrgentes.push(registro.toTarea());
             }
             
             actualizarTabla();
@@ -295,7 +303,8 @@ public class PanelPila extends JPanel {
      * Muestra un diálogo para crear una nueva tarea
      */
     private Tarea mostrarDialogoNuevaTarea() {
-        JTextField txtId = new JTextField(dbManager.generarIdTarea());
+        JTextField txtId = new JTextField(CodecId.formatear(CodecId.PREFIJO_TAREA,
+                repoTareas.maximoNumeroId(CodecId.PREFIJO_TAREA) + 1));
         txtId.setEditable(false);
         JTextField txtDescripcion = new JTextField();
         JComboBox<String> cmbDepartamento = new JComboBox<>(new String[]{
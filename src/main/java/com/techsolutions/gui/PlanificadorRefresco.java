@@ -0,0 +1,160 @@
+package com.techsolutions.gui;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.HistogramaLatencia;
+import com.techsolutions.util.RegistroMetricas;
+
+/**
+ * Planificador que agrupa las solicitudes de refresco de las tablas de la interfaz.
+ *
+ * En lugar de reconstruir una tabla cada vez que cambia un dato, las vistas se
+ * marcan como "sucias" y se refrescan una sola vez por intervalo de cuadro en el
+ * hilo de eventos de Swing (EDT). Si una vista se marca varias veces antes de que
+ * llegue su turno, las solicitudes extra se cuentan como colapsadas.
+ *
+ * La duración de cada refresco se registra en RegistroMetricas como
+ * refresco.&lt;vista&gt;, y la de cada cuadro completo como refresco.ciclo.
+ */
+public class PlanificadorRefresco {
+
+    private static final Bitacora BITACORA = Bitacora.de("vista");
+
+    /** Intervalo por defecto entre refrescos (aprox. 60 cuadros por segundo) */
+    public static final int INTERVALO_POR_DEFECTO_MS = 16;
+
+    private final Map<String, Runnable> vistas = new LinkedHashMap<>();
+    private final Map<String, HistogramaLatencia> latencias = new LinkedHashMap<>();
+    private final RegistroMetricas metricas = RegistroMetricas.getInstance();
+    private final HistogramaLatencia latenciaCiclo = metricas.latencia("refresco.ciclo");
+    private final Set<String> vistasSucias = new LinkedHashSet<>();
+    private final Timer timer;
+
+    // Métricas (solo se modifican desde el EDT)
+    private long solicitudes;
+    private long solicitudesColapsadas;
+    private long refrescosEjecutados;
+    private long ciclos;
+
+    public PlanificadorRefresco() {
+        this(INTERVALO_POR_DEFECTO_MS);
+    }
+
+    public PlanificadorRefresco(int intervaloMs) {
+        this.timer = new Timer(intervaloMs, e -> ejecutarPendientes());
+        this.timer.setRepeats(false);
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Registra una vista con la acción que la reconstruye
+     */
+    public void registrarVista(String nombre, Runnable refresco) {
+        vistas.put(nombre, refresco);
+        latencias.put(nombre, metricas.latencia("refresco." + nombre));
+    }
+
+    /**
+     * Marca una vista como pendiente de refresco. Puede llamarse desde cualquier hilo.
+     */
+    public void marcarSucia(String nombre) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> marcarSucia(nombre));
+            return;
+        }
+        if (!vistas.containsKey(nombre)) return;
+
+        solicitudes++;
+        if (!vistasSucias.add(nombre)) {
+            solicitudesColapsadas++;
+            metricas.incrementar("refresco.colapsadas");
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Marca todas las vistas registradas como pendientes de refresco
+     */
+    public void marcarTodas() {
+        for (String nombre : vistas.keySet()) {
+            marcarSucia(nombre);
+        }
+    }
+
+    /**
+     * Ejecuta de inmediato los refrescos pendientes sin esperar al siguiente cuadro
+     */
+    public void refrescarAhora() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(this::refrescarAhora);
+            return;
+        }
+        timer.stop();
+        ejecutarPendientes();
+    }
+
+    /**
+     * Refresca cada vista sucia una sola vez. Las vistas marcadas durante el
+     * refresco quedan para el siguiente cuadro.
+     */
+    private void ejecutarPendientes() {
+        if (vistasSucias.isEmpty()) return;
+
+        String[] pendientes = vistasSucias.toArray(new String[0]);
+        vistasSucias.clear();
+        ciclos++;
+        long inicioCiclo = System.nanoTime();
+
+        for (String nombre : pendientes) {
+            Runnable refresco = vistas.get(nombre);
+            long inicio = System.nanoTime();
+            try {
+                refresco.run();
+                refrescosEjecutados++;
+            } catch (RuntimeException e) {
+                metricas.incrementar("refresco.errores");
+                BITACORA.error("Error al refrescar la vista {}: {}", nombre, e.getMessage());
+            } finally {
+                latencias.get(nombre).registrarDesde(inicio);
+            }
+        }
+        latenciaCiclo.registrarDesde(inicioCiclo);
+
+        if (!vistasSucias.isEmpty()) {
+            timer.restart();
+        }
+    }
+
+    public long getSolicitudes() {
+        return solicitudes;
+    }
+
+    public long getSolicitudesColapsadas() {
+        return solicitudesColapsadas;
+    }
+
+    public long getRefrescosEjecutados() {
+        return refrescosEjecutados;
+    }
+
+    public long getCiclos() {
+        return ciclos;
+    }
+
+    /**
+     * Obtiene un resumen legible de las métricas del planificador
+     */
+    public String obtenerResumen() {
+        return String.format("%d solicitudes, %d refrescos ejecutados en %d ciclos, %d colapsadas",
+                solicitudes, refrescosEjecutados, ciclos, solicitudesColapsadas);
+    }
+}
@@ -5,8 +5,6 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridLayout;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JLabel;
@@ -14,10 +12,10 @@ import javax.swing.JPanel;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
-import javax.swing.RowFilter;
+import javax.swing.RowSorter;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
+import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
 
 /**
@@ -25,16 +23,30 @@ import javax.swing.table.TableRowSorter;
  */
 public class TableWithFilters extends JTable {
     
-    private TableRowSorter<DefaultTableModel> sorter;
+    private RowSorter<? extends TableModel> sorter;
     private JTextField[] filterFields;
     private JPanel filterPanel;
+    private MotorFiltrado motorFiltrado;
     
-    public TableWithFilters(DefaultTableModel model) {
+    public TableWithFilters(TableModel model) {
+        this(model, false);
+    }
+    
+    /**
+     * @param ordenamientoAsincrono si es true, el filtrado y el ordenamiento se
+     *        calculan en segundo plano (recomendado para tablas grandes)
+     */
+    public TableWithFilters(TableModel model, boolean ordenamientoAsincrono) {
         super(model);
         
         // Configurar sorter con filtros
-        sorter = new TableRowSorter<>(model);
+        if (ordenamientoAsincrono) {
+            sorter = new OrdenadorAsincrono(model);
+        } else {
+            sorter = new TableRowSorter<>(model);
+        }
         setRowSorter(sorter);
+        motorFiltrado = new MotorFiltrado(model, sorter);
         
         // Crear campos de filtro
         createFilterFields();
@@ -100,27 +112,19 @@ public class TableWithFilters extends JTable {
     }
     
     private void applyFilters() {
-        List<RowFilter<Object, Object>> filters = new ArrayList<>();
+        String[] consultas = new String[filterFields.length];
         
         for (int i = 0; i < filterFields.length; i++) {
             JTextField field = filterFields[i];
-            String text = field.getText();
             
             // Solo aplicar filtro si no es el placeholder
-            if (!text.isEmpty() && !field.getForeground().equals(Color.GRAY)) {
-                try {
-                    filters.add(RowFilter.regexFilter("(?i)" + text, i));
-                } catch (java.util.regex.PatternSyntaxException e) {
-                    // Ignorar patrones inválidos
-                }
+            if (!field.getForeground().equals(Color.GRAY)) {
+                consultas[i] = field.getText();
             }
         }
         
-        if (filters.isEmpty()) {
-            sorter.setRowFilter(null);
-        } else {
-            sorter.setRowFilter(RowFilter.andFilter(filters));
-        }
+        // Filtrado indexado, con retardo y fuera del EDT
+        motorFiltrado.solicitarFiltrado(consultas);
     }
     
     private void setupTableAppearance() {
@@ -183,7 +187,7 @@ public class TableWithFilters extends JTable {
             field.setText("");
             field.setForeground(Color.GRAY);
         }
-        sorter.setRowFilter(null);
+        motorFiltrado.limpiar();
     }
     
     public void refreshFilters() {
@@ -44,7 +44,8 @@ public class ArbolEmpleados {
         if (departamento == null || departamento.trim().isEmpty()) {
             buscarTodos(raiz, resultado);
         } else {
-            buscarRec(raiz, departamento, resultado);
+            // Los departamentos del modelo son canonicos: se comparan por identidad
+            buscarRec(raiz, ValoresCanonicos.buscarDepartamento(departamento), resultado);
         }
     }
 
@@ -65,7 +66,7 @@ public class ArbolEmpleados {
     private void buscarRec(Empleado actual, String departamento, List<Empleado> resultado) {
         if (actual == null) return;
         
-        if (actual.getDepartamento().equalsIgnoreCase(departamento)) {
+        if (actual.getDepartamento() == departamento) {
             resultado.add(actual);
         }
         
@@ -0,0 +1,157 @@
+package com.techsolutions.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de valores canónicos para campos con pocos valores distintos
+ * (departamento, urgencia, tipo de tarea...).
+ *
+ * Cada valor se normaliza sin distinguir mayúsculas ni espacios en los extremos
+ * y se reemplaza por una única instancia canónica con un código entero. Así
+ * todas las tareas comparten el mismo String y dos valores canónicos se pueden
+ * comparar con == en lugar de equals/equalsIgnoreCase.
+ *
+ * La primera forma registrada de un valor es la canónica. Es seguro usarlo
+ * desde varios hilos.
+ *
+ * Los valores registrados no se liberan nunca, así que solo se registran
+ * valores del modelo (canonico/codigo). Los valores que llegan de fuera (un
+ * filtro, un texto de búsqueda) se resuelven con buscar/buscarCodigo, que no
+ * registran nada.
+ */
+public final class DiccionarioValores {
+
+    /** Código para valores nulos o vacíos */
+    public static final int SIN_VALOR = -1;
+
+    /** Formas exactas recordadas como máximo; las demás se resuelven por su forma normalizada */
+    private static final int MAX_FORMAS_EXACTAS = 1024;
+
+    private final String nombre;
+
+    // Búsqueda rápida por la forma exacta recibida (sin crear cadenas nuevas)
+    private final Map<String, Integer> porFormaExacta = new ConcurrentHashMap<>();
+    // Búsqueda por forma normalizada (minúsculas y sin espacios en los extremos)
+    private final Map<String, Integer> porClave = new ConcurrentHashMap<>();
+    private volatile String[] valores = new String[0];
+
+    public DiccionarioValores(String nombre, String... valoresIniciales) {
+        this.nombre = nombre;
+        for (String valor : valoresIniciales) {
+            codigo(valor);
+        }
+    }
+
+    /**
+     * Devuelve la instancia canónica del valor, registrándolo si es nuevo.
+     * Null se conserva como null y una cadena en blanco se convierte en "".
+     */
+    public String canonico(String valor) {
+        int codigo = codigo(valor);
+        if (codigo == SIN_VALOR) return valor == null ? null : "";
+        return valores[codigo];
+    }
+
+    /**
+     * Devuelve el código del valor, registrándolo si es nuevo
+     */
+    public int codigo(String valor) {
+        if (valor == null) return SIN_VALOR;
+
+        Integer codigo = porFormaExacta.get(valor);
+        if (codigo != null) return codigo;
+
+        String recortado = valor.trim();
+        if (recortado.isEmpty()) return SIN_VALOR;
+
+        codigo = registrar(recortado);
+        if (porFormaExacta.size() < MAX_FORMAS_EXACTAS) {
+            porFormaExacta.putIfAbsent(valor, codigo);
+        }
+        return codigo;
+    }
+
+    /**
+     * Instancia canónica del valor si ya está registrado, sin registrarlo. Un
+     * valor desconocido se devuelve recortado: no es == a ningún valor del modelo.
+     * Null se conserva como null y una cadena en blanco se convierte en "".
+     */
+    public String buscar(String valor) {
+        if (valor == null) return null;
+        String recortado = valor.trim();
+        if (recortado.isEmpty()) return "";
+        int codigo = buscarCodigo(valor);
+        return codigo == SIN_VALOR ? recortado : valores[codigo];
+    }
+
+    /**
+     * Código del valor si ya está registrado, o SIN_VALOR (sin registrarlo)
+     */
+    public int buscarCodigo(String valor) {
+        if (valor == null) return SIN_VALOR;
+
+        Integer codigo = porFormaExacta.get(valor);
+        if (codigo != null) return codigo;
+
+        codigo = porClave.get(valor.trim().toLowerCase(Locale.ROOT));
+        return codigo == null ? SIN_VALOR : codigo;
+    }
+
+    /**
+     * Obtiene el valor canónico de un código
+     */
+    public String valor(int codigo) {
+        if (codigo == SIN_VALOR) return null;
+        return valores[codigo];
+    }
+
+    /**
+     * Indica si dos valores son equivalentes (sin distinguir mayúsculas)
+     */
+    public boolean equivalentes(String a, String b) {
+        if (a == null || b == null) return a == b;
+        return a.trim().equalsIgnoreCase(b.trim());
+    }
+
+    public int tamano() {
+        return valores.length;
+    }
+
+    /**
+     * Valores canónicos registrados, en orden de código
+     */
+    public List<String> obtenerValores() {
+        return Collections.unmodifiableList(Arrays.asList(valores));
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    private synchronized int registrar(String recortado) {
+        String clave = recortado.toLowerCase(Locale.ROOT);
+        Integer existente = porClave.get(clave);
+        if (existente != null) return existente;
+
+        String[] actuales = valores;
+        List<String> nuevos = new ArrayList<>(Arrays.asList(actuales));
+        nuevos.add(recortado);
+        int codigo = actuales.length;
+
+        // Publicar el arreglo antes que la clave para que valor(codigo) nunca falle
+        valores = nuevos.toArray(new String[0]);
+        porClave.put(clave, codigo);
+        return codigo;
+    }
+
+    @Override
+    public String toString() {
+        return "DiccionarioValores{" + nombre + ", " + valores.length + " valores}";
+    }
+}
@@ -61,7 +61,7 @@ public class Empleado {
     public Empleado(String id, String nombre, String departamento) {
         this.id = id;
         this.nombre = nombre;
-        this.departamento = departamento;
+        this.departamento = ValoresCanonicos.departamento(departamento);
         this.izquierda = null;  // Inicialmente es un nodo hoja
         this.derecha = null;    // Inicialmente es un nodo hoja
     }
@@ -144,7 +144,7 @@ public class Empleado {
      * @param departamento Nuevo departamento asignado al empleado
      */
     public void setDepartamento(String departamento) {
-        this.departamento = departamento;
+        this.departamento = ValoresCanonicos.departamento(departamento);
     }
 
     /**
@@ -57,8 +57,8 @@ public class Tarea {
     public Tarea(String id, String descripcion, String departamento, String urgencia, int horasEstimadas) {
         this.id = id;
         this.descripcion = descripcion;
-        this.departamento = departamento;
-        this.urgencia = urgencia;
+        this.departamento = ValoresCanonicos.departamento(departamento);
+        this.urgencia = ValoresCanonicos.urgencia(urgencia);
         this.horasEstimadas = horasEstimadas;
     }
 
@@ -88,8 +88,8 @@ public class Tarea {
     public Tarea(String id, String descripcion, String departamento, String urgencia, int horasEstimadas, String empleadoAsignado) {
         this.id = id;
         this.descripcion = descripcion;
-        this.departamento = departamento;
-        this.urgencia = urgencia;
+        this.departamento = ValoresCanonicos.departamento(departamento);
+        this.urgencia = ValoresCanonicos.urgencia(urgencia);
         this.horasEstimadas = horasEstimadas;
         this.empleadoAsignado = empleadoAsignado;
     }
@@ -171,7 +171,7 @@ public class Tarea {
      * @param departamento Nuevo departamento asignado
      */
     public void setDepartamento(String departamento) {
-        this.departamento = departamento;
+        this.departamento = ValoresCanonicos.departamento(departamento);
     }
 
     /**
@@ -180,7 +180,7 @@ public class Tarea {
      * @param urgencia Nuevo nivel de urgencia ("Crítica", "Alta", "Media", "Baja")
      */
     public void setUrgencia(String urgencia) {
-        this.urgencia = urgencia;
+        this.urgencia = ValoresCanonicos.urgencia(urgencia);
     }
 
     /**
@@ -1,9 +1,11 @@
 package com.techsolutions.model;
 
+import com.techsolutions.util.Utilidades;
+
 /**
  * Clase especializada que extiende Tarea para manejar tareas con prioridad y fechas de entrega.
  * 
- * Esta clase se utiliza específicamente en la Cola de Prioridad (PriorityQueue) del sistema,
+ * Esta clase se utiliza específicamente en la Cola de Prioridad (ColaPrioridadIndexada) del sistema,
  * donde las tareas se ordenan automáticamente según su nivel de prioridad numérica.
  * 
  * Sistema de Prioridades:
@@ -30,6 +32,12 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
     /** Fecha límite de entrega en formato yyyy-MM-dd (ej: 2025-12-31) */
     private String fechaEntrega;
 
+    /** Fecha de entrega ya convertida a día epoch para comparar sin analizar cadenas */
+    private int diaEntrega;
+
+    /** Clave de orden combinada (prioridad en la parte alta, día de entrega en la baja) */
+    private long claveOrden;
+
     // ===============================
     // CONSTRUCTORES
     // ===============================
@@ -49,6 +57,8 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
         super(id, descripcion, departamento, urgencia);
         this.prioridad = prioridad;
         this.fechaEntrega = fechaEntrega;
+        this.diaEntrega = Utilidades.convertirADiaEpoch(fechaEntrega);
+        recalcularClaveOrden();
     }
 
     /**
@@ -66,6 +76,8 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
         super(id, descripcion, departamento, urgencia, horasEstimadas);
         this.prioridad = prioridad;
         this.fechaEntrega = fechaEntrega;
+        this.diaEntrega = Utilidades.convertirADiaEpoch(fechaEntrega);
+        recalcularClaveOrden();
     }
 
     // ===============================
@@ -97,6 +109,7 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
      */
     public void setPrioridad(int prioridad) {
         this.prioridad = prioridad;
+        recalcularClaveOrden();
     }
 
     /**
@@ -106,6 +119,35 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
      */
     public void setFechaEntrega(String fechaEntrega) {
         this.fechaEntrega = fechaEntrega;
+        this.diaEntrega = Utilidades.convertirADiaEpoch(fechaEntrega);
+        recalcularClaveOrden();
+    }
+
+    /**
+     * Obtiene la fecha de entrega como día epoch (días desde 1970-01-01).
+     * 
+     * @return Día epoch, o Utilidades.SIN_FECHA si la fecha es vacía o inválida
+     */
+    public int getDiaEntrega() {
+        return diaEntrega;
+    }
+
+    /**
+     * Obtiene la clave de orden combinada: comparar dos claves con Long.compare
+     * equivale a comparar por prioridad y después por fecha de entrega.
+     * 
+     * @return Clave de orden de la tarea
+     */
+    public long getClaveOrden() {
+        return claveOrden;
+    }
+
+    /**
+     * Recalcula la clave de orden. El día se desplaza a rango sin signo para
+     * que ocupe los 32 bits bajos sin alterar el orden de la prioridad.
+     */
+    private void recalcularClaveOrden() {
+        this.claveOrden = ((long) prioridad << 32) | ((diaEntrega - (long) Integer.MIN_VALUE) & 0xFFFFFFFFL);
     }
 
     // ===============================
@@ -139,6 +181,9 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
      * 1. Prioridad numérica (1 tiene mayor prioridad que 2, 2 que 3, etc.)
      * 2. Fecha de entrega (si tienen la misma prioridad, la fecha más cercana tiene prioridad)
      * 
+     * Ambos criterios están precalculados en una sola clave long, por lo que
+     * la comparación no analiza ni compara cadenas. Las fechas inválidas van al final.
+     * 
      * Este método permite que las TareaPrioridad se ordenen automáticamente
      * en estructuras como PriorityQueue, donde las tareas más urgentes
      * aparecen primero.
@@ -149,14 +194,9 @@ public class TareaPrioridad extends Tarea implements Comparable<TareaPrioridad>
      */
     @Override
     public int compareTo(TareaPrioridad o) {
-        // Comparar primero por prioridad (números menores = mayor prioridad)
-        if (this.prioridad != o.prioridad) {
-            return Integer.compare(this.prioridad, o.prioridad);
-        }
-        
-        // Si tienen la misma prioridad, comparar por fecha de entrega
-        // (fechas más cercanas tienen mayor prioridad)
-        return this.fechaEntrega.compareTo(o.fechaEntrega);
+        // Prioridad en los bits altos y fecha de entrega en los bajos
+        // (números menores = mayor prioridad, fechas más cercanas primero)
+        return Long.compare(this.claveOrden, o.claveOrden);
     }
 
     // ===============================
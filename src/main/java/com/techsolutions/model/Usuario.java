@@ -50,7 +50,7 @@ public class Usuario {
         this.nombre = nombre;
         this.email = email;
         this.rol = rol;
-        this.departamento = departamento;
+        this.departamento = ValoresCanonicos.departamento(departamento);
         this.activo = true;
     }
     
@@ -61,7 +61,7 @@ public class Usuario {
         this.username = username;
         this.password = password;
         this.rol = rol;
-        this.departamento = departamento;
+        this.departamento = ValoresCanonicos.departamento(departamento);
         this.activo = true;
     }
     
@@ -85,7 +85,7 @@ public class Usuario {
     public void setRol(Rol rol) { this.rol = rol; }
     
     public String getDepartamento() { return departamento; }
-    public void setDepartamento(String departamento) { this.departamento = departamento; }
+    public void setDepartamento(String departamento) { this.departamento = ValoresCanonicos.departamento(departamento); }
     
     public boolean isActivo() { return activo; }
     public void setActivo(boolean activo) { this.activo = activo; }
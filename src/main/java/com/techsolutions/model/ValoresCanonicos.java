@@ -0,0 +1,60 @@
+package com.techsolutions.model;
+
+/**
+ * Diccionarios compartidos para los campos categóricos del modelo.
+ *
+ * Tarea, Empleado y Usuario canonicalizan departamento y urgencia al
+ * construirse o modificarse, y el tipo de tarea se canonicaliza al leerlo de
+ * MongoDB, por lo que estos valores pueden compararse con ==. Un valor que
+ * llega de fuera del modelo (un campo de texto, un parámetro) se pasa antes por
+ * buscarDepartamento/buscarUrgencia, que no lo registran: un valor que ninguna
+ * tarea usa no debe quedarse en el diccionario para siempre.
+ */
+public final class ValoresCanonicos {
+
+    public static final DiccionarioValores DEPARTAMENTOS = new DiccionarioValores("departamentos",
+            "Desarrollo", "Soporte Técnico", "Marketing", "Ventas", "Administracion", "Recursos Humanos");
+
+    public static final DiccionarioValores URGENCIAS = new DiccionarioValores("urgencias",
+            "Crítica", "Alta", "Media", "Baja");
+
+    public static final DiccionarioValores TIPOS = new DiccionarioValores("tipos",
+            "urgente", "programada", "departamento");
+
+    public static final String URGENCIA_ALTA = URGENCIAS.canonico("Alta");
+    public static final String URGENCIA_MEDIA = URGENCIAS.canonico("Media");
+    public static final String URGENCIA_BAJA = URGENCIAS.canonico("Baja");
+
+    public static final String TIPO_URGENTE = TIPOS.canonico("urgente");
+    public static final String TIPO_PROGRAMADA = TIPOS.canonico("programada");
+    public static final String TIPO_DEPARTAMENTO = TIPOS.canonico("departamento");
+
+    private ValoresCanonicos() {
+    }
+
+    public static String departamento(String valor) {
+        return DEPARTAMENTOS.canonico(valor);
+    }
+
+    public static String urgencia(String valor) {
+        return URGENCIAS.canonico(valor);
+    }
+
+    public static String tipo(String valor) {
+        return TIPOS.canonico(valor);
+    }
+
+    /**
+     * Departamento canónico para comparar un valor externo con ==, sin registrarlo
+     */
+    public static String buscarDepartamento(String valor) {
+        return DEPARTAMENTOS.buscar(valor);
+    }
+
+    /**
+     * Urgencia canónica para comparar un valor externo con ==, sin registrarla
+     */
+    public static String buscarUrgencia(String valor) {
+        return URGENCIAS.buscar(valor);
+    }
+}
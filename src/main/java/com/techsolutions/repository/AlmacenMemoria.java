@@ -0,0 +1,501 @@
+package com.techsolutions.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.techsolutions.util.CodecId;
+
+/**
+ * Base de los repositorios en memoria: un ConcurrentHashMap por ID con
+ * persistencia opcional en un archivo binario.
+ *
+ * Los valores guardados nunca salen del almacén: las lecturas devuelven
+ * copias y las modificaciones crean una copia nueva y la sustituyen con una
+ * operación atómica del mapa, así que las lecturas concurrentes nunca ven un
+ * registro a medio modificar. Cada entrada conserva su número de inserción
+ * para devolver los datos en el mismo orden que MongoDB.
+ *
+ * Con archivo, las modificaciones solo marcan el almacén como pendiente y
+ * sincronizar() escribe una instantánea completa: se escribe en un archivo
+ * temporal, se fuerza a disco, se renombra sobre el anterior y se fuerza el
+ * directorio, así que un cierre inesperado o un corte de luz deja la
+ * instantánea anterior o la nueva, nunca una a medias. Las
+ * modificaciones comparten un candado de lectura entre ellas y la
+ * instantánea toma el de escritura, de modo que se copia un estado
+ * consistente sin frenar las modificaciones mientras se escribe a disco.
+ *
+ * Con diario (ver DiarioEscritura), cada modificación además se anota en el
+ * diario dentro de la operación atómica del mapa, para que el orden del
+ * diario sea el de los cambios de cada ID, y espera a que esté en disco ya
+ * fuera del candado. La instantánea pasa a ser la compactación del diario, y
+ * los segmentos anteriores solo se borran cuando la instantánea ya es durable.
+ * El cambio se ve en el mapa antes de estar en disco; si el diario falla se
+ * deshace (salvo que otro cambio del mismo ID lo haya sustituido) y la
+ * operación lanza UncheckedIOException. Desde ese momento el diario no admite
+ * más escrituras, así que la memoria no se adelanta al disco.
+ *
+ * Formato del archivo: firma (int), versión (int), generación del diario
+ * (long, desde la versión 2), número de registros (int) y los registros, con
+ * los textos como longitud + UTF-8 (-1 para null).
+ */
+abstract class AlmacenMemoria<T> implements Closeable {
+
+    private static final int VERSION = 2;
+
+    /** Tamaño del segmento de diario a partir del cual sincronizar() compacta */
+    private static final long UMBRAL_COMPACTACION = 32L * 1024 * 1024;
+
+    private static final byte OPERACION_GUARDAR = 1;
+    private static final byte OPERACION_ELIMINAR = 2;
+
+    private final ConcurrentHashMap<String, Entrada<T>> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final Object escrituraArchivo = new Object();
+
+    private final Path archivo;
+    private final int firma;
+    private volatile boolean pendiente;
+
+    /** Diario de cambios, o null si solo se guardan instantáneas */
+    private DiarioEscritura diario;
+
+    /** Primera generación del diario que no está incluida en la instantánea */
+    private long generacion;
+
+    /**
+     * @param archivo archivo de persistencia, o null para trabajar solo en memoria
+     * @param firma   firma del formato de archivo de este almacén
+     */
+    AlmacenMemoria(Path archivo, int firma) {
+        this.archivo = archivo;
+        this.firma = firma;
+    }
+
+    // ===============================
+    // FORMATO DE CADA ALMACÉN
+    // ===============================
+
+    abstract T copiar(T valor);
+
+    abstract String idDe(T valor);
+
+    abstract void escribirRegistro(DataOutputStream salida, T valor) throws IOException;
+
+    abstract T leerRegistro(DataInputStream entrada) throws IOException;
+
+    // ===============================
+    // OPERACIONES
+    // ===============================
+
+    /**
+     * Inserta un valor nuevo
+     *
+     * @throws IllegalStateException si ya existe uno con el mismo ID
+     */
+    void insertar(T valor) {
+        String id = idDe(valor);
+        if (id == null) throw new IllegalArgumentException("El registro no tiene ID");
+        Entrada<T> nueva = new Entrada<>(secuencia.incrementAndGet(), copiar(valor));
+        long[] anotado = new long[1];
+        modificando(() -> entradas.compute(id, (clave, actual) -> {
+            if (actual != null) {
+                throw new IllegalStateException("Ya existe un registro con ID " + id);
+            }
+            anotado[0] = anotarGuardado(nueva.valor);
+            return nueva;
+        }));
+        esperarDiario(anotado[0], () -> entradas.remove(id, nueva));
+    }
+
+    /**
+     * Copia del valor con ese ID, o null
+     */
+    T obtener(String id) {
+        Entrada<T> entrada = id == null ? null : entradas.get(id);
+        return entrada == null ? null : copiar(entrada.valor);
+    }
+
+    /**
+     * Aplica un cambio sobre una copia del valor y la guarda
+     *
+     * @return false si no existe el ID
+     */
+    boolean modificar(String id, Consumer<T> cambio) {
+        if (id == null) return false;
+        AtomicReference<Entrada<T>> anterior = new AtomicReference<>();
+        AtomicReference<Entrada<T>> modificada = new AtomicReference<>();
+        long[] anotado = new long[1];
+        modificando(() -> entradas.computeIfPresent(id, (clave, actual) -> {
+            T copia = copiar(actual.valor);
+            cambio.accept(copia);
+            anotado[0] = anotarGuardado(copia);
+            Entrada<T> nueva = new Entrada<>(actual.orden, copia);
+            anterior.set(actual);
+            modificada.set(nueva);
+            return nueva;
+        }));
+        esperarDiario(anotado[0], () -> entradas.replace(id, modificada.get(), anterior.get()));
+        return modificada.get() != null;
+    }
+
+    boolean eliminar(String id) {
+        if (id == null) return false;
+        AtomicReference<Entrada<T>> eliminada = new AtomicReference<>();
+        long[] anotado = new long[1];
+        modificando(() -> entradas.computeIfPresent(id, (clave, actual) -> {
+            anotado[0] = anotarEliminacion(id);
+            eliminada.set(actual);
+            return null;
+        }));
+        esperarDiario(anotado[0], () -> entradas.putIfAbsent(id, eliminada.get()));
+        return eliminada.get() != null;
+    }
+
+    /**
+     * Copias de los valores que cumplen la condición, en orden de inserción
+     */
+    List<T> buscar(Predicate<? super T> condicion) {
+        return buscar(condicion, this::copiar);
+    }
+
+    /**
+     * Convierte los valores que cumplen la condición, en orden de inserción.
+     * La conversión recibe el valor guardado: no debe modificarlo ni conservarlo.
+     */
+    <R> List<R> buscar(Predicate<? super T> condicion, Function<? super T, ? extends R> conversion) {
+        List<Entrada<T>> encontradas = new ArrayList<>();
+        for (Entrada<T> entrada : entradas.values()) {
+            if (condicion.test(entrada.valor)) encontradas.add(entrada);
+        }
+        encontradas.sort(Comparator.comparingLong(e -> e.orden));
+        List<R> resultado = new ArrayList<>(encontradas.size());
+        for (Entrada<T> entrada : encontradas) {
+            resultado.add(conversion.apply(entrada.valor));
+        }
+        return resultado;
+    }
+
+    long contar(Predicate<? super T> condicion) {
+        long total = 0;
+        for (Entrada<T> entrada : entradas.values()) {
+            if (condicion.test(entrada.valor)) total++;
+        }
+        return total;
+    }
+
+    long tamano() {
+        return entradas.size();
+    }
+
+    /**
+     * Mayor número de ID con ese prefijo; recorre solo las claves y no crea objetos
+     */
+    long maximoNumeroId(String prefijo) {
+        long max = 0;
+        for (String id : entradas.keySet()) {
+            long numero = CodecId.numero(id, prefijo);
+            if (numero > max) max = numero;
+        }
+        return max;
+    }
+
+    private void modificando(Runnable cambio) {
+        Lock lectura = candado.readLock();
+        lectura.lock();
+        try {
+            cambio.run();
+            pendiente = true;
+        } finally {
+            lectura.unlock();
+        }
+    }
+
+    // ===============================
+    // DIARIO
+    // ===============================
+
+    /**
+     * Anota en el diario el valor completo tras el cambio
+     *
+     * @return secuencia del registro, o 0 si no hay diario
+     */
+    private long anotarGuardado(T valor) {
+        if (diario == null) return 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            salida.writeByte(OPERACION_GUARDAR);
+            escribirRegistro(salida, valor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return diario.anotar(bytes.toByteArray());
+    }
+
+    private long anotarEliminacion(String id) {
+        if (diario == null) return 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            salida.writeByte(OPERACION_ELIMINAR);
+            escribirTexto(salida, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return diario.anotar(bytes.toByteArray());
+    }
+
+    /**
+     * Espera a que el cambio esté en disco; si el diario falla, deshace el
+     * cambio en el mapa antes de propagar el error
+     */
+    private void esperarDiario(long secuenciaDiario, Runnable deshacer) {
+        if (secuenciaDiario == 0) return;
+        try {
+            diario.esperar(secuenciaDiario);
+        } catch (RuntimeException e) {
+            deshacer.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Rehace un cambio del diario al arrancar
+     */
+    private void aplicarDiario(byte[] datos) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(datos));
+        byte operacion = entrada.readByte();
+        if (operacion == OPERACION_GUARDAR) {
+            T valor = leerRegistro(entrada);
+            String id = idDe(valor);
+            Entrada<T> actual = entradas.get(id);
+            entradas.put(id, new Entrada<>(actual != null ? actual.orden : secuencia.incrementAndGet(), valor));
+        } else if (operacion == OPERACION_ELIMINAR) {
+            entradas.remove(leerTexto(entrada));
+        } else {
+            throw new IOException("Operación desconocida en el diario: " + operacion);
+        }
+    }
+
+    // ===============================
+    // PERSISTENCIA
+    // ===============================
+
+    public boolean isPersistente() {
+        return archivo != null;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public boolean tieneDiario() {
+        return diario != null;
+    }
+
+    /**
+     * Indica si hay cambios que todavía no están en el archivo (con diario
+     * nunca: cada cambio espera a estar en disco)
+     */
+    public boolean hayCambiosPendientes() {
+        return archivo != null && diario == null && pendiente;
+    }
+
+    /**
+     * Carga el archivo si existe, sustituyendo el contenido en memoria. Si
+     * quedó un diario de una ejecución anterior también se reproduce, y se
+     * borra con la siguiente instantánea.
+     *
+     * @throws IOException si el archivo existe pero no se puede leer o no tiene el formato esperado
+     */
+    void cargarArchivo() throws IOException {
+        if (archivo == null) return;
+        cargarInstantanea();
+        long ultima = DiarioEscritura.reproducir(archivo, generacion, this::aplicarDiario);
+        if (ultima > 0) {
+            generacion = ultima + 1;
+            pendiente = true;
+        }
+    }
+
+    /**
+     * Carga la instantánea y el diario, y deja el diario abierto: a partir de
+     * aquí cada modificación se confirma en disco antes de volver
+     */
+    void cargarConDiario() throws IOException {
+        if (archivo == null) throw new IllegalStateException("El diario necesita un archivo");
+        cargarInstantanea();
+        diario = DiarioEscritura.abrir(archivo, generacion, this::aplicarDiario);
+    }
+
+    private void cargarInstantanea() throws IOException {
+        if (!Files.exists(archivo)) return;
+
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (entrada.readInt() != firma) {
+                throw new IOException("El archivo no tiene el formato esperado: " + archivo);
+            }
+            int version = entrada.readInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Versión de archivo no soportada (" + version + "): " + archivo);
+            }
+            generacion = version >= 2 ? entrada.readLong() : 0;
+            int cantidad = entrada.readInt();
+            entradas.clear();
+            for (int i = 0; i < cantidad; i++) {
+                T valor = leerRegistro(entrada);
+                entradas.put(idDe(valor), new Entrada<>(secuencia.incrementAndGet(), valor));
+            }
+        }
+        pendiente = false;
+    }
+
+    /**
+     * Sin diario escribe una instantánea si hay cambios pendientes; con
+     * diario compacta si el segmento actual ya es grande
+     */
+    public void sincronizar() throws IOException {
+        if (archivo == null) return;
+        if (diario != null) {
+            if (diario.getTamano() > UMBRAL_COMPACTACION) compactar();
+            return;
+        }
+        synchronized (escrituraArchivo) {
+            if (pendiente) compactar();
+        }
+    }
+
+    /**
+     * Escribe una instantánea completa. Con diario, antes pasa a un segmento
+     * nuevo y después borra los anteriores, que ya están en la instantánea.
+     */
+    public void compactar() throws IOException {
+        if (archivo == null) return;
+        synchronized (escrituraArchivo) {
+            List<Entrada<T>> instantanea;
+            long generacionInstantanea;
+            Lock escritura = candado.writeLock();
+            escritura.lock();
+            try {
+                instantanea = new ArrayList<>(entradas.values());
+                if (diario != null) generacion = diario.rotar();
+                generacionInstantanea = generacion;
+                pendiente = false;
+            } finally {
+                escritura.unlock();
+            }
+
+            try {
+                escribirArchivo(instantanea, generacionInstantanea);
+            } catch (IOException | RuntimeException e) {
+                pendiente = true;
+                throw e;
+            }
+            // escribirArchivo ya dejó la instantánea en disco: los segmentos anteriores sobran
+            if (generacionInstantanea > 0) {
+                DiarioEscritura.eliminarAnteriores(archivo, generacionInstantanea);
+            }
+        }
+    }
+
+    private void escribirArchivo(List<Entrada<T>> instantanea, long generacionInstantanea) throws IOException {
+        instantanea.sort(Comparator.comparingLong(e -> e.orden));
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)));
+            salida.writeInt(firma);
+            salida.writeInt(VERSION);
+            salida.writeLong(generacionInstantanea);
+            salida.writeInt(instantanea.size());
+            for (Entrada<T> entrada : instantanea) {
+                escribirRegistro(salida, entrada.valor);
+            }
+            salida.flush();
+            // Los datos deben estar en disco antes de que el nombre apunte a ellos
+            canal.force(true);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        DiarioEscritura.sincronizarDirectorio(archivo);
+    }
+
+    /**
+     * Escribe los cambios pendientes; con diario compacta y lo cierra, así
+     * el siguiente arranque solo lee la instantánea
+     */
+    @Override
+    public void close() throws IOException {
+        if (diario == null) {
+            sincronizar();
+            return;
+        }
+        if (diario.estaCerrado()) return;
+        try {
+            compactar();
+        } finally {
+            diario.close();
+        }
+    }
+
+    // ===============================
+    // CODIFICACIÓN
+    // ===============================
+
+    static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        if (texto == null) {
+            salida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    static String leerTexto(DataInputStream entrada) throws IOException {
+        int longitud = entrada.readInt();
+        if (longitud < 0) return null;
+        byte[] bytes = new byte[longitud];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Valor guardado y su número de inserción
+     */
+    private static final class Entrada<T> {
+        final long orden;
+        final T valor;
+
+        Entrada(long orden, T valor) {
+            this.orden = orden;
+            this.valor = valor;
+        }
+    }
+}
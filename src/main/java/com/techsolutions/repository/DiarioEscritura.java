@@ -0,0 +1,478 @@
+package com.techsolutions.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.techsolutions.util.Bitacora;
+
+/**
+ * Diario de escritura anticipada (write-ahead log) de un almacén en memoria.
+ *
+ * Cada modificación se añade al final del segmento actual como un registro
+ * longitud (int) + CRC32 (int) + datos. Escribe un único hilo: toma de una
+ * vez todos los registros que llegaron mientras hacía la escritura anterior,
+ * los escribe con una sola llamada y los confirma con un solo
+ * FileChannel.force (group commit). Quien modifica espera a que su registro
+ * esté en disco, así que con muchos hilos escribiendo a la vez un fsync
+ * confirma cientos de cambios.
+ *
+ * Los segmentos se numeran por generación junto a la instantánea
+ * (tareas.dat.3.wal). Al compactar, el almacén rota a una generación nueva,
+ * escribe la instantánea con ese número y borra los segmentos anteriores. Al
+ * arrancar se carga la instantánea y se reproducen los segmentos desde su
+ * generación; si el último termina en un registro incompleto o con CRC
+ * incorrecto (cierre inesperado a media escritura) se corta ahí y se sigue
+ * escribiendo a continuación.
+ *
+ * Formato de segmento: firma (int), versión (int), generación (long) y los
+ * registros.
+ */
+final class DiarioEscritura implements Closeable {
+
+    private static final Bitacora BITACORA = Bitacora.de("repositorio.diario");
+
+    /** Aplica un registro del diario al reproducirlo */
+    interface Aplicador {
+        void aplicar(byte[] datos) throws IOException;
+    }
+
+    private static final int FIRMA = 0x54535741; // "TSWA"
+    private static final int VERSION = 1;
+    private static final int TAMANO_CABECERA = 16;
+    private static final int TAMANO_CABECERA_REGISTRO = 8;
+    private static final String EXTENSION = ".wal";
+
+    /** Un registro más grande que esto solo puede ser basura al final del archivo */
+    private static final int TAMANO_MAXIMO_REGISTRO = 64 * 1024 * 1024;
+
+    private final Path archivo;
+    private final Thread escritor;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Condition hayRegistros = candado.newCondition();
+    private final Condition escritos = candado.newCondition();
+
+    // Protegidos por candado
+    private byte[] pendientes = new byte[64 * 1024];
+    private int usados;
+    private long secuenciaAnotada;
+    private long secuenciaDurable;
+    private IOException error;
+    private boolean cerrado;
+    private FileChannel canal;
+    private long generacion;
+    private long tamano;
+
+    private DiarioEscritura(Path archivo, FileChannel canal, long generacion, long tamano) {
+        this.archivo = archivo;
+        this.canal = canal;
+        this.generacion = generacion;
+        this.tamano = tamano;
+        this.escritor = new Thread(this::escribirEnBucle, "diario-" + archivo.getFileName());
+        this.escritor.setDaemon(true);
+    }
+
+    /**
+     * Reproduce los segmentos desde la generación de la instantánea y deja el
+     * diario listo para seguir escribiendo en el último
+     *
+     * @param archivo              instantánea a la que pertenece el diario
+     * @param generacionInstantanea primera generación que no está en la instantánea
+     */
+    static DiarioEscritura abrir(Path archivo, long generacionInstantanea, Aplicador aplicador) throws IOException {
+        long ultima = reproducir(archivo, generacionInstantanea, aplicador);
+
+        DiarioEscritura diario;
+        if (ultima > 0) {
+            FileChannel canal = FileChannel.open(segmento(archivo, ultima), StandardOpenOption.WRITE);
+            diario = new DiarioEscritura(archivo, canal, ultima, canal.size());
+            canal.position(canal.size());
+        } else {
+            long nueva = Math.max(1, generacionInstantanea);
+            diario = new DiarioEscritura(archivo, crearSegmento(archivo, nueva), nueva, TAMANO_CABECERA);
+        }
+        diario.escritor.start();
+        return diario;
+    }
+
+    // ===============================
+    // ESCRITURA
+    // ===============================
+
+    /**
+     * Añade un registro al lote que se escribirá a continuación. No espera al
+     * disco: devuelve el número de secuencia que hay que pasar a esperar().
+     */
+    long anotar(byte[] datos) {
+        CRC32 crc = new CRC32();
+        crc.update(datos, 0, datos.length);
+        int longitud = TAMANO_CABECERA_REGISTRO + datos.length;
+
+        candado.lock();
+        try {
+            if (error != null) throw new UncheckedIOException("El diario no admite más escrituras", error);
+            if (cerrado) throw new IllegalStateException("El diario está cerrado: " + archivo);
+
+            if (usados + longitud > pendientes.length) {
+                pendientes = Arrays.copyOf(pendientes, Math.max(usados + longitud, pendientes.length * 2));
+            }
+            escribirInt(pendientes, usados, datos.length);
+            escribirInt(pendientes, usados + 4, (int) crc.getValue());
+            System.arraycopy(datos, 0, pendientes, usados + TAMANO_CABECERA_REGISTRO, datos.length);
+            usados += longitud;
+            hayRegistros.signal();
+            return ++secuenciaAnotada;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Espera a que el registro con esa secuencia esté en disco
+     *
+     * @throws UncheckedIOException si la escritura falló
+     */
+    void esperar(long secuencia) {
+        candado.lock();
+        try {
+            while (secuenciaDurable < secuencia) {
+                if (error != null) throw new UncheckedIOException("No se pudo escribir el diario", error);
+                escritos.awaitUninterruptibly();
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Hilo escritor: intercambia el búfer de pendientes por uno vacío, lo
+     * escribe entero y hace un solo force para todo el lote
+     */
+    private void escribirEnBucle() {
+        byte[] lote = new byte[pendientes.length];
+        while (true) {
+            FileChannel destino;
+            int longitud;
+            long hasta;
+            candado.lock();
+            try {
+                while (usados == 0 && !cerrado) {
+                    hayRegistros.awaitUninterruptibly();
+                }
+                if (usados == 0) return;
+
+                byte[] vacio = lote;
+                lote = pendientes;
+                pendientes = vacio;
+                longitud = usados;
+                usados = 0;
+                hasta = secuenciaAnotada;
+                destino = canal;
+            } finally {
+                candado.unlock();
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(lote, 0, longitud);
+                while (buffer.hasRemaining()) {
+                    destino.write(buffer);
+                }
+                destino.force(false);
+            } catch (IOException e) {
+                BITACORA.error("Error al escribir el diario {}: {}", archivo, e.getMessage());
+                candado.lock();
+                try {
+                    error = e;
+                    escritos.signalAll();
+                } finally {
+                    candado.unlock();
+                }
+                return;
+            }
+
+            candado.lock();
+            try {
+                secuenciaDurable = hasta;
+                tamano += longitud;
+                escritos.signalAll();
+            } finally {
+                candado.unlock();
+            }
+        }
+    }
+
+    // ===============================
+    // ROTACIÓN Y CIERRE
+    // ===============================
+
+    /**
+     * Espera a que todo lo anotado esté en disco y pasa a un segmento nuevo.
+     * El almacén la llama sin modificaciones en curso.
+     *
+     * @return la generación del segmento nuevo
+     */
+    long rotar() throws IOException {
+        candado.lock();
+        try {
+            while (secuenciaDurable < secuenciaAnotada && error == null) {
+                escritos.awaitUninterruptibly();
+            }
+            if (error != null) throw new IOException("El diario no admite más escrituras", error);
+            if (cerrado) throw new IllegalStateException("El diario está cerrado: " + archivo);
+
+            FileChannel nuevo = crearSegmento(archivo, generacion + 1);
+            canal.close();
+            canal = nuevo;
+            generacion++;
+            tamano = TAMANO_CABECERA;
+            return generacion;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Bytes del segmento actual
+     */
+    long getTamano() {
+        candado.lock();
+        try {
+            return tamano;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    boolean estaCerrado() {
+        candado.lock();
+        try {
+            return cerrado;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Escribe lo pendiente y cierra el segmento; después no admite escrituras
+     */
+    @Override
+    public void close() throws IOException {
+        candado.lock();
+        try {
+            if (cerrado) return;
+            cerrado = true;
+            hayRegistros.signal();
+        } finally {
+            candado.unlock();
+        }
+
+        boolean interrumpido = false;
+        while (escritor.isAlive()) {
+            try {
+                escritor.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+
+        canal.close();
+        if (error != null) throw new IOException("El diario no se escribió completo", error);
+    }
+
+    // ===============================
+    // SEGMENTOS
+    // ===============================
+
+    private static Path segmento(Path archivo, long generacion) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + generacion + EXTENSION);
+    }
+
+    private static FileChannel crearSegmento(Path archivo, long generacion) throws IOException {
+        FileChannel canal = FileChannel.open(segmento(archivo, generacion),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA);
+            cabecera.putInt(FIRMA).putInt(VERSION).putLong(generacion).flip();
+            while (cabecera.hasRemaining()) {
+                canal.write(cabecera);
+            }
+            canal.force(true);
+            sincronizarDirectorio(archivo);
+            return canal;
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Generaciones de los segmentos de este archivo, en orden
+     */
+    private static long[] generaciones(Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio == null || !Files.isDirectory(directorio)) return new long[0];
+
+        String prefijo = archivo.getFileName() + ".";
+        List<Long> encontradas = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, prefijo + "*" + EXTENSION)) {
+            for (Path ruta : archivos) {
+                String nombre = ruta.getFileName().toString();
+                String numero = nombre.substring(prefijo.length(), nombre.length() - EXTENSION.length());
+                try {
+                    encontradas.add(Long.parseLong(numero));
+                } catch (NumberFormatException e) {
+                    // No es un segmento de este diario
+                }
+            }
+        }
+        long[] resultado = new long[encontradas.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = encontradas.get(i);
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    /**
+     * Reproduce en orden los segmentos con generación mayor o igual a la
+     * indicada. El final dañado del último segmento se corta; un segmento
+     * anterior dañado es un error, porque faltarían cambios en medio.
+     *
+     * @return la generación del último segmento reproducido, o 0 si no hay
+     */
+    static long reproducir(Path archivo, long desde, Aplicador aplicador) throws IOException {
+        long[] generaciones = generaciones(archivo);
+        long ultima = 0;
+        for (int i = 0; i < generaciones.length; i++) {
+            if (generaciones[i] < desde) continue;
+            boolean esUltimo = i == generaciones.length - 1;
+            if (reproducirSegmento(archivo, generaciones[i], aplicador, esUltimo)) {
+                ultima = generaciones[i];
+            }
+        }
+        return ultima;
+    }
+
+    /**
+     * @return false si era el último segmento y estaba vacío o sin cabecera completa (se borra)
+     */
+    private static boolean reproducirSegmento(Path archivo, long generacion, Aplicador aplicador, boolean esUltimo)
+            throws IOException {
+        Path ruta = segmento(archivo, generacion);
+        if (Files.size(ruta) < TAMANO_CABECERA) {
+            if (!esUltimo) throw new IOException("Segmento del diario incompleto: " + ruta);
+            // Se cerró mientras se creaba el segmento
+            Files.delete(ruta);
+            return false;
+        }
+
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long tamanoArchivo = canal.size();
+            ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA);
+            leerCompleto(canal, cabecera, 0);
+            cabecera.flip();
+            if (cabecera.getInt() != FIRMA || cabecera.getInt() != VERSION || cabecera.getLong() != generacion) {
+                throw new IOException("El segmento del diario no tiene el formato esperado: " + ruta);
+            }
+
+            long posicion = TAMANO_CABECERA;
+            ByteBuffer cabeceraRegistro = ByteBuffer.allocate(TAMANO_CABECERA_REGISTRO);
+            CRC32 crc = new CRC32();
+            String dano = null;
+            while (posicion < tamanoArchivo) {
+                if (tamanoArchivo - posicion < TAMANO_CABECERA_REGISTRO) {
+                    dano = "registro incompleto";
+                    break;
+                }
+                cabeceraRegistro.clear();
+                leerCompleto(canal, cabeceraRegistro, posicion);
+                cabeceraRegistro.flip();
+                int longitud = cabeceraRegistro.getInt();
+                int suma = cabeceraRegistro.getInt();
+                if (longitud < 0 || longitud > TAMANO_MAXIMO_REGISTRO
+                        || longitud > tamanoArchivo - posicion - TAMANO_CABECERA_REGISTRO) {
+                    dano = "registro incompleto";
+                    break;
+                }
+
+                byte[] datos = new byte[longitud];
+                leerCompleto(canal, ByteBuffer.wrap(datos), posicion + TAMANO_CABECERA_REGISTRO);
+                crc.reset();
+                crc.update(datos, 0, datos.length);
+                if ((int) crc.getValue() != suma) {
+                    dano = "CRC incorrecto";
+                    break;
+                }
+                aplicador.aplicar(datos);
+                posicion += TAMANO_CABECERA_REGISTRO + longitud;
+            }
+
+            if (dano != null) {
+                if (!esUltimo) {
+                    throw new IOException("Diario dañado (" + dano + ") en " + ruta + " posición " + posicion);
+                }
+                BITACORA.aviso("Diario {}: {} en la posición {}, se descartan los {} bytes finales",
+                        ruta, dano, posicion, tamanoArchivo - posicion);
+                canal.truncate(posicion);
+                canal.force(true);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Confirma en disco las entradas del directorio del archivo (archivos
+     * creados, renombrados o borrados). Sin esto, tras un corte de luz el
+     * archivo puede tener sus datos en disco pero no su nombre.
+     */
+    static void sincronizarDirectorio(Path archivo) {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio == null) return;
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Windows no permite abrir un directorio como canal; ahí el renombrado ya es durable
+        }
+    }
+
+    /**
+     * Borra los segmentos de generaciones anteriores, ya incluidos en la
+     * instantánea. Solo se debe llamar cuando la instantánea está en disco.
+     */
+    static void eliminarAnteriores(Path archivo, long generacion) throws IOException {
+        for (long anterior : generaciones(archivo)) {
+            if (anterior < generacion) {
+                Files.deleteIfExists(segmento(archivo, anterior));
+            }
+        }
+    }
+
+    private static void leerCompleto(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+        while (buffer.hasRemaining()) {
+            int leidos = canal.read(buffer, posicion);
+            if (leidos < 0) throw new IOException("Fin de archivo inesperado");
+            posicion += leidos;
+        }
+    }
+
+    private static void escribirInt(byte[] destino, int posicion, int valor) {
+        destino[posicion] = (byte) (valor >>> 24);
+        destino[posicion + 1] = (byte) (valor >>> 16);
+        destino[posicion + 2] = (byte) (valor >>> 8);
+        destino[posicion + 3] = (byte) valor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.techsolutions.repository;
+
+import java.util.List;
+
+import com.techsolutions.model.Empleado;
+
+/**
+ * Almacenamiento de empleados, independiente del motor (MongoDB o memoria).
+ * Los errores del almacenamiento se propagan como excepciones no comprobadas.
+ */
+public interface EmpleadoRepository {
+
+    /**
+     * Todos los empleados, en orden de inserción
+     */
+    List<Empleado> cargarTodos();
+
+    /**
+     * Empleado por ID, o null si no existe
+     */
+    Empleado buscarPorId(String id);
+
+    /**
+     * Inserta un empleado nuevo
+     */
+    void guardar(Empleado empleado);
+
+    /**
+     * @return false si no existía el empleado
+     */
+    boolean eliminar(String id);
+
+    long contar();
+
+    /**
+     * Mayor número entre los IDs con ese prefijo (0 si no hay ninguno), para
+     * generar el siguiente ID
+     */
+    long maximoNumeroId(String prefijo);
+}
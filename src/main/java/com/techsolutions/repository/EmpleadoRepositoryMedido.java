@@ -0,0 +1,116 @@
+package com.techsolutions.repository;
+
+import java.util.List;
+
+import com.techsolutions.model.Empleado;
+import com.techsolutions.util.HistogramaLatencia;
+import com.techsolutions.util.RegistroMetricas;
+
+/**
+ * Repositorio de empleados que mide la latencia de cada llamada al
+ * repositorio que envuelve, con métricas repositorio.empleados.&lt;operación&gt;.
+ * Las llamadas que fallan suman además en repositorio.empleados.errores.
+ */
+final class EmpleadoRepositoryMedido implements EmpleadoRepository {
+
+    private static final String PREFIJO = "repositorio.empleados.";
+
+    private final EmpleadoRepository repositorio;
+    private final RegistroMetricas metricas;
+
+    private final HistogramaLatencia cargarTodos;
+    private final HistogramaLatencia buscarPorId;
+    private final HistogramaLatencia guardar;
+    private final HistogramaLatencia eliminar;
+    private final HistogramaLatencia contar;
+    private final HistogramaLatencia maximoNumeroId;
+
+    EmpleadoRepositoryMedido(EmpleadoRepository repositorio, RegistroMetricas metricas) {
+        this.repositorio = repositorio;
+        this.metricas = metricas;
+        this.cargarTodos = metricas.latencia(PREFIJO + "cargarTodos");
+        this.buscarPorId = metricas.latencia(PREFIJO + "buscarPorId");
+        this.guardar = metricas.latencia(PREFIJO + "guardar");
+        this.eliminar = metricas.latencia(PREFIJO + "eliminar");
+        this.contar = metricas.latencia(PREFIJO + "contar");
+        this.maximoNumeroId = metricas.latencia(PREFIJO + "maximoNumeroId");
+    }
+
+    @Override
+    public List<Empleado> cargarTodos() {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.cargarTodos();
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            cargarTodos.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public Empleado buscarPorId(String id) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.buscarPorId(id);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            buscarPorId.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public void guardar(Empleado empleado) {
+        long inicio = System.nanoTime();
+        try {
+            repositorio.guardar(empleado);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            guardar.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.eliminar(id);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            eliminar.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public long contar() {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.contar();
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            contar.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public long maximoNumeroId(String prefijo) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.maximoNumeroId(prefijo);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            maximoNumeroId.registrarDesde(inicio);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.techsolutions.repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.techsolutions.model.Empleado;
+
+/**
+ * Repositorio de empleados en memoria, seguro para usar desde varios hilos,
+ * con persistencia opcional en archivo, por instantáneas o con diario de
+ * escritura anticipada (ver AlmacenMemoria y DiarioEscritura).
+ *
+ * No admite dos empleados con el mismo ID: guardar uno repetido lanza
+ * IllegalStateException.
+ */
+public class EmpleadoRepositoryMemoria extends AlmacenMemoria<Empleado> implements EmpleadoRepository {
+
+    private static final int FIRMA = 0x54535245; // "TSRE"
+
+    /**
+     * Repositorio solo en memoria (se pierde al cerrar la aplicación)
+     */
+    public EmpleadoRepositoryMemoria() {
+        super(null, FIRMA);
+    }
+
+    private EmpleadoRepositoryMemoria(Path archivo) {
+        super(archivo, FIRMA);
+    }
+
+    /**
+     * Abre un repositorio persistido en el archivo, cargándolo si ya existe
+     */
+    public static EmpleadoRepositoryMemoria abrir(Path archivo) throws IOException {
+        EmpleadoRepositoryMemoria repositorio = new EmpleadoRepositoryMemoria(archivo);
+        repositorio.cargarArchivo();
+        return repositorio;
+    }
+
+    /**
+     * Abre un repositorio con diario en el archivo: cada cambio se confirma
+     * en disco antes de volver y se recupera tras un cierre inesperado
+     */
+    public static EmpleadoRepositoryMemoria abrirConDiario(Path archivo) throws IOException {
+        EmpleadoRepositoryMemoria repositorio = new EmpleadoRepositoryMemoria(archivo);
+        repositorio.cargarConDiario();
+        return repositorio;
+    }
+
+    @Override
+    public List<Empleado> cargarTodos() {
+        return buscar(e -> true);
+    }
+
+    @Override
+    public Empleado buscarPorId(String id) {
+        return obtener(id);
+    }
+
+    @Override
+    public void guardar(Empleado empleado) {
+        insertar(empleado);
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        return super.eliminar(id);
+    }
+
+    @Override
+    public long contar() {
+        return tamano();
+    }
+
+    @Override
+    public long maximoNumeroId(String prefijo) {
+        return super.maximoNumeroId(prefijo);
+    }
+
+    // ===============================
+    // FORMATO
+    // ===============================
+
+    /**
+     * Solo se guardan id, nombre y departamento, como en MongoDB
+     */
+    @Override
+    Empleado copiar(Empleado valor) {
+        return new Empleado(valor.getId(), valor.getNombre(), valor.getDepartamento());
+    }
+
+    @Override
+    String idDe(Empleado valor) {
+        return valor.getId();
+    }
+
+    @Override
+    void escribirRegistro(DataOutputStream salida, Empleado e) throws IOException {
+        escribirTexto(salida, e.getId());
+        escribirTexto(salida, e.getNombre());
+        escribirTexto(salida, e.getDepartamento());
+    }
+
+    @Override
+    Empleado leerRegistro(DataInputStream entrada) throws IOException {
+        return new Empleado(leerTexto(entrada), leerTexto(entrada), leerTexto(entrada));
+    }
+}
@@ -0,0 +1,76 @@
+package com.techsolutions.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.techsolutions.model.Empleado;
+import com.techsolutions.util.CodecId;
+
+/**
+ * Repositorio de empleados sobre una colección de MongoDB
+ */
+public class EmpleadoRepositoryMongo implements EmpleadoRepository {
+
+    /** Proyección que solo trae el campo id */
+    private static final Bson SOLO_ID = Projections.fields(Projections.include("id"), Projections.excludeId());
+
+    private final MongoCollection<Document> coleccion;
+
+    public EmpleadoRepositoryMongo(MongoCollection<Document> coleccion) {
+        this.coleccion = coleccion;
+    }
+
+    @Override
+    public List<Empleado> cargarTodos() {
+        List<Empleado> empleados = new ArrayList<>();
+        for (Document doc : coleccion.find()) {
+            if (doc.getString("id") != null) {
+                empleados.add(documentoAEmpleado(doc));
+            }
+        }
+        return empleados;
+    }
+
+    @Override
+    public Empleado buscarPorId(String id) {
+        Document doc = coleccion.find(Filters.eq("id", id)).first();
+        return doc == null ? null : documentoAEmpleado(doc);
+    }
+
+    @Override
+    public void guardar(Empleado empleado) {
+        coleccion.insertOne(new Document("id", empleado.getId())
+                .append("nombre", empleado.getNombre())
+                .append("departamento", empleado.getDepartamento()));
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        return coleccion.deleteOne(Filters.eq("id", id)).getDeletedCount() > 0;
+    }
+
+    @Override
+    public long contar() {
+        return coleccion.countDocuments();
+    }
+
+    @Override
+    public long maximoNumeroId(String prefijo) {
+        long max = 0;
+        for (Document doc : coleccion.find().projection(SOLO_ID)) {
+            long numero = CodecId.numero(doc.getString("id"), prefijo);
+            if (numero > max) max = numero;
+        }
+        return max;
+    }
+
+    private static Empleado documentoAEmpleado(Document doc) {
+        return new Empleado(doc.getString("id"), doc.getString("nombre"), doc.getString("departamento"));
+    }
+}
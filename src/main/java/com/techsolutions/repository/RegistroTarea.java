@@ -0,0 +1,161 @@
+package com.techsolutions.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+
+/**
+ * Tarea tal como se guarda en un repositorio: los datos de la tarea más los
+ * de persistencia (tipo de lista, prioridad, fecha de entrega, estado de
+ * cierre y dependencias).
+ *
+ * Es un objeto de datos mutable; los repositorios entregan copias, así que
+ * modificarlo no cambia lo guardado hasta llamar al repositorio.
+ */
+public class RegistroTarea {
+
+    /** Prioridad que se asume cuando la tarea no indica ninguna (Media) */
+    public static final int PRIORIDAD_PREDETERMINADA = 2;
+
+    public static final String ESTADO_COMPLETADA = "completada";
+
+    private String id;
+    private String descripcion;
+    private String departamento;
+    private String urgencia;
+    private int horasEstimadas = 1;
+    private String empleadoAsignado;
+    private String tipo;
+    private int prioridad = PRIORIDAD_PREDETERMINADA;
+    private String fechaEntrega;
+    private String estado;
+    private long fechaCierre;
+    private String comentariosCierre;
+    private List<String> dependencias = new ArrayList<>();
+
+    public RegistroTarea() {
+    }
+
+    /**
+     * Registro de una tarea; la prioridad y la fecha de entrega se toman de
+     * la tarea si es una TareaPrioridad
+     *
+     * @param tipo "urgente", "programada" o "departamento"
+     */
+    public RegistroTarea(Tarea tarea, String tipo) {
+        this(tarea, tipo,
+                tarea instanceof TareaPrioridad ? ((TareaPrioridad) tarea).getPrioridad() : PRIORIDAD_PREDETERMINADA,
+                tarea instanceof TareaPrioridad ? ((TareaPrioridad) tarea).getFechaEntrega() : null);
+    }
+
+    public RegistroTarea(Tarea tarea, String tipo, int prioridad, String fechaEntrega) {
+        this.id = tarea.getId();
+        this.descripcion = tarea.getDescripcion();
+        this.departamento = tarea.getDepartamento();
+        this.urgencia = tarea.getUrgencia();
+        this.horasEstimadas = tarea.getHorasEstimadas();
+        this.empleadoAsignado = tarea.getEmpleadoAsignado();
+        this.tipo = tipo;
+        this.prioridad = prioridad;
+        this.fechaEntrega = fechaEntrega;
+    }
+
+    /**
+     * Copia independiente (incluida la lista de dependencias)
+     */
+    public RegistroTarea copia() {
+        RegistroTarea copia = new RegistroTarea();
+        copia.id = id;
+        copia.descripcion = descripcion;
+        copia.departamento = departamento;
+        copia.urgencia = urgencia;
+        copia.horasEstimadas = horasEstimadas;
+        copia.empleadoAsignado = empleadoAsignado;
+        copia.tipo = tipo;
+        copia.prioridad = prioridad;
+        copia.fechaEntrega = fechaEntrega;
+        copia.estado = estado;
+        copia.fechaCierre = fechaCierre;
+        copia.comentariosCierre = comentariosCierre;
+        copia.dependencias = new ArrayList<>(dependencias);
+        return copia;
+    }
+
+    /**
+     * Crea una Tarea (o TareaPrioridad si tiene prioridad y fecha de entrega)
+     */
+    public Tarea toTarea() {
+        Tarea tarea;
+        if (prioridad > 0 && fechaEntrega != null) {
+            tarea = new TareaPrioridad(id, descripcion, departamento, urgencia, horasEstimadas, prioridad, fechaEntrega);
+        } else {
+            tarea = new Tarea(id, descripcion, departamento, urgencia, horasEstimadas);
+        }
+        if (empleadoAsignado != null && !empleadoAsignado.isEmpty()) {
+            tarea.setEmpleadoAsignado(empleadoAsignado);
+        }
+        return tarea;
+    }
+
+    public boolean estaCompletada() {
+        return ESTADO_COMPLETADA.equals(estado);
+    }
+
+    // ===============================
+    // GETTERS Y SETTERS
+    // ===============================
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getDescripcion() { return descripcion; }
+    public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
+
+    public String getDepartamento() { return departamento; }
+    public void setDepartamento(String departamento) { this.departamento = departamento; }
+
+    public String getUrgencia() { return urgencia; }
+    public void setUrgencia(String urgencia) { this.urgencia = urgencia; }
+
+    public int getHorasEstimadas() { return horasEstimadas; }
+    public void setHorasEstimadas(int horasEstimadas) { this.horasEstimadas = horasEstimadas; }
+
+    public String getEmpleadoAsignado() { return empleadoAsignado; }
+    public void setEmpleadoAsignado(String empleadoAsignado) { this.empleadoAsignado = empleadoAsignado; }
+
+    /** "urgente", "programada" o "departamento" */
+    public String getTipo() { return tipo; }
+    public void setTipo(String tipo) { this.tipo = tipo; }
+
+    public int getPrioridad() { return prioridad; }
+    public void setPrioridad(int prioridad) { this.prioridad = prioridad; }
+
+    /** Fecha de entrega yyyy-MM-dd, o null */
+    public String getFechaEntrega() { return fechaEntrega; }
+    public void setFechaEntrega(String fechaEntrega) { this.fechaEntrega = fechaEntrega; }
+
+    /** null mientras la tarea está activa, ESTADO_COMPLETADA al cerrarla */
+    public String getEstado() { return estado; }
+    public void setEstado(String estado) { this.estado = estado; }
+
+    /** Fecha de cierre en milisegundos epoch (0 si no está cerrada) */
+    public long getFechaCierre() { return fechaCierre; }
+    public void setFechaCierre(long fechaCierre) { this.fechaCierre = fechaCierre; }
+
+    public String getComentariosCierre() { return comentariosCierre; }
+    public void setComentariosCierre(String comentariosCierre) { this.comentariosCierre = comentariosCierre; }
+
+    /** IDs de las tareas de las que depende */
+    public List<String> getDependencias() { return dependencias; }
+    public void setDependencias(List<String> dependencias) {
+        this.dependencias = dependencias == null ? new ArrayList<>() : new ArrayList<>(dependencias);
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroTarea{id='" + id + "', tipo='" + tipo + "', descripcion='" + descripcion
+                + "', departamento='" + departamento + "'" + (estaCompletada() ? ", completada" : "") + "}";
+    }
+}
@@ -0,0 +1,296 @@
+package com.techsolutions.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.RegistroMetricas;
+
+/**
+ * Punto único de acceso a los repositorios de la aplicación (patrón Singleton).
+ *
+ * El almacenamiento se elige con la propiedad del sistema
+ * techsolutions.almacenamiento o la variable de entorno
+ * TECHSOLUTIONS_ALMACENAMIENTO:
+ * - mongodb (por defecto): colecciones "tareas" y "empleados" de MONGODB_URI
+ *   y MONGO_DB_NAME. Si el servidor no responde se pasa al modo memoria.
+ * - memoria: en memoria, guardado en ~/.techsolutions (o TECHSOLUTIONS_DATOS)
+ * - diario: motor embebido para un solo equipo; en memoria con diario de
+ *   escritura anticipada en el mismo directorio (ver DiarioEscritura)
+ * - volatil: solo en memoria, los datos se pierden al cerrar (pruebas y demos)
+ *
+ * En modo memoria los cambios se escriben al archivo en segundo plano cada
+ * segundo, y una última vez al cerrar la aplicación. En modo diario cada
+ * cambio está en disco al volver, y en segundo plano se compacta el diario
+ * cuando crece.
+ *
+ * Los repositorios que se entregan miden cada llamada en RegistroMetricas
+ * (repositorio.tareas.* y repositorio.empleados.*), sea cual sea el motor.
+ */
+public final class Repositorios implements Closeable {
+
+    private static final Bitacora BITACORA = Bitacora.de("repositorio");
+
+    /** Modos de almacenamiento disponibles */
+    public enum Modo {
+        MONGODB("MongoDB"),
+        MEMORIA("En memoria con archivo"),
+        DIARIO("Motor embebido con diario"),
+        VOLATIL("En memoria (sin guardar)");
+
+        private final String descripcion;
+
+        Modo(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    private static final String URI_PREDETERMINADA = "mongodb://localhost:27017";
+    private static final String BASE_PREDETERMINADA = "techsolutions";
+
+    /** Tiempo máximo para encontrar el servidor antes de pasar al modo memoria */
+    private static final long ESPERA_SERVIDOR_MS = 3000;
+
+    /** Intervalo de escritura a disco (o de revisión del diario) en los modos con archivo */
+    private static final long INTERVALO_SINCRONIZACION_MS = 1000;
+
+    private static Repositorios instance;
+
+    private final Modo modo;
+    /** Motores sin medición, para sincronizar y cerrar */
+    private final TareaRepository almacenTareas;
+    private final EmpleadoRepository almacenEmpleados;
+    private final TareaRepository tareas;
+    private final EmpleadoRepository empleados;
+    private final MongoClient mongoClient;
+    private final ScheduledExecutorService sincronizador;
+
+    private Repositorios(Modo modo, TareaRepository tareas, EmpleadoRepository empleados, MongoClient mongoClient) {
+        this.modo = modo;
+        this.almacenTareas = tareas;
+        this.almacenEmpleados = empleados;
+        RegistroMetricas metricas = RegistroMetricas.getInstance();
+        this.tareas = new TareaRepositoryMedido(tareas, metricas);
+        this.empleados = new EmpleadoRepositoryMedido(empleados, metricas);
+        this.mongoClient = mongoClient;
+        this.sincronizador = modo == Modo.MEMORIA || modo == Modo.DIARIO ? iniciarSincronizacion() : null;
+    }
+
+    /**
+     * Obtiene la instancia única, creándola según la configuración la primera vez
+     */
+    public static synchronized Repositorios getInstance() {
+        if (instance == null) {
+            instance = crear(leerModo());
+            Repositorios creada = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    creada.close();
+                } catch (IOException e) {
+                    BITACORA.error("Error al guardar los datos: {}", e.getMessage());
+                }
+            }, "repositorios-cierre"));
+        }
+        return instance;
+    }
+
+    /**
+     * Repositorios solo en memoria, independientes de la instancia única
+     */
+    public static Repositorios volatiles() {
+        return new Repositorios(Modo.VOLATIL, new TareaRepositoryMemoria(), new EmpleadoRepositoryMemoria(), null);
+    }
+
+    /**
+     * Repositorios en memoria guardados en los archivos tareas.dat y
+     * empleados.dat del directorio, independientes de la instancia única
+     *
+     * @throws IOException si algún archivo existe pero no se puede leer
+     */
+    public static Repositorios enDirectorio(Path directorio) throws IOException {
+        return new Repositorios(Modo.MEMORIA,
+                TareaRepositoryMemoria.abrir(directorio.resolve("tareas.dat")),
+                EmpleadoRepositoryMemoria.abrir(directorio.resolve("empleados.dat")),
+                null);
+    }
+
+    /**
+     * Repositorios en memoria con diario en el directorio (tareas.dat,
+     * empleados.dat y sus segmentos .wal), independientes de la instancia única.
+     * Recupera los cambios que quedaron en el diario si la aplicación se cerró
+     * de forma inesperada.
+     *
+     * @throws IOException si la instantánea o el diario no se pueden leer
+     */
+    public static Repositorios conDiario(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        TareaRepositoryMemoria tareas = TareaRepositoryMemoria.abrirConDiario(directorio.resolve("tareas.dat"));
+        try {
+            return new Repositorios(Modo.DIARIO, tareas,
+                    EmpleadoRepositoryMemoria.abrirConDiario(directorio.resolve("empleados.dat")), null);
+        } catch (IOException | RuntimeException e) {
+            tareas.close();
+            throw e;
+        }
+    }
+
+    private static Repositorios crear(Modo modo) {
+        if (modo == Modo.MONGODB) {
+            Repositorios mongo = conectarMongoDB();
+            if (mongo != null) return mongo;
+            BITACORA.aviso("MongoDB no disponible, se usara el almacenamiento en memoria");
+        }
+        if (modo == Modo.VOLATIL) {
+            return volatiles();
+        }
+        Path directorio = directorioDatos();
+        try {
+            Repositorios local = modo == Modo.DIARIO ? conDiario(directorio) : enDirectorio(directorio);
+            BITACORA.info("{} en {}", local.getDescripcion(), directorio);
+            return local;
+        } catch (IOException e) {
+            BITACORA.error("Error al abrir los datos de {}: {}", directorio, e.getMessage());
+            BITACORA.aviso("El sistema funcionara sin persistencia de datos");
+            return volatiles();
+        }
+    }
+
+    private static Repositorios conectarMongoDB() {
+        String uri = configuracion(null, "MONGODB_URI", URI_PREDETERMINADA);
+        String nombreBase = configuracion(null, "MONGO_DB_NAME", BASE_PREDETERMINADA);
+        MongoClient cliente = null;
+        try {
+            MongoClientSettings ajustes = MongoClientSettings.builder()
+                    .applyToClusterSettings(b -> b.serverSelectionTimeout(ESPERA_SERVIDOR_MS, TimeUnit.MILLISECONDS))
+                    .applyConnectionString(new ConnectionString(uri))
+                    .build();
+            cliente = MongoClients.create(ajustes);
+            MongoDatabase database = cliente.getDatabase(nombreBase);
+
+            // MongoClients.create no contacta al servidor: se comprueba con una consulta simple
+            database.listCollectionNames().first();
+
+            BITACORA.info("Conexion a MongoDB establecida correctamente ({})", nombreBase);
+            return new Repositorios(Modo.MONGODB,
+                    new TareaRepositoryMongo(database.getCollection("tareas")),
+                    new EmpleadoRepositoryMongo(database.getCollection("empleados")),
+                    cliente);
+        } catch (Exception e) {
+            BITACORA.error("Error al conectar con MongoDB: {}", e.getMessage());
+            if (cliente != null) cliente.close();
+            return null;
+        }
+    }
+
+    private static Modo leerModo() {
+        String valor = configuracion("techsolutions.almacenamiento", "TECHSOLUTIONS_ALMACENAMIENTO", "mongodb");
+        switch (valor.trim().toLowerCase()) {
+            case "memoria":
+                return Modo.MEMORIA;
+            case "diario":
+                return Modo.DIARIO;
+            case "volatil":
+                return Modo.VOLATIL;
+            case "mongodb":
+                return Modo.MONGODB;
+            default:
+                BITACORA.aviso("Modo de almacenamiento desconocido '{}', se usara MongoDB", valor);
+                return Modo.MONGODB;
+        }
+    }
+
+    private static Path directorioDatos() {
+        String directorio = configuracion("techsolutions.datos", "TECHSOLUTIONS_DATOS", null);
+        return directorio != null
+                ? Paths.get(directorio)
+                : Paths.get(System.getProperty("user.home"), ".techsolutions");
+    }
+
+    /**
+     * Valor de la propiedad del sistema, si no de la variable de entorno, si no el predeterminado
+     */
+    private static String configuracion(String propiedad, String variable, String predeterminado) {
+        String valor = propiedad == null ? null : System.getProperty(propiedad);
+        if (valor == null || valor.isEmpty()) valor = System.getenv(variable);
+        return valor == null || valor.isEmpty() ? predeterminado : valor;
+    }
+
+    private ScheduledExecutorService iniciarSincronizacion() {
+        ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "repositorios-sincronizacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.scheduleWithFixedDelay(() -> {
+            try {
+                sincronizar();
+            } catch (IOException e) {
+                BITACORA.error("Error al guardar los datos: {}", e.getMessage());
+            }
+        }, INTERVALO_SINCRONIZACION_MS, INTERVALO_SINCRONIZACION_MS, TimeUnit.MILLISECONDS);
+        return ejecutor;
+    }
+
+    // ===============================
+    // ACCESO
+    // ===============================
+
+    public TareaRepository getTareas() {
+        return tareas;
+    }
+
+    public EmpleadoRepository getEmpleados() {
+        return empleados;
+    }
+
+    public Modo getModo() {
+        return modo;
+    }
+
+    public String getDescripcion() {
+        return modo.getDescripcion();
+    }
+
+    /**
+     * Escribe ya los cambios pendientes de los repositorios en memoria (con
+     * diario, compacta si ha crecido)
+     */
+    public void sincronizar() throws IOException {
+        if (almacenTareas instanceof AlmacenMemoria) ((AlmacenMemoria<?>) almacenTareas).sincronizar();
+        if (almacenEmpleados instanceof AlmacenMemoria) ((AlmacenMemoria<?>) almacenEmpleados).sincronizar();
+    }
+
+    /**
+     * Detiene la sincronización periódica, escribe lo pendiente (con diario,
+     * compacta y lo cierra) y cierra la conexión a MongoDB
+     */
+    @Override
+    public void close() throws IOException {
+        // shutdown y no shutdownNow: interrumpir una escritura en curso cerraría el archivo
+        if (sincronizador != null) sincronizador.shutdown();
+        try {
+            if (almacenTareas instanceof Closeable) ((Closeable) almacenTareas).close();
+        } finally {
+            try {
+                if (almacenEmpleados instanceof Closeable) ((Closeable) almacenEmpleados).close();
+            } finally {
+                if (mongoClient != null) mongoClient.close();
+            }
+        }
+    }
+}
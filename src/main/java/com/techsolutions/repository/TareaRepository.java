@@ -0,0 +1,85 @@
+package com.techsolutions.repository;
+
+import java.util.List;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.services.ConsultaTareas;
+
+/**
+ * Almacenamiento de tareas, independiente del motor (MongoDB o memoria).
+ *
+ * Las tareas completadas siguen en el repositorio con estado "completada";
+ * cargarTodas() las incluye y cada llamador decide si las descarta. Los
+ * errores del almacenamiento se propagan como excepciones no comprobadas.
+ */
+public interface TareaRepository {
+
+    /**
+     * Todas las tareas, activas y completadas, en orden de inserción
+     */
+    List<RegistroTarea> cargarTodas();
+
+    /**
+     * Tareas de un tipo ("urgente", "programada" o "departamento")
+     */
+    List<RegistroTarea> cargarPorTipo(String tipo);
+
+    /**
+     * Tarea por ID, o null si no existe
+     */
+    RegistroTarea buscarPorId(String id);
+
+    /**
+     * Inserta una tarea nueva
+     */
+    void guardar(RegistroTarea registro);
+
+    /**
+     * Actualiza descripción, departamento, urgencia, horas y empleado asignado
+     *
+     * @return false si no existe una tarea con ese ID
+     */
+    boolean actualizarDatos(Tarea tarea);
+
+    /**
+     * Cambia la prioridad y la fecha de entrega
+     *
+     * @return false si no existe una tarea con ese ID
+     */
+    boolean actualizarPrioridad(String id, int prioridad, String fechaEntrega);
+
+    /**
+     * Agrega una dependencia (si no estaba ya)
+     *
+     * @return false si no existe la tarea
+     */
+    boolean agregarDependencia(String id, String dependeDe);
+
+    /**
+     * Marca la tarea como completada con su fecha y comentarios de cierre
+     *
+     * @return false si no existe la tarea
+     */
+    boolean marcarCompletada(String id, long fechaCierre, String comentarios);
+
+    /**
+     * @return false si no existía la tarea
+     */
+    boolean eliminar(String id);
+
+    long contar();
+
+    long contarPorTipo(String tipo);
+
+    /**
+     * Mayor número entre los IDs con ese prefijo (0 si no hay ninguno), para
+     * generar el siguiente ID
+     */
+    long maximoNumeroId(String prefijo);
+
+    /**
+     * Tareas que cumplen la consulta, incluidas las completadas si la
+     * consulta lo pide
+     */
+    List<Tarea> consultar(ConsultaTareas consulta);
+}
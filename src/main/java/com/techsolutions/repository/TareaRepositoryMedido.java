@@ -0,0 +1,223 @@
+package com.techsolutions.repository;
+
+import java.util.List;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.services.ConsultaTareas;
+import com.techsolutions.util.HistogramaLatencia;
+import com.techsolutions.util.RegistroMetricas;
+
+/**
+ * Repositorio de tareas que mide la latencia de cada llamada al repositorio
+ * que envuelve, con métricas repositorio.tareas.&lt;operación&gt;. Las llamadas
+ * que fallan se miden igual y además suman en repositorio.tareas.errores.
+ */
+final class TareaRepositoryMedido implements TareaRepository {
+
+    private static final String PREFIJO = "repositorio.tareas.";
+
+    private final TareaRepository repositorio;
+    private final RegistroMetricas metricas;
+
+    // Histogramas resueltos una sola vez: cada llamada solo registra
+    private final HistogramaLatencia cargarTodas;
+    private final HistogramaLatencia cargarPorTipo;
+    private final HistogramaLatencia buscarPorId;
+    private final HistogramaLatencia guardar;
+    private final HistogramaLatencia actualizarDatos;
+    private final HistogramaLatencia actualizarPrioridad;
+    private final HistogramaLatencia agregarDependencia;
+    private final HistogramaLatencia marcarCompletada;
+    private final HistogramaLatencia eliminar;
+    private final HistogramaLatencia contar;
+    private final HistogramaLatencia contarPorTipo;
+    private final HistogramaLatencia maximoNumeroId;
+    private final HistogramaLatencia consultar;
+
+    TareaRepositoryMedido(TareaRepository repositorio, RegistroMetricas metricas) {
+        this.repositorio = repositorio;
+        this.metricas = metricas;
+        this.cargarTodas = metricas.latencia(PREFIJO + "cargarTodas");
+        this.cargarPorTipo = metricas.latencia(PREFIJO + "cargarPorTipo");
+        this.buscarPorId = metricas.latencia(PREFIJO + "buscarPorId");
+        this.guardar = metricas.latencia(PREFIJO + "guardar");
+        this.actualizarDatos = metricas.latencia(PREFIJO + "actualizarDatos");
+        this.actualizarPrioridad = metricas.latencia(PREFIJO + "actualizarPrioridad");
+        this.agregarDependencia = metricas.latencia(PREFIJO + "agregarDependencia");
+        this.marcarCompletada = metricas.latencia(PREFIJO + "marcarCompletada");
+        this.eliminar = metricas.latencia(PREFIJO + "eliminar");
+        this.contar = metricas.latencia(PREFIJO + "contar");
+        this.contarPorTipo = metricas.latencia(PREFIJO + "contarPorTipo");
+        this.maximoNumeroId = metricas.latencia(PREFIJO + "maximoNumeroId");
+        this.consultar = metricas.latencia(PREFIJO + "consultar");
+    }
+
+    @Override
+    public List<RegistroTarea> cargarTodas() {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.cargarTodas();
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            cargarTodas.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public List<RegistroTarea> cargarPorTipo(String tipo) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.cargarPorTipo(tipo);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            cargarPorTipo.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public RegistroTarea buscarPorId(String id) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.buscarPorId(id);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            buscarPorId.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public void guardar(RegistroTarea registro) {
+        long inicio = System.nanoTime();
+        try {
+            repositorio.guardar(registro);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            guardar.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public boolean actualizarDatos(Tarea tarea) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.actualizarDatos(tarea);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            actualizarDatos.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public boolean actualizarPrioridad(String id, int prioridad, String fechaEntrega) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.actualizarPrioridad(id, prioridad, fechaEntrega);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            actualizarPrioridad.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public boolean agregarDependencia(String id, String dependeDe) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.agregarDependencia(id, dependeDe);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            agregarDependencia.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public boolean marcarCompletada(String id, long fechaCierre, String comentarios) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.marcarCompletada(id, fechaCierre, comentarios);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            marcarCompletada.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.eliminar(id);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            eliminar.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public long contar() {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.contar();
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            contar.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public long contarPorTipo(String tipo) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.contarPorTipo(tipo);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            contarPorTipo.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public long maximoNumeroId(String prefijo) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.maximoNumeroId(prefijo);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            maximoNumeroId.registrarDesde(inicio);
+        }
+    }
+
+    @Override
+    public List<Tarea> consultar(ConsultaTareas consulta) {
+        long inicio = System.nanoTime();
+        try {
+            return repositorio.consultar(consulta);
+        } catch (RuntimeException e) {
+            metricas.incrementar(PREFIJO + "errores");
+            throw e;
+        } finally {
+            consultar.registrarDesde(inicio);
+        }
+    }
+}
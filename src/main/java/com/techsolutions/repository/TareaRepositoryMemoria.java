@@ -0,0 +1,204 @@
+package com.techsolutions.repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.services.ConsultaTareas;
+
+/**
+ * Repositorio de tareas en memoria, seguro para usar desde varios hilos,
+ * con persistencia opcional en archivo, por instantáneas o con diario de
+ * escritura anticipada (ver AlmacenMemoria y DiarioEscritura).
+ *
+ * A diferencia de la colección de MongoDB, no admite dos tareas con el
+ * mismo ID: guardar una repetida lanza IllegalStateException.
+ */
+public class TareaRepositoryMemoria extends AlmacenMemoria<RegistroTarea> implements TareaRepository {
+
+    private static final int FIRMA = 0x54535254; // "TSRT"
+
+    /**
+     * Repositorio solo en memoria (se pierde al cerrar la aplicación)
+     */
+    public TareaRepositoryMemoria() {
+        super(null, FIRMA);
+    }
+
+    private TareaRepositoryMemoria(Path archivo) {
+        super(archivo, FIRMA);
+    }
+
+    /**
+     * Abre un repositorio persistido en el archivo, cargándolo si ya existe
+     */
+    public static TareaRepositoryMemoria abrir(Path archivo) throws IOException {
+        TareaRepositoryMemoria repositorio = new TareaRepositoryMemoria(archivo);
+        repositorio.cargarArchivo();
+        return repositorio;
+    }
+
+    /**
+     * Abre un repositorio con diario en el archivo: cada cambio se confirma
+     * en disco antes de volver y se recupera tras un cierre inesperado
+     */
+    public static TareaRepositoryMemoria abrirConDiario(Path archivo) throws IOException {
+        TareaRepositoryMemoria repositorio = new TareaRepositoryMemoria(archivo);
+        repositorio.cargarConDiario();
+        return repositorio;
+    }
+
+    // ===============================
+    // LECTURA
+    // ===============================
+
+    @Override
+    public List<RegistroTarea> cargarTodas() {
+        return buscar(r -> true);
+    }
+
+    @Override
+    public List<RegistroTarea> cargarPorTipo(String tipo) {
+        return buscar(r -> tipo != null && tipo.equals(r.getTipo()));
+    }
+
+    @Override
+    public RegistroTarea buscarPorId(String id) {
+        return obtener(id);
+    }
+
+    @Override
+    public long contar() {
+        return tamano();
+    }
+
+    @Override
+    public long contarPorTipo(String tipo) {
+        return contar(r -> tipo != null && tipo.equals(r.getTipo()));
+    }
+
+    @Override
+    public List<Tarea> consultar(ConsultaTareas consulta) {
+        List<Tarea> tareas = new ArrayList<>();
+        for (Tarea tarea : buscar(r -> consulta.isIncluirCompletadas() || !r.estaCompletada(), RegistroTarea::toTarea)) {
+            if (consulta.cumple(tarea)) tareas.add(tarea);
+        }
+        return tareas;
+    }
+
+    // ===============================
+    // ESCRITURA
+    // ===============================
+
+    @Override
+    public void guardar(RegistroTarea registro) {
+        insertar(registro);
+    }
+
+    @Override
+    public boolean actualizarDatos(Tarea tarea) {
+        return modificar(tarea.getId(), r -> {
+            r.setDescripcion(tarea.getDescripcion());
+            r.setDepartamento(tarea.getDepartamento());
+            r.setUrgencia(tarea.getUrgencia());
+            r.setHorasEstimadas(tarea.getHorasEstimadas());
+            r.setEmpleadoAsignado(tarea.getEmpleadoAsignado());
+        });
+    }
+
+    @Override
+    public boolean actualizarPrioridad(String id, int prioridad, String fechaEntrega) {
+        return modificar(id, r -> {
+            r.setPrioridad(prioridad);
+            r.setFechaEntrega(fechaEntrega);
+        });
+    }
+
+    @Override
+    public boolean agregarDependencia(String id, String dependeDe) {
+        return modificar(id, r -> {
+            if (!r.getDependencias().contains(dependeDe)) {
+                r.getDependencias().add(dependeDe);
+            }
+        });
+    }
+
+    @Override
+    public boolean marcarCompletada(String id, long fechaCierre, String comentarios) {
+        return modificar(id, r -> {
+            r.setEstado(RegistroTarea.ESTADO_COMPLETADA);
+            r.setFechaCierre(fechaCierre);
+            r.setComentariosCierre(comentarios);
+        });
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        return super.eliminar(id);
+    }
+
+    @Override
+    public long maximoNumeroId(String prefijo) {
+        return super.maximoNumeroId(prefijo);
+    }
+
+    // ===============================
+    // FORMATO
+    // ===============================
+
+    @Override
+    RegistroTarea copiar(RegistroTarea valor) {
+        return valor.copia();
+    }
+
+    @Override
+    String idDe(RegistroTarea valor) {
+        return valor.getId();
+    }
+
+    @Override
+    void escribirRegistro(DataOutputStream salida, RegistroTarea r) throws IOException {
+        escribirTexto(salida, r.getId());
+        escribirTexto(salida, r.getDescripcion());
+        escribirTexto(salida, r.getDepartamento());
+        escribirTexto(salida, r.getUrgencia());
+        salida.writeInt(r.getHorasEstimadas());
+        escribirTexto(salida, r.getEmpleadoAsignado());
+        escribirTexto(salida, r.getTipo());
+        salida.writeInt(r.getPrioridad());
+        escribirTexto(salida, r.getFechaEntrega());
+        escribirTexto(salida, r.getEstado());
+        salida.writeLong(r.getFechaCierre());
+        escribirTexto(salida, r.getComentariosCierre());
+        salida.writeInt(r.getDependencias().size());
+        for (String dependencia : r.getDependencias()) {
+            escribirTexto(salida, dependencia);
+        }
+    }
+
+    @Override
+    RegistroTarea leerRegistro(DataInputStream entrada) throws IOException {
+        RegistroTarea r = new RegistroTarea();
+        r.setId(leerTexto(entrada));
+        r.setDescripcion(leerTexto(entrada));
+        r.setDepartamento(leerTexto(entrada));
+        r.setUrgencia(leerTexto(entrada));
+        r.setHorasEstimadas(entrada.readInt());
+        r.setEmpleadoAsignado(leerTexto(entrada));
+        r.setTipo(leerTexto(entrada));
+        r.setPrioridad(entrada.readInt());
+        r.setFechaEntrega(leerTexto(entrada));
+        r.setEstado(leerTexto(entrada));
+        r.setFechaCierre(entrada.readLong());
+        r.setComentariosCierre(leerTexto(entrada));
+        int dependencias = entrada.readInt();
+        for (int i = 0; i < dependencias; i++) {
+            r.getDependencias().add(leerTexto(entrada));
+        }
+        return r;
+    }
+}
@@ -0,0 +1,235 @@
+package com.techsolutions.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import com.techsolutions.model.Tarea;
+import com.techsolutions.services.ConsultaTareas;
+import com.techsolutions.util.CodecId;
+
+/**
+ * Repositorio de tareas sobre una colección de MongoDB. Mantiene el mismo
+ * formato de documento que el resto de la aplicación.
+ */
+public class TareaRepositoryMongo implements TareaRepository {
+
+    /** Proyección que solo trae el campo id */
+    private static final Bson SOLO_ID = Projections.fields(Projections.include("id"), Projections.excludeId());
+
+    private final MongoCollection<Document> coleccion;
+
+    public TareaRepositoryMongo(MongoCollection<Document> coleccion) {
+        this.coleccion = coleccion;
+    }
+
+    // ===============================
+    // LECTURA
+    // ===============================
+
+    @Override
+    public List<RegistroTarea> cargarTodas() {
+        return leer(coleccion.find());
+    }
+
+    @Override
+    public List<RegistroTarea> cargarPorTipo(String tipo) {
+        return leer(coleccion.find(Filters.eq("tipo", tipo)));
+    }
+
+    @Override
+    public RegistroTarea buscarPorId(String id) {
+        Document doc = coleccion.find(Filters.eq("id", id)).first();
+        return doc == null ? null : documentoARegistro(doc);
+    }
+
+    @Override
+    public long contar() {
+        return coleccion.countDocuments();
+    }
+
+    @Override
+    public long contarPorTipo(String tipo) {
+        return coleccion.countDocuments(Filters.eq("tipo", tipo));
+    }
+
+    /**
+     * Solo se trae el campo id de cada documento y se analiza sin expresiones
+     * regulares ni subcadenas
+     */
+    @Override
+    public long maximoNumeroId(String prefijo) {
+        long max = 0;
+        for (Document doc : coleccion.find().projection(SOLO_ID)) {
+            long numero = CodecId.numero(doc.getString("id"), prefijo);
+            if (numero > max) max = numero;
+        }
+        return max;
+    }
+
+    @Override
+    public List<Tarea> consultar(ConsultaTareas consulta) {
+        List<Tarea> tareas = new ArrayList<>();
+        for (Document doc : coleccion.find(construirFiltro(consulta))) {
+            if (doc.getString("id") != null) {
+                tareas.add(documentoARegistro(doc).toTarea());
+            }
+        }
+        return tareas;
+    }
+
+    private static List<RegistroTarea> leer(Iterable<Document> documentos) {
+        List<RegistroTarea> registros = new ArrayList<>();
+        for (Document doc : documentos) {
+            // Sin id no es una tarea de la aplicación
+            if (doc.getString("id") != null) {
+                registros.add(documentoARegistro(doc));
+            }
+        }
+        return registros;
+    }
+
+    // ===============================
+    // ESCRITURA
+    // ===============================
+
+    @Override
+    public void guardar(RegistroTarea registro) {
+        coleccion.insertOne(registroADocumento(registro));
+    }
+
+    @Override
+    public boolean actualizarDatos(Tarea tarea) {
+        return coleccion.updateOne(Filters.eq("id", tarea.getId()), Updates.combine(
+                Updates.set("descripcion", tarea.getDescripcion()),
+                Updates.set("departamento", tarea.getDepartamento()),
+                Updates.set("urgencia", tarea.getUrgencia()),
+                Updates.set("horasEstimadas", tarea.getHorasEstimadas()),
+                Updates.set("empleadoAsignado", tarea.getEmpleadoAsignado())
+        )).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean actualizarPrioridad(String id, int prioridad, String fechaEntrega) {
+        return coleccion.updateOne(Filters.eq("id", id), Updates.combine(
+                Updates.set("prioridad", prioridad),
+                Updates.set("fechaEntrega", fechaEntrega)
+        )).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean agregarDependencia(String id, String dependeDe) {
+        return coleccion.updateOne(Filters.eq("id", id), Updates.addToSet("dependencias", dependeDe))
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean marcarCompletada(String id, long fechaCierre, String comentarios) {
+        return coleccion.updateOne(Filters.eq("id", id), Updates.combine(
+                Updates.set("estado", RegistroTarea.ESTADO_COMPLETADA),
+                Updates.set("fechaCierre", fechaCierre),
+                Updates.set("comentariosCierre", comentarios)
+        )).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        return coleccion.deleteOne(Filters.eq("id", id)).getDeletedCount() > 0;
+    }
+
+    // ===============================
+    // CONVERSIÓN
+    // ===============================
+
+    private static Document registroADocumento(RegistroTarea r) {
+        Document doc = new Document("id", r.getId())
+                .append("descripcion", r.getDescripcion())
+                .append("departamento", r.getDepartamento())
+                .append("urgencia", r.getUrgencia())
+                .append("horasEstimadas", r.getHorasEstimadas())
+                .append("empleadoAsignado", r.getEmpleadoAsignado())
+                .append("tipo", r.getTipo())
+                .append("prioridad", r.getPrioridad())
+                .append("fechaEntrega", r.getFechaEntrega());
+        if (r.getEstado() != null) {
+            doc.append("estado", r.getEstado())
+               .append("fechaCierre", r.getFechaCierre())
+               .append("comentariosCierre", r.getComentariosCierre());
+        }
+        if (!r.getDependencias().isEmpty()) {
+            doc.append("dependencias", new ArrayList<>(r.getDependencias()));
+        }
+        return doc;
+    }
+
+    private static RegistroTarea documentoARegistro(Document doc) {
+        RegistroTarea r = new RegistroTarea();
+        r.setId(doc.getString("id"));
+        r.setDescripcion(doc.getString("descripcion"));
+        r.setDepartamento(doc.getString("departamento"));
+        r.setUrgencia(doc.getString("urgencia"));
+        r.setHorasEstimadas(doc.getInteger("horasEstimadas", 1));
+        String empleado = doc.getString("empleadoAsignado");
+        r.setEmpleadoAsignado(empleado != null && empleado.isEmpty() ? null : empleado);
+        r.setTipo(doc.getString("tipo"));
+        r.setPrioridad(doc.getInteger("prioridad", RegistroTarea.PRIORIDAD_PREDETERMINADA));
+        r.setFechaEntrega(doc.getString("fechaEntrega"));
+        r.setEstado(doc.getString("estado"));
+        Object cierre = doc.get("fechaCierre");
+        if (cierre instanceof Number) {
+            r.setFechaCierre(((Number) cierre).longValue());
+        }
+        r.setComentariosCierre(doc.getString("comentariosCierre"));
+
+        Object deps = doc.get("dependencias");
+        if (deps instanceof List<?>) {
+            List<String> dependencias = new ArrayList<>();
+            for (Object o : (List<?>) deps) {
+                if (o != null) dependencias.add(o.toString());
+            }
+            r.setDependencias(dependencias);
+        }
+        return r;
+    }
+
+    /**
+     * Traduce la consulta a un filtro de MongoDB
+     */
+    static Bson construirFiltro(ConsultaTareas c) {
+        List<Bson> filtros = new ArrayList<>();
+        // Departamento y urgencia pueden estar guardados con otras mayúsculas
+        if (c.getDepartamento() != null) filtros.add(igualSinMayusculas("departamento", c.getDepartamento()));
+        if (c.getUrgencia() != null) filtros.add(igualSinMayusculas("urgencia", c.getUrgencia()));
+        if (c.getEmpleadoAsignado() != null) {
+            if (c.getEmpleadoAsignado().isEmpty()) {
+                filtros.add(Filters.or(Filters.eq("empleadoAsignado", null), Filters.eq("empleadoAsignado", "")));
+            } else {
+                filtros.add(Filters.eq("empleadoAsignado", c.getEmpleadoAsignado()));
+            }
+        }
+        if (c.getHorasMinimas() != null) filtros.add(Filters.gte("horasEstimadas", c.getHorasMinimas()));
+        if (c.getHorasMaximas() != null) filtros.add(Filters.lte("horasEstimadas", c.getHorasMaximas()));
+        if (c.tieneCriteriosDePrioridad()) {
+            filtros.add(Filters.exists("fechaEntrega"));
+        }
+        if (c.getPrioridadMinima() != null) filtros.add(Filters.gte("prioridad", c.getPrioridadMinima()));
+        if (c.getPrioridadMaxima() != null) filtros.add(Filters.lte("prioridad", c.getPrioridadMaxima()));
+        // Las fechas se guardan como yyyy-MM-dd: el orden de texto coincide con el cronológico
+        if (c.getFechaEntregaDesde() != null) filtros.add(Filters.gte("fechaEntrega", c.getFechaEntregaDesde()));
+        if (c.getFechaEntregaHasta() != null) filtros.add(Filters.lte("fechaEntrega", c.getFechaEntregaHasta()));
+        if (!c.isIncluirCompletadas()) filtros.add(Filters.ne("estado", RegistroTarea.ESTADO_COMPLETADA));
+
+        return filtros.isEmpty() ? new Document() : Filters.and(filtros);
+    }
+
+    private static Bson igualSinMayusculas(String campo, String valor) {
+        return Filters.regex(campo, "^" + Pattern.quote(valor) + "$", "i");
+    }
+}
@@ -0,0 +1,178 @@
+package com.techsolutions.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.model.ValoresCanonicos;
+import com.techsolutions.util.Utilidades;
+
+/**
+ * Criterios combinados para consultar tareas con MotorConsultas.
+ *
+ * Todos los criterios son opcionales (null = sin restricción) y se combinan
+ * con AND. Los rangos son inclusivos. Los criterios de prioridad y fecha de
+ * entrega solo los cumplen tareas con prioridad (TareaPrioridad).
+ */
+public class ConsultaTareas {
+
+    /** Valor de empleadoAsignado para buscar tareas sin asignar */
+    public static final String SIN_ASIGNAR = "";
+
+    private String departamento;
+    private String urgencia;
+    private Integer prioridadMinima;
+    private Integer prioridadMaxima;
+    private String fechaEntregaDesde;
+    private String fechaEntregaHasta;
+    private String empleadoAsignado;
+    private Integer horasMinimas;
+    private Integer horasMaximas;
+    private boolean incluirCompletadas;
+
+    // ===============================
+    // EVALUACIÓN
+    // ===============================
+
+    /**
+     * Indica si una tarea cumple todos los criterios
+     */
+    public boolean cumple(Tarea tarea) {
+        if (departamento != null && tarea.getDepartamento() != departamento) return false;
+        if (urgencia != null && tarea.getUrgencia() != urgencia) return false;
+        if (empleadoAsignado != null && !empleadoAsignado.equals(normalizarEmpleado(tarea.getEmpleadoAsignado()))) return false;
+        if (horasMinimas != null && tarea.getHorasEstimadas() < horasMinimas) return false;
+        if (horasMaximas != null && tarea.getHorasEstimadas() > horasMaximas) return false;
+
+        if (tieneCriteriosDePrioridad()) {
+            if (!(tarea instanceof TareaPrioridad)) return false;
+            TareaPrioridad tp = (TareaPrioridad) tarea;
+            if (prioridadMinima != null && tp.getPrioridad() < prioridadMinima) return false;
+            if (prioridadMaxima != null && tp.getPrioridad() > prioridadMaxima) return false;
+            int dia = tp.getDiaEntrega();
+            if (fechaEntregaDesde != null && (dia == Utilidades.SIN_FECHA || dia < getDiaDesde())) return false;
+            if (fechaEntregaHasta != null && (dia == Utilidades.SIN_FECHA || dia > getDiaHasta())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Indica si hay algún criterio que exige que la tarea tenga prioridad
+     */
+    public boolean tieneCriteriosDePrioridad() {
+        return prioridadMinima != null || prioridadMaxima != null
+                || fechaEntregaDesde != null || fechaEntregaHasta != null;
+    }
+
+    public boolean estaVacia() {
+        return departamento == null && urgencia == null && empleadoAsignado == null
+                && horasMinimas == null && horasMaximas == null && !tieneCriteriosDePrioridad();
+    }
+
+    static String normalizarEmpleado(String empleado) {
+        return empleado == null ? SIN_ASIGNAR : empleado.trim();
+    }
+
+    int getDiaDesde() {
+        return Utilidades.convertirADiaEpoch(fechaEntregaDesde);
+    }
+
+    int getDiaHasta() {
+        return Utilidades.convertirADiaEpoch(fechaEntregaHasta);
+    }
+
+    // ===============================
+    // GETTERS Y SETTERS
+    // ===============================
+
+    public String getDepartamento() { return departamento; }
+
+    /** Departamento exacto (sin distinguir mayúsculas); null o vacío = cualquiera */
+    public void setDepartamento(String departamento) {
+        this.departamento = vacioANull(ValoresCanonicos.buscarDepartamento(departamento));
+    }
+
+    public String getUrgencia() { return urgencia; }
+
+    /** Urgencia exacta (sin distinguir mayúsculas); null o vacío = cualquiera */
+    public void setUrgencia(String urgencia) {
+        this.urgencia = vacioANull(ValoresCanonicos.buscarUrgencia(urgencia));
+    }
+
+    public Integer getPrioridadMinima() { return prioridadMinima; }
+    public void setPrioridadMinima(Integer prioridadMinima) { this.prioridadMinima = prioridadMinima; }
+
+    public Integer getPrioridadMaxima() { return prioridadMaxima; }
+    public void setPrioridadMaxima(Integer prioridadMaxima) { this.prioridadMaxima = prioridadMaxima; }
+
+    public String getFechaEntregaDesde() { return fechaEntregaDesde; }
+
+    /**
+     * @throws IllegalArgumentException si la fecha no tiene formato yyyy-MM-dd
+     */
+    public void setFechaEntregaDesde(String fecha) {
+        this.fechaEntregaDesde = validarFecha(fecha);
+    }
+
+    public String getFechaEntregaHasta() { return fechaEntregaHasta; }
+
+    /**
+     * @throws IllegalArgumentException si la fecha no tiene formato yyyy-MM-dd
+     */
+    public void setFechaEntregaHasta(String fecha) {
+        this.fechaEntregaHasta = validarFecha(fecha);
+    }
+
+    public String getEmpleadoAsignado() { return empleadoAsignado; }
+
+    /** ID del empleado; SIN_ASIGNAR para tareas sin empleado; null = cualquiera */
+    public void setEmpleadoAsignado(String empleadoAsignado) {
+        this.empleadoAsignado = empleadoAsignado == null ? null : empleadoAsignado.trim();
+    }
+
+    public Integer getHorasMinimas() { return horasMinimas; }
+    public void setHorasMinimas(Integer horasMinimas) { this.horasMinimas = horasMinimas; }
+
+    public Integer getHorasMaximas() { return horasMaximas; }
+    public void setHorasMaximas(Integer horasMaximas) { this.horasMaximas = horasMaximas; }
+
+    public boolean isIncluirCompletadas() { return incluirCompletadas; }
+
+    /** Incluir tareas ya completadas; solo están en MongoDB, así que obliga a consultar la base */
+    public void setIncluirCompletadas(boolean incluirCompletadas) { this.incluirCompletadas = incluirCompletadas; }
+
+    private static String vacioANull(String valor) {
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+
+    private static String validarFecha(String fecha) {
+        if (fecha == null || fecha.trim().isEmpty()) return null;
+        String recortada = fecha.trim();
+        if (!Utilidades.validarFormatoFecha(recortada)) {
+            throw new IllegalArgumentException("Fecha inválida (use yyyy-MM-dd): " + fecha);
+        }
+        return recortada;
+    }
+
+    /**
+     * Descripción legible de los criterios, usada en la explicación del plan
+     */
+    @Override
+    public String toString() {
+        List<String> partes = new ArrayList<>();
+        if (departamento != null) partes.add("departamento = '" + departamento + "'");
+        if (urgencia != null) partes.add("urgencia = '" + urgencia + "'");
+        if (prioridadMinima != null) partes.add("prioridad >= " + prioridadMinima);
+        if (prioridadMaxima != null) partes.add("prioridad <= " + prioridadMaxima);
+        if (fechaEntregaDesde != null) partes.add("fechaEntrega >= " + fechaEntregaDesde);
+        if (fechaEntregaHasta != null) partes.add("fechaEntrega <= " + fechaEntregaHasta);
+        if (empleadoAsignado != null) {
+            partes.add(empleadoAsignado.isEmpty() ? "sin empleado asignado" : "empleado = '" + empleadoAsignado + "'");
+        }
+        if (horasMinimas != null) partes.add("horas >= " + horasMinimas);
+        if (horasMaximas != null) partes.add("horas <= " + horasMaximas);
+        if (incluirCompletadas) partes.add("incluye completadas");
+        return partes.isEmpty() ? "(todas las tareas)" : String.join(" AND ", partes);
+    }
+}
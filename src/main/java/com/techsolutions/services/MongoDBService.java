@@ -16,6 +16,7 @@ import com.techsolutions.model.ArbolEmpleados;
 import com.techsolutions.model.Empleado;
 import com.techsolutions.model.Tarea;
 import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.util.Bitacora;
 
 /**
  * Servicio especializado para manejar todas las operaciones de MongoDB
@@ -40,6 +41,8 @@ import com.techsolutions.model.TareaPrioridad;
  * @since 2025-09-21
  */
 public class MongoDBService {
+
+    private static final Bitacora BITACORA = Bitacora.de("mongodb");
     
     // ===============================
     // ATRIBUTOS DE CONEXIÓN
@@ -90,10 +93,10 @@ public class MongoDBService {
             tareasCollection.countDocuments();
             
             conexionEstablecida = true;
-            System.out.println("Conexión a MongoDB establecida correctamente");
+            BITACORA.info("Conexión a MongoDB establecida correctamente");
         } catch (Exception e) {
             conexionEstablecida = false;
-            System.err.println("Error al conectar con MongoDB: " + e.getMessage());
+            BITACORA.error("Error al conectar con MongoDB: {}", e.getMessage());
         }
     }
 
@@ -111,11 +114,11 @@ public class MongoDBService {
             tareasCollection.countDocuments();
             
             conexionEstablecida = true;
-            System.out.println("Conexión a MongoDB establecida correctamente");
+            BITACORA.info("Conexión a MongoDB establecida correctamente");
             return true;
         } catch (Exception e) {
             conexionEstablecida = false;
-            System.err.println("Error al conectar con MongoDB: " + e.getMessage());
+            BITACORA.error("Error al conectar con MongoDB: {}", e.getMessage());
             return false;
         }
     }
@@ -134,7 +137,7 @@ public class MongoDBService {
         if (mongoClient != null) {
             mongoClient.close();
             conexionEstablecida = false;
-            System.out.println("Conexión a MongoDB cerrada");
+            BITACORA.info("Conexión a MongoDB cerrada");
         }
     }
 
@@ -143,7 +146,7 @@ public class MongoDBService {
      */
     public boolean guardarTarea(Tarea tarea, String tipo) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -165,7 +168,7 @@ public class MongoDBService {
             tareasCollection.insertOne(doc);
             return true;
         } catch (Exception e) {
-            System.err.println("Error al guardar tarea en MongoDB: " + e.getMessage());
+            BITACORA.error("Error al guardar tarea en MongoDB: {}", e.getMessage());
             return false;
         }
     }
@@ -175,7 +178,7 @@ public class MongoDBService {
      */
     public boolean guardarTareaPrioridad(Tarea tarea, String tipo, int prioridad, String fechaEntrega) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -192,7 +195,7 @@ public class MongoDBService {
             tareasCollection.insertOne(doc);
             return true;
         } catch (Exception e) {
-            System.err.println("Error al guardar tarea con prioridad en MongoDB: " + e.getMessage());
+            BITACORA.error("Error al guardar tarea con prioridad en MongoDB: {}", e.getMessage());
             return false;
         }
     }
@@ -204,7 +207,7 @@ public class MongoDBService {
         List<Tarea> tareas = new ArrayList<>();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return tareas;
         }
 
@@ -216,7 +219,7 @@ public class MongoDBService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar tareas desde MongoDB: " + e.getMessage());
+            BITACORA.error("Error al cargar tareas desde MongoDB: {}", e.getMessage());
         }
 
         return tareas;
@@ -229,7 +232,7 @@ public class MongoDBService {
         List<Tarea> tareas = new ArrayList<>();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return tareas;
         }
 
@@ -241,7 +244,7 @@ public class MongoDBService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar tareas por tipo desde MongoDB: " + e.getMessage());
+            BITACORA.error("Error al cargar tareas por tipo desde MongoDB: {}", e.getMessage());
         }
 
         return tareas;
@@ -252,14 +255,14 @@ public class MongoDBService {
      */
     public boolean eliminarTarea(String id) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
         try {
             return tareasCollection.deleteOne(Filters.eq("id", id)).getDeletedCount() > 0;
         } catch (Exception e) {
-            System.err.println("Error al eliminar tarea desde MongoDB: " + e.getMessage());
+            BITACORA.error("Error al eliminar tarea desde MongoDB: {}", e.getMessage());
             return false;
         }
     }
@@ -269,7 +272,7 @@ public class MongoDBService {
      */
     public Tarea buscarTareaPorId(String id) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return null;
         }
 
@@ -277,7 +280,7 @@ public class MongoDBService {
             Document doc = tareasCollection.find(Filters.eq("id", id)).first();
             return doc != null ? documentToTarea(doc) : null;
         } catch (Exception e) {
-            System.err.println("Error al buscar tarea por ID: " + e.getMessage());
+            BITACORA.error("Error al buscar tarea por ID: {}", e.getMessage());
             return null;
         }
     }
@@ -287,7 +290,7 @@ public class MongoDBService {
      */
     public boolean guardarEmpleado(Empleado empleado) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -299,7 +302,7 @@ public class MongoDBService {
             empleadosCollection.insertOne(doc);
             return true;
         } catch (Exception e) {
-            System.err.println("Error al guardar empleado en MongoDB: " + e.getMessage());
+            BITACORA.error("Error al guardar empleado en MongoDB: {}", e.getMessage());
             return false;
         }
     }
@@ -311,7 +314,7 @@ public class MongoDBService {
         List<Empleado> empleados = new ArrayList<>();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return empleados;
         }
 
@@ -323,7 +326,7 @@ public class MongoDBService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar empleados desde MongoDB: " + e.getMessage());
+            BITACORA.error("Error al cargar empleados desde MongoDB: {}", e.getMessage());
         }
 
         return empleados;
@@ -336,7 +339,7 @@ public class MongoDBService {
         ArbolEmpleados arbol = new ArbolEmpleados();
         
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return arbol;
         }
 
@@ -348,7 +351,7 @@ public class MongoDBService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error al cargar empleados en árbol desde MongoDB: " + e.getMessage());
+            BITACORA.error("Error al cargar empleados en árbol desde MongoDB: {}", e.getMessage());
         }
 
         return arbol;
@@ -359,7 +362,7 @@ public class MongoDBService {
      */
     public boolean actualizarTarea(String id, Tarea tareaActualizada) {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return false;
         }
 
@@ -374,7 +377,7 @@ public class MongoDBService {
 
             return tareasCollection.updateOne(filter, updates).getModifiedCount() > 0;
         } catch (Exception e) {
-            System.err.println("Error al actualizar tarea: " + e.getMessage());
+            BITACORA.error("Error al actualizar tarea: {}", e.getMessage());
             return false;
         }
     }
@@ -384,7 +387,7 @@ public class MongoDBService {
      */
     public Document obtenerEstadisticasTareas() {
         if (!conexionEstablecida) {
-            System.err.println("No hay conexión con MongoDB");
+            BITACORA.error("No hay conexión con MongoDB");
             return new Document();
         }
 
@@ -399,7 +402,7 @@ public class MongoDBService {
                     .append("programadas", tareasProgramadas)
                     .append("departamento", tareasDepartamento);
         } catch (Exception e) {
-            System.err.println("Error al obtener estadísticas: " + e.getMessage());
+            BITACORA.error("Error al obtener estadísticas: {}", e.getMessage());
             return new Document();
         }
     }
@@ -425,7 +428,7 @@ public class MongoDBService {
                 return new Tarea(id, descripcion, departamento, urgencia, horasEstimadas);
             }
         } catch (Exception e) {
-            System.err.println("Error al convertir documento a tarea: " + e.getMessage());
+            BITACORA.error("Error al convertir documento a tarea: {}", e.getMessage());
             return null;
         }
     }
@@ -441,7 +444,7 @@ public class MongoDBService {
 
             return new Empleado(id, nombre, departamento);
         } catch (Exception e) {
-            System.err.println("Error al convertir documento a empleado: " + e.getMessage());
+            BITACORA.error("Error al convertir documento a empleado: {}", e.getMessage());
             return null;
         }
     }
@@ -459,7 +462,7 @@ public class MongoDBService {
             database.listCollectionNames().first();
             return true;
         } catch (Exception e) {
-            System.err.println("Error en prueba de conexión: " + e.getMessage());
+            BITACORA.error("Error en prueba de conexión: {}", e.getMessage());
             return false;
         }
     }
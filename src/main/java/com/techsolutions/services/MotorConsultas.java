@@ -0,0 +1,558 @@
+package com.techsolutions.services;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.repository.TareaRepository;
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.Utilidades;
+
+/**
+ * Motor de consultas multicriterio sobre las tareas activas.
+ *
+ * Mantiene índices secundarios en memoria:
+ * - Igualdad (hash): departamento, urgencia y empleado asignado.
+ * - Rango (árbol ordenado): horas estimadas, prioridad y fecha de entrega (día epoch).
+ *
+ * Para cada ConsultaTareas un planificador basado en costos estima cuántas
+ * tareas devuelve cada camino de acceso (cada índice aplicable, el recorrido
+ * completo y, si hay repositorio configurado, la consulta al almacenamiento),
+ * elige el más barato y evalúa el resto de criterios como filtro residual
+ * sobre sus candidatas. Las consultas que incluyen tareas completadas solo
+ * pueden resolverse en el repositorio, porque esas tareas ya no están en los
+ * índices.
+ *
+ * explicar() devuelve el plan con todas las alternativas y sus costos.
+ */
+public class MotorConsultas {
+
+    private static final Bitacora BITACORA = Bitacora.de("consultas");
+
+    // ===============================
+    // MODELO DE COSTOS
+    // ===============================
+
+    /** Costo de evaluar los criterios sobre una tarea candidata */
+    private static final double COSTO_EVALUAR = 1.0;
+
+    /** Costo de consultar un índice hash */
+    private static final double COSTO_BUSQUEDA_HASH = 1.0;
+
+    /** Costo de visitar una clave distinta en un índice de rango */
+    private static final double COSTO_CLAVE_RANGO = 2.0;
+
+    /** Costo fijo de una consulta al repositorio (viaje de red con MongoDB) */
+    private static final double COSTO_FIJO_REPOSITORIO = 20_000;
+
+    /** Costo de transferir y convertir un registro del repositorio */
+    private static final double COSTO_REGISTRO_REPOSITORIO = 25;
+
+    /** Camino de acceso a las tareas candidatas */
+    public enum TipoAcceso {
+        RECORRIDO_COMPLETO("Recorrido completo"),
+        INDICE_IGUALDAD("Índice de igualdad"),
+        INDICE_RANGO("Índice de rango"),
+        REPOSITORIO("Consulta al almacenamiento");
+
+        private final String descripcion;
+
+        TipoAcceso(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    // ===============================
+    // ÍNDICES
+    // ===============================
+
+    private final Map<String, Tarea> todas = new LinkedHashMap<>();
+    private final Map<String, Claves> clavesPorId = new HashMap<>();
+
+    private final Map<String, Map<String, Tarea>> porDepartamento = new HashMap<>();
+    private final Map<String, Map<String, Tarea>> porUrgencia = new HashMap<>();
+    private final Map<String, Map<String, Tarea>> porEmpleado = new HashMap<>();
+    private final TreeMap<Integer, Map<String, Tarea>> porHoras = new TreeMap<>();
+    private final TreeMap<Integer, Map<String, Tarea>> porPrioridad = new TreeMap<>();
+    private final TreeMap<Integer, Map<String, Tarea>> porFechaEntrega = new TreeMap<>();
+
+    private TareaRepository repositorio;
+
+    /**
+     * Repositorio para las consultas que se delegan al almacenamiento (puede ser null)
+     */
+    public void setRepositorio(TareaRepository repositorio) {
+        this.repositorio = repositorio;
+    }
+
+    // ===============================
+    // MANTENIMIENTO DE ÍNDICES
+    // ===============================
+
+    /**
+     * Indexa una tarea, o la reindexa si ya estaba (por ejemplo tras asignarle empleado)
+     */
+    public void agregar(Tarea tarea) {
+        if (tarea == null || tarea.getId() == null) return;
+        eliminar(tarea.getId());
+
+        Claves claves = new Claves(tarea);
+        todas.put(claves.id, tarea);
+        clavesPorId.put(claves.id, claves);
+
+        agregarEnBucket(porDepartamento, claves.departamento, tarea);
+        agregarEnBucket(porUrgencia, claves.urgencia, tarea);
+        agregarEnBucket(porEmpleado, claves.empleado, tarea);
+        agregarEnBucket(porHoras, claves.horas, tarea);
+        if (claves.prioridad != null) {
+            agregarEnBucket(porPrioridad, claves.prioridad, tarea);
+        }
+        if (claves.diaEntrega != null) {
+            agregarEnBucket(porFechaEntrega, claves.diaEntrega, tarea);
+        }
+    }
+
+    public void agregarTodas(Collection<? extends Tarea> tareas) {
+        for (Tarea tarea : tareas) {
+            agregar(tarea);
+        }
+    }
+
+    /**
+     * Quita una tarea de todos los índices
+     *
+     * @return true si estaba indexada
+     */
+    public boolean eliminar(String id) {
+        Claves claves = clavesPorId.remove(id);
+        if (claves == null) return false;
+
+        todas.remove(id);
+        quitarDeBucket(porDepartamento, claves.departamento, id);
+        quitarDeBucket(porUrgencia, claves.urgencia, id);
+        quitarDeBucket(porEmpleado, claves.empleado, id);
+        quitarDeBucket(porHoras, claves.horas, id);
+        if (claves.prioridad != null) {
+            quitarDeBucket(porPrioridad, claves.prioridad, id);
+        }
+        if (claves.diaEntrega != null) {
+            quitarDeBucket(porFechaEntrega, claves.diaEntrega, id);
+        }
+        return true;
+    }
+
+    public void limpiar() {
+        todas.clear();
+        clavesPorId.clear();
+        porDepartamento.clear();
+        porUrgencia.clear();
+        porEmpleado.clear();
+        porHoras.clear();
+        porPrioridad.clear();
+        porFechaEntrega.clear();
+    }
+
+    public int tamano() {
+        return todas.size();
+    }
+
+    private static <K> void agregarEnBucket(Map<K, Map<String, Tarea>> indice, K clave, Tarea tarea) {
+        if (clave == null) return;
+        indice.computeIfAbsent(clave, k -> new LinkedHashMap<>()).put(tarea.getId(), tarea);
+    }
+
+    private static <K> void quitarDeBucket(Map<K, Map<String, Tarea>> indice, K clave, String id) {
+        if (clave == null) return;
+        Map<String, Tarea> bucket = indice.get(clave);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                indice.remove(clave);
+            }
+        }
+    }
+
+    // ===============================
+    // PLANIFICACIÓN
+    // ===============================
+
+    /**
+     * Calcula el plan de una consulta sin ejecutarla
+     */
+    public PlanConsulta planificar(ConsultaTareas consulta) {
+        return planificar(consulta, repositorio != null);
+    }
+
+    private PlanConsulta planificar(ConsultaTareas consulta, boolean usarRepositorio) {
+        Map<String, String> criterios = describirCriterios(consulta);
+        List<RutaAcceso> alternativas = new ArrayList<>();
+        String nota = null;
+
+        boolean soloRepositorio = consulta.isIncluirCompletadas();
+        if (!soloRepositorio || !usarRepositorio) {
+            agregarRutasEnMemoria(consulta, alternativas);
+        }
+        if (usarRepositorio) {
+            // El repositorio devuelve aproximadamente lo mismo que el mejor índice en memoria
+            long estimadas = alternativas.isEmpty() ? todas.size() : minimoEstimado(alternativas);
+            alternativas.add(new RutaAcceso(TipoAcceso.REPOSITORIO, null, "filtro completo en el almacenamiento",
+                    estimadas, COSTO_FIJO_REPOSITORIO + estimadas * COSTO_REGISTRO_REPOSITORIO, null));
+        }
+        if (soloRepositorio && !usarRepositorio) {
+            nota = "Almacenamiento no disponible: solo se consultan las tareas activas en memoria";
+        }
+
+        RutaAcceso elegida = alternativas.get(0);
+        for (RutaAcceso ruta : alternativas) {
+            if (ruta.costo < elegida.costo) {
+                elegida = ruta;
+            }
+        }
+        if (soloRepositorio && usarRepositorio) {
+            nota = "La consulta incluye tareas completadas, que solo están en el almacenamiento";
+        }
+
+        // El filtro residual son los criterios que el camino elegido no resuelve
+        List<String> residual = new ArrayList<>();
+        if (elegida.tipo != TipoAcceso.REPOSITORIO) {
+            for (Map.Entry<String, String> criterio : criterios.entrySet()) {
+                if (!criterio.getKey().equals(elegida.campo)) {
+                    residual.add(criterio.getValue());
+                }
+            }
+        }
+        return new PlanConsulta(consulta, alternativas, elegida, residual, todas.size(), nota);
+    }
+
+    private void agregarRutasEnMemoria(ConsultaTareas consulta, List<RutaAcceso> rutas) {
+        int total = todas.size();
+        rutas.add(new RutaAcceso(TipoAcceso.RECORRIDO_COMPLETO, null, "todas las tareas activas",
+                total, total * COSTO_EVALUAR, todas.values()));
+
+        agregarRutaIgualdad(rutas, "departamento", porDepartamento, consulta.getDepartamento());
+        agregarRutaIgualdad(rutas, "urgencia", porUrgencia, consulta.getUrgencia());
+        agregarRutaIgualdad(rutas, "empleado", porEmpleado, consulta.getEmpleadoAsignado());
+
+        agregarRutaRango(rutas, "horas", porHoras, consulta.getHorasMinimas(), consulta.getHorasMaximas(),
+                consulta.getHorasMinimas(), consulta.getHorasMaximas());
+        agregarRutaRango(rutas, "prioridad", porPrioridad, consulta.getPrioridadMinima(), consulta.getPrioridadMaxima(),
+                consulta.getPrioridadMinima(), consulta.getPrioridadMaxima());
+        agregarRutaRango(rutas, "fechaEntrega", porFechaEntrega,
+                consulta.getFechaEntregaDesde() == null ? null : consulta.getDiaDesde(),
+                consulta.getFechaEntregaHasta() == null ? null : consulta.getDiaHasta(),
+                consulta.getFechaEntregaDesde(), consulta.getFechaEntregaHasta());
+    }
+
+    private static void agregarRutaIgualdad(List<RutaAcceso> rutas, String campo,
+            Map<String, Map<String, Tarea>> indice, String valor) {
+        if (valor == null) return;
+        Map<String, Tarea> bucket = indice.getOrDefault(valor, Collections.emptyMap());
+        String descripcion = valor.isEmpty() ? campo + " sin asignar" : campo + " = '" + valor + "'";
+        rutas.add(new RutaAcceso(TipoAcceso.INDICE_IGUALDAD, campo, descripcion, bucket.size(),
+                COSTO_BUSQUEDA_HASH + bucket.size() * COSTO_EVALUAR, bucket.values()));
+    }
+
+    private static void agregarRutaRango(List<RutaAcceso> rutas, String campo,
+            TreeMap<Integer, Map<String, Tarea>> indice, Integer desde, Integer hasta,
+            Object textoDesde, Object textoHasta) {
+        if (desde == null && hasta == null) return;
+        NavigableMap<Integer, Map<String, Tarea>> rango;
+        if (desde != null && hasta != null) {
+            rango = desde > hasta ? Collections.emptyNavigableMap() : indice.subMap(desde, true, hasta, true);
+        } else if (desde != null) {
+            rango = indice.tailMap(desde, true);
+        } else {
+            rango = indice.headMap(hasta, true);
+        }
+
+        long estimadas = 0;
+        List<Collection<Tarea>> partes = new ArrayList<>(rango.size());
+        for (Map<String, Tarea> bucket : rango.values()) {
+            estimadas += bucket.size();
+            partes.add(bucket.values());
+        }
+        String descripcion = campo + " en [" + (textoDesde == null ? "-∞" : textoDesde) + ", "
+                + (textoHasta == null ? "∞" : textoHasta) + "] (" + rango.size() + " claves)";
+        rutas.add(new RutaAcceso(TipoAcceso.INDICE_RANGO, campo, descripcion, estimadas,
+                rango.size() * COSTO_CLAVE_RANGO + estimadas * COSTO_EVALUAR, new Concatenacion(partes)));
+    }
+
+    private static long minimoEstimado(List<RutaAcceso> rutas) {
+        long minimo = Long.MAX_VALUE;
+        for (RutaAcceso ruta : rutas) {
+            minimo = Math.min(minimo, ruta.filasEstimadas);
+        }
+        return minimo;
+    }
+
+    /**
+     * Criterios de la consulta agrupados por el campo del índice que los resuelve
+     */
+    private static Map<String, String> describirCriterios(ConsultaTareas c) {
+        Map<String, String> criterios = new LinkedHashMap<>();
+        if (c.getDepartamento() != null) criterios.put("departamento", "departamento = '" + c.getDepartamento() + "'");
+        if (c.getUrgencia() != null) criterios.put("urgencia", "urgencia = '" + c.getUrgencia() + "'");
+        if (c.getEmpleadoAsignado() != null) {
+            criterios.put("empleado", c.getEmpleadoAsignado().isEmpty()
+                    ? "sin empleado asignado" : "empleado = '" + c.getEmpleadoAsignado() + "'");
+        }
+        if (c.getHorasMinimas() != null || c.getHorasMaximas() != null) {
+            criterios.put("horas", rango("horas", c.getHorasMinimas(), c.getHorasMaximas()));
+        }
+        if (c.getPrioridadMinima() != null || c.getPrioridadMaxima() != null) {
+            criterios.put("prioridad", rango("prioridad", c.getPrioridadMinima(), c.getPrioridadMaxima()));
+        }
+        if (c.getFechaEntregaDesde() != null || c.getFechaEntregaHasta() != null) {
+            criterios.put("fechaEntrega", rango("fechaEntrega", c.getFechaEntregaDesde(), c.getFechaEntregaHasta()));
+        }
+        return criterios;
+    }
+
+    private static String rango(String campo, Object desde, Object hasta) {
+        if (desde != null && hasta != null) return campo + " entre " + desde + " y " + hasta;
+        return desde != null ? campo + " >= " + desde : campo + " <= " + hasta;
+    }
+
+    // ===============================
+    // EJECUCIÓN
+    // ===============================
+
+    /**
+     * Planifica y ejecuta una consulta
+     */
+    public ResultadoConsulta ejecutar(ConsultaTareas consulta) {
+        long inicio = System.nanoTime();
+        PlanConsulta plan = planificar(consulta);
+
+        List<Tarea> tareas = new ArrayList<>();
+        long examinadas = 0;
+        if (plan.elegida.tipo == TipoAcceso.REPOSITORIO) {
+            try {
+                for (Tarea tarea : repositorio.consultar(consulta)) {
+                    examinadas++;
+                    if (consulta.cumple(tarea)) {
+                        tareas.add(tarea);
+                    }
+                }
+            } catch (Exception e) {
+                BITACORA.aviso("Error al consultar el almacenamiento, se usa la memoria: {}", e.getMessage());
+                plan = planificar(consulta, false);
+                tareas.clear();
+                examinadas = 0;
+            }
+        }
+        if (plan.elegida.tipo != TipoAcceso.REPOSITORIO) {
+            for (Tarea tarea : plan.elegida.candidatas) {
+                examinadas++;
+                if (consulta.cumple(tarea)) {
+                    tareas.add(tarea);
+                }
+            }
+        }
+        return new ResultadoConsulta(tareas, plan, examinadas, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Devuelve el plan de la consulta como texto
+     */
+    public String explicar(ConsultaTareas consulta) {
+        return planificar(consulta).explicar();
+    }
+
+    // ===============================
+    // CLASES AUXILIARES
+    // ===============================
+
+    /**
+     * Valores con que se indexó una tarea, para poder quitarla aunque haya cambiado
+     */
+    private static final class Claves {
+        final String id;
+        final String departamento;
+        final String urgencia;
+        final String empleado;
+        final Integer horas;
+        final Integer prioridad;
+        final Integer diaEntrega;
+
+        Claves(Tarea tarea) {
+            id = tarea.getId();
+            departamento = tarea.getDepartamento();
+            urgencia = tarea.getUrgencia();
+            empleado = ConsultaTareas.normalizarEmpleado(tarea.getEmpleadoAsignado());
+            horas = tarea.getHorasEstimadas();
+            if (tarea instanceof TareaPrioridad) {
+                TareaPrioridad tp = (TareaPrioridad) tarea;
+                prioridad = tp.getPrioridad();
+                diaEntrega = tp.getDiaEntrega() == Utilidades.SIN_FECHA ? null : tp.getDiaEntrega();
+            } else {
+                prioridad = null;
+                diaEntrega = null;
+            }
+        }
+    }
+
+    /**
+     * Recorre varias colecciones seguidas sin copiarlas
+     */
+    private static final class Concatenacion extends AbstractCollection<Tarea> {
+        private final List<Collection<Tarea>> partes;
+        private final int tamano;
+
+        Concatenacion(List<Collection<Tarea>> partes) {
+            this.partes = partes;
+            int suma = 0;
+            for (Collection<Tarea> parte : partes) {
+                suma += parte.size();
+            }
+            this.tamano = suma;
+        }
+
+        @Override
+        public Iterator<Tarea> iterator() {
+            return partes.stream().flatMap(Collection::stream).iterator();
+        }
+
+        @Override
+        public int size() {
+            return tamano;
+        }
+    }
+
+    /**
+     * Un camino de acceso posible con su estimación de filas y costo
+     */
+    public static final class RutaAcceso {
+        private final TipoAcceso tipo;
+        private final String campo;
+        private final String descripcion;
+        private final long filasEstimadas;
+        private final double costo;
+        private final Collection<Tarea> candidatas;
+
+        RutaAcceso(TipoAcceso tipo, String campo, String descripcion, long filasEstimadas, double costo,
+                Collection<Tarea> candidatas) {
+            this.tipo = tipo;
+            this.campo = campo;
+            this.descripcion = descripcion;
+            this.filasEstimadas = filasEstimadas;
+            this.costo = costo;
+            this.candidatas = candidatas;
+        }
+
+        public TipoAcceso getTipo() { return tipo; }
+        public String getDescripcion() { return descripcion; }
+        public long getFilasEstimadas() { return filasEstimadas; }
+        public double getCosto() { return costo; }
+
+        @Override
+        public String toString() {
+            return tipo.getDescripcion() + ": " + descripcion + " (filas estimadas: " + filasEstimadas
+                    + ", costo: " + String.format("%.1f", costo) + ")";
+        }
+    }
+
+    /**
+     * Plan de ejecución elegido y alternativas evaluadas
+     */
+    public static final class PlanConsulta {
+        private final ConsultaTareas consulta;
+        private final List<RutaAcceso> alternativas;
+        private final RutaAcceso elegida;
+        private final List<String> filtroResidual;
+        private final int tareasEnMemoria;
+        private final String nota;
+
+        PlanConsulta(ConsultaTareas consulta, List<RutaAcceso> alternativas, RutaAcceso elegida,
+                List<String> filtroResidual, int tareasEnMemoria, String nota) {
+            this.consulta = consulta;
+            this.alternativas = alternativas;
+            this.elegida = elegida;
+            this.filtroResidual = filtroResidual;
+            this.tareasEnMemoria = tareasEnMemoria;
+            this.nota = nota;
+        }
+
+        public RutaAcceso getElegida() { return elegida; }
+        public List<RutaAcceso> getAlternativas() { return Collections.unmodifiableList(alternativas); }
+        public List<String> getFiltroResidual() { return Collections.unmodifiableList(filtroResidual); }
+
+        /**
+         * Texto del plan, al estilo de EXPLAIN
+         */
+        public String explicar() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Consulta: ").append(consulta).append('\n');
+            sb.append("Tareas activas en memoria: ").append(tareasEnMemoria).append('\n');
+            if (nota != null) {
+                sb.append("Nota: ").append(nota).append('\n');
+            }
+            sb.append("Plan elegido: ").append(elegida).append('\n');
+            if (elegida.tipo == TipoAcceso.REPOSITORIO) {
+                sb.append("Filtro residual: ninguno (todos los criterios se evalúan en el almacenamiento)\n");
+            } else {
+                sb.append("Filtro residual: ")
+                  .append(filtroResidual.isEmpty() ? "ninguno" : String.join(" AND ", filtroResidual))
+                  .append('\n');
+            }
+            sb.append("Alternativas consideradas:\n");
+            List<RutaAcceso> ordenadas = new ArrayList<>(alternativas);
+            ordenadas.sort((a, b) -> Double.compare(a.costo, b.costo));
+            for (RutaAcceso ruta : ordenadas) {
+                sb.append(ruta == elegida ? "  -> " : "     ").append(ruta).append('\n');
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return explicar();
+        }
+    }
+
+    /**
+     * Tareas encontradas junto con el plan usado y estadísticas de ejecución
+     */
+    public static final class ResultadoConsulta {
+        private final List<Tarea> tareas;
+        private final PlanConsulta plan;
+        private final long examinadas;
+        private final long tiempoNs;
+
+        ResultadoConsulta(List<Tarea> tareas, PlanConsulta plan, long examinadas, long tiempoNs) {
+            this.tareas = tareas;
+            this.plan = plan;
+            this.examinadas = examinadas;
+            this.tiempoNs = tiempoNs;
+        }
+
+        public List<Tarea> getTareas() { return tareas; }
+        public PlanConsulta getPlan() { return plan; }
+        public long getExaminadas() { return examinadas; }
+        public double getTiempoMs() { return tiempoNs / 1_000_000.0; }
+
+        /**
+         * Plan más los datos reales de la ejecución
+         */
+        public String explicar() {
+            return plan.explicar()
+                    + "Ejecución: " + tareas.size() + " tareas devueltas, " + examinadas
+                    + " examinadas (estimadas " + plan.elegida.filasEstimadas + "), "
+                    + String.format("%.2f ms", getTiempoMs()) + "\n";
+        }
+    }
+}
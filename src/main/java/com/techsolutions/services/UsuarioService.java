@@ -5,14 +5,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.techsolutions.db.MongoDBManager;
 import com.techsolutions.model.Empleado;
 import com.techsolutions.model.Usuario;
+import com.techsolutions.model.ValoresCanonicos;
+import com.techsolutions.repository.Repositorios;
+import com.techsolutions.util.Bitacora;
+import com.techsolutions.util.RegistroMetricas;
 
 /**
  * Servicio para gestionar usuarios y autenticación del sistema
  */
 public class UsuarioService {
+
+    private static final Bitacora BITACORA = Bitacora.de("usuarios");
     
     private static UsuarioService instance;
     private Map<String, Usuario> usuarios;
@@ -58,22 +63,21 @@ public class UsuarioService {
      */
     private void crearCuentasParaEmpleadosDeDB() {
         try {
-            MongoDBManager dbManager = MongoDBManager.getInstance();
-            List<Empleado> empleadosDB = dbManager.obtenerTodosLosEmpleados();
+            List<Empleado> empleadosDB = Repositorios.getInstance().getEmpleados().cargarTodos();
+            BITACORA.info("Cargados {} empleados", empleadosDB.size());
             
             // Agrupar empleados por departamento
             Map<String, List<Empleado>> empleadosPorDepartamento = agruparPorDepartamento(empleadosDB);
             
             int cuentasCreadas = 0;
             int jefesAsignados = 0;
-            System.out.println("Iniciando creacion automatica de cuentas...");
-            System.out.println("Departamentos encontrados: " + empleadosPorDepartamento.size());
+            BITACORA.debug("Iniciando creacion automatica de cuentas para {} departamentos", empleadosPorDepartamento.size());
             
             for (Map.Entry<String, List<Empleado>> entry : empleadosPorDepartamento.entrySet()) {
                 String departamento = entry.getKey();
                 List<Empleado> empleadosDept = entry.getValue();
                 
-                System.out.println("\nProcesando departamento: " + departamento + " (" + empleadosDept.size() + " empleados)");
+                BITACORA.debug("Procesando departamento: {} ({} empleados)", departamento, empleadosDept.size());
                 
                 // Designar el primer empleado como jefe de departamento
                 boolean jefeAsignado = false;
@@ -91,10 +95,10 @@ public class UsuarioService {
                             rol = Usuario.Rol.JEFE_DEPARTAMENTO;
                             jefeAsignado = true;
                             jefesAsignados++;
-                            System.out.println("  *** JEFE: " + empleado.getNombre() + " | Usuario: " + username + " | Contraseña: " + password + " ***");
+                            BITACORA.debug("Jefe de {}: {} (usuario {})", departamento, empleado.getNombre(), username);
                         } else {
                             rol = Usuario.Rol.EMPLEADO;
-                            System.out.println("  EMPLEADO: " + empleado.getNombre() + " | Usuario: " + username + " | Contraseña: " + password);
+                            BITACORA.debug("Empleado de {}: {} (usuario {})", departamento, empleado.getNombre(), username);
                         }
                         
                         Usuario nuevoUsuario = new Usuario(username, password, rol, departamento);
@@ -109,14 +113,11 @@ public class UsuarioService {
                 }
             }
             
-            System.out.println("\n=== RESUMEN DE CREACION DE CUENTAS ===");
-            System.out.println("Total de cuentas creadas: " + cuentasCreadas);
-            System.out.println("Jefes de departamento asignados: " + jefesAsignados);
-            System.out.println("Departamentos procesados: " + empleadosPorDepartamento.size());
-            System.out.println("==========================================\n");
+            BITACORA.info("Cuentas creadas: {} ({} jefes de departamento) en {} departamentos",
+                    cuentasCreadas, jefesAsignados, empleadosPorDepartamento.size());
             
         } catch (Exception e) {
-            System.err.println("Error al crear cuentas automaticas: " + e.getMessage());
+            BITACORA.error("Error al crear cuentas automaticas: {}", e.getMessage());
         }
     }
     
@@ -164,15 +165,24 @@ public class UsuarioService {
     }
     
     /**
-     * Autentica un usuario con username y password
+     * Autentica un usuario con username y password. Mide la latencia en
+     * login.autenticar y cuenta los intentos en login.exitosos o login.fallidos
      */
     public Usuario autenticar(String username, String password) {
-        Usuario usuario = usuarios.get(username);
-        if (usuario != null && usuario.validarCredenciales(username, password)) {
-            this.usuarioActual = usuario;
-            return usuario;
+        RegistroMetricas metricas = RegistroMetricas.getInstance();
+        long inicio = System.nanoTime();
+        try {
+            Usuario usuario = usuarios.get(username);
+            if (usuario != null && usuario.validarCredenciales(username, password)) {
+                this.usuarioActual = usuario;
+                metricas.incrementar("login.exitosos");
+                return usuario;
+            }
+            metricas.incrementar("login.fallidos");
+            return null;
+        } finally {
+            metricas.registrarDesde("login.autenticar", inicio);
         }
-        return null;
     }
     
     /**
@@ -225,8 +235,9 @@ public class UsuarioService {
      */
     public List<Usuario> obtenerUsuariosPorDepartamento(String departamento) {
         List<Usuario> resultado = new ArrayList<>();
+        String departamentoCanonico = ValoresCanonicos.buscarDepartamento(departamento);
         for (Usuario usuario : usuarios.values()) {
-            if (departamento.equals(usuario.getDepartamento())) {
+            if (departamentoCanonico == usuario.getDepartamento()) {
                 resultado.add(usuario);
             }
         }
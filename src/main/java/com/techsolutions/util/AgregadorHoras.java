@@ -0,0 +1,381 @@
+package com.techsolutions.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+import com.techsolutions.model.DiccionarioValores;
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.ValoresCanonicos;
+
+/**
+ * Agregados de horas estimadas: total, promedio, mínimo, máximo y percentiles,
+ * globales o agrupados por departamento.
+ *
+ * La versión iterativa recorre cualquier Iterable con su iterador (sin get(i),
+ * así una LinkedList cuesta O(n) y no O(n²)) y no usa recursión por tarea. La
+ * versión paralela toma una copia en arreglo y la reparte con fork-join. Para
+ * fuentes en streaming están el colector y el acumulador Estadisticas, que se
+ * alimenta valor a valor y se puede combinar con otros.
+ *
+ * Los percentiles son exactos: las horas se cuentan en un histograma (las
+ * horas válidas van de 1 a 999) y los valores fuera de él se guardan aparte.
+ */
+public final class AgregadorHoras {
+
+    /** Tamaño de tramo por encima del cual la versión paralela divide el trabajo */
+    public static final int UMBRAL_PARALELO = 1 << 14;
+
+    /** Valores de horas [0, LIMITE_HISTOGRAMA) que se cuentan en el histograma */
+    private static final int LIMITE_HISTOGRAMA = 1000;
+
+    private AgregadorHoras() {
+    }
+
+    // ===============================
+    // ITERATIVO
+    // ===============================
+
+    /**
+     * Calcula los agregados de una o varias fuentes como si fueran una sola
+     */
+    @SafeVarargs
+    public static Estadisticas calcular(Iterable<? extends Tarea>... fuentes) {
+        Estadisticas estadisticas = new Estadisticas();
+        for (Iterable<? extends Tarea> fuente : fuentes) {
+            for (Tarea tarea : fuente) {
+                estadisticas.agregar(tarea.getHorasEstimadas());
+            }
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Consume un iterador (por ejemplo, un cursor de base de datos)
+     */
+    public static Estadisticas calcular(Iterator<? extends Tarea> iterador) {
+        Estadisticas estadisticas = new Estadisticas();
+        while (iterador.hasNext()) {
+            estadisticas.agregar(iterador.next().getHorasEstimadas());
+        }
+        return estadisticas;
+    }
+
+    @SafeVarargs
+    public static Map<String, Estadisticas> porDepartamento(Iterable<? extends Tarea>... fuentes) {
+        Grupos grupos = new Grupos();
+        for (Iterable<? extends Tarea> fuente : fuentes) {
+            for (Tarea tarea : fuente) {
+                grupos.agregar(tarea);
+            }
+        }
+        return grupos.aMapa();
+    }
+
+    // ===============================
+    // PARALELO (FORK-JOIN)
+    // ===============================
+
+    @SafeVarargs
+    public static Estadisticas calcularParalelo(Collection<? extends Tarea>... fuentes) {
+        Object[] tareas = copiar(fuentes);
+        if (tareas.length <= UMBRAL_PARALELO) {
+            return sumarTramo(tareas, 0, tareas.length);
+        }
+        return ForkJoinPool.commonPool().invoke(new TareaTotales(tareas, 0, tareas.length));
+    }
+
+    @SafeVarargs
+    public static Map<String, Estadisticas> porDepartamentoParalelo(Collection<? extends Tarea>... fuentes) {
+        Object[] tareas = copiar(fuentes);
+        Grupos grupos = tareas.length <= UMBRAL_PARALELO
+                ? agruparTramo(tareas, 0, tareas.length)
+                : ForkJoinPool.commonPool().invoke(new TareaGrupos(tareas, 0, tareas.length));
+        return grupos.aMapa();
+    }
+
+    // ===============================
+    // STREAMS
+    // ===============================
+
+    /**
+     * Colector para Stream&lt;Tarea&gt;; admite streams paralelos
+     */
+    public static Collector<Tarea, Estadisticas, Estadisticas> colector() {
+        return Collector.of(Estadisticas::new,
+                (e, tarea) -> e.agregar(tarea.getHorasEstimadas()),
+                Estadisticas::combinar,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    // ===============================
+    // IMPLEMENTACIÓN
+    // ===============================
+
+    /**
+     * Copia las fuentes a un único arreglo con toArray, que es O(n) también
+     * para listas enlazadas y toma una instantánea consistente de un Stack
+     */
+    @SafeVarargs
+    private static Object[] copiar(Collection<? extends Tarea>... fuentes) {
+        if (fuentes.length == 1) return fuentes[0].toArray();
+
+        Object[][] partes = new Object[fuentes.length][];
+        int total = 0;
+        for (int i = 0; i < fuentes.length; i++) {
+            partes[i] = fuentes[i].toArray();
+            total += partes[i].length;
+        }
+        Object[] tareas = new Object[total];
+        int pos = 0;
+        for (Object[] parte : partes) {
+            System.arraycopy(parte, 0, tareas, pos, parte.length);
+            pos += parte.length;
+        }
+        return tareas;
+    }
+
+    private static Estadisticas sumarTramo(Object[] tareas, int desde, int hasta) {
+        Estadisticas estadisticas = new Estadisticas();
+        for (int i = desde; i < hasta; i++) {
+            estadisticas.agregar(((Tarea) tareas[i]).getHorasEstimadas());
+        }
+        return estadisticas;
+    }
+
+    private static Grupos agruparTramo(Object[] tareas, int desde, int hasta) {
+        Grupos grupos = new Grupos();
+        for (int i = desde; i < hasta; i++) {
+            grupos.agregar((Tarea) tareas[i]);
+        }
+        return grupos;
+    }
+
+    private static final class TareaTotales extends RecursiveTask<Estadisticas> {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] tareas;
+        private final int desde;
+        private final int hasta;
+
+        TareaTotales(Object[] tareas, int desde, int hasta) {
+            this.tareas = tareas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Estadisticas compute() {
+            if (hasta - desde <= UMBRAL_PARALELO) {
+                return sumarTramo(tareas, desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaTotales izquierda = new TareaTotales(tareas, desde, medio);
+            izquierda.fork();
+            Estadisticas derecha = new TareaTotales(tareas, medio, hasta).compute();
+            return izquierda.join().combinar(derecha);
+        }
+    }
+
+    private static final class TareaGrupos extends RecursiveTask<Grupos> {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] tareas;
+        private final int desde;
+        private final int hasta;
+
+        TareaGrupos(Object[] tareas, int desde, int hasta) {
+            this.tareas = tareas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Grupos compute() {
+            if (hasta - desde <= UMBRAL_PARALELO) {
+                return agruparTramo(tareas, desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaGrupos izquierda = new TareaGrupos(tareas, desde, medio);
+            izquierda.fork();
+            Grupos derecha = new TareaGrupos(tareas, medio, hasta).compute();
+            return izquierda.join().combinar(derecha);
+        }
+    }
+
+    /**
+     * Acumuladores por departamento indexados por el código del diccionario
+     * (posición 0 para tareas sin departamento), sin hashing por tarea. Los
+     * códigos se buscan sin registrar: los departamentos de las tareas ya lo están
+     */
+    private static final class Grupos {
+        private static final DiccionarioValores DEPARTAMENTOS = ValoresCanonicos.DEPARTAMENTOS;
+
+        private Estadisticas[] porCodigo = new Estadisticas[DEPARTAMENTOS.tamano() + 1];
+
+        void agregar(Tarea tarea) {
+            int posicion = DEPARTAMENTOS.buscarCodigo(tarea.getDepartamento()) + 1;
+            if (posicion >= porCodigo.length) {
+                porCodigo = Arrays.copyOf(porCodigo, Math.max(posicion + 1, porCodigo.length * 2));
+            }
+            Estadisticas estadisticas = porCodigo[posicion];
+            if (estadisticas == null) {
+                estadisticas = new Estadisticas();
+                porCodigo[posicion] = estadisticas;
+            }
+            estadisticas.agregar(tarea.getHorasEstimadas());
+        }
+
+        Grupos combinar(Grupos otros) {
+            if (otros.porCodigo.length > porCodigo.length) {
+                porCodigo = Arrays.copyOf(porCodigo, otros.porCodigo.length);
+            }
+            for (int i = 0; i < otros.porCodigo.length; i++) {
+                Estadisticas suyas = otros.porCodigo[i];
+                if (suyas == null) continue;
+                porCodigo[i] = porCodigo[i] == null ? suyas : porCodigo[i].combinar(suyas);
+            }
+            return this;
+        }
+
+        Map<String, Estadisticas> aMapa() {
+            Map<String, Estadisticas> mapa = new HashMap<>();
+            for (int i = 0; i < porCodigo.length; i++) {
+                if (porCodigo[i] != null) {
+                    mapa.put(DEPARTAMENTOS.valor(i - 1), porCodigo[i]);
+                }
+            }
+            return mapa;
+        }
+    }
+
+    // ===============================
+    // ACUMULADOR
+    // ===============================
+
+    /**
+     * Acumulador de horas: se alimenta con agregar, se combina con otros
+     * acumuladores y responde total, promedio y percentiles. No es seguro entre
+     * hilos; cada hilo usa el suyo y al final se combinan.
+     */
+    public static final class Estadisticas {
+        private long cantidad;
+        private long total;
+        private int minimo = Integer.MAX_VALUE;
+        private int maximo = Integer.MIN_VALUE;
+
+        // Conteo por valor de horas; se crea con el primer valor
+        private int[] histograma;
+        // Valores fuera del histograma (negativos o demasiado grandes)
+        private int[] fueraDeRango = new int[0];
+        private int totalFueraDeRango;
+
+        public void agregar(int horas) {
+            cantidad++;
+            total += horas;
+            if (horas < minimo) minimo = horas;
+            if (horas > maximo) maximo = horas;
+
+            if (horas >= 0 && horas < LIMITE_HISTOGRAMA) {
+                if (histograma == null) histograma = new int[LIMITE_HISTOGRAMA];
+                histograma[horas]++;
+            } else {
+                if (totalFueraDeRango == fueraDeRango.length) {
+                    fueraDeRango = Arrays.copyOf(fueraDeRango, Math.max(8, totalFueraDeRango * 2));
+                }
+                fueraDeRango[totalFueraDeRango++] = horas;
+            }
+        }
+
+        /**
+         * Suma los valores de otro acumulador a este
+         *
+         * @return este acumulador
+         */
+        public Estadisticas combinar(Estadisticas otras) {
+            if (otras.cantidad == 0) return this;
+            cantidad += otras.cantidad;
+            total += otras.total;
+            minimo = Math.min(minimo, otras.minimo);
+            maximo = Math.max(maximo, otras.maximo);
+
+            if (otras.histograma != null) {
+                if (histograma == null) {
+                    histograma = otras.histograma.clone();
+                } else {
+                    for (int i = 0; i < LIMITE_HISTOGRAMA; i++) {
+                        histograma[i] += otras.histograma[i];
+                    }
+                }
+            }
+            if (otras.totalFueraDeRango > 0) {
+                int requerido = totalFueraDeRango + otras.totalFueraDeRango;
+                if (requerido > fueraDeRango.length) {
+                    fueraDeRango = Arrays.copyOf(fueraDeRango, requerido);
+                }
+                System.arraycopy(otras.fueraDeRango, 0, fueraDeRango, totalFueraDeRango, otras.totalFueraDeRango);
+                totalFueraDeRango = requerido;
+            }
+            return this;
+        }
+
+        public long getCantidad() { return cantidad; }
+
+        public long getTotal() { return total; }
+
+        public double getPromedio() {
+            return cantidad == 0 ? 0.0 : (double) total / cantidad;
+        }
+
+        /** Mínimo de horas, o 0 si no hay tareas */
+        public int getMinimo() { return cantidad == 0 ? 0 : minimo; }
+
+        /** Máximo de horas, o 0 si no hay tareas */
+        public int getMaximo() { return cantidad == 0 ? 0 : maximo; }
+
+        public int getMediana() { return percentil(50); }
+
+        /**
+         * Percentil por rango más cercano: el menor valor que deja al menos el
+         * p% de las tareas por debajo o igual
+         *
+         * @param p percentil entre 0 y 100
+         * @return valor del percentil, o 0 si no hay tareas
+         */
+        public int percentil(double p) {
+            if (p < 0 || p > 100 || Double.isNaN(p)) {
+                throw new IllegalArgumentException("Percentil fuera de [0, 100]: " + p);
+            }
+            if (cantidad == 0) return 0;
+
+            long rango = Math.max(1, (long) Math.ceil(p / 100.0 * cantidad));
+            int[] aparte = Arrays.copyOf(fueraDeRango, totalFueraDeRango);
+            Arrays.sort(aparte);
+
+            // Orden global: negativos, histograma y después valores grandes
+            int negativos = 0;
+            while (negativos < aparte.length && aparte[negativos] < 0) negativos++;
+            if (rango <= negativos) return aparte[(int) rango - 1];
+
+            long acumulado = negativos;
+            if (histograma != null) {
+                for (int horas = 0; horas < LIMITE_HISTOGRAMA; horas++) {
+                    acumulado += histograma[horas];
+                    if (acumulado >= rango) return horas;
+                }
+            }
+            return aparte[(int) (negativos + rango - acumulado - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d tareas, %d h en total, promedio %.1f h, mediana %d h, p90 %d h, máx %d h",
+                    cantidad, total, getPromedio(), getMediana(), percentil(90), getMaximo());
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.techsolutions.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.techsolutions.model.Empleado;
+import com.techsolutions.model.Tarea;
+
+/**
+ * Reparto de tareas entre empleados o equipos minimizando la carga máxima
+ * (makespan).
+ *
+ * Usa la heurística LPT (Longest Processing Time): las tareas se recorren de
+ * mayor a menor número de horas y cada una va al destino con menos carga,
+ * que se obtiene de un montículo de cargas. LPT garantiza un makespan de como
+ * mucho 4/3 del óptimo. Con restricción de departamento cada departamento
+ * tiene su propio montículo y sus tareas solo van a empleados de ese
+ * departamento.
+ *
+ * El coste es O(T log T + T log E) para T tareas y E destinos.
+ */
+public class BalanceadorCarga {
+
+    /**
+     * Reparte las tareas entre empleados
+     *
+     * @param respetarDepartamento si es true, cada tarea solo puede ir a un
+     *        empleado de su departamento; las tareas de departamentos sin
+     *        empleados quedan sin asignar y se informan
+     */
+    public ResultadoBalanceo balancear(Collection<? extends Tarea> tareas, Collection<Empleado> empleados,
+            boolean respetarDepartamento) {
+        List<Destino> destinos = new ArrayList<>(empleados.size());
+        for (Empleado empleado : empleados) {
+            destinos.add(new Destino(empleado.getId(), empleado.getNombre(), empleado.getDepartamento(), destinos.size()));
+        }
+        return repartir(tareas, destinos, respetarDepartamento);
+    }
+
+    /**
+     * Reparte las tareas entre equipos sin restricción de departamento
+     */
+    public ResultadoBalanceo balancear(Collection<? extends Tarea> tareas, String[] equipos) {
+        List<Destino> destinos = new ArrayList<>(equipos.length);
+        for (String equipo : equipos) {
+            destinos.add(new Destino(equipo, equipo, null, destinos.size()));
+        }
+        return repartir(tareas, destinos, false);
+    }
+
+    private ResultadoBalanceo repartir(Collection<? extends Tarea> tareas, List<Destino> destinos,
+            boolean respetarDepartamento) {
+        long inicioCalculo = System.nanoTime();
+
+        Tarea[] lista = tareas.toArray(new Tarea[0]);
+        int n = lista.length;
+
+        // Orden LPT: horas descendentes y, en empate, orden de entrada.
+        // Se ordena un long[] (horas invertidas en la parte alta, índice en la baja)
+        // para no crear comparadores ni objetos por tarea.
+        long[] orden = new long[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = ((long) (Integer.MAX_VALUE - horas(lista[i])) << 32) | i;
+        }
+        Arrays.sort(orden);
+
+        // Un montículo por grupo: por departamento o uno solo para todos
+        Map<String, MonticuloCargas> grupos = new HashMap<>();
+        Map<String, long[]> totalesPorGrupo = new HashMap<>();
+        if (respetarDepartamento) {
+            Map<String, List<Integer>> indicesPorDepto = new LinkedHashMap<>();
+            for (int d = 0; d < destinos.size(); d++) {
+                indicesPorDepto.computeIfAbsent(destinos.get(d).departamento, k -> new ArrayList<>()).add(d);
+            }
+            for (Map.Entry<String, List<Integer>> entrada : indicesPorDepto.entrySet()) {
+                grupos.put(entrada.getKey(), new MonticuloCargas(destinos, entrada.getValue()));
+            }
+        } else if (!destinos.isEmpty()) {
+            List<Integer> todos = new ArrayList<>(destinos.size());
+            for (int d = 0; d < destinos.size(); d++) todos.add(d);
+            grupos.put(null, new MonticuloCargas(destinos, todos));
+        }
+
+        List<Tarea> sinAsignar = new ArrayList<>();
+        for (long clave : orden) {
+            Tarea tarea = lista[(int) clave];
+            String grupo = respetarDepartamento ? tarea.getDepartamento() : null;
+            MonticuloCargas monticulo = grupos.get(grupo);
+            if (monticulo == null) {
+                sinAsignar.add(tarea);
+                continue;
+            }
+            int h = horas(tarea);
+            Destino destino = monticulo.asignarAlMenosCargado(h);
+            destino.tareas.add(tarea);
+
+            // [0] = horas del grupo, [1] = tarea más larga del grupo
+            long[] totales = totalesPorGrupo.computeIfAbsent(grupo, k -> new long[2]);
+            totales[0] += h;
+            totales[1] = Math.max(totales[1], h);
+        }
+
+        // Cota inferior del óptimo: en cada grupo, ni menos que el promedio por
+        // destino ni menos que la tarea más larga
+        long cotaInferior = 0;
+        for (Map.Entry<String, long[]> entrada : totalesPorGrupo.entrySet()) {
+            int m = grupos.get(entrada.getKey()).tamano();
+            long[] totales = entrada.getValue();
+            cotaInferior = Math.max(cotaInferior, Math.max((totales[0] + m - 1) / m, totales[1]));
+        }
+
+        long tiempoCalculoMs = (System.nanoTime() - inicioCalculo) / 1_000_000;
+        return new ResultadoBalanceo(destinos, sinAsignar, cotaInferior, tiempoCalculoMs);
+    }
+
+    private static int horas(Tarea tarea) {
+        return Math.max(0, tarea.getHorasEstimadas());
+    }
+
+    /**
+     * Montículo mínimo de destinos por carga (empate: orden de entrada). Como la
+     * tarea se suma siempre al mínimo, basta con hundir la raíz: una sola
+     * operación O(log E) por tarea en lugar de sacar y volver a meter.
+     */
+    private static final class MonticuloCargas {
+        private final Destino[] monticulo;
+
+        MonticuloCargas(List<Destino> destinos, List<Integer> indices) {
+            monticulo = new Destino[indices.size()];
+            for (int i = 0; i < monticulo.length; i++) {
+                monticulo[i] = destinos.get(indices.get(i));
+            }
+            // Todas las cargas empiezan en cero y el orden de entrada ya es un montículo válido
+        }
+
+        int tamano() {
+            return monticulo.length;
+        }
+
+        Destino asignarAlMenosCargado(int horas) {
+            Destino raiz = monticulo[0];
+            raiz.carga += horas;
+            hundir();
+            return raiz;
+        }
+
+        private void hundir() {
+            int n = monticulo.length;
+            int i = 0;
+            Destino actual = monticulo[0];
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= n) break;
+                if (hijo + 1 < n && menor(monticulo[hijo + 1], monticulo[hijo])) hijo++;
+                if (!menor(monticulo[hijo], actual)) break;
+                monticulo[i] = monticulo[hijo];
+                i = hijo;
+            }
+            monticulo[i] = actual;
+        }
+
+        private static boolean menor(Destino a, Destino b) {
+            return a.carga != b.carga ? a.carga < b.carga : a.orden < b.orden;
+        }
+    }
+
+    /**
+     * Empleado o equipo que recibe tareas
+     */
+    public static class Destino {
+        private final String id;
+        private final String nombre;
+        private final String departamento;
+        private final int orden;
+        private final List<Tarea> tareas = new ArrayList<>();
+        private long carga;
+
+        Destino(String id, String nombre, String departamento, int orden) {
+            this.id = id;
+            this.nombre = nombre;
+            this.departamento = departamento;
+            this.orden = orden;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        /** Departamento del empleado, o null para equipos */
+        public String getDepartamento() {
+            return departamento;
+        }
+
+        /** Tareas asignadas, de mayor a menor número de horas */
+        public List<Tarea> getTareas() {
+            return Collections.unmodifiableList(tareas);
+        }
+
+        /** Horas asignadas */
+        public long getCarga() {
+            return carga;
+        }
+    }
+
+    /**
+     * Resultado de un reparto, con las medidas del equilibrio conseguido
+     */
+    public static class ResultadoBalanceo {
+        private final List<Destino> destinos;
+        private final List<Tarea> sinAsignar;
+        private final long cotaInferior;
+        private final long tiempoCalculoMs;
+        private final long makespan;
+        private final long cargaMinima;
+        private final long cargaTotal;
+
+        ResultadoBalanceo(List<Destino> destinos, List<Tarea> sinAsignar, long cotaInferior, long tiempoCalculoMs) {
+            this.destinos = Collections.unmodifiableList(destinos);
+            this.sinAsignar = Collections.unmodifiableList(sinAsignar);
+            this.cotaInferior = cotaInferior;
+            this.tiempoCalculoMs = tiempoCalculoMs;
+
+            long maxima = 0;
+            long minima = destinos.isEmpty() ? 0 : Long.MAX_VALUE;
+            long total = 0;
+            for (Destino destino : destinos) {
+                maxima = Math.max(maxima, destino.carga);
+                minima = Math.min(minima, destino.carga);
+                total += destino.carga;
+            }
+            this.makespan = maxima;
+            this.cargaMinima = minima;
+            this.cargaTotal = total;
+        }
+
+        /** Destinos en el orden en que se recibieron */
+        public List<Destino> getDestinos() {
+            return destinos;
+        }
+
+        /** Tareas de departamentos sin empleados (solo con restricción de departamento) */
+        public List<Tarea> getSinAsignar() {
+            return sinAsignar;
+        }
+
+        /** Carga del destino más cargado */
+        public long getMakespan() {
+            return makespan;
+        }
+
+        public long getCargaMinima() {
+            return cargaMinima;
+        }
+
+        public long getCargaTotal() {
+            return cargaTotal;
+        }
+
+        public double getCargaPromedio() {
+            return destinos.isEmpty() ? 0.0 : (double) cargaTotal / destinos.size();
+        }
+
+        /**
+         * Cota inferior del makespan óptimo; makespan / cota mide lo cerca que
+         * queda el reparto del óptimo (1.0 = óptimo garantizado)
+         */
+        public long getCotaInferior() {
+            return cotaInferior;
+        }
+
+        public double getRazonSobreCota() {
+            return cotaInferior == 0 ? 1.0 : (double) makespan / cotaInferior;
+        }
+
+        /**
+         * Reparto como mapa destino -> tareas, conservando el orden de los destinos
+         */
+        public Map<String, List<Tarea>> comoMapa() {
+            Map<String, List<Tarea>> mapa = new LinkedHashMap<>();
+            for (Destino destino : destinos) {
+                mapa.put(destino.id, new ArrayList<>(destino.tareas));
+            }
+            return mapa;
+        }
+
+        public long getTiempoCalculoMs() {
+            return tiempoCalculoMs;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.techsolutions.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bitácora de la aplicación: mensajes con nivel y categoría que se escriben
+ * en segundo plano (ver EscritorBitacora) en lugar de ir directo a la consola.
+ *
+ * Cada clase pide su bitácora por categoría ("repositorio", "mongodb",
+ * "vista", ...) y la guarda en un campo estático. El nivel mínimo de cada
+ * categoría se resuelve al crearla y se guarda en un campo volatile, así un
+ * mensaje desactivado cuesta una lectura y una comparación. Los mensajes
+ * usan {} como marcador: el texto solo se arma si el nivel está activo, y
+ * las variantes de uno y dos argumentos no reservan memoria cuando no lo
+ * está. En bucles con más argumentos se comprueba antes debugActivo().
+ *
+ * Configuración (propiedad del sistema o variable de entorno):
+ * - techsolutions.log.nivel / TECHSOLUTIONS_LOG_NIVEL: nivel general
+ *   (DEBUG, INFO, AVISO, ERROR o NINGUNO; INFO por defecto)
+ * - techsolutions.log.categorias / TECHSOLUTIONS_LOG_CATEGORIAS: niveles
+ *   por categoría, por ejemplo "vista=DEBUG,mongodb=AVISO". Una categoría
+ *   "a.b" sin nivel propio usa el de "a"
+ * - techsolutions.log.consola / TECHSOLUTIONS_LOG_CONSOLA: nivel mínimo que
+ *   además se copia a la consola (INFO por defecto)
+ * - techsolutions.log.archivo / TECHSOLUTIONS_LOG: archivo de la bitácora
+ *   (~/.techsolutions/logs/techsolutions.log por defecto)
+ */
+public final class Bitacora {
+
+    /** Niveles de mensaje, de menor a mayor gravedad */
+    public enum Nivel {
+        DEBUG, INFO, AVISO, ERROR,
+        /** Solo como nivel mínimo: desactiva la categoría */
+        NINGUNO
+    }
+
+    private static final Map<String, Bitacora> bitacoras = new ConcurrentHashMap<>();
+
+    /** Niveles asignados explícitamente por categoría */
+    private static final Map<String, Nivel> nivelesCategoria = new ConcurrentHashMap<>();
+
+    private static volatile Nivel nivelGeneral;
+
+    static {
+        nivelGeneral = leerNivel(configuracion("techsolutions.log.nivel", "TECHSOLUTIONS_LOG_NIVEL"), Nivel.INFO);
+        String categorias = configuracion("techsolutions.log.categorias", "TECHSOLUTIONS_LOG_CATEGORIAS");
+        if (categorias != null) {
+            for (String par : categorias.split(",")) {
+                int igual = par.indexOf('=');
+                if (igual <= 0) continue;
+                Nivel nivel = leerNivel(par.substring(igual + 1), null);
+                if (nivel != null) nivelesCategoria.put(par.substring(0, igual).trim(), nivel);
+            }
+        }
+    }
+
+    private final String categoria;
+
+    /** Ordinal del nivel mínimo activo */
+    private volatile int minimo;
+
+    private Bitacora(String categoria) {
+        this.categoria = categoria;
+        this.minimo = resolverNivel(categoria).ordinal();
+    }
+
+    /**
+     * Bitácora de la categoría, creada la primera vez que se pide
+     */
+    public static Bitacora de(String categoria) {
+        Bitacora bitacora = bitacoras.get(categoria);
+        return bitacora != null ? bitacora : bitacoras.computeIfAbsent(categoria, Bitacora::new);
+    }
+
+    // ===============================
+    // CONFIGURACIÓN
+    // ===============================
+
+    /**
+     * Cambia el nivel general; las categorías con nivel propio lo conservan
+     */
+    public static void setNivelGeneral(Nivel nivel) {
+        nivelGeneral = nivel;
+        reaplicarNiveles();
+    }
+
+    /**
+     * Cambia el nivel de una categoría (y de sus subcategorías sin nivel propio)
+     */
+    public static void setNivel(String categoria, Nivel nivel) {
+        nivelesCategoria.put(categoria, nivel);
+        reaplicarNiveles();
+    }
+
+    /**
+     * Nivel mínimo que se copia también a la consola
+     */
+    public static void setNivelConsola(Nivel nivel) {
+        EscritorBitacora.getInstance().setNivelConsola(nivel);
+    }
+
+    private static void reaplicarNiveles() {
+        for (Bitacora bitacora : bitacoras.values()) {
+            bitacora.minimo = resolverNivel(bitacora.categoria).ordinal();
+        }
+    }
+
+    /**
+     * Guarda el escritor en un campo final; la clase se inicia con el primer
+     * mensaje publicado, así una aplicación sin mensajes activos no lo crea
+     */
+    private static final class Escritor {
+        static final EscritorBitacora INSTANCIA = EscritorBitacora.getInstance();
+    }
+
+    private static Nivel resolverNivel(String categoria) {
+        String actual = categoria;
+        while (true) {
+            Nivel nivel = nivelesCategoria.get(actual);
+            if (nivel != null) return nivel;
+            int punto = actual.lastIndexOf('.');
+            if (punto < 0) return nivelGeneral;
+            actual = actual.substring(0, punto);
+        }
+    }
+
+    static Nivel leerNivel(String valor, Nivel predeterminado) {
+        if (valor == null) return predeterminado;
+        try {
+            return Nivel.valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Nivel de bitacora desconocido '" + valor + "'");
+            return predeterminado;
+        }
+    }
+
+    /**
+     * Valor de la propiedad del sistema, si no de la variable de entorno (o null)
+     */
+    static String configuracion(String propiedad, String variable) {
+        String valor = System.getProperty(propiedad);
+        if (valor == null || valor.isEmpty()) valor = System.getenv(variable);
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+
+    // ===============================
+    // CONSULTA DE NIVEL
+    // ===============================
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public boolean activo(Nivel nivel) {
+        return nivel.ordinal() >= minimo;
+    }
+
+    public boolean debugActivo() {
+        return minimo <= 0;
+    }
+
+    // ===============================
+    // MENSAJES
+    // ===============================
+
+    public void debug(String mensaje) {
+        if (minimo <= 0) publicar(Nivel.DEBUG, mensaje, null);
+    }
+
+    public void debug(String formato, Object arg) {
+        if (minimo <= 0) publicar(Nivel.DEBUG, formatear(formato, arg), null);
+    }
+
+    public void debug(String formato, Object arg1, Object arg2) {
+        if (minimo <= 0) publicar(Nivel.DEBUG, formatear(formato, arg1, arg2), null);
+    }
+
+    public void debug(String formato, Object... args) {
+        if (minimo <= 0) publicar(Nivel.DEBUG, formatear(formato, args), null);
+    }
+
+    public void info(String mensaje) {
+        if (minimo <= 1) publicar(Nivel.INFO, mensaje, null);
+    }
+
+    public void info(String formato, Object arg) {
+        if (minimo <= 1) publicar(Nivel.INFO, formatear(formato, arg), null);
+    }
+
+    public void info(String formato, Object arg1, Object arg2) {
+        if (minimo <= 1) publicar(Nivel.INFO, formatear(formato, arg1, arg2), null);
+    }
+
+    public void info(String formato, Object... args) {
+        if (minimo <= 1) publicar(Nivel.INFO, formatear(formato, args), null);
+    }
+
+    public void aviso(String mensaje) {
+        if (minimo <= 2) publicar(Nivel.AVISO, mensaje, null);
+    }
+
+    public void aviso(String formato, Object arg) {
+        if (minimo <= 2) publicar(Nivel.AVISO, formatear(formato, arg), null);
+    }
+
+    public void aviso(String formato, Object arg1, Object arg2) {
+        if (minimo <= 2) publicar(Nivel.AVISO, formatear(formato, arg1, arg2), null);
+    }
+
+    public void aviso(String formato, Object... args) {
+        if (minimo <= 2) publicar(Nivel.AVISO, formatear(formato, args), null);
+    }
+
+    public void error(String mensaje) {
+        if (minimo <= 3) publicar(Nivel.ERROR, mensaje, null);
+    }
+
+    /**
+     * Error con la traza completa de la excepción
+     */
+    public void error(String mensaje, Throwable causa) {
+        if (minimo <= 3) publicar(Nivel.ERROR, mensaje, causa);
+    }
+
+    public void error(String formato, Object arg) {
+        if (minimo <= 3) publicar(Nivel.ERROR, formatear(formato, arg), null);
+    }
+
+    public void error(String formato, Object arg1, Object arg2) {
+        if (minimo <= 3) publicar(Nivel.ERROR, formatear(formato, arg1, arg2), null);
+    }
+
+    public void error(String formato, Object... args) {
+        if (minimo <= 3) publicar(Nivel.ERROR, formatear(formato, args), null);
+    }
+
+    private void publicar(Nivel nivel, String mensaje, Throwable causa) {
+        Escritor.INSTANCIA.publicar(new EscritorBitacora.Evento(
+                System.currentTimeMillis(), nivel, categoria, Thread.currentThread().getName(), mensaje, causa));
+    }
+
+    /**
+     * Sustituye cada {} por el siguiente argumento; los que sobran se ignoran
+     */
+    static String formatear(String formato, Object... args) {
+        if (formato == null || args.length == 0) return formato;
+        StringBuilder sb = new StringBuilder(formato.length() + 16 * args.length);
+        int desde = 0;
+        int usado = 0;
+        while (usado < args.length) {
+            int marcador = formato.indexOf("{}", desde);
+            if (marcador < 0) break;
+            sb.append(formato, desde, marcador).append(args[usado++]);
+            desde = marcador + 2;
+        }
+        return sb.append(formato, desde, formato.length()).toString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.techsolutions.util;
+
+/**
+ * Lectura y validación de IDs con formato prefijo + número ("T42", "EMP7").
+ *
+ * Todo se analiza carácter a carácter sobre la cadena recibida: no se
+ * compilan expresiones regulares ni se crean subcadenas, cajas o
+ * excepciones, así que validar o recorrer millones de IDs no genera basura.
+ * Solo formatear un ID nuevo crea un String.
+ */
+public final class CodecId {
+
+    public static final String PREFIJO_TAREA = "T";
+    public static final String PREFIJO_EMPLEADO = "EMP";
+
+    /** Valor devuelto cuando el ID no tiene el formato esperado */
+    public static final long INVALIDO = -1;
+
+    /** Límite para no desbordar un long al acumular dígitos */
+    private static final long MAX_ANTES_DE_DIGITO = (Long.MAX_VALUE - 9) / 10;
+
+    private CodecId() {
+    }
+
+    // ===============================
+    // UN ID
+    // ===============================
+
+    /**
+     * Número de un ID que debe ser exactamente prefijo + dígitos
+     *
+     * @return el número, o INVALIDO si el ID no tiene ese formato
+     */
+    public static long numero(CharSequence id, String prefijo) {
+        if (id == null || !empiezaCon(id, prefijo)) return INVALIDO;
+        return digitos(id, prefijo.length());
+    }
+
+    public static boolean esValido(CharSequence id, String prefijo) {
+        return numero(id, prefijo) != INVALIDO;
+    }
+
+    /**
+     * Número de un ID con cualquier prefijo no numérico ("T42", "EMP42", "42")
+     *
+     * @return el número, o INVALIDO si después del prefijo hay algo que no son dígitos
+     */
+    public static long numeroSufijo(CharSequence id) {
+        if (id == null) return INVALIDO;
+        int i = 0;
+        int n = id.length();
+        while (i < n && !esDigito(id.charAt(i))) i++;
+        return digitos(id, i);
+    }
+
+    /**
+     * Construye el ID de un número
+     */
+    public static String formatear(String prefijo, long numero) {
+        return prefijo + numero;
+    }
+
+    // ===============================
+    // LOTES
+    // ===============================
+
+    /**
+     * Mayor número entre los IDs válidos con ese prefijo
+     *
+     * @return el mayor número, o 0 si no hay ninguno válido
+     */
+    public static long maximoNumero(Iterable<? extends CharSequence> ids, String prefijo) {
+        long maximo = 0;
+        for (CharSequence id : ids) {
+            long numero = numero(id, prefijo);
+            if (numero > maximo) maximo = numero;
+        }
+        return maximo;
+    }
+
+    /**
+     * Siguiente ID de la secuencia: prefijo + (mayor número existente + 1)
+     */
+    public static String siguienteId(String prefijo, Iterable<? extends CharSequence> ids) {
+        return formatear(prefijo, maximoNumero(ids, prefijo) + 1);
+    }
+
+    /**
+     * Cuenta los IDs válidos con ese prefijo
+     */
+    public static int contarValidos(Iterable<? extends CharSequence> ids, String prefijo) {
+        int validos = 0;
+        for (CharSequence id : ids) {
+            if (numero(id, prefijo) != INVALIDO) validos++;
+        }
+        return validos;
+    }
+
+    /**
+     * Analiza un lote de IDs en un arreglo primitivo reutilizable
+     *
+     * @param destino arreglo de al menos ids.length posiciones; recibe el
+     *        número de cada ID o INVALIDO
+     * @return cuántos IDs del lote son válidos
+     */
+    public static int numeros(CharSequence[] ids, String prefijo, long[] destino) {
+        if (destino.length < ids.length) {
+            throw new IllegalArgumentException("El destino tiene " + destino.length
+                    + " posiciones para " + ids.length + " IDs");
+        }
+        int validos = 0;
+        for (int i = 0; i < ids.length; i++) {
+            long numero = numero(ids[i], prefijo);
+            destino[i] = numero;
+            if (numero != INVALIDO) validos++;
+        }
+        return validos;
+    }
+
+    // ===============================
+    // ESCÁNER
+    // ===============================
+
+    private static boolean empiezaCon(CharSequence id, String prefijo) {
+        int largo = prefijo.length();
+        if (id.length() < largo) return false;
+        for (int i = 0; i < largo; i++) {
+            if (id.charAt(i) != prefijo.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lee los dígitos desde la posición dada hasta el final
+     */
+    private static long digitos(CharSequence id, int desde) {
+        int n = id.length();
+        if (desde >= n) return INVALIDO;
+
+        long valor = 0;
+        for (int i = desde; i < n; i++) {
+            char c = id.charAt(i);
+            if (!esDigito(c) || valor > MAX_ANTES_DE_DIGITO) return INVALIDO;
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,214 @@
+package com.techsolutions.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.techsolutions.model.TareaPrioridad;
+
+/**
+ * Cola de prioridad (montículo binario mínimo) con mapa de posiciones por ID.
+ *
+ * A diferencia de java.util.PriorityQueue, permite cambiar la prioridad o la
+ * fecha de entrega de una tarea que ya está en la cola sin corromper el
+ * montículo: la tarea se localiza en O(1) por su ID y se reacomoda en O(log n).
+ * Eliminar por ID también cuesta O(log n) en lugar de O(n).
+ *
+ * El orden es el definido por TareaPrioridad.compareTo (prioridad y fecha de entrega).
+ * updatePriority y updateFechaEntrega modifican la propia tarea: si la misma
+ * instancia está en otra estructura ordenada por esa clave (IndicePrioridad),
+ * hay que cambiarla a través de esa estructura y después llamar a
+ * reacomodar(id).
+ */
+public class ColaPrioridadIndexada implements Iterable<TareaPrioridad> {
+
+    private final List<TareaPrioridad> monticulo = new ArrayList<>();
+    private final Map<String, Integer> posiciones = new HashMap<>();
+
+    /**
+     * Inserta una tarea en la cola. Si ya existe una tarea con el mismo ID se reemplaza.
+     */
+    public boolean add(TareaPrioridad tarea) {
+        remove(tarea.getId());
+        monticulo.add(tarea);
+        int indice = monticulo.size() - 1;
+        posiciones.put(tarea.getId(), indice);
+        subir(indice);
+        return true;
+    }
+
+    /**
+     * Obtiene la tarea más prioritaria sin retirarla, o null si la cola está vacía
+     */
+    public TareaPrioridad peek() {
+        return monticulo.isEmpty() ? null : monticulo.get(0);
+    }
+
+    /**
+     * Retira y devuelve la tarea más prioritaria, o null si la cola está vacía
+     */
+    public TareaPrioridad poll() {
+        if (monticulo.isEmpty()) return null;
+        return eliminarEn(0);
+    }
+
+    /**
+     * Elimina una tarea por su ID
+     *
+     * @return la tarea eliminada, o null si no estaba en la cola
+     */
+    public TareaPrioridad remove(String id) {
+        Integer indice = posiciones.get(id);
+        if (indice == null) return null;
+        return eliminarEn(indice);
+    }
+
+    /**
+     * Cambia la prioridad de una tarea que ya está en la cola
+     *
+     * @return true si la tarea estaba en la cola
+     */
+    public boolean updatePriority(String id, int prioridad) {
+        Integer indice = posiciones.get(id);
+        if (indice == null) return false;
+
+        monticulo.get(indice).setPrioridad(prioridad);
+        reacomodar(indice);
+        return true;
+    }
+
+    /**
+     * Cambia la fecha de entrega de una tarea que ya está en la cola
+     *
+     * @return true si la tarea estaba en la cola
+     */
+    public boolean updateFechaEntrega(String id, String fechaEntrega) {
+        Integer indice = posiciones.get(id);
+        if (indice == null) return false;
+
+        monticulo.get(indice).setFechaEntrega(fechaEntrega);
+        reacomodar(indice);
+        return true;
+    }
+
+    /**
+     * Recoloca una tarea cuya prioridad o fecha de entrega se cambió fuera de
+     * la cola (por ejemplo con IndicePrioridad.actualizar), O(log n)
+     *
+     * @return true si la tarea estaba en la cola
+     */
+    public boolean reacomodar(String id) {
+        Integer indice = posiciones.get(id);
+        if (indice == null) return false;
+
+        reacomodar(indice.intValue());
+        return true;
+    }
+
+    public boolean contains(String id) {
+        return posiciones.containsKey(id);
+    }
+
+    public TareaPrioridad get(String id) {
+        Integer indice = posiciones.get(id);
+        return indice == null ? null : monticulo.get(indice);
+    }
+
+    public int size() {
+        return monticulo.size();
+    }
+
+    public boolean isEmpty() {
+        return monticulo.isEmpty();
+    }
+
+    public void clear() {
+        monticulo.clear();
+        posiciones.clear();
+    }
+
+    /**
+     * Recorre las tareas en el orden interno del montículo (no ordenado).
+     * Para un recorrido ordenado usar IndicePrioridad.
+     */
+    @Override
+    public Iterator<TareaPrioridad> iterator() {
+        return Collections.unmodifiableList(monticulo).iterator();
+    }
+
+    // ==================== OPERACIONES DEL MONTÍCULO ====================
+
+    private TareaPrioridad eliminarEn(int indice) {
+        TareaPrioridad eliminada = monticulo.get(indice);
+        int ultimo = monticulo.size() - 1;
+
+        if (indice != ultimo) {
+            colocar(indice, monticulo.get(ultimo));
+        }
+        monticulo.remove(ultimo);
+        posiciones.remove(eliminada.getId());
+
+        if (indice < monticulo.size()) {
+            reacomodar(indice);
+        }
+        return eliminada;
+    }
+
+    private void reacomodar(int indice) {
+        if (!subir(indice)) {
+            bajar(indice);
+        }
+    }
+
+    /**
+     * Sube el elemento mientras sea menor que su padre
+     *
+     * @return true si el elemento cambió de posición
+     */
+    private boolean subir(int indice) {
+        TareaPrioridad elemento = monticulo.get(indice);
+        int inicial = indice;
+
+        while (indice > 0) {
+            int padre = (indice - 1) >>> 1;
+            TareaPrioridad tareaPadre = monticulo.get(padre);
+            if (elemento.compareTo(tareaPadre) >= 0) break;
+            colocar(indice, tareaPadre);
+            indice = padre;
+        }
+
+        if (indice != inicial) {
+            colocar(indice, elemento);
+            return true;
+        }
+        return false;
+    }
+
+    private void bajar(int indice) {
+        TareaPrioridad elemento = monticulo.get(indice);
+        int tamano = monticulo.size();
+        int mitad = tamano >>> 1;
+
+        while (indice < mitad) {
+            int hijo = 2 * indice + 1;
+            int derecho = hijo + 1;
+            if (derecho < tamano && monticulo.get(derecho).compareTo(monticulo.get(hijo)) < 0) {
+                hijo = derecho;
+            }
+            TareaPrioridad tareaHijo = monticulo.get(hijo);
+            if (elemento.compareTo(tareaHijo) <= 0) break;
+            colocar(indice, tareaHijo);
+            indice = hijo;
+        }
+
+        colocar(indice, elemento);
+    }
+
+    private void colocar(int indice, TareaPrioridad tarea) {
+        monticulo.set(indice, tarea);
+        posiciones.put(tarea.getId(), indice);
+    }
+}
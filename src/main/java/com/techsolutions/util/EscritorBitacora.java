@@ -0,0 +1,350 @@
+package com.techsolutions.util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritor asíncrono de la bitácora (patrón Singleton).
+ *
+ * Los hilos que registran solo reservan una posición de un anillo de
+ * CAPACIDAD eventos con un compareAndSet, dejan el evento y vuelven, sin
+ * bloqueos. Un único hilo de fondo recorre el anillo en orden, junta todo lo
+ * pendiente, le da formato y lo escribe en el archivo con un solo flush por
+ * lote; cuando no queda nada se duerme y el siguiente productor lo despierta.
+ * Así ningún hilo de la interfaz espera a la consola ni al disco.
+ *
+ * Si el anillo está lleno los mensajes DEBUG, INFO y AVISO se descartan (y se
+ * cuentan en el indicador bitacora.descartados); los ERROR esperan a que haya
+ * sitio. Cada línea tiene campos separados por tabuladores: fecha, nivel,
+ * categoría, hilo y mensaje; la traza de una excepción sigue en las líneas
+ * siguientes, con sangría. El archivo se rota al pasar de TAMANO_MAXIMO
+ * (techsolutions.log, techsolutions.log.1, ... hasta ARCHIVOS_ROTADOS).
+ */
+final class EscritorBitacora {
+
+    /** Posiciones del anillo (potencia de dos) */
+    static final int CAPACIDAD = 1 << 13;
+    private static final int MASCARA = CAPACIDAD - 1;
+
+    static final long TAMANO_MAXIMO = 10L * 1024 * 1024;
+    static final int ARCHIVOS_ROTADOS = 5;
+
+    /** Tiempo máximo que se espera al cerrar para vaciar el anillo */
+    private static final long ESPERA_CIERRE_MS = 2000;
+
+    /** Siesta máxima del escritor sin eventos (por si se pierde un aviso) */
+    private static final long SIESTA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final DateTimeFormatter FORMATO_FECHA =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static volatile EscritorBitacora instance;
+
+    private final AtomicReferenceArray<Evento> anillo = new AtomicReferenceArray<>(CAPACIDAD);
+
+    /** Siguiente posición a reservar por los productores */
+    private final AtomicLong cabeza = new AtomicLong();
+
+    /** Siguiente posición a leer; solo la escribe el hilo escritor */
+    private volatile long cola;
+
+    private volatile boolean escritorDormido;
+    private volatile boolean cerrado;
+    private final LongAdder descartados = new LongAdder();
+
+    private final Path archivo;
+    private final Thread hilo;
+    private volatile Bitacora.Nivel nivelConsola;
+
+    // Solo los usa el hilo escritor
+    private Writer salida;
+    private long tamano;
+    private long descartadosAvisados;
+    private long segundoEnCache = Long.MIN_VALUE;
+    private String fechaEnCache;
+
+    private EscritorBitacora(Path archivo, Bitacora.Nivel nivelConsola) {
+        this.archivo = archivo;
+        this.nivelConsola = nivelConsola;
+        this.hilo = new Thread(this::escribirEnBucle, "bitacora-escritor");
+        this.hilo.setDaemon(true);
+    }
+
+    /**
+     * Obtiene la instancia única, iniciando el hilo escritor la primera vez.
+     * Solo la creación toma el candado: una vez creada es una lectura volatile.
+     */
+    static EscritorBitacora getInstance() {
+        EscritorBitacora actual = instance;
+        if (actual != null) return actual;
+        synchronized (EscritorBitacora.class) {
+            if (instance == null) {
+                instance = crear();
+            }
+            return instance;
+        }
+    }
+
+    private static EscritorBitacora crear() {
+        String ruta = Bitacora.configuracion("techsolutions.log.archivo", "TECHSOLUTIONS_LOG");
+        Path archivo = ruta != null
+                ? Paths.get(ruta)
+                : Paths.get(System.getProperty("user.home"), ".techsolutions", "logs", "techsolutions.log");
+        Bitacora.Nivel consola = Bitacora.leerNivel(
+                Bitacora.configuracion("techsolutions.log.consola", "TECHSOLUTIONS_LOG_CONSOLA"), Bitacora.Nivel.INFO);
+        EscritorBitacora escritor = new EscritorBitacora(archivo, consola);
+        escritor.hilo.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(escritor::cerrar, "bitacora-cierre"));
+        RegistroMetricas.getInstance().indicador("bitacora.descartados", escritor::getDescartados);
+        return escritor;
+    }
+
+    void setNivelConsola(Bitacora.Nivel nivel) {
+        this.nivelConsola = nivel;
+    }
+
+    long getDescartados() {
+        return descartados.sum();
+    }
+
+    // ===============================
+    // PRODUCTORES
+    // ===============================
+
+    /**
+     * Deja el evento en el anillo. Con el escritor cerrado se escribe
+     * directamente en la consola
+     */
+    void publicar(Evento evento) {
+        long posicion;
+        do {
+            if (cerrado) {
+                System.err.println(formatearSinCache(evento));
+                return;
+            }
+            posicion = cabeza.get();
+            if (posicion - cola >= CAPACIDAD) {
+                if (evento.nivel != Bitacora.Nivel.ERROR) {
+                    descartados.increment();
+                    return;
+                }
+                // Un error no se pierde: se espera a que el escritor libere sitio
+                LockSupport.unpark(hilo);
+                LockSupport.parkNanos(50_000);
+                posicion = -1;
+            }
+        } while (posicion < 0 || !cabeza.compareAndSet(posicion, posicion + 1));
+
+        anillo.set((int) (posicion & MASCARA), evento);
+        // Solo se despierta al escritor si está dormido: un lote no paga un aviso por evento
+        if (escritorDormido) {
+            LockSupport.unpark(hilo);
+        }
+    }
+
+    // ===============================
+    // HILO ESCRITOR
+    // ===============================
+
+    private void escribirEnBucle() {
+        Evento[] lote = new Evento[CAPACIDAD];
+        int cantidad = 0;
+        long siguiente = cola;
+        while (true) {
+            int indice = (int) (siguiente & MASCARA);
+            Evento evento = anillo.get(indice);
+            if (evento != null) {
+                anillo.set(indice, null);
+                lote[cantidad++] = evento;
+                cola = ++siguiente;
+                if (cantidad == lote.length) {
+                    escribirLote(lote, cantidad);
+                    cantidad = 0;
+                }
+                continue;
+            }
+            if (siguiente != cabeza.get()) {
+                // Posición reservada pero el productor aún no ha dejado el evento
+                Thread.onSpinWait();
+                continue;
+            }
+            if (cantidad > 0) {
+                escribirLote(lote, cantidad);
+                cantidad = 0;
+                continue;
+            }
+            if (cerrado) {
+                cerrarArchivo();
+                return;
+            }
+            // Se anuncia la siesta antes de volver a mirar la cabeza: un productor
+            // que publique después verá escritorDormido y despertará al hilo
+            escritorDormido = true;
+            if (siguiente == cabeza.get() && !cerrado) {
+                LockSupport.parkNanos(this, SIESTA_NANOS);
+            }
+            escritorDormido = false;
+        }
+    }
+
+    private void escribirLote(Evento[] lote, int cantidad) {
+        Bitacora.Nivel consola = nivelConsola;
+        StringBuilder texto = new StringBuilder(cantidad * 96);
+        long perdidos = descartados.sum() - descartadosAvisados;
+        if (perdidos > 0) {
+            descartadosAvisados += perdidos;
+            texto.append(formatear(new Evento(System.currentTimeMillis(), Bitacora.Nivel.AVISO, "bitacora",
+                    hilo.getName(), perdidos + " mensajes descartados con la bitácora llena", null))).append('\n');
+        }
+        for (int i = 0; i < cantidad; i++) {
+            Evento evento = lote[i];
+            lote[i] = null;
+            int inicio = texto.length();
+            texto.append(formatear(evento)).append('\n');
+            if (evento.nivel.compareTo(consola) >= 0) {
+                PrintStream destino = evento.nivel.compareTo(Bitacora.Nivel.AVISO) >= 0 ? System.err : System.out;
+                destino.print(texto.substring(inicio));
+            }
+        }
+        try {
+            if (salida == null) abrirArchivo();
+            salida.write(texto.toString());
+            salida.flush();
+            tamano += texto.length();
+            if (tamano > TAMANO_MAXIMO) rotar();
+        } catch (IOException e) {
+            // Sin archivo la bitácora sigue en la consola; se reintenta en el siguiente lote
+            System.err.println("Error al escribir la bitacora " + archivo + ": " + e.getMessage());
+            cerrarArchivo();
+        }
+    }
+
+    private void abrirArchivo() throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) Files.createDirectories(directorio);
+        tamano = Files.exists(archivo) ? Files.size(archivo) : 0;
+        salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * techsolutions.log pasa a .1, .1 a .2, ... y el más antiguo se borra
+     */
+    private void rotar() throws IOException {
+        cerrarArchivo();
+        Files.deleteIfExists(rotado(ARCHIVOS_ROTADOS));
+        for (int i = ARCHIVOS_ROTADOS - 1; i >= 1; i--) {
+            if (Files.exists(rotado(i))) {
+                Files.move(rotado(i), rotado(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(archivo, rotado(1), StandardCopyOption.REPLACE_EXISTING);
+        abrirArchivo();
+    }
+
+    private Path rotado(int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+
+    private void cerrarArchivo() {
+        if (salida == null) return;
+        try {
+            salida.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar la bitacora " + archivo + ": " + e.getMessage());
+        }
+        salida = null;
+    }
+
+    /**
+     * Escribe lo pendiente y detiene el hilo escritor; lo que se registre
+     * después va directo a la consola
+     */
+    void cerrar() {
+        cerrado = true;
+        LockSupport.unpark(hilo);
+        try {
+            hilo.join(ESPERA_CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===============================
+    // FORMATO
+    // ===============================
+
+    /**
+     * Línea del evento; solo desde el hilo escritor, que reutiliza la fecha
+     * formateada mientras no cambie el segundo
+     */
+    private String formatear(Evento evento) {
+        long segundo = Math.floorDiv(evento.instante, 1000);
+        if (segundo != segundoEnCache) {
+            segundoEnCache = segundo;
+            fechaEnCache = FORMATO_FECHA.format(Instant.ofEpochSecond(segundo));
+        }
+        return formatear(evento, fechaEnCache);
+    }
+
+    private static String formatearSinCache(Evento evento) {
+        return formatear(evento, FORMATO_FECHA.format(Instant.ofEpochMilli(evento.instante)));
+    }
+
+    private static String formatear(Evento evento, String fecha) {
+        int milis = (int) Math.floorMod(evento.instante, 1000L);
+        StringBuilder sb = new StringBuilder(96);
+        sb.append(fecha).append('.')
+          .append((char) ('0' + milis / 100)).append((char) ('0' + milis / 10 % 10)).append((char) ('0' + milis % 10))
+          .append('\t').append(evento.nivel)
+          .append('\t').append(evento.categoria)
+          .append('\t').append(evento.hilo)
+          .append('\t').append(evento.mensaje);
+        if (evento.causa != null) {
+            StringWriter traza = new StringWriter();
+            evento.causa.printStackTrace(new PrintWriter(traza));
+            for (String linea : traza.toString().split("\\R")) {
+                sb.append('\n').append('\t').append(linea);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Mensaje ya formateado, listo para escribir
+     */
+    static final class Evento {
+        final long instante;
+        final Bitacora.Nivel nivel;
+        final String categoria;
+        final String hilo;
+        final String mensaje;
+        final Throwable causa;
+
+        Evento(long instante, Bitacora.Nivel nivel, String categoria, String hilo, String mensaje, Throwable causa) {
+            this.instante = instante;
+            this.nivel = nivel;
+            this.categoria = categoria;
+            this.hilo = hilo;
+            this.mensaje = mensaje;
+            this.causa = causa;
+        }
+    }
+}
@@ -13,8 +13,15 @@ import com.techsolutions.model.Tarea;
 
 /**
  * Clase para manejar dependencias entre tareas usando un grafo
+ *
+ * Cada ejecución de los algoritmos se mide en RegistroMetricas (grafo.*).
  */
 public class GrafoTareas {
+    private static final HistogramaLatencia LATENCIA_CICLO_NUEVO = RegistroMetricas.getInstance().latencia("grafo.existeCiclo");
+    private static final HistogramaLatencia LATENCIA_ORDEN = RegistroMetricas.getInstance().latencia("grafo.ordenTopologico");
+    private static final HistogramaLatencia LATENCIA_CICLOS = RegistroMetricas.getInstance().latencia("grafo.tieneCiclos");
+    private static final HistogramaLatencia LATENCIA_CAMINO = RegistroMetricas.getInstance().latencia("grafo.caminoCritico");
+
     private Map<String, List<String>> dependencias; // tarea -> lista de tareas de las que depende
     private Map<String, Tarea> tareas; // id -> tarea
 
@@ -46,7 +53,10 @@ public class GrafoTareas {
         }
 
         // Verificar que no se cree un ciclo
-        if (existeCiclo(tareaId, dependeDeId)) {
+        long inicio = System.nanoTime();
+        boolean ciclo = existeCiclo(tareaId, dependeDeId);
+        LATENCIA_CICLO_NUEVO.registrarDesde(inicio);
+        if (ciclo) {
             return false;
         }
 
@@ -141,6 +151,15 @@ public class GrafoTareas {
      * Obtiene un orden topológico de las tareas (orden de ejecución recomendado)
      */
     public List<String> obtenerOrdenTopologico() {
+        long inicio = System.nanoTime();
+        try {
+            return calcularOrdenTopologico();
+        } finally {
+            LATENCIA_ORDEN.registrarDesde(inicio);
+        }
+    }
+
+    private List<String> calcularOrdenTopologico() {
         Map<String, Integer> gradoEntrada = new HashMap<>();
         Queue<String> cola = new LinkedList<>();
         List<String> resultado = new ArrayList<>();
@@ -150,11 +169,10 @@ public class GrafoTareas {
             gradoEntrada.put(tarea, 0);
         }
         
-        // Calcular grado de entrada para cada tarea
-        for (List<String> deps : dependencias.values()) {
-            for (String dep : deps) {
-                gradoEntrada.put(dep, gradoEntrada.getOrDefault(dep, 0) + 1);
-            }
+        // Calcular grado de entrada para cada tarea: una tarea espera a las
+        // tareas de las que depende (sin contar dos veces una dependencia repetida)
+        for (Map.Entry<String, List<String>> entry : dependencias.entrySet()) {
+            gradoEntrada.put(entry.getKey(), new HashSet<>(entry.getValue()).size());
         }
         
         // Agregar tareas sin dependencias a la cola
@@ -188,8 +206,13 @@ public class GrafoTareas {
      * Verifica si el grafo tiene ciclos
      */
     public boolean tieneCiclos() {
-        List<String> ordenTopologico = obtenerOrdenTopologico();
-        return ordenTopologico.size() != tareas.size();
+        long inicio = System.nanoTime();
+        try {
+            List<String> ordenTopologico = calcularOrdenTopologico();
+            return ordenTopologico.size() != tareas.size();
+        } finally {
+            LATENCIA_CICLOS.registrarDesde(inicio);
+        }
     }
 
     /**
@@ -233,6 +256,15 @@ public class GrafoTareas {
      * Obtiene el camino crítico (la secuencia más larga de tareas dependientes)
      */
     public List<String> obtenerCaminoCritico() {
+        long inicio = System.nanoTime();
+        try {
+            return calcularCaminoCritico();
+        } finally {
+            LATENCIA_CAMINO.registrarDesde(inicio);
+        }
+    }
+
+    private List<String> calcularCaminoCritico() {
         Map<String, Integer> distancias = new HashMap<>();
         Map<String, String> predecessores = new HashMap<>();
         
@@ -242,7 +274,7 @@ public class GrafoTareas {
         }
         
         // Aplicar algoritmo de camino más largo usando ordenamiento topológico
-        List<String> ordenTopologico = obtenerOrdenTopologico();
+        List<String> ordenTopologico = calcularOrdenTopologico();
         
         for (String actual : ordenTopologico) {
             List<String> dependientes = obtenerTareasDependientes(actual);
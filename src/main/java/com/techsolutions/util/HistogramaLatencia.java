@@ -0,0 +1,166 @@
+package com.techsolutions.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales, al
+ * estilo de HdrHistogram: cada potencia de dos se divide en SUBCUBETAS
+ * cubetas iguales, así el error relativo de cualquier percentil es menor al
+ * 1/SUBCUBETAS (~3%) tanto para 200 ns como para 2 s, con un arreglo fijo y
+ * pequeño.
+ *
+ * registrar() no bloquea ni reserva memoria: un incremento atómico en la
+ * cubeta más los acumuladores de cuenta, suma y máximo. Los valores por
+ * encima de MAXIMO_NANOS se cuentan en la última cubeta (el máximo sí guarda
+ * el valor exacto).
+ */
+public final class HistogramaLatencia {
+
+    /** Bits de precisión por potencia de dos: 2^5 = 32 subcubetas */
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+
+    /** Mayor valor con cubeta propia: una hora */
+    public static final long MAXIMO_NANOS = 3_600_000_000_000L;
+
+    private static final int CUBETAS = indice(MAXIMO_NANOS) + 1;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder cuenta = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra una duración en nanosegundos (las negativas cuentan como 0)
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(indice(Math.min(valor, MAXIMO_NANOS)));
+        cuenta.increment();
+        suma.add(valor);
+        long actual;
+        while (valor > (actual = maximo.get()) && !maximo.compareAndSet(actual, valor)) {
+            // otro hilo cambió el máximo: se vuelve a comparar
+        }
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde inicio (un System.nanoTime())
+     */
+    public void registrarDesde(long inicio) {
+        registrar(System.nanoTime() - inicio);
+    }
+
+    public long getCuenta() {
+        return cuenta.sum();
+    }
+
+    /**
+     * Copia consistente solo por cubeta: con registros concurrentes la cuenta
+     * puede no coincidir exactamente con la suma de las cubetas, lo que no
+     * afecta a los percentiles más que en un registro
+     */
+    public Resumen resumen() {
+        long[] copia = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        long n = cuenta.sum();
+        long max = maximo.get();
+        return new Resumen(n,
+                n == 0 ? 0 : suma.sum() / n,
+                percentil(copia, total, 0.50, max),
+                percentil(copia, total, 0.90, max),
+                percentil(copia, total, 0.99, max),
+                percentil(copia, total, 0.999, max),
+                max);
+    }
+
+    /**
+     * Borra todos los registros. Los registros concurrentes con el reinicio
+     * pueden quedar a medias (contados en la cubeta y no en la cuenta)
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        cuenta.reset();
+        suma.reset();
+        maximo.set(0);
+    }
+
+    // ===============================
+    // CUBETAS
+    // ===============================
+
+    /**
+     * Los valores menores que SUBCUBETAS tienen cubeta exacta; por encima,
+     * el exponente elige el grupo y los BITS_SUBCUBETA bits siguientes al más
+     * alto la cubeta dentro del grupo
+     */
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) return (int) valor;
+        int desplazamiento = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA;
+        int sub = (int) (valor >>> desplazamiento) - SUBCUBETAS;
+        return SUBCUBETAS + desplazamiento * SUBCUBETAS + sub;
+    }
+
+    /**
+     * Valor representativo de la cubeta: el punto medio de su intervalo
+     */
+    static long valorCubeta(int indice) {
+        if (indice < SUBCUBETAS) return indice;
+        int desplazamiento = (indice - SUBCUBETAS) / SUBCUBETAS;
+        long inferior = (long) (SUBCUBETAS + (indice - SUBCUBETAS) % SUBCUBETAS) << desplazamiento;
+        return inferior + ((1L << desplazamiento) >>> 1);
+    }
+
+    private static long percentil(long[] copia, long total, double fraccion, long maximo) {
+        if (total == 0) return 0;
+        long objetivo = Math.max(1, (long) Math.ceil(total * fraccion));
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                // El punto medio de la cubeta del máximo puede pasarse del máximo real
+                return Math.min(valorCubeta(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Resumen del histograma en un momento dado (todo en nanosegundos)
+     */
+    public static final class Resumen {
+        private final long cuenta;
+        private final long media;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long maximo;
+
+        Resumen(long cuenta, long media, long p50, long p90, long p99, long p999, long maximo) {
+            this.cuenta = cuenta;
+            this.media = media;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.maximo = maximo;
+        }
+
+        public long getCuenta() { return cuenta; }
+        public long getMedia() { return media; }
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+        public long getP999() { return p999; }
+        public long getMaximo() { return maximo; }
+    }
+}
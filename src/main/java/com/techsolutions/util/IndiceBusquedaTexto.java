@@ -0,0 +1,578 @@
+package com.techsolutions.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.techsolutions.model.Tarea;
+
+/**
+ * Índice invertido en memoria para buscar tareas por texto.
+ *
+ * Indexa el ID, el departamento y la descripción de cada tarea. Los textos se
+ * normalizan a minúsculas y sin acentos (á->a, ñ->n... igual que los nombres de
+ * usuario de UsuarioService) y se dividen en palabras. Cada palabra tiene una
+ * lista de documentos ordenada por número de documento, con la frecuencia
+ * ponderada por campo (ID x3, departamento x2, descripción x1).
+ *
+ * Búsqueda:
+ * - Todas las palabras de la consulta deben aparecer (AND).
+ * - Cada palabra también encuentra términos que empiezan por ella (prefijo),
+ *   con menor puntuación que la coincidencia exacta.
+ * - Resultados ordenados por BM25.
+ *
+ * Las altas, cambios y bajas son incrementales: una baja marca el documento
+ * como eliminado y las listas se compactan cuando los eliminados superan a los
+ * vivos. Es seguro para uso concurrente: los métodos de instancia se
+ * sincronizan con el monitor del propio índice (buscar(String, int) delega en
+ * la variante sincronizada). Las funciones estáticas normalizar y tokenizar no
+ * tienen estado.
+ */
+public class IndiceBusquedaTexto {
+
+    /** Máximo de términos en que se expande un prefijo (los siguientes en orden alfabético se ignoran) */
+    public static final int MAX_EXPANSION_PREFIJO = 256;
+
+    private static final int PESO_ID = 3;
+    private static final int PESO_DEPARTAMENTO = 2;
+    private static final int PESO_DESCRIPCION = 1;
+
+    // Parámetros BM25 y penalización de coincidencias por prefijo
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double FACTOR_PREFIJO = 0.6;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    // ==================== TÉRMINOS ====================
+
+    private final Map<String, Integer> terminoPorTexto = new HashMap<>();
+    private final TreeMap<String, Integer> terminosOrdenados = new TreeMap<>();
+    private final List<ListaDocumentos> listas = new ArrayList<>();
+
+    // ==================== DOCUMENTOS ====================
+
+    private final Map<String, Integer> documentoPorId = new HashMap<>();
+    private Tarea[] tareas = new Tarea[64];
+    private int[] longitudes = new int[64];
+    private boolean[] vivos = new boolean[64];
+    // Términos de cada documento (para bajas): poolTerminos[inicioTerminos[d] .. inicioTerminos[d + 1])
+    private int[] inicioTerminos = new int[65];
+    private int[] poolTerminos = new int[256];
+
+    private int totalDocumentos;   // documentos asignados (incluye eliminados)
+    private int documentosVivos;
+    private long sumaLongitudes;   // de los documentos vivos
+
+    // Acumuladores reutilizados entre búsquedas
+    private double[] puntuaciones = new double[0];
+    private int[] coincidencias = new int[0];
+    private int[] marcaPalabra = new int[0];
+
+    // ==================== NORMALIZACIÓN ====================
+
+    /**
+     * Pasa un texto a minúsculas y sin marcas diacríticas
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+        String minusculas = texto.toLowerCase();
+        char[] resultado = null;
+        for (int i = 0; i < minusculas.length(); i++) {
+            char c = minusculas.charAt(i);
+            if (c < 128) continue;
+            char base = letraSinAcento(c);
+            if (base == 0) {
+                // Carácter poco común: descomposición Unicode completa
+                return MARCAS_DIACRITICAS.matcher(Normalizer.normalize(minusculas, Normalizer.Form.NFD)).replaceAll("");
+            }
+            if (resultado == null) resultado = minusculas.toCharArray();
+            resultado[i] = base;
+        }
+        return resultado == null ? minusculas : new String(resultado);
+    }
+
+    /**
+     * Letra base de las vocales acentuadas y la ñ del español; 0 si no es una de ellas
+     */
+    private static char letraSinAcento(char c) {
+        switch (c) {
+            case 'á': case 'à': case 'ä': case 'â': return 'a';
+            case 'é': case 'è': case 'ë': case 'ê': return 'e';
+            case 'í': case 'ì': case 'ï': case 'î': return 'i';
+            case 'ó': case 'ò': case 'ö': case 'ô': return 'o';
+            case 'ú': case 'ù': case 'ü': case 'û': return 'u';
+            case 'ñ': return 'n';
+            default: return 0;
+        }
+    }
+
+    /**
+     * Divide un texto normalizado en palabras (letras y dígitos)
+     */
+    public static List<String> tokenizar(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> palabras = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean parteDePalabra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (parteDePalabra && inicio < 0) {
+                inicio = i;
+            } else if (!parteDePalabra && inicio >= 0) {
+                palabras.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return palabras;
+    }
+
+    // ==================== ALTAS, CAMBIOS Y BAJAS ====================
+
+    /**
+     * Indexa una tarea; si ya estaba indexada con el mismo ID se reemplaza
+     */
+    public synchronized void agregar(Tarea tarea) {
+        if (tarea == null || tarea.getId() == null) return;
+        if (eliminarInterno(tarea.getId())) {
+            compactarSiConviene();
+        }
+
+        // Frecuencia ponderada de cada término en el documento
+        Map<String, Integer> frecuencias = new HashMap<>();
+        int longitud = 0;
+        longitud += contar(frecuencias, tarea.getId(), PESO_ID);
+        longitud += contar(frecuencias, tarea.getDepartamento(), PESO_DEPARTAMENTO);
+        longitud += contar(frecuencias, tarea.getDescripcion(), PESO_DESCRIPCION);
+
+        int documento = totalDocumentos++;
+        asegurarCapacidadDocumentos(totalDocumentos);
+        tareas[documento] = tarea;
+        longitudes[documento] = longitud;
+        vivos[documento] = true;
+
+        int inicio = inicioTerminos[documento];
+        asegurarCapacidadPool(inicio + frecuencias.size());
+        int pos = inicio;
+        for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+            int termino = obtenerOCrearTermino(entrada.getKey());
+            listas.get(termino).agregar(documento, entrada.getValue());
+            poolTerminos[pos++] = termino;
+        }
+        inicioTerminos[documento + 1] = pos;
+
+        documentoPorId.put(tarea.getId(), documento);
+        documentosVivos++;
+        sumaLongitudes += longitud;
+    }
+
+    /**
+     * Indexa varias tareas
+     */
+    public synchronized void agregarTodas(Collection<? extends Tarea> nuevas) {
+        for (Tarea tarea : nuevas) {
+            agregar(tarea);
+        }
+    }
+
+    /**
+     * Quita una tarea del índice
+     *
+     * @return true si estaba indexada
+     */
+    public synchronized boolean eliminar(String id) {
+        boolean eliminado = eliminarInterno(id);
+        if (eliminado) {
+            compactarSiConviene();
+        }
+        return eliminado;
+    }
+
+    public synchronized void limpiar() {
+        terminoPorTexto.clear();
+        terminosOrdenados.clear();
+        listas.clear();
+        documentoPorId.clear();
+        Arrays.fill(tareas, 0, totalDocumentos, null);
+        Arrays.fill(vivos, 0, totalDocumentos, false);
+        totalDocumentos = 0;
+        documentosVivos = 0;
+        sumaLongitudes = 0;
+        inicioTerminos[0] = 0;
+    }
+
+    public synchronized int tamano() {
+        return documentosVivos;
+    }
+
+    public synchronized int getNumeroTerminos() {
+        return listas.size();
+    }
+
+    private boolean eliminarInterno(String id) {
+        Integer documento = id == null ? null : documentoPorId.remove(id);
+        if (documento == null) return false;
+
+        vivos[documento] = false;
+        tareas[documento] = null;
+        documentosVivos--;
+        sumaLongitudes -= longitudes[documento];
+        for (int i = inicioTerminos[documento]; i < inicioTerminos[documento + 1]; i++) {
+            listas.get(poolTerminos[i]).eliminados++;
+        }
+        return true;
+    }
+
+    private static int contar(Map<String, Integer> frecuencias, String texto, int peso) {
+        if (texto == null) return 0;
+        List<String> palabras = tokenizar(texto);
+        for (String palabra : palabras) {
+            frecuencias.merge(palabra, peso, Integer::sum);
+        }
+        return palabras.size() * peso;
+    }
+
+    private int obtenerOCrearTermino(String texto) {
+        Integer termino = terminoPorTexto.get(texto);
+        if (termino == null) {
+            termino = listas.size();
+            listas.add(new ListaDocumentos());
+            terminoPorTexto.put(texto, termino);
+            terminosOrdenados.put(texto, termino);
+        }
+        return termino;
+    }
+
+    private void compactarSiConviene() {
+        if (totalDocumentos - documentosVivos > documentosVivos) {
+            compactar();
+        }
+    }
+
+    /**
+     * Renumera los documentos vivos y descarta de las listas los eliminados
+     */
+    private void compactar() {
+        int[] nuevoNumero = new int[totalDocumentos];
+        int vivosContados = 0;
+        int posPool = 0;
+        for (int d = 0; d < totalDocumentos; d++) {
+            if (!vivos[d]) {
+                nuevoNumero[d] = -1;
+                continue;
+            }
+            int n = vivosContados++;
+            nuevoNumero[d] = n;
+            int inicio = inicioTerminos[d];
+            int fin = inicioTerminos[d + 1];
+            // El destino nunca adelanta al origen, se puede copiar en el mismo arreglo
+            System.arraycopy(poolTerminos, inicio, poolTerminos, posPool, fin - inicio);
+            inicioTerminos[n] = posPool;
+            posPool += fin - inicio;
+            tareas[n] = tareas[d];
+            longitudes[n] = longitudes[d];
+            vivos[n] = true;
+            documentoPorId.put(tareas[n].getId(), n);
+        }
+        inicioTerminos[vivosContados] = posPool;
+        Arrays.fill(tareas, vivosContados, totalDocumentos, null);
+        Arrays.fill(vivos, vivosContados, totalDocumentos, false);
+        totalDocumentos = vivosContados;
+
+        for (ListaDocumentos lista : listas) {
+            lista.renumerar(nuevoNumero);
+        }
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Busca tareas que contengan todas las palabras de la consulta
+     *
+     * @param consulta texto libre; cada palabra se busca también como prefijo
+     * @param limite número máximo de resultados
+     * @return resultados de mayor a menor puntuación
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        return buscar(consulta, limite, null);
+    }
+
+    /**
+     * Igual que buscar(consulta, limite), descartando las tareas que no cumplen el filtro
+     */
+    public synchronized List<Resultado> buscar(String consulta, int limite, Predicate<Tarea> filtro) {
+        List<String> palabras = tokenizar(consulta);
+        if (palabras.isEmpty() || limite <= 0 || documentosVivos == 0) {
+            return Collections.emptyList();
+        }
+
+        // Expandir cada palabra a sus términos; si alguna no tiene, no hay resultados
+        List<Expansion> expansiones = new ArrayList<>();
+        for (String palabra : new LinkedHashSet<>(palabras)) {
+            Expansion expansion = expandir(palabra);
+            if (expansion.terminos.isEmpty()) return Collections.emptyList();
+            expansiones.add(expansion);
+        }
+        // Empezar por la palabra más selectiva
+        expansiones.sort((a, b) -> Long.compare(a.costo, b.costo));
+
+        prepararAcumuladores();
+        double longitudMedia = Math.max(1.0, (double) sumaLongitudes / documentosVivos);
+
+        // Primera palabra: genera los candidatos
+        int[] candidatos = new int[16];
+        int numCandidatos = 0;
+        Expansion primera = expansiones.get(0);
+        for (int t = 0; t < primera.terminos.size(); t++) {
+            ListaDocumentos lista = listas.get(primera.terminos.get(t));
+            double idf = idf(lista.vivos());
+            double factor = primera.exacto.get(t) ? 1.0 : FACTOR_PREFIJO;
+            for (int i = 0; i < lista.tamano; i++) {
+                int d = lista.documentos[i];
+                if (!vivos[d]) continue;
+                if (coincidencias[d] == 0) {
+                    if (numCandidatos == candidatos.length) {
+                        candidatos = Arrays.copyOf(candidatos, candidatos.length * 2);
+                    }
+                    candidatos[numCandidatos++] = d;
+                    coincidencias[d] = 1;
+                }
+                puntuaciones[d] += factor * bm25(idf, lista.frecuencias[i], longitudes[d], longitudMedia);
+            }
+        }
+
+        // Resto de palabras: solo suman a candidatos que ya coinciden con todas las anteriores
+        for (int p = 1; p < expansiones.size() && numCandidatos > 0; p++) {
+            Expansion expansion = expansiones.get(p);
+            for (int t = 0; t < expansion.terminos.size(); t++) {
+                ListaDocumentos lista = listas.get(expansion.terminos.get(t));
+                double idf = idf(lista.vivos());
+                double factor = expansion.exacto.get(t) ? 1.0 : FACTOR_PREFIJO;
+                sumarPalabra(lista, p, idf * factor, longitudMedia, candidatos, numCandidatos);
+            }
+            // Quedarse con los candidatos que coincidieron con esta palabra
+            int quedan = 0;
+            for (int c = 0; c < numCandidatos; c++) {
+                int d = candidatos[c];
+                if (marcaPalabra[d] == p) {
+                    coincidencias[d]++;
+                    candidatos[quedan++] = d;
+                } else {
+                    coincidencias[d] = 0;
+                    puntuaciones[d] = 0;
+                    marcaPalabra[d] = 0;
+                }
+            }
+            numCandidatos = quedan;
+        }
+
+        // Los mejores resultados con un montículo de tamaño limite
+        PriorityQueue<Resultado> mejores = new PriorityQueue<>(
+                Math.min(limite, Math.max(1, numCandidatos)), Resultado.ORDEN_ASCENDENTE);
+        for (int c = 0; c < numCandidatos; c++) {
+            int d = candidatos[c];
+            double puntuacion = puntuaciones[d];
+            Tarea tarea = tareas[d];
+            if (filtro == null || filtro.test(tarea)) {
+                if (mejores.size() < limite) {
+                    mejores.add(new Resultado(tarea, puntuacion));
+                } else if (puntuacion > mejores.peek().puntuacion) {
+                    mejores.poll();
+                    mejores.add(new Resultado(tarea, puntuacion));
+                }
+            }
+        }
+        limpiarAcumuladores(candidatos, numCandidatos);
+
+        List<Resultado> resultado = new ArrayList<>(mejores);
+        resultado.sort(Resultado.ORDEN_ASCENDENTE.reversed());
+        return resultado;
+    }
+
+    /**
+     * Suma la puntuación de un término a los candidatos. Si hay pocos
+     * candidatos comparados con el tamaño de la lista se buscan uno a uno
+     * (búsqueda binaria); si no, se recorre la lista completa.
+     */
+    private void sumarPalabra(ListaDocumentos lista, int palabra, double peso, double longitudMedia,
+            int[] candidatos, int numCandidatos) {
+        double log2 = 32 - Integer.numberOfLeadingZeros(Math.max(1, lista.tamano));
+        if (numCandidatos * log2 < lista.tamano) {
+            for (int c = 0; c < numCandidatos; c++) {
+                int d = candidatos[c];
+                int i = Arrays.binarySearch(lista.documentos, 0, lista.tamano, d);
+                if (i >= 0) {
+                    sumar(d, palabra, peso, lista.frecuencias[i], longitudMedia);
+                }
+            }
+        } else {
+            for (int i = 0; i < lista.tamano; i++) {
+                int d = lista.documentos[i];
+                // Solo los que siguen siendo candidatos (coincidieron con todas las palabras previas)
+                if (vivos[d] && coincidencias[d] == palabra) {
+                    sumar(d, palabra, peso, lista.frecuencias[i], longitudMedia);
+                }
+            }
+        }
+    }
+
+    private void sumar(int d, int palabra, double peso, int frecuencia, double longitudMedia) {
+        puntuaciones[d] += peso * bm25(1.0, frecuencia, longitudes[d], longitudMedia);
+        marcaPalabra[d] = palabra;
+    }
+
+    private Expansion expandir(String palabra) {
+        Expansion expansion = new Expansion();
+        Integer exacto = terminoPorTexto.get(palabra);
+        if (exacto != null && listas.get(exacto).vivos() > 0) {
+            expansion.agregar(exacto, true, listas.get(exacto).vivos());
+        }
+        SortedMap<String, Integer> conPrefijo = terminosOrdenados.subMap(palabra, palabra + Character.MAX_VALUE);
+        for (Map.Entry<String, Integer> entrada : conPrefijo.entrySet()) {
+            if (expansion.terminos.size() >= MAX_EXPANSION_PREFIJO) break;
+            int termino = entrada.getValue();
+            if ((exacto == null || termino != exacto) && listas.get(termino).vivos() > 0) {
+                expansion.agregar(termino, false, listas.get(termino).vivos());
+            }
+        }
+        return expansion;
+    }
+
+    private double idf(int frecuenciaDocumentos) {
+        return Math.log(1.0 + (documentosVivos - frecuenciaDocumentos + 0.5) / (frecuenciaDocumentos + 0.5));
+    }
+
+    private static double bm25(double idf, int frecuencia, int longitud, double longitudMedia) {
+        return idf * (frecuencia * (K1 + 1)) / (frecuencia + K1 * (1 - B + B * longitud / longitudMedia));
+    }
+
+    private void prepararAcumuladores() {
+        if (puntuaciones.length < totalDocumentos) {
+            int capacidad = Math.max(totalDocumentos, puntuaciones.length * 2);
+            puntuaciones = new double[capacidad];
+            coincidencias = new int[capacidad];
+            marcaPalabra = new int[capacidad];
+        }
+    }
+
+    private void limpiarAcumuladores(int[] candidatos, int numCandidatos) {
+        // Solo se tocaron los candidatos que quedaron; los descartados ya se limpiaron
+        for (int c = 0; c < numCandidatos; c++) {
+            int d = candidatos[c];
+            puntuaciones[d] = 0;
+            coincidencias[d] = 0;
+            marcaPalabra[d] = 0;
+        }
+    }
+
+    private void asegurarCapacidadDocumentos(int minima) {
+        if (minima <= tareas.length) return;
+        int capacidad = Math.max(minima, tareas.length + (tareas.length >> 1));
+        tareas = Arrays.copyOf(tareas, capacidad);
+        longitudes = Arrays.copyOf(longitudes, capacidad);
+        vivos = Arrays.copyOf(vivos, capacidad);
+        inicioTerminos = Arrays.copyOf(inicioTerminos, capacidad + 1);
+    }
+
+    private void asegurarCapacidadPool(int minima) {
+        if (minima <= poolTerminos.length) return;
+        poolTerminos = Arrays.copyOf(poolTerminos, Math.max(minima, poolTerminos.length * 2));
+    }
+
+    // ==================== ESTRUCTURAS INTERNAS ====================
+
+    /**
+     * Lista de documentos de un término, ordenada por número de documento
+     */
+    private static final class ListaDocumentos {
+        // La mayoría de términos (IDs, números) aparecen en un solo documento
+        int[] documentos = new int[1];
+        int[] frecuencias = new int[1];
+        int tamano;
+        int eliminados;
+
+        void agregar(int documento, int frecuencia) {
+            if (tamano == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamano * 2);
+                frecuencias = Arrays.copyOf(frecuencias, tamano * 2);
+            }
+            documentos[tamano] = documento;
+            frecuencias[tamano] = frecuencia;
+            tamano++;
+        }
+
+        int vivos() {
+            return tamano - eliminados;
+        }
+
+        void renumerar(int[] nuevoNumero) {
+            int quedan = 0;
+            for (int i = 0; i < tamano; i++) {
+                int n = nuevoNumero[documentos[i]];
+                if (n >= 0) {
+                    documentos[quedan] = n;
+                    frecuencias[quedan] = frecuencias[i];
+                    quedan++;
+                }
+            }
+            tamano = quedan;
+            eliminados = 0;
+        }
+    }
+
+    /**
+     * Términos en que se expande una palabra de la consulta
+     */
+    private static final class Expansion {
+        final List<Integer> terminos = new ArrayList<>();
+        final List<Boolean> exacto = new ArrayList<>();
+        long costo;
+
+        void agregar(int termino, boolean esExacto, int documentos) {
+            terminos.add(termino);
+            exacto.add(esExacto);
+            costo += documentos;
+        }
+    }
+
+    /**
+     * Resultado de una búsqueda: la tarea y su puntuación
+     */
+    public static final class Resultado {
+        static final Comparator<Resultado> ORDEN_ASCENDENTE =
+                Comparator.comparingDouble((Resultado r) -> r.puntuacion)
+                        .thenComparing(r -> r.tarea.getId(), Comparator.reverseOrder());
+
+        private final Tarea tarea;
+        private final double puntuacion;
+
+        Resultado(Tarea tarea, double puntuacion) {
+            this.tarea = tarea;
+            this.puntuacion = puntuacion;
+        }
+
+        public Tarea getTarea() {
+            return tarea;
+        }
+
+        public double getPuntuacion() {
+            return puntuacion;
+        }
+
+        @Override
+        public String toString() {
+            return tarea.getId() + " (" + String.format("%.2f", puntuacion) + ")";
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.techsolutions.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.techsolutions.model.Tarea;
+
+/**
+ * Índice de tareas ordenado por el número de su ID ("T2" antes que "T10").
+ *
+ * Guarda los números en un int[] ordenado, con las tareas en un arreglo
+ * paralelo, así la búsqueda por ID y los rangos ("T1000-T2000") cuestan
+ * O(log n) (más k resultados) sin cajas Integer ni nodos de árbol. Insertar
+ * un ID mayor que todos los existentes, que es lo habitual porque los IDs se
+ * generan en secuencia, es O(1); insertar en medio o eliminar desplaza el
+ * arreglo con System.arraycopy.
+ *
+ * Dos IDs con el mismo número ("T7" y "T07") se ordenan por el texto
+ * completo. Los IDs sin sufijo numérico no se indexan.
+ */
+public class IndiceIdsOrdenado {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int[] numeros = new int[CAPACIDAD_INICIAL];
+    private Tarea[] tareas = new Tarea[CAPACIDAD_INICIAL];
+    private int tamano;
+
+    // ===============================
+    // MODIFICACIÓN
+    // ===============================
+
+    /**
+     * Agrega una tarea o reemplaza la que tenga el mismo ID
+     *
+     * @return false si el ID no tiene sufijo numérico y no se indexa
+     */
+    public boolean agregar(Tarea tarea) {
+        String id = tarea.getId();
+        int numero = numeroDeId(id);
+        if (numero < 0) return false;
+
+        // Camino rápido: IDs nuevos en secuencia van al final
+        if (tamano == 0 || comparar(numero, id, tamano - 1) > 0) {
+            asegurarCapacidad(tamano + 1);
+            numeros[tamano] = numero;
+            tareas[tamano] = tarea;
+            tamano++;
+            return true;
+        }
+
+        int pos = posicionDe(numero, id);
+        if (pos < tamano && numeros[pos] == numero && tareas[pos].getId().equals(id)) {
+            tareas[pos] = tarea;
+            return true;
+        }
+        asegurarCapacidad(tamano + 1);
+        System.arraycopy(numeros, pos, numeros, pos + 1, tamano - pos);
+        System.arraycopy(tareas, pos, tareas, pos + 1, tamano - pos);
+        numeros[pos] = numero;
+        tareas[pos] = tarea;
+        tamano++;
+        return true;
+    }
+
+    /**
+     * Agrega muchas tareas de una vez: las añade al final y reordena una sola
+     * vez, en lugar de desplazar el arreglo en cada inserción
+     */
+    public void agregarTodas(Collection<? extends Tarea> nuevas) {
+        asegurarCapacidad(tamano + nuevas.size());
+        for (Tarea tarea : nuevas) {
+            int numero = numeroDeId(tarea.getId());
+            if (numero < 0) continue;
+            numeros[tamano] = numero;
+            tareas[tamano] = tarea;
+            tamano++;
+        }
+        reordenar();
+    }
+
+    /**
+     * Elimina la tarea con ese ID
+     *
+     * @return la tarea eliminada, o null si no estaba
+     */
+    public Tarea eliminar(String id) {
+        int pos = buscarPosicion(id);
+        if (pos < 0) return null;
+
+        Tarea eliminada = tareas[pos];
+        int mover = tamano - pos - 1;
+        System.arraycopy(numeros, pos + 1, numeros, pos, mover);
+        System.arraycopy(tareas, pos + 1, tareas, pos, mover);
+        tareas[--tamano] = null;
+        return eliminada;
+    }
+
+    public void limpiar() {
+        numeros = new int[CAPACIDAD_INICIAL];
+        tareas = new Tarea[CAPACIDAD_INICIAL];
+        tamano = 0;
+    }
+
+    // ===============================
+    // CONSULTAS
+    // ===============================
+
+    /**
+     * Obtiene la tarea por ID en O(log n), o null si no existe
+     */
+    public Tarea obtener(String id) {
+        int pos = buscarPosicion(id);
+        return pos < 0 ? null : tareas[pos];
+    }
+
+    /**
+     * Tareas cuyo número de ID está en [desde, hasta], en orden de ID
+     */
+    public List<Tarea> rango(int desde, int hasta) {
+        if (desde > hasta) return Collections.emptyList();
+        int inicio = primeraPosicionDesde(desde);
+        int fin = hasta == Integer.MAX_VALUE ? tamano : primeraPosicionDesde(hasta + 1);
+        return new ArrayList<>(Arrays.asList(tareas).subList(inicio, fin));
+    }
+
+    /**
+     * Tareas entre dos IDs, ambos incluidos (por ejemplo "T1000" y "T2000")
+     */
+    public List<Tarea> rango(String idDesde, String idHasta) {
+        int desde = numeroDeId(idDesde);
+        int hasta = numeroDeId(idHasta);
+        if (desde < 0 || hasta < 0) return Collections.emptyList();
+        return rango(desde, hasta);
+    }
+
+    /**
+     * Cuenta las tareas del rango sin copiarlas
+     */
+    public int contarEnRango(int desde, int hasta) {
+        if (desde > hasta) return 0;
+        int fin = hasta == Integer.MAX_VALUE ? tamano : primeraPosicionDesde(hasta + 1);
+        return fin - primeraPosicionDesde(desde);
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    // ===============================
+    // IDS Y RANGOS DE TEXTO
+    // ===============================
+
+    /**
+     * Número del sufijo de un ID ("T1042" -> 1042). El prefijo son las letras
+     * iniciales y el resto deben ser dígitos.
+     *
+     * @return el número, o -1 si el ID no tiene ese formato o no cabe en un int
+     */
+    public static int numeroDeId(String id) {
+        long numero = CodecId.numeroSufijo(id);
+        return numero > Integer.MAX_VALUE ? -1 : (int) numero;
+    }
+
+    /**
+     * Interpreta un rango de IDs como "T1000-T2000", "T1000–T2000",
+     * "T1000..T2000" o "1000-2000"
+     *
+     * @return {desde, hasta} (en orden), o null si el texto no es un rango
+     */
+    public static int[] parsearRango(String texto) {
+        if (texto == null) return null;
+        String normalizado = texto.trim().replace("..", "-").replace('–', '-').replace('—', '-');
+        int separador = normalizado.indexOf('-');
+        if (separador <= 0 || separador != normalizado.lastIndexOf('-')) return null;
+
+        int desde = numeroDeId(normalizado.substring(0, separador).trim());
+        int hasta = numeroDeId(normalizado.substring(separador + 1).trim());
+        if (desde < 0 || hasta < 0) return null;
+        return desde <= hasta ? new int[]{desde, hasta} : new int[]{hasta, desde};
+    }
+
+    // ===============================
+    // BÚSQUEDA BINARIA
+    // ===============================
+
+    private int buscarPosicion(String id) {
+        int numero = numeroDeId(id);
+        if (numero < 0) return -1;
+        int pos = posicionDe(numero, id);
+        return pos < tamano && numeros[pos] == numero && tareas[pos].getId().equals(id) ? pos : -1;
+    }
+
+    /**
+     * Primera posición cuyo (número, ID) no es menor que el dado
+     */
+    private int posicionDe(int numero, String id) {
+        int izq = 0, der = tamano;
+        while (izq < der) {
+            int medio = (izq + der) >>> 1;
+            if (comparar(numero, id, medio) > 0) {
+                izq = medio + 1;
+            } else {
+                der = medio;
+            }
+        }
+        return izq;
+    }
+
+    /**
+     * Primera posición con número mayor o igual al dado
+     */
+    private int primeraPosicionDesde(int numero) {
+        int izq = 0, der = tamano;
+        while (izq < der) {
+            int medio = (izq + der) >>> 1;
+            if (numeros[medio] < numero) {
+                izq = medio + 1;
+            } else {
+                der = medio;
+            }
+        }
+        return izq;
+    }
+
+    private int comparar(int numero, String id, int pos) {
+        int c = Integer.compare(numero, numeros[pos]);
+        return c != 0 ? c : id.compareTo(tareas[pos].getId());
+    }
+
+    /**
+     * Ordena todo el índice tras una carga masiva. Ordena un long[] con el
+     * número en la parte alta y la posición en la baja (primitivo y estable);
+     * los empates de número se resuelven por texto y los IDs repetidos
+     * conservan la última aparición.
+     */
+    private void reordenar() {
+        long[] orden = new long[tamano];
+        for (int i = 0; i < tamano; i++) {
+            orden[i] = ((long) numeros[i] << 32) | i;
+        }
+        Arrays.sort(orden);
+
+        int[] nuevosNumeros = new int[numeros.length];
+        Tarea[] nuevasTareas = new Tarea[tareas.length];
+        int n = 0;
+        int i = 0;
+        while (i < tamano) {
+            int numero = (int) (orden[i] >>> 32);
+            int j = i;
+            while (j < tamano && (int) (orden[j] >>> 32) == numero) j++;
+
+            if (j - i == 1) {
+                nuevosNumeros[n] = numero;
+                nuevasTareas[n++] = tareas[(int) orden[i]];
+            } else {
+                // Mismo número: orden estable por texto y sin IDs repetidos
+                Tarea[] grupo = new Tarea[j - i];
+                for (int k = i; k < j; k++) grupo[k - i] = tareas[(int) orden[k]];
+                Arrays.sort(grupo, (a, b) -> a.getId().compareTo(b.getId()));
+                for (int k = 0; k < grupo.length; k++) {
+                    if (k + 1 < grupo.length && grupo[k + 1].getId().equals(grupo[k].getId())) continue;
+                    nuevosNumeros[n] = numero;
+                    nuevasTareas[n++] = grupo[k];
+                }
+            }
+            i = j;
+        }
+        numeros = nuevosNumeros;
+        tareas = nuevasTareas;
+        tamano = n;
+    }
+
+    private void asegurarCapacidad(int requerida) {
+        if (requerida <= numeros.length) return;
+        int nueva = Math.max(requerida, numeros.length + (numeros.length >> 1));
+        numeros = Arrays.copyOf(numeros, nueva);
+        tareas = Arrays.copyOf(tareas, nueva);
+    }
+}
@@ -0,0 +1,134 @@
+package com.techsolutions.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.techsolutions.model.TareaPrioridad;
+
+/**
+ * Índice ordenado de tareas con prioridad.
+ *
+ * Mantiene las tareas ordenadas por (prioridad, fechaEntrega, id) en un árbol
+ * rojo-negro, de modo que la vista de prioridades se puede recorrer en orden sin
+ * copiar ni reordenar la cola completa. Recorrer las primeras k tareas cuesta
+ * O(log n + k).
+ *
+ * Las tareas son las mismas instancias que guarda ColaPrioridadIndexada, así
+ * que su clave no se puede cambiar por fuera estando en el árbol: para cambiar
+ * la prioridad o la fecha de una tarea se usa actualizar(), que la retira, la
+ * modifica y la vuelve a colocar en O(log n).
+ */
+public class IndicePrioridad implements Iterable<TareaPrioridad> {
+
+    /** Orden del índice: prioridad, fecha de entrega y por último ID para desempatar */
+    private static final Comparator<TareaPrioridad> ORDEN = Comparator
+            .comparingLong(TareaPrioridad::getClaveOrden)
+            .thenComparing(TareaPrioridad::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final TreeSet<TareaPrioridad> arbol = new TreeSet<>(ORDEN);
+    private final Map<String, TareaPrioridad> porId = new HashMap<>();
+
+    /**
+     * Agrega una tarea al índice. Si ya existe una tarea con el mismo ID se reemplaza.
+     */
+    public void agregar(TareaPrioridad tarea) {
+        eliminar(tarea.getId());
+        porId.put(tarea.getId(), tarea);
+        arbol.add(tarea);
+    }
+
+    /**
+     * Elimina una tarea del índice por su ID
+     *
+     * @return la tarea eliminada, o null si no estaba indexada
+     */
+    public TareaPrioridad eliminar(String id) {
+        TareaPrioridad tarea = porId.remove(id);
+        if (tarea != null) {
+            arbol.remove(tarea);
+        }
+        return tarea;
+    }
+
+    /**
+     * Cambia la prioridad y la fecha de entrega de una tarea indexada y la
+     * recoloca en el árbol, O(log n). La tarea se modifica en el sitio: si
+     * también está en una ColaPrioridadIndexada hay que llamar después a su
+     * reacomodar(id).
+     *
+     * @return la tarea actualizada, o null si no estaba indexada
+     */
+    public TareaPrioridad actualizar(String id, int prioridad, String fechaEntrega) {
+        TareaPrioridad tarea = porId.get(id);
+        if (tarea == null) return null;
+
+        // Retirar con la clave antigua, o el árbol no la encontraría
+        arbol.remove(tarea);
+        tarea.setPrioridad(prioridad);
+        tarea.setFechaEntrega(fechaEntrega);
+        arbol.add(tarea);
+        return tarea;
+    }
+
+    /**
+     * Las k tareas de mayor prioridad, en orden. Cuesta O(log n + k).
+     */
+    public List<TareaPrioridad> primeros(int k) {
+        List<TareaPrioridad> resultado = new ArrayList<>(Math.min(k, arbol.size()));
+        Iterator<TareaPrioridad> it = arbol.iterator();
+        while (resultado.size() < k && it.hasNext()) {
+            resultado.add(it.next());
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene la tarea con mayor prioridad sin retirarla
+     */
+    public TareaPrioridad primero() {
+        return arbol.isEmpty() ? null : arbol.first();
+    }
+
+    public TareaPrioridad buscar(String id) {
+        return porId.get(id);
+    }
+
+    public boolean contiene(String id) {
+        return porId.containsKey(id);
+    }
+
+    public int tamano() {
+        return arbol.size();
+    }
+
+    public boolean estaVacio() {
+        return arbol.isEmpty();
+    }
+
+    public void limpiar() {
+        arbol.clear();
+        porId.clear();
+    }
+
+    /**
+     * Vista de solo lectura de las tareas en orden de prioridad, sin copiarlas
+     */
+    public Collection<TareaPrioridad> tareas() {
+        return Collections.unmodifiableSet(arbol);
+    }
+
+    /**
+     * Recorre las tareas en orden de prioridad. El iterador es de solo lectura.
+     */
+    @Override
+    public Iterator<TareaPrioridad> iterator() {
+        return tareas().iterator();
+    }
+}
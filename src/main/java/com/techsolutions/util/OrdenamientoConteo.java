@@ -0,0 +1,255 @@
+package com.techsolutions.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.ToIntFunction;
+
+import com.techsolutions.model.DiccionarioValores;
+import com.techsolutions.model.Tarea;
+import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.model.ValoresCanonicos;
+
+/**
+ * Ordenamiento por conteo (estable, O(n + k)) para claves de dominio pequeño:
+ * prioridad, urgencia y departamento.
+ *
+ * Cada clave se calcula una sola vez por elemento y se convierte en un entero
+ * en [0, rango). Varias claves se combinan en una sola pasada cuando el
+ * producto de sus rangos es pequeño; si no, se ordena por pasadas estables
+ * desde la clave menos significativa (LSD).
+ *
+ * El resultado básico es una permutación de índices, para que las vistas de
+ * tabla puedan reordenar filas que tienen datos en arreglos paralelos.
+ */
+public final class OrdenamientoConteo {
+
+    /** Prioridades 1-4 y una cubeta final para valores fuera de rango */
+    public static final int RANGO_PRIORIDAD = 5;
+
+    /** Crítica, Alta, Media, Baja y una cubeta final para otros valores */
+    public static final int RANGO_URGENCIA = 5;
+
+    /** Producto máximo de rangos que se resuelve en una sola pasada */
+    private static final int MAX_RANGO_COMBINADO = 1 << 16;
+
+    private OrdenamientoConteo() {
+    }
+
+    // ===============================
+    // PERMUTACIONES
+    // ===============================
+
+    /**
+     * Ordena los índices [0, claves.length) por su clave, de forma estable
+     *
+     * @param claves clave de cada índice, en [0, rango)
+     * @return índices en orden de clave; los empates conservan el orden original
+     * @throws IllegalArgumentException si alguna clave está fuera de rango
+     */
+    public static int[] ordenarIndices(int[] claves, int rango) {
+        return pasada(claves, rango, null);
+    }
+
+    /**
+     * Ordena los índices por varias claves, de la más significativa a la menos
+     *
+     * @param claves arreglos de claves paralelos (todos de la misma longitud)
+     * @param rangos rango de cada arreglo de claves
+     */
+    public static int[] ordenarIndices(int[][] claves, int[] rangos) {
+        if (claves.length == 0 || claves.length != rangos.length) {
+            throw new IllegalArgumentException("Se necesita un rango por cada arreglo de claves");
+        }
+        int n = claves[0].length;
+        for (int[] c : claves) {
+            if (c.length != n) throw new IllegalArgumentException("Los arreglos de claves tienen longitudes distintas");
+        }
+
+        long producto = 1;
+        for (int rango : rangos) producto *= Math.max(rango, 1);
+
+        if (producto <= MAX_RANGO_COMBINADO) {
+            // Una sola pasada sobre la clave compuesta (mixed radix)
+            int[] combinada = new int[n];
+            for (int i = 0; i < n; i++) {
+                int valor = 0;
+                for (int k = 0; k < claves.length; k++) {
+                    valor = valor * rangos[k] + validar(claves[k][i], rangos[k]);
+                }
+                combinada[i] = valor;
+            }
+            return pasada(combinada, (int) producto, null);
+        }
+
+        // LSD: cada pasada estable respeta el orden dejado por la anterior
+        int[] orden = null;
+        for (int k = claves.length - 1; k >= 0; k--) {
+            orden = pasada(claves[k], rangos[k], orden);
+        }
+        return orden;
+    }
+
+    // ===============================
+    // ARREGLOS Y LISTAS
+    // ===============================
+
+    /**
+     * Ordena el arreglo por una clave entera en [0, rango)
+     */
+    public static <T> void ordenar(T[] arreglo, ToIntFunction<? super T> clave, int rango) {
+        if (arreglo == null || arreglo.length <= 1) return;
+        int[] orden = ordenarIndices(calcularClaves(arreglo, clave), rango);
+        aplicar(arreglo, orden);
+    }
+
+    /**
+     * Ordena la lista por una clave entera en [0, rango)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void ordenar(List<T> lista, ToIntFunction<? super T> clave, int rango) {
+        if (lista == null || lista.size() <= 1) return;
+        Object[] arreglo = lista.toArray();
+        ordenar((T[]) arreglo, clave, rango);
+        escribir(lista, arreglo);
+    }
+
+    // ===============================
+    // CLAVES DE TAREAS
+    // ===============================
+
+    /**
+     * Prioridad 1-4 como clave 0-3; cualquier otro valor va al final
+     */
+    public static int clavePrioridad(int prioridad) {
+        return prioridad >= 1 && prioridad <= 4 ? prioridad - 1 : RANGO_PRIORIDAD - 1;
+    }
+
+    /**
+     * Urgencia como clave: el diccionario registra Crítica, Alta, Media y Baja
+     * con los códigos 0-3, que ya están en orden de urgencia
+     */
+    public static int claveUrgencia(String urgencia) {
+        int codigo = ValoresCanonicos.URGENCIAS.buscarCodigo(urgencia);
+        return codigo >= 0 && codigo < RANGO_URGENCIA - 1 ? codigo : RANGO_URGENCIA - 1;
+    }
+
+    public static void ordenarPorPrioridad(List<? extends TareaPrioridad> tareas) {
+        ordenar(tareas, t -> clavePrioridad(t.getPrioridad()), RANGO_PRIORIDAD);
+    }
+
+    /**
+     * Ordena por nombre de departamento (alfabético, vacíos al final)
+     */
+    public static void ordenarPorDepartamento(List<? extends Tarea> tareas) {
+        if (tareas == null || tareas.size() <= 1) return;
+        Object[] arreglo = tareas.toArray();
+        int[] claves = new int[arreglo.length];
+        int rango = clavesAlfabeticas(arreglo, ValoresCanonicos.DEPARTAMENTOS, claves);
+        aplicar(arreglo, ordenarIndices(claves, rango));
+        escribir(tareas, arreglo);
+    }
+
+    /**
+     * Orden de la vista general: urgencia (Crítica a Baja) y después departamento
+     * en orden alfabético
+     *
+     * @return permutación estable de los índices de tareas
+     */
+    public static int[] indicesPorUrgenciaYDepartamento(Tarea[] tareas) {
+        int n = tareas.length;
+        int[] urgencias = new int[n];
+        int[] departamentos = new int[n];
+        for (int i = 0; i < n; i++) {
+            urgencias[i] = claveUrgencia(tareas[i].getUrgencia());
+        }
+        int rangoDepartamentos = clavesAlfabeticas(tareas, ValoresCanonicos.DEPARTAMENTOS, departamentos);
+        return ordenarIndices(new int[][]{urgencias, departamentos}, new int[]{RANGO_URGENCIA, rangoDepartamentos});
+    }
+
+    /**
+     * Calcula, para cada tarea, la posición alfabética de su departamento entre
+     * los valores del diccionario. Los departamentos de las tareas ya están
+     * registrados; uno desconocido se ordena con los vacíos, sin registrarlo.
+     *
+     * @return rango de las claves (el último valor es para departamentos vacíos)
+     */
+    private static int clavesAlfabeticas(Object[] tareas, DiccionarioValores diccionario, int[] destino) {
+        for (int i = 0; i < tareas.length; i++) {
+            destino[i] = diccionario.buscarCodigo(((Tarea) tareas[i]).getDepartamento());
+        }
+
+        List<String> valores = diccionario.obtenerValores();
+        Integer[] porNombre = new Integer[valores.size()];
+        for (int c = 0; c < porNombre.length; c++) porNombre[c] = c;
+        Arrays.sort(porNombre, (a, b) -> valores.get(a).compareTo(valores.get(b)));
+
+        int[] posicion = new int[porNombre.length];
+        for (int p = 0; p < porNombre.length; p++) posicion[porNombre[p]] = p;
+
+        int sinValor = posicion.length;
+        for (int i = 0; i < destino.length; i++) {
+            int codigo = destino[i];
+            destino[i] = codigo >= 0 && codigo < posicion.length ? posicion[codigo] : sinValor;
+        }
+        return sinValor + 1;
+    }
+
+    // ===============================
+    // ALGORITMO
+    // ===============================
+
+    /**
+     * Pasada estable de conteo
+     *
+     * @param orden orden de entrada de los índices (null = 0..n-1)
+     */
+    private static int[] pasada(int[] claves, int rango, int[] orden) {
+        int n = claves.length;
+        int[] inicio = new int[rango + 1];
+        for (int i = 0; i < n; i++) {
+            inicio[validar(claves[i], rango) + 1]++;
+        }
+        for (int k = 0; k < rango; k++) {
+            inicio[k + 1] += inicio[k];
+        }
+
+        int[] salida = new int[n];
+        for (int i = 0; i < n; i++) {
+            int indice = orden == null ? i : orden[i];
+            salida[inicio[claves[indice]]++] = indice;
+        }
+        return salida;
+    }
+
+    private static int validar(int clave, int rango) {
+        if (clave < 0 || clave >= rango) {
+            throw new IllegalArgumentException("Clave " + clave + " fuera del rango [0, " + rango + ")");
+        }
+        return clave;
+    }
+
+    private static <T> int[] calcularClaves(T[] arreglo, ToIntFunction<? super T> clave) {
+        int[] claves = new int[arreglo.length];
+        for (int i = 0; i < arreglo.length; i++) {
+            claves[i] = clave.applyAsInt(arreglo[i]);
+        }
+        return claves;
+    }
+
+    private static void aplicar(Object[] arreglo, int[] orden) {
+        Object[] copia = arreglo.clone();
+        for (int i = 0; i < orden.length; i++) {
+            arreglo[i] = copia[orden[i]];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void escribir(List<T> lista, Object[] arreglo) {
+        ListIterator<T> it = lista.listIterator();
+        for (Object elemento : arreglo) {
+            it.next();
+            it.set((T) elemento);
+        }
+    }
+}
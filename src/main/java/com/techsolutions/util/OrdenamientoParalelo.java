@@ -0,0 +1,298 @@
+package com.techsolutions.util;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.techsolutions.model.TareaPrioridad;
+
+/**
+ * Ordenamiento por mezcla estable sobre arreglos, paralelo con fork-join.
+ *
+ * Trabaja sobre un arreglo con un único búfer auxiliar (no reserva memoria por
+ * cada mezcla) y nunca degrada a O(n²): el peor caso es O(n log n) y la
+ * profundidad de recursión es O(log n). Si las dos mitades ya están en orden
+ * se omite la mezcla, por lo que una entrada ordenada cuesta O(n).
+ *
+ * Los tramos mayores que el umbral de paralelismo se ordenan en paralelo en
+ * el pool común; por debajo del umbral se ordena en el hilo que llama.
+ *
+ * ordenarIndices hace lo mismo sobre un int[] de índices con un comparador de
+ * índices, para ordenar filas sin encajonar cada índice en un Integer.
+ */
+public final class OrdenamientoParalelo {
+
+    /** Tamaño de tramo por encima del cual se reparten las mitades entre hilos */
+    public static final int UMBRAL_PARALELO_PREDETERMINADO = 8192;
+
+    /** Tramos de este tamaño o menores se ordenan por inserción */
+    private static final int UMBRAL_INSERCION = 32;
+
+    /**
+     * Orden por prioridad, fecha de entrega y departamento. Prioridad y fecha
+     * se comparan con la clave long precalculada de TareaPrioridad.
+     */
+    public static final Comparator<TareaPrioridad> POR_PRIORIDAD_FECHA_DEPARTAMENTO = (a, b) -> {
+        int c = Long.compare(a.getClaveOrden(), b.getClaveOrden());
+        return c != 0 ? c : compararTexto(a.getDepartamento(), b.getDepartamento());
+    };
+
+    /** Compara dos índices según los datos a los que apuntan */
+    public interface ComparadorIndices {
+        int comparar(int a, int b);
+    }
+
+    private OrdenamientoParalelo() {
+    }
+
+    // ===============================
+    // ARREGLOS
+    // ===============================
+
+    public static <T> void ordenar(T[] arreglo, Comparator<? super T> comparador) {
+        ordenar(arreglo, comparador, UMBRAL_PARALELO_PREDETERMINADO);
+    }
+
+    /**
+     * Ordena el arreglo de forma estable (los empates conservan su orden relativo)
+     *
+     * @param umbralParalelo tamaño mínimo de tramo que se divide entre hilos;
+     *        Integer.MAX_VALUE fuerza un ordenamiento secuencial
+     */
+    public static <T> void ordenar(T[] arreglo, Comparator<? super T> comparador, int umbralParalelo) {
+        if (arreglo == null || arreglo.length <= 1) return;
+        if (comparador == null) throw new IllegalArgumentException("El comparador no puede ser null");
+
+        @SuppressWarnings("unchecked")
+        T[] auxiliar = (T[]) new Object[arreglo.length];
+        int umbral = Math.max(umbralParalelo, UMBRAL_INSERCION * 2);
+
+        if (arreglo.length <= umbral || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            ordenarTramo(arreglo, auxiliar, 0, arreglo.length, comparador);
+        } else {
+            ForkJoinPool.commonPool().invoke(new TareaOrden<>(arreglo, auxiliar, 0, arreglo.length, comparador, umbral));
+        }
+    }
+
+    /**
+     * Ordena un arreglo de índices de forma estable según el comparador
+     *
+     * @param umbralParalelo tamaño mínimo de tramo que se divide entre hilos;
+     *        Integer.MAX_VALUE fuerza un ordenamiento secuencial
+     */
+    public static void ordenarIndices(int[] indices, ComparadorIndices comparador, int umbralParalelo) {
+        if (indices == null || indices.length <= 1) return;
+        if (comparador == null) throw new IllegalArgumentException("El comparador no puede ser null");
+
+        int[] auxiliar = new int[indices.length];
+        int umbral = Math.max(umbralParalelo, UMBRAL_INSERCION * 2);
+
+        if (indices.length <= umbral || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            ordenarTramo(indices, auxiliar, 0, indices.length, comparador);
+        } else {
+            ForkJoinPool.commonPool().invoke(new TareaOrdenIndices(indices, auxiliar, 0, indices.length, comparador, umbral));
+        }
+    }
+
+    // ===============================
+    // LISTAS
+    // ===============================
+
+    public static <T> void ordenar(List<T> lista, Comparator<? super T> comparador) {
+        ordenar(lista, comparador, UMBRAL_PARALELO_PREDETERMINADO);
+    }
+
+    /**
+     * Ordena la lista copiándola a un arreglo y escribiendo el resultado de vuelta,
+     * así el algoritmo no depende del coste de get/set de la implementación de List
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void ordenar(List<T> lista, Comparator<? super T> comparador, int umbralParalelo) {
+        if (lista == null || lista.size() <= 1) return;
+
+        Object[] arreglo = lista.toArray();
+        ordenar((T[]) arreglo, comparador, umbralParalelo);
+
+        ListIterator<T> it = lista.listIterator();
+        for (Object elemento : arreglo) {
+            it.next();
+            it.set((T) elemento);
+        }
+    }
+
+    /**
+     * Ordena tareas por prioridad, fecha de entrega y departamento (estable)
+     */
+    public static void ordenarPorPrioridadFechaDepartamento(List<TareaPrioridad> tareas, int umbralParalelo) {
+        ordenar(tareas, POR_PRIORIDAD_FECHA_DEPARTAMENTO, umbralParalelo);
+    }
+
+    // ===============================
+    // ALGORITMO
+    // ===============================
+
+    /**
+     * Ordena arreglo[desde, hasta) en el hilo actual
+     */
+    private static <T> void ordenarTramo(T[] a, T[] aux, int desde, int hasta, Comparator<? super T> c) {
+        if (hasta - desde <= UMBRAL_INSERCION) {
+            insercion(a, desde, hasta, c);
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        ordenarTramo(a, aux, desde, medio, c);
+        ordenarTramo(a, aux, medio, hasta, c);
+        mezclar(a, aux, desde, medio, hasta, c);
+    }
+
+    private static <T> void insercion(T[] a, int desde, int hasta, Comparator<? super T> c) {
+        for (int i = desde + 1; i < hasta; i++) {
+            T actual = a[i];
+            int j = i - 1;
+            // Estricto: un elemento igual no adelanta al anterior
+            while (j >= desde && c.compare(a[j], actual) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = actual;
+        }
+    }
+
+    /**
+     * Mezcla los tramos ordenados [desde, medio) y [medio, hasta). Solo copia la
+     * mitad izquierda al auxiliar; los tramos de tareas paralelas no se solapan.
+     */
+    private static <T> void mezclar(T[] a, T[] aux, int desde, int medio, int hasta, Comparator<? super T> c) {
+        // Las mitades ya están en orden: no hay nada que mezclar
+        if (c.compare(a[medio - 1], a[medio]) <= 0) return;
+
+        System.arraycopy(a, desde, aux, desde, medio - desde);
+        int i = desde, j = medio, k = desde;
+        while (i < medio && j < hasta) {
+            // <= mantiene primero el elemento de la izquierda en los empates
+            if (c.compare(aux[i], a[j]) <= 0) {
+                a[k++] = aux[i++];
+            } else {
+                a[k++] = a[j++];
+            }
+        }
+        // Lo que quede a la derecha ya está en su sitio
+        while (i < medio) a[k++] = aux[i++];
+    }
+
+    // Mismo algoritmo sobre int[]: se repite porque los genéricos no admiten primitivos
+
+    private static void ordenarTramo(int[] a, int[] aux, int desde, int hasta, ComparadorIndices c) {
+        if (hasta - desde <= UMBRAL_INSERCION) {
+            insercion(a, desde, hasta, c);
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        ordenarTramo(a, aux, desde, medio, c);
+        ordenarTramo(a, aux, medio, hasta, c);
+        mezclar(a, aux, desde, medio, hasta, c);
+    }
+
+    private static void insercion(int[] a, int desde, int hasta, ComparadorIndices c) {
+        for (int i = desde + 1; i < hasta; i++) {
+            int actual = a[i];
+            int j = i - 1;
+            while (j >= desde && c.comparar(a[j], actual) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = actual;
+        }
+    }
+
+    private static void mezclar(int[] a, int[] aux, int desde, int medio, int hasta, ComparadorIndices c) {
+        if (c.comparar(a[medio - 1], a[medio]) <= 0) return;
+
+        System.arraycopy(a, desde, aux, desde, medio - desde);
+        int i = desde, j = medio, k = desde;
+        while (i < medio && j < hasta) {
+            if (c.comparar(aux[i], a[j]) <= 0) {
+                a[k++] = aux[i++];
+            } else {
+                a[k++] = a[j++];
+            }
+        }
+        while (i < medio) a[k++] = aux[i++];
+    }
+
+    private static int compararTexto(String a, String b) {
+        if (a == b) return 0;
+        if (a == null) return 1;
+        if (b == null) return -1;
+        return a.compareTo(b);
+    }
+
+    /**
+     * Divide el tramo en dos subtareas mientras supere el umbral y mezcla al volver
+     */
+    private static final class TareaOrden<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] a;
+        private final T[] aux;
+        private final int desde;
+        private final int hasta;
+        private final Comparator<? super T> c;
+        private final int umbral;
+
+        TareaOrden(T[] a, T[] aux, int desde, int hasta, Comparator<? super T> c, int umbral) {
+            this.a = a;
+            this.aux = aux;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.c = c;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                ordenarTramo(a, aux, desde, hasta, c);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaOrden<>(a, aux, desde, medio, c, umbral),
+                      new TareaOrden<>(a, aux, medio, hasta, c, umbral));
+            mezclar(a, aux, desde, medio, hasta, c);
+        }
+    }
+
+    private static final class TareaOrdenIndices extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] aux;
+        private final int desde;
+        private final int hasta;
+        private final ComparadorIndices c;
+        private final int umbral;
+
+        TareaOrdenIndices(int[] a, int[] aux, int desde, int hasta, ComparadorIndices c, int umbral) {
+            this.a = a;
+            this.aux = aux;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.c = c;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                ordenarTramo(a, aux, desde, hasta, c);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaOrdenIndices(a, aux, desde, medio, c, umbral),
+                      new TareaOrdenIndices(a, aux, medio, hasta, c, umbral));
+            mezclar(a, aux, desde, medio, hasta, c);
+        }
+    }
+}
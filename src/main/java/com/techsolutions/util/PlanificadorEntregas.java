@@ -0,0 +1,367 @@
+package com.techsolutions.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.techsolutions.model.TareaPrioridad;
+
+/**
+ * Planificador de entregas basado en simulación con montículos.
+ *
+ * Asigna las tareas con prioridad a los puestos de trabajo de cada departamento
+ * siguiendo la política "fecha de entrega más cercana primero" (EDF) y respetando
+ * las dependencias entre tareas. Para cada tarea calcula el inicio, el fin y la
+ * fecha prevista de finalización, e indica si llegará tarde a su fecha de entrega.
+ *
+ * La simulación avanza un reloj de eventos y usa montículos para cada decisión:
+ * - En espera: tareas con todas sus dependencias planificadas, ordenadas por la
+ *   hora en que termina la última (antes de esa hora no pueden empezar).
+ * - Listas de cada departamento: tareas ya disponibles en la hora del reloj,
+ *   ordenadas por fecha de entrega, prioridad e ID.
+ * - Puestos de cada departamento, ordenados por la hora en que quedan libres.
+ * - Departamentos con tareas listas, ordenados por su primer puesto libre.
+ *
+ * En cada paso el reloj salta al siguiente evento: una tarea que pasa a estar
+ * disponible o un puesto libre en un departamento con tareas listas. Las tareas
+ * solo entran en el montículo EDF cuando ya están disponibles, así que un puesto
+ * libre nunca se reserva para una tarea que aún no puede empezar mientras otra
+ * espera.
+ *
+ * Cada tarea entra y sale una vez de cada montículo, por lo que el coste total es
+ * O((T + D) log T) para T tareas y D dependencias. El tiempo se mide en horas de
+ * trabajo desde la fecha de inicio; cada día tiene horasPorDia horas laborables.
+ */
+public class PlanificadorEntregas {
+
+    /** Jornada laboral por defecto */
+    public static final int HORAS_POR_DIA = 8;
+
+    /** Orden de las tareas listas: fecha de entrega, prioridad y por último ID */
+    private static final Comparator<TareaPrioridad> ORDEN_EDF = Comparator
+            .comparingInt(TareaPrioridad::getDiaEntrega)
+            .thenComparingInt(TareaPrioridad::getPrioridad)
+            .thenComparing(TareaPrioridad::getId);
+
+    private final int horasPorDia;
+
+    public PlanificadorEntregas() {
+        this(HORAS_POR_DIA);
+    }
+
+    public PlanificadorEntregas(int horasPorDia) {
+        if (horasPorDia <= 0) {
+            throw new IllegalArgumentException("Las horas por día deben ser mayores que cero");
+        }
+        this.horasPorDia = horasPorDia;
+    }
+
+    /**
+     * Planifica usando las dependencias de un GrafoTareas
+     */
+    public ResultadoPlanificacion planificar(Collection<TareaPrioridad> tareas,
+            Map<String, Integer> capacidadPorDepartamento, GrafoTareas grafo, String fechaInicio) {
+        Map<String, List<String>> dependencias = new HashMap<>();
+        for (TareaPrioridad tarea : tareas) {
+            dependencias.put(tarea.getId(), grafo.obtenerDependencias(tarea.getId()));
+        }
+        return planificar(tareas, capacidadPorDepartamento, dependencias, fechaInicio);
+    }
+
+    /**
+     * Planifica las tareas.
+     *
+     * @param tareas tareas a planificar
+     * @param capacidadPorDepartamento número de empleados disponibles por departamento;
+     *        los departamentos sin personal se planifican con un único puesto y se informan
+     * @param dependencias tarea -> lista de tareas de las que depende. Las dependencias
+     *        hacia tareas que no están en la colección se consideran ya cumplidas.
+     *        Si hay IDs repetidos, las dependencias se resuelven contra la última aparición.
+     * @param fechaInicio fecha yyyy-MM-dd desde la que se planifica
+     */
+    public ResultadoPlanificacion planificar(Collection<TareaPrioridad> tareas,
+            Map<String, Integer> capacidadPorDepartamento, Map<String, List<String>> dependencias,
+            String fechaInicio) {
+        long inicioCalculo = System.nanoTime();
+
+        int diaInicio = Utilidades.convertirADiaEpoch(fechaInicio);
+        if (diaInicio == Utilidades.SIN_FECHA) {
+            diaInicio = Utilidades.convertirADiaEpoch(Utilidades.obtenerFechaActual());
+        }
+
+        // Cada tarea recibe un índice para trabajar con arreglos primitivos
+        TareaPrioridad[] lista = tareas.toArray(new TareaPrioridad[0]);
+        int n = lista.length;
+        Map<String, Integer> indicePorId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indicePorId.put(lista[i].getId(), i);
+        }
+
+        // Grafo inverso (dependencia -> tareas que la esperan) en formato de arreglo compacto
+        int[] pendientes = new int[n];
+        int[] origenArista = new int[Math.max(16, n)];
+        int[] destinoArista = new int[origenArista.length];
+        int aristas = 0;
+        for (int i = 0; i < n; i++) {
+            List<String> deps = dependencias.get(lista[i].getId());
+            if (deps == null) continue;
+            for (String dep : deps) {
+                Integer j = indicePorId.get(dep);
+                if (j == null || j == i) continue;
+                if (aristas == origenArista.length) {
+                    origenArista = Arrays.copyOf(origenArista, aristas * 2);
+                    destinoArista = Arrays.copyOf(destinoArista, aristas * 2);
+                }
+                origenArista[aristas] = j;
+                destinoArista[aristas] = i;
+                aristas++;
+                pendientes[i]++;
+            }
+        }
+        int[] inicioDependientes = new int[n + 1];
+        for (int e = 0; e < aristas; e++) {
+            inicioDependientes[origenArista[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inicioDependientes[i + 1] += inicioDependientes[i];
+        }
+        int[] dependientes = new int[aristas];
+        int[] cursor = Arrays.copyOf(inicioDependientes, n);
+        for (int e = 0; e < aristas; e++) {
+            dependientes[cursor[origenArista[e]]++] = destinoArista[e];
+        }
+
+        Comparator<Integer> ordenEdf = (a, b) -> ORDEN_EDF.compare(lista[a], lista[b]);
+
+        // Hora más temprana en que cada tarea puede empezar (fin de su última dependencia)
+        long[] disponibleDesde = new long[n];
+        PriorityQueue<Integer> enEspera = new PriorityQueue<>(Math.max(1, n),
+                (a, b) -> Long.compare(disponibleDesde[a], disponibleDesde[b]));
+        for (int i = 0; i < n; i++) {
+            if (pendientes[i] == 0) {
+                enEspera.offer(i);
+            }
+        }
+
+        Map<String, Departamento> departamentos = new HashMap<>();
+        PriorityQueue<Departamento> conTareasListas = new PriorityQueue<>(
+                Comparator.comparingLong(Departamento::primerPuestoLibre));
+        Set<String> departamentosSinPersonal = new LinkedHashSet<>();
+
+        List<Asignacion> asignaciones = new ArrayList<>(n);
+        int retrasadas = 0;
+        long horaFinal = 0;
+        long reloj = 0;
+
+        while (!enEspera.isEmpty() || !conTareasListas.isEmpty()) {
+            long proximaDisponible = enEspera.isEmpty() ? Long.MAX_VALUE : disponibleDesde[enEspera.peek()];
+            long proximoPuesto = conTareasListas.isEmpty() ? Long.MAX_VALUE
+                    : Math.max(reloj, conTareasListas.peek().primerPuestoLibre());
+
+            // Con empate primero se liberan tareas, para que compitan por el puesto
+            if (proximaDisponible <= proximoPuesto) {
+                reloj = proximaDisponible;
+                while (!enEspera.isEmpty() && disponibleDesde[enEspera.peek()] <= reloj) {
+                    int disponible = enEspera.poll();
+                    Departamento departamento = departamentos.computeIfAbsent(
+                            lista[disponible].getDepartamento(),
+                            dep -> new Departamento(crearPuestos(dep, capacidadPorDepartamento,
+                                    departamentosSinPersonal), ordenEdf));
+                    if (departamento.listas.isEmpty()) {
+                        conTareasListas.offer(departamento);
+                    }
+                    departamento.listas.offer(disponible);
+                }
+                continue;
+            }
+
+            reloj = proximoPuesto;
+            Departamento departamento = conTareasListas.poll();
+            int actual = departamento.listas.poll();
+            TareaPrioridad tarea = lista[actual];
+
+            // puesto[0] = hora en que queda libre, puesto[1] = número de puesto
+            long[] puesto = departamento.puestos.poll();
+            long inicio = reloj;
+            long fin = inicio + Math.max(0, tarea.getHorasEstimadas());
+            puesto[0] = fin;
+            departamento.puestos.offer(puesto);
+            if (!departamento.listas.isEmpty()) {
+                conTareasListas.offer(departamento);
+            }
+
+            int diaFin = diaInicio + (int) (fin == 0 ? 0 : (fin - 1) / horasPorDia);
+            boolean retrasada = tarea.getDiaEntrega() != Utilidades.SIN_FECHA && diaFin > tarea.getDiaEntrega();
+            if (retrasada) retrasadas++;
+            horaFinal = Math.max(horaFinal, fin);
+
+            asignaciones.add(new Asignacion(tarea, (int) puesto[1], inicio, fin, diaFin, retrasada));
+
+            // Las tareas que esperaban a esta pasan a espera hasta que terminen todas sus dependencias
+            for (int k = inicioDependientes[actual]; k < inicioDependientes[actual + 1]; k++) {
+                int siguiente = dependientes[k];
+                disponibleDesde[siguiente] = Math.max(disponibleDesde[siguiente], fin);
+                if (--pendientes[siguiente] == 0) {
+                    enEspera.offer(siguiente);
+                }
+            }
+        }
+
+        // Lo que no se pudo planificar forma parte de un ciclo o depende de uno
+        List<String> bloqueadas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (pendientes[i] > 0) {
+                bloqueadas.add(lista[i].getId());
+            }
+        }
+        Collections.sort(bloqueadas);
+
+        long tiempoCalculoMs = (System.nanoTime() - inicioCalculo) / 1_000_000;
+        return new ResultadoPlanificacion(asignaciones, bloqueadas, departamentosSinPersonal,
+                retrasadas, horaFinal, tiempoCalculoMs);
+    }
+
+    private PriorityQueue<long[]> crearPuestos(String departamento, Map<String, Integer> capacidad,
+            Set<String> departamentosSinPersonal) {
+        int cantidad = capacidad.getOrDefault(departamento, 0);
+        if (cantidad <= 0) {
+            departamentosSinPersonal.add(departamento);
+            cantidad = 1;
+        }
+
+        PriorityQueue<long[]> puestos = new PriorityQueue<>(cantidad, (a, b) -> a[0] != b[0]
+                ? Long.compare(a[0], b[0])
+                : Long.compare(a[1], b[1]));
+        for (int i = 0; i < cantidad; i++) {
+            puestos.offer(new long[]{0L, i});
+        }
+        return puestos;
+    }
+
+    /**
+     * Estado de un departamento durante la simulación: sus puestos y sus
+     * tareas disponibles en orden EDF
+     */
+    private static final class Departamento {
+        private final PriorityQueue<long[]> puestos;
+        private final PriorityQueue<Integer> listas;
+
+        Departamento(PriorityQueue<long[]> puestos, Comparator<Integer> ordenEdf) {
+            this.puestos = puestos;
+            this.listas = new PriorityQueue<>(ordenEdf);
+        }
+
+        long primerPuestoLibre() {
+            return puestos.peek()[0];
+        }
+    }
+
+    /**
+     * Asignación de una tarea a un puesto de su departamento
+     */
+    public static class Asignacion {
+        private final TareaPrioridad tarea;
+        private final int puesto;
+        private final long horaInicio;
+        private final long horaFin;
+        private final int diaFin;
+        private final boolean retrasada;
+
+        Asignacion(TareaPrioridad tarea, int puesto, long horaInicio, long horaFin, int diaFin, boolean retrasada) {
+            this.tarea = tarea;
+            this.puesto = puesto;
+            this.horaInicio = horaInicio;
+            this.horaFin = horaFin;
+            this.diaFin = diaFin;
+            this.retrasada = retrasada;
+        }
+
+        public TareaPrioridad getTarea() {
+            return tarea;
+        }
+
+        /** Número de puesto dentro del departamento (0 .. capacidad-1) */
+        public int getPuesto() {
+            return puesto;
+        }
+
+        public long getHoraInicio() {
+            return horaInicio;
+        }
+
+        public long getHoraFin() {
+            return horaFin;
+        }
+
+        public int getDiaFin() {
+            return diaFin;
+        }
+
+        /** Fecha prevista de finalización en formato yyyy-MM-dd */
+        public String getFechaFinPrevista() {
+            return Utilidades.convertirDesdeDiaEpoch(diaFin);
+        }
+
+        public boolean isRetrasada() {
+            return retrasada;
+        }
+    }
+
+    /**
+     * Resultado de una planificación
+     */
+    public static class ResultadoPlanificacion {
+        private final List<Asignacion> asignaciones;
+        private final List<String> bloqueadas;
+        private final Set<String> departamentosSinPersonal;
+        private final int retrasadas;
+        private final long horasTotales;
+        private final long tiempoCalculoMs;
+
+        ResultadoPlanificacion(List<Asignacion> asignaciones, List<String> bloqueadas,
+                Set<String> departamentosSinPersonal, int retrasadas, long horasTotales, long tiempoCalculoMs) {
+            this.asignaciones = Collections.unmodifiableList(asignaciones);
+            this.bloqueadas = Collections.unmodifiableList(bloqueadas);
+            this.departamentosSinPersonal = Collections.unmodifiableSet(departamentosSinPersonal);
+            this.retrasadas = retrasadas;
+            this.horasTotales = horasTotales;
+            this.tiempoCalculoMs = tiempoCalculoMs;
+        }
+
+        /** Asignaciones en el orden en que se planificaron */
+        public List<Asignacion> getAsignaciones() {
+            return asignaciones;
+        }
+
+        /** IDs de tareas que no se pudieron planificar por dependencias cíclicas */
+        public List<String> getBloqueadas() {
+            return bloqueadas;
+        }
+
+        /** Departamentos sin empleados, planificados con un único puesto */
+        public Set<String> getDepartamentosSinPersonal() {
+            return departamentosSinPersonal;
+        }
+
+        public int getRetrasadas() {
+            return retrasadas;
+        }
+
+        /** Horas de trabajo hasta que termina la última tarea */
+        public long getHorasTotales() {
+            return horasTotales;
+        }
+
+        public long getTiempoCalculoMs() {
+            return tiempoCalculoMs;
+        }
+    }
+}
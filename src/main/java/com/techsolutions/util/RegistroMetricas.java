@@ -0,0 +1,349 @@
+package com.techsolutions.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro de métricas de la aplicación (patrón Singleton): contadores,
+ * indicadores y latencias, cada uno identificado por un nombre con puntos
+ * ("repositorio.tareas.guardar", "login.fallidos", ...).
+ *
+ * - Contador: LongAdder, para sumar desde muchos hilos sin contención
+ * - Indicador: valor que se lee al consultarlo (tamaño de una cola, memoria)
+ * - Latencia: HistogramaLatencia con percentiles
+ *
+ * Registrar no bloquea ni reserva memoria salvo la primera vez que se usa un
+ * nombre. Para medir un bloque se toma System.nanoTime() antes y se llama a
+ * registrarDesde() en un finally.
+ *
+ * El volcado periódico añade el estado completo al archivo
+ * ~/.techsolutions/metricas.log (o el de techsolutions.metricas.archivo /
+ * TECHSOLUTIONS_METRICAS) cada techsolutions.metricas.intervalo segundos
+ * (60 por defecto, 0 lo desactiva).
+ */
+public final class RegistroMetricas {
+
+    private static final Bitacora BITACORA = Bitacora.de("metricas");
+
+    /** Tipos de métrica */
+    public enum Tipo {
+        CONTADOR("Contador"),
+        INDICADOR("Indicador"),
+        LATENCIA("Latencia");
+
+        private final String descripcion;
+
+        Tipo(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    private static final long INTERVALO_VOLCADO_PREDETERMINADO_S = 60;
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static RegistroMetricas instance;
+
+    private final Map<String, LongAdder> contadores = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> indicadores = new ConcurrentHashMap<>();
+    private final Map<String, HistogramaLatencia> latencias = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService volcador;
+    private Path archivoVolcado;
+
+    private RegistroMetricas() {
+        Runtime runtime = Runtime.getRuntime();
+        indicador("jvm.memoria.usada.mb", () -> (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        indicador("jvm.hilos", () -> ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    /**
+     * Obtiene la instancia única del registro
+     */
+    public static synchronized RegistroMetricas getInstance() {
+        if (instance == null) {
+            instance = new RegistroMetricas();
+        }
+        return instance;
+    }
+
+    // ===============================
+    // REGISTRO
+    // ===============================
+
+    public void incrementar(String nombre) {
+        contador(nombre).increment();
+    }
+
+    public void sumar(String nombre, long cantidad) {
+        contador(nombre).add(cantidad);
+    }
+
+    /**
+     * Registra (o reemplaza) un indicador; el proveedor se llama desde el
+     * hilo que consulte las métricas, así que debe poder leerse sin bloquear
+     */
+    public void indicador(String nombre, LongSupplier valor) {
+        indicadores.put(nombre, valor);
+    }
+
+    public void quitarIndicador(String nombre) {
+        indicadores.remove(nombre);
+    }
+
+    /**
+     * Registra una duración en nanosegundos
+     */
+    public void registrar(String nombre, long nanos) {
+        latencia(nombre).registrar(nanos);
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde inicio (un System.nanoTime())
+     */
+    public void registrarDesde(String nombre, long inicio) {
+        latencia(nombre).registrar(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Histograma de latencias del nombre, creado si no existía. Guardarlo en
+     * un campo evita la búsqueda por nombre en los caminos más frecuentes
+     */
+    public HistogramaLatencia latencia(String nombre) {
+        HistogramaLatencia histograma = latencias.get(nombre);
+        return histograma != null ? histograma : latencias.computeIfAbsent(nombre, n -> new HistogramaLatencia());
+    }
+
+    private LongAdder contador(String nombre) {
+        LongAdder contador = contadores.get(nombre);
+        return contador != null ? contador : contadores.computeIfAbsent(nombre, n -> new LongAdder());
+    }
+
+    /**
+     * Valor actual de un contador (0 si no existe)
+     */
+    public long getContador(String nombre) {
+        LongAdder contador = contadores.get(nombre);
+        return contador == null ? 0 : contador.sum();
+    }
+
+    /**
+     * Pone a cero contadores y latencias (los indicadores no guardan estado)
+     */
+    public void reiniciar() {
+        for (LongAdder contador : contadores.values()) contador.reset();
+        for (HistogramaLatencia histograma : latencias.values()) histograma.reiniciar();
+    }
+
+    // ===============================
+    // CONSULTA
+    // ===============================
+
+    /**
+     * Estado de todas las métricas, ordenadas por nombre
+     */
+    public List<Metrica> instantanea() {
+        List<Metrica> metricas = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> e : contadores.entrySet()) {
+            metricas.add(new Metrica(e.getKey(), Tipo.CONTADOR, e.getValue().sum(), null));
+        }
+        for (Map.Entry<String, LongSupplier> e : indicadores.entrySet()) {
+            long valor;
+            try {
+                valor = e.getValue().getAsLong();
+            } catch (RuntimeException ex) {
+                // Un indicador que falla no debe impedir ver el resto
+                valor = -1;
+            }
+            metricas.add(new Metrica(e.getKey(), Tipo.INDICADOR, valor, null));
+        }
+        for (Map.Entry<String, HistogramaLatencia> e : latencias.entrySet()) {
+            HistogramaLatencia.Resumen resumen = e.getValue().resumen();
+            metricas.add(new Metrica(e.getKey(), Tipo.LATENCIA, resumen.getCuenta(), resumen));
+        }
+        Collections.sort(metricas, (a, b) -> a.getNombre().compareTo(b.getNombre()));
+        return metricas;
+    }
+
+    /**
+     * Escribe el estado de las métricas como texto, una por línea (las
+     * latencias sin registros se omiten)
+     */
+    public void volcar(Writer destino) {
+        PrintWriter salida = new PrintWriter(destino);
+        salida.println("=== Metricas " + LocalDateTime.now().format(FORMATO_FECHA) + " ===");
+        for (Metrica m : instantanea()) {
+            if (m.getTipo() == Tipo.LATENCIA && m.getValor() == 0) continue;
+            salida.println(m);
+        }
+        salida.println();
+        salida.flush();
+    }
+
+    /**
+     * Añade el estado de todas las métricas al archivo
+     */
+    public void volcar(Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) Files.createDirectories(directorio);
+        try (Writer destino = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            volcar(destino);
+        }
+    }
+
+    // ===============================
+    // VOLCADO PERIÓDICO
+    // ===============================
+
+    /**
+     * Inicia el volcado periódico según la configuración (archivo e
+     * intervalo); no hace nada si ya estaba iniciado o el intervalo es 0
+     */
+    public void iniciarVolcado() {
+        String archivo = configuracion("techsolutions.metricas.archivo", "TECHSOLUTIONS_METRICAS", null);
+        Path ruta = archivo != null
+                ? Paths.get(archivo)
+                : Paths.get(System.getProperty("user.home"), ".techsolutions", "metricas.log");
+        long intervalo = INTERVALO_VOLCADO_PREDETERMINADO_S;
+        String valor = configuracion("techsolutions.metricas.intervalo", "TECHSOLUTIONS_METRICAS_INTERVALO", null);
+        if (valor != null) {
+            try {
+                intervalo = Long.parseLong(valor.trim());
+            } catch (NumberFormatException e) {
+                BITACORA.aviso("Intervalo de metricas no valido '{}', se usaran {} segundos",
+                        valor, INTERVALO_VOLCADO_PREDETERMINADO_S);
+            }
+        }
+        if (intervalo > 0) {
+            iniciarVolcado(ruta, intervalo);
+        }
+    }
+
+    /**
+     * Añade el estado de las métricas al archivo cada intervaloSegundos, en un
+     * hilo de fondo, y una última vez al cerrar la aplicación
+     */
+    public synchronized void iniciarVolcado(Path archivo, long intervaloSegundos) {
+        if (volcador != null) return;
+        archivoVolcado = archivo;
+        volcador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "metricas-volcado");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        volcador.scheduleWithFixedDelay(this::volcarProgramado, intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::volcarProgramado, "metricas-cierre"));
+    }
+
+    public synchronized void detenerVolcado() {
+        if (volcador != null) {
+            volcador.shutdown();
+            volcador = null;
+        }
+    }
+
+    /**
+     * Archivo del volcado periódico, o null si no se ha iniciado
+     */
+    public synchronized Path getArchivoVolcado() {
+        return archivoVolcado;
+    }
+
+    private void volcarProgramado() {
+        Path archivo = getArchivoVolcado();
+        if (archivo == null) return;
+        try {
+            volcar(archivo);
+        } catch (IOException e) {
+            BITACORA.error("Error al volcar las metricas en {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    /**
+     * Valor de la propiedad del sistema, si no de la variable de entorno, si no el predeterminado
+     */
+    private static String configuracion(String propiedad, String variable, String predeterminado) {
+        String valor = System.getProperty(propiedad);
+        if (valor == null || valor.isEmpty()) valor = System.getenv(variable);
+        return valor == null || valor.isEmpty() ? predeterminado : valor;
+    }
+
+    // ===============================
+    // FORMATO
+    // ===============================
+
+    /**
+     * Duración legible: ns, µs, ms o s según su tamaño
+     */
+    public static String formatearDuracion(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1f µs", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.1f ms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2f s", nanos / 1e9);
+    }
+
+    /**
+     * Estado de una métrica en un momento dado
+     */
+    public static final class Metrica {
+        private final String nombre;
+        private final Tipo tipo;
+        private final long valor;
+        private final HistogramaLatencia.Resumen resumen;
+
+        Metrica(String nombre, Tipo tipo, long valor, HistogramaLatencia.Resumen resumen) {
+            this.nombre = nombre;
+            this.tipo = tipo;
+            this.valor = valor;
+            this.resumen = resumen;
+        }
+
+        public String getNombre() { return nombre; }
+        public Tipo getTipo() { return tipo; }
+
+        /** Valor del contador o indicador; para las latencias, la cantidad de registros */
+        public long getValor() { return valor; }
+
+        /** Percentiles de una latencia, null para contadores e indicadores */
+        public HistogramaLatencia.Resumen getResumen() { return resumen; }
+
+        @Override
+        public String toString() {
+            if (resumen == null) {
+                return nombre + " " + valor;
+            }
+            return nombre + " n=" + resumen.getCuenta()
+                    + " media=" + formatearDuracion(resumen.getMedia())
+                    + " p50=" + formatearDuracion(resumen.getP50())
+                    + " p90=" + formatearDuracion(resumen.getP90())
+                    + " p99=" + formatearDuracion(resumen.getP99())
+                    + " p99.9=" + formatearDuracion(resumen.getP999())
+                    + " max=" + formatearDuracion(resumen.getMaximo());
+        }
+    }
+}
@@ -1,36 +1,50 @@
 package com.techsolutions.util;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.techsolutions.model.Tarea;
 import com.techsolutions.model.TareaPrioridad;
+import com.techsolutions.model.ValoresCanonicos;
 
 /**
  * Clase de utilidades para el sistema de gestión de tareas
  */
 public class Utilidades {
 
+    /** Formato de fecha yyyy-MM-dd (inmutable y seguro entre hilos, a diferencia de SimpleDateFormat) */
+    public static final DateTimeFormatter FORMATO_FECHA =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+
+    /** Lectura de fechas: admite mes y día de uno o dos dígitos ("2025-1-5"), como hacía SimpleDateFormat */
+    private static final DateTimeFormatter LECTURA_FECHA =
+            DateTimeFormatter.ofPattern("uuuu-M-d").withResolverStyle(ResolverStyle.STRICT);
+
+    /** Día epoch usado para fechas vacías o inválidas; ordena después de cualquier fecha real */
+    public static final int SIN_FECHA = Integer.MAX_VALUE;
+
     // ==================== VALIDACIONES ====================
 
     /**
      * Valida que un ID de tarea tenga el formato correcto
      */
     public static boolean validarIdTarea(String id) {
-        return id != null && id.matches("T\\d+");
+        return CodecId.esValido(id, CodecId.PREFIJO_TAREA);
     }
 
     /**
      * Valida que un ID de empleado tenga el formato correcto
      */
     public static boolean validarIdEmpleado(String id) {
-        return id != null && id.matches("EMP\\d+");
+        return CodecId.esValido(id, CodecId.PREFIJO_EMPLEADO);
     }
 
     /**
@@ -42,11 +56,9 @@ public class Utilidades {
         }
         
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-            sdf.setLenient(false);
-            sdf.parse(fecha);
+            LocalDate.parse(fecha, LECTURA_FECHA);
             return true;
-        } catch (Exception e) {
+        } catch (DateTimeParseException e) {
             return false;
         }
     }
@@ -75,83 +87,39 @@ public class Utilidades {
     // ==================== ALGORITMOS DE ORDENAMIENTO ====================
 
     /**
-     * Ordena tareas por prioridad usando QuickSort
+     * Ordena tareas por prioridad en tiempo lineal (estable, ver OrdenamientoConteo)
      */
     public static void ordenarTareasPorPrioridad(List<TareaPrioridad> tareas) {
-        if (tareas == null || tareas.size() <= 1) return;
-        quickSortPrioridad(tareas, 0, tareas.size() - 1);
-    }
-
-    private static void quickSortPrioridad(List<TareaPrioridad> tareas, int bajo, int alto) {
-        if (bajo < alto) {
-            int pi = particionPrioridad(tareas, bajo, alto);
-            quickSortPrioridad(tareas, bajo, pi - 1);
-            quickSortPrioridad(tareas, pi + 1, alto);
-        }
-    }
-
-    private static int particionPrioridad(List<TareaPrioridad> tareas, int bajo, int alto) {
-        TareaPrioridad pivot = tareas.get(alto);
-        int i = bajo - 1;
-        
-        for (int j = bajo; j < alto; j++) {
-            if (tareas.get(j).getPrioridad() <= pivot.getPrioridad()) {
-                i++;
-                intercambiar(tareas, i, j);
-            }
-        }
-        
-        intercambiar(tareas, i + 1, alto);
-        return i + 1;
-    }
-
-    private static void intercambiar(List<TareaPrioridad> tareas, int i, int j) {
-        TareaPrioridad temp = tareas.get(i);
-        tareas.set(i, tareas.get(j));
-        tareas.set(j, temp);
+        OrdenamientoConteo.ordenarPorPrioridad(tareas);
     }
 
     /**
-     * Ordena tareas por departamento usando MergeSort
+     * Ordena tareas por departamento en tiempo lineal (estable, ver OrdenamientoConteo)
      */
     public static void ordenarTareasPorDepartamento(List<Tarea> tareas) {
-        if (tareas == null || tareas.size() <= 1) return;
-        mergeSortDepartamento(tareas, 0, tareas.size() - 1);
+        OrdenamientoConteo.ordenarPorDepartamento(tareas);
     }
 
-    private static void mergeSortDepartamento(List<Tarea> tareas, int izq, int der) {
-        if (izq < der) {
-            int medio = (izq + der) / 2;
-            mergeSortDepartamento(tareas, izq, medio);
-            mergeSortDepartamento(tareas, medio + 1, der);
-            merge(tareas, izq, medio, der);
-        }
+    /**
+     * Ordena tareas por prioridad, fecha de entrega y departamento
+     */
+    public static void ordenarTareasPorPrioridadFechaDepartamento(List<TareaPrioridad> tareas) {
+        ordenarTareasPorPrioridadFechaDepartamento(tareas, OrdenamientoParalelo.UMBRAL_PARALELO_PREDETERMINADO);
     }
 
-    private static void merge(List<Tarea> tareas, int izq, int medio, int der) {
-        List<Tarea> temp = new ArrayList<>();
-        int i = izq, j = medio + 1;
-        
-        while (i <= medio && j <= der) {
-            if (tareas.get(i).getDepartamento().compareTo(tareas.get(j).getDepartamento()) <= 0) {
-                temp.add(tareas.get(i++));
-            } else {
-                temp.add(tareas.get(j++));
-            }
-        }
-        
-        while (i <= medio) temp.add(tareas.get(i++));
-        while (j <= der) temp.add(tareas.get(j++));
-        
-        for (int k = 0; k < temp.size(); k++) {
-            tareas.set(izq + k, temp.get(k));
-        }
+    /**
+     * @param umbralParalelo tamaño de tramo a partir del cual se ordena en paralelo
+     */
+    public static void ordenarTareasPorPrioridadFechaDepartamento(List<TareaPrioridad> tareas, int umbralParalelo) {
+        OrdenamientoParalelo.ordenarPorPrioridadFechaDepartamento(tareas, umbralParalelo);
     }
 
     // ==================== ALGORITMOS DE BÚSQUEDA ====================
 
     /**
-     * Búsqueda binaria de tarea por ID (requiere lista ordenada por ID)
+     * Búsqueda binaria de tarea por ID. Requiere la lista ordenada con
+     * compararIds (ver ordenarTareasPorId); para búsquedas repetidas y rangos
+     * conviene mantener un IndiceIdsOrdenado.
      */
     public static Tarea busquedaBinariaPorId(List<Tarea> tareas, String id) {
         if (tareas == null || tareas.isEmpty() || id == null) return null;
@@ -159,9 +127,9 @@ public class Utilidades {
         int izq = 0, der = tareas.size() - 1;
         
         while (izq <= der) {
-            int medio = (izq + der) / 2;
+            int medio = (izq + der) >>> 1;
             Tarea tareaMedio = tareas.get(medio);
-            int comparacion = tareaMedio.getId().compareTo(id);
+            int comparacion = compararIds(tareaMedio.getId(), id);
             
             if (comparacion == 0) {
                 return tareaMedio;
@@ -175,6 +143,21 @@ public class Utilidades {
         return null;
     }
 
+    /**
+     * Compara IDs por su número ("T2" antes que "T10") y, a igual número, por el texto
+     */
+    public static int compararIds(String a, String b) {
+        int c = Integer.compare(extraerNumeroId(a), extraerNumeroId(b));
+        return c != 0 ? c : a.compareTo(b);
+    }
+
+    /**
+     * Ordena tareas por ID numérico, el orden que espera busquedaBinariaPorId
+     */
+    public static void ordenarTareasPorId(List<Tarea> tareas) {
+        OrdenamientoParalelo.ordenar(tareas, (a, b) -> compararIds(a.getId(), b.getId()));
+    }
+
     /**
      * Búsqueda lineal de tareas por departamento
      */
@@ -183,8 +166,9 @@ public class Utilidades {
         
         if (tareas == null || departamento == null) return resultado;
         
+        String departamentoCanonico = ValoresCanonicos.buscarDepartamento(departamento);
         for (Tarea tarea : tareas) {
-            if (tarea.getDepartamento().equalsIgnoreCase(departamento)) {
+            if (tarea.getDepartamento() == departamentoCanonico) {
                 resultado.add(tarea);
             }
         }
@@ -195,43 +179,27 @@ public class Utilidades {
     // ==================== ALGORITMOS RECURSIVOS ====================
 
     /**
-     * Calcula el tiempo total de tareas usando recursión
+     * Calcula el tiempo total de tareas. Conserva el nombre por compatibilidad,
+     * pero recorre la lista con su iterador (ver AgregadorHoras): sin un marco
+     * de pila por tarea ni get(i) sobre listas enlazadas.
      */
     public static int calcularTiempoTotalRecursivo(List<Tarea> tareas) {
-        return calcularTiempoRecursivo(tareas, 0);
-    }
-
-    private static int calcularTiempoRecursivo(List<Tarea> tareas, int indice) {
-        if (indice >= tareas.size()) return 0;
-        return tareas.get(indice).getHorasEstimadas() + calcularTiempoRecursivo(tareas, indice + 1);
+        return (int) AgregadorHoras.calcular(tareas).getTotal();
     }
 
     /**
-     * Distribuye tareas usando divide y vencerás
+     * Distribuye tareas entre equipos equilibrando las horas (ver BalanceadorCarga).
+     * Conserva el nombre por compatibilidad; ya no reparte por profundidad de recursión.
      */
     public static Map<String, List<Tarea>> distribuirTareasDivideVenceras(List<Tarea> tareas, String[] equipos) {
-        Map<String, List<Tarea>> distribucion = new HashMap<>();
-        for (String equipo : equipos) {
-            distribucion.put(equipo, new ArrayList<>());
+        if (tareas.isEmpty() || equipos.length == 0) {
+            Map<String, List<Tarea>> distribucion = new HashMap<>();
+            for (String equipo : equipos) {
+                distribucion.put(equipo, new ArrayList<>());
+            }
+            return distribucion;
         }
-        
-        if (tareas.isEmpty() || equipos.length == 0) return distribucion;
-        
-        distribuirRecursivo(tareas, 0, tareas.size() - 1, equipos, 0, distribucion);
-        return distribucion;
-    }
-
-    private static void distribuirRecursivo(List<Tarea> tareas, int inicio, int fin, 
-                                          String[] equipos, int equipoActual, 
-                                          Map<String, List<Tarea>> distribucion) {
-        if (inicio > fin) return;
-        
-        int medio = (inicio + fin) / 2;
-        String equipo = equipos[equipoActual % equipos.length];
-        distribucion.get(equipo).add(tareas.get(medio));
-        
-        distribuirRecursivo(tareas, inicio, medio - 1, equipos, equipoActual + 1, distribucion);
-        distribuirRecursivo(tareas, medio + 1, fin, equipos, equipoActual + 1, distribucion);
+        return new BalanceadorCarga().balancear(tareas, equipos).comoMapa();
     }
 
     // ==================== UTILIDADES DE FECHA ====================
@@ -240,8 +208,7 @@ public class Utilidades {
      * Obtiene la fecha actual en formato yyyy-MM-dd
      */
     public static String obtenerFechaActual() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        return sdf.format(new Date());
+        return LocalDate.now().format(FORMATO_FECHA);
     }
 
     /**
@@ -249,13 +216,8 @@ public class Utilidades {
      */
     public static String agregarDias(String fecha, int dias) {
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-            Date date = sdf.parse(fecha);
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(date);
-            cal.add(Calendar.DAY_OF_MONTH, dias);
-            return sdf.format(cal.getTime());
-        } catch (Exception e) {
+            return LocalDate.parse(fecha, LECTURA_FECHA).plusDays(dias).format(FORMATO_FECHA);
+        } catch (RuntimeException e) {
             return fecha;
         }
     }
@@ -265,16 +227,35 @@ public class Utilidades {
      */
     public static long calcularDiasEntre(String fechaInicio, String fechaFin) {
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-            Date inicio = sdf.parse(fechaInicio);
-            Date fin = sdf.parse(fechaFin);
-            long diferencia = fin.getTime() - inicio.getTime();
-            return diferencia / (1000 * 60 * 60 * 24);
-        } catch (Exception e) {
+            LocalDate inicio = LocalDate.parse(fechaInicio, LECTURA_FECHA);
+            LocalDate fin = LocalDate.parse(fechaFin, LECTURA_FECHA);
+            return ChronoUnit.DAYS.between(inicio, fin);
+        } catch (RuntimeException e) {
             return 0;
         }
     }
 
+    /**
+     * Convierte una fecha yyyy-MM-dd a número de día epoch (días desde 1970-01-01).
+     * Devuelve SIN_FECHA si la fecha es nula o inválida.
+     */
+    public static int convertirADiaEpoch(String fecha) {
+        if (fecha == null || fecha.isEmpty()) return SIN_FECHA;
+        try {
+            return (int) LocalDate.parse(fecha, LECTURA_FECHA).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return SIN_FECHA;
+        }
+    }
+
+    /**
+     * Convierte un día epoch a fecha yyyy-MM-dd
+     */
+    public static String convertirDesdeDiaEpoch(int diaEpoch) {
+        if (diaEpoch == SIN_FECHA) return "";
+        return LocalDate.ofEpochDay(diaEpoch).format(FORMATO_FECHA);
+    }
+
     // ==================== UTILIDADES DE ESTADÍSTICAS ====================
 
     /**
@@ -295,10 +276,7 @@ public class Utilidades {
      * Calcula el promedio de horas estimadas
      */
     public static double calcularPromedioHoras(List<Tarea> tareas) {
-        if (tareas.isEmpty()) return 0.0;
-        
-        int total = calcularTiempoTotalRecursivo(tareas);
-        return (double) total / tareas.size();
+        return AgregadorHoras.calcular(tareas).getPromedio();
     }
 
     /**
@@ -378,28 +356,14 @@ public class Utilidades {
      * Extrae el número de un ID (ej: "T123" -> 123)
      */
     public static int extraerNumeroId(String id) {
-        if (id == null || id.length() < 2) return 0;
-        try {
-            return Integer.parseInt(id.substring(1));
-        } catch (NumberFormatException e) {
-            return 0;
-        }
+        long numero = CodecId.numeroSufijo(id);
+        return numero == CodecId.INVALIDO || numero > Integer.MAX_VALUE ? 0 : (int) numero;
     }
 
     /**
      * Genera el siguiente ID en secuencia
      */
     public static String generarSiguienteId(String prefijo, List<String> idsExistentes) {
-        int max = 0;
-        String patron = prefijo + "\\d+";
-        
-        for (String id : idsExistentes) {
-            if (id.matches(patron)) {
-                int numero = extraerNumeroId(id);
-                if (numero > max) max = numero;
-            }
-        }
-        
-        return prefijo + (max + 1);
+        return CodecId.siguienteId(prefijo, idsExistentes);
     }
 }
\ No newline at end of file